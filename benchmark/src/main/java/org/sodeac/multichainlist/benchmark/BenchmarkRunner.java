@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all (or the selected) benchmarks once for each configured thread count. 
+ * 
+ * <p>Usage: {@code java -jar target/benchmarks.jar [include-regex] [thread-counts]} , e.g. {@code java -jar target/benchmarks.jar LinkerBenchmark 1,16} .
+ * The results of each run are written to {@code multichainlist-<threads>threads.json} .
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+public class BenchmarkRunner
+{
+	public static final int[] DEFAULT_THREAD_COUNTS = new int[] {1,4,16,64};
+	
+	public static void main(String[] args) throws RunnerException
+	{
+		String include = args.length > 0 ? args[0] : ".*Benchmark.*";
+		int[] threadCounts = DEFAULT_THREAD_COUNTS;
+		if(args.length > 1)
+		{
+			String[] values = args[1].split(",");
+			threadCounts = new int[values.length];
+			for(int i = 0; i < values.length; i++)
+			{
+				threadCounts[i] = Integer.parseInt(values[i].trim());
+			}
+		}
+		
+		for(int threadCount : threadCounts)
+		{
+			Options options = new OptionsBuilder()
+				.include(include)
+				.threads(threadCount)
+				.result("multichainlist-" + threadCount + "threads.json")
+				.resultFormat(ResultFormatType.JSON)
+				.build();
+			
+			new Runner(options).run();
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sodeac.multichainlist.ChainView;
+import org.sodeac.multichainlist.Linker;
+import org.sodeac.multichainlist.LinkerBuilder;
+import org.sodeac.multichainlist.MultiChainList;
+import org.sodeac.multichainlist.Node;
+
+/**
+ * Measures the link path of one {@link Linker} , which links into chains distributed round robin over partitions.
+ *
+ * <p>The link costs grow with count of chains and partitions, so the parameters show the costs per linkage definition. 
+ * To compare with a previous link path, run this benchmark against the build of list to compare with ({@code -Dmultichainlist.version=...}).
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkPathBenchmark
+{
+	public static final int TRIM_THRESHOLD = 4096;
+	public static final int BATCH_SIZE = 64;
+
+	@Param({"1","4"})
+	public int partitions;
+
+	@Param({"1","8","32"})
+	public int chains;
+
+	private MultiChainList<Long> list = null;
+	private Linker<Long> linker = null;
+	private ChainView<Long>[] chainViews = null;
+	private List<Long> batch = null;
+	private long sequence = 0L;
+	private int linkedSinceTrim = 0;
+
+	@SuppressWarnings("unchecked")
+	@Setup(Level.Iteration)
+	public void setup()
+	{
+		String[] partitionNames = new String[partitions];
+		for(int i = 0; i < partitions; i++)
+		{
+			partitionNames[i] = "P" + i;
+		}
+		this.list = new MultiChainList<Long>(partitionNames);
+
+		LinkerBuilder linkerBuilder = LinkerBuilder.newBuilder();
+		this.chainViews = new ChainView[chains];
+		for(int i = 0; i < chains; i++)
+		{
+			linkerBuilder.inPartition(partitionNames[i % partitions]).linkIntoChain("C" + i);
+			this.chainViews[i] = this.list.createChainView("C" + i);
+		}
+		this.linker = linkerBuilder.build(this.list);
+
+		Long[] batchArray = new Long[BATCH_SIZE];
+		for(int i = 0; i < BATCH_SIZE; i++)
+		{
+			batchArray[i] = Long.valueOf(i);
+		}
+		this.batch = Arrays.asList(batchArray);
+
+		this.sequence = 0L;
+		this.linkedSinceTrim = 0;
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown()
+	{
+		this.list.dispose();
+		this.list = null;
+		this.linker = null;
+		this.chainViews = null;
+		this.batch = null;
+	}
+
+	@Benchmark
+	public Node<Long> append()
+	{
+		Node<Long> node = linker.append(Long.valueOf(sequence++));
+		linked(1);
+		return node;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public Node<Long>[] appendAll()
+	{
+		Node<Long>[] nodes = linker.appendAll(batch);
+		linked(BATCH_SIZE);
+		return nodes;
+	}
+
+	private void linked(int count)
+	{
+		this.linkedSinceTrim += count;
+		if(this.linkedSinceTrim >= TRIM_THRESHOLD)
+		{
+			for(ChainView<Long> chainView : this.chainViews)
+			{
+				chainView.clear();
+			}
+			this.linkedSinceTrim = 0;
+		}
+	}
+}
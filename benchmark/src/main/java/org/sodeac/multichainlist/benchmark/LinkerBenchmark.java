@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sodeac.multichainlist.Node;
+
+/**
+ * Benchmarks for {@link org.sodeac.multichainlist.Linker#append(Object)} , {@link org.sodeac.multichainlist.Linker#appendAll(java.util.Collection)} 
+ * and {@link org.sodeac.multichainlist.Linker#prepend(Object)} . 
+ * 
+ * <p>Throughput is reported in linked elements per microsecond. The costs to trim the chains are included (see {@link ProducerState}).
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkerBenchmark
+{
+	@Benchmark
+	public Node<Long> append(ListState listState, ProducerState producer)
+	{
+		Node<Long> node = producer.linker.append(producer.next());
+		producer.linked(1);
+		return node;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(ProducerState.BATCH_SIZE)
+	public Node<Long>[] appendAll(ListState listState, ProducerState producer)
+	{
+		Node<Long>[] nodes = producer.linker.appendAll(producer.batch);
+		producer.linked(ProducerState.BATCH_SIZE);
+		return nodes;
+	}
+	
+	@Benchmark
+	public Node<Long> prepend(ListState listState, ProducerState producer)
+	{
+		Node<Long> node = producer.linker.prepend(producer.next());
+		producer.linked(1);
+		return node;
+	}
+}
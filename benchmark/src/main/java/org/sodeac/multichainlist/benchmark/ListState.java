@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sodeac.multichainlist.MultiChainList;
+
+/**
+ * Shared list for all benchmark threads. A new list is created for each iteration.
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+public class ListState
+{
+	@Param({"1","4","16","64"})
+	public int partitions;
+	
+	@Param({"1","8","32"})
+	public int chains;
+	
+	@Param({"false","true"})
+	public boolean openSnapshots;
+	
+	public MultiChainList<Long> list = null;
+	public String[] partitionNames = null;
+	public String[] chainNames = null;
+	
+	private AtomicInteger threadIndex = null;
+	
+	@Setup(Level.Iteration)
+	public void setup()
+	{
+		this.partitionNames = new String[partitions];
+		for(int i = 0; i < partitions; i++)
+		{
+			this.partitionNames[i] = "P" + i;
+		}
+		this.chainNames = new String[chains];
+		for(int i = 0; i < chains; i++)
+		{
+			this.chainNames[i] = "C" + i;
+		}
+		this.list = new MultiChainList<Long>(this.partitionNames);
+		this.threadIndex = new AtomicInteger();
+	}
+	
+	@TearDown(Level.Iteration)
+	public void tearDown()
+	{
+		// no dispose: producer threads close their snapshots in own teardown
+		this.list = null;
+	}
+	
+	/**
+	 * Returns partition name for next benchmark thread. Threads are distributed round robin over all partitions.
+	 * 
+	 * @return partition name for next benchmark thread
+	 */
+	public String nextPartitionName()
+	{
+		return this.partitionNames[threadIndex.getAndIncrement() % partitions];
+	}
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sodeac.multichainlist.ChainView;
+import org.sodeac.multichainlist.Linker;
+import org.sodeac.multichainlist.LinkerBuilder;
+import org.sodeac.multichainlist.Partition;
+import org.sodeac.multichainlist.Snapshot;
+
+/**
+ * Per thread producer. Each producer links into all chains of one partition. 
+ * 
+ * <p>To keep the heap bounded, the producer clears its chains after {@link ProducerState#TRIM_THRESHOLD} linked elements. 
+ * If {@link ListState#openSnapshots} is set, the producer holds a snapshot open all the time and renews it on each trim. 
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+@State(Scope.Thread)
+public class ProducerState
+{
+	public static final int TRIM_THRESHOLD = 4096;
+	public static final int BATCH_SIZE = 64;
+	
+	public Linker<Long> linker = null;
+	public Partition<Long> partition = null;
+	public List<Long> batch = null;
+	
+	private ChainView<Long>[] chainViews = null;
+	private Snapshot<Long> openSnapshot = null;
+	private boolean openSnapshots = false;
+	private long sequence = 0L;
+	private int linkedSinceTrim = 0;
+	
+	@SuppressWarnings("unchecked")
+	@Setup(Level.Iteration)
+	public void setup(ListState listState)
+	{
+		String partitionName = listState.nextPartitionName();
+		this.partition = listState.list.getPartition(partitionName);
+		this.openSnapshots = listState.openSnapshots;
+		
+		LinkerBuilder linkerBuilder = LinkerBuilder.newBuilder().inPartition(partitionName);
+		this.chainViews = new ChainView[listState.chains];
+		for(int i = 0; i < listState.chains; i++)
+		{
+			linkerBuilder.linkIntoChain(listState.chainNames[i]);
+			this.chainViews[i] = listState.list.createChainView(listState.chainNames[i], this.partition);
+		}
+		this.linker = linkerBuilder.build(listState.list);
+		
+		Long[] batchArray = new Long[BATCH_SIZE];
+		for(int i = 0; i < BATCH_SIZE; i++)
+		{
+			batchArray[i] = Long.valueOf(i);
+		}
+		this.batch = Arrays.asList(batchArray);
+		
+		this.sequence = 0L;
+		this.linkedSinceTrim = 0;
+		this.openSnapshot();
+	}
+	
+	@TearDown(Level.Iteration)
+	public void tearDown()
+	{
+		this.closeSnapshot();
+		this.chainViews = null;
+		this.linker = null;
+		this.partition = null;
+	}
+	
+	/**
+	 * Returns next element to link
+	 * 
+	 * @return next element
+	 */
+	public Long next()
+	{
+		return Long.valueOf(sequence++);
+	}
+	
+	/**
+	 * Notifies producer about linked elements.
+	 * 
+	 * @param count count of linked elements
+	 */
+	public void linked(int count)
+	{
+		this.linkedSinceTrim += count;
+		if(this.linkedSinceTrim >= TRIM_THRESHOLD)
+		{
+			trim();
+		}
+	}
+	
+	/**
+	 * Removes all elements from the chains of this producer. 
+	 */
+	public void trim()
+	{
+		trim(0);
+	}
+	
+	/**
+	 * Removes all elements from the chains of this producer, beginning with chain {@code fromChainIndex} .
+	 * 
+	 * @param fromChainIndex index of first chain to clear
+	 */
+	public void trim(int fromChainIndex)
+	{
+		this.closeSnapshot();
+		for(int i = fromChainIndex; i < this.chainViews.length; i++)
+		{
+			this.chainViews[i].clear();
+		}
+		this.linkedSinceTrim = 0;
+		this.openSnapshot();
+	}
+	
+	/**
+	 * Returns chain view of first chain of this producer
+	 * 
+	 * @return chain view
+	 */
+	public ChainView<Long> firstChainView()
+	{
+		return this.chainViews[0];
+	}
+	
+	private void openSnapshot()
+	{
+		if(this.openSnapshots)
+		{
+			this.openSnapshot = this.chainViews[0].createImmutableSnapshot();
+		}
+	}
+	
+	private void closeSnapshot()
+	{
+		if(this.openSnapshot != null)
+		{
+			this.openSnapshot.close();
+			this.openSnapshot = null;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sodeac.multichainlist.ChainView;
+import org.sodeac.multichainlist.Snapshot;
+
+/**
+ * Benchmarks for {@link ChainView#createImmutableSnapshot()} , {@link ChainView#createImmutableSnapshotPoll()} and iteration of {@link Snapshot} .
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark
+{
+	/**
+	 * Per thread chain with {@code size} elements.
+	 */
+	@State(Scope.Thread)
+	public static class FilledChain
+	{
+		@Param({"10","1000","100000"})
+		public int size;
+		
+		public ChainView<Long> chainView = null;
+		public Snapshot<Long> iterateSnapshot = null;
+		private ProducerState producer = null;
+		
+		@Setup(Level.Iteration)
+		public void setup(ProducerState producer)
+		{
+			this.producer = producer;
+			this.chainView = producer.firstChainView();
+			fill();
+			this.iterateSnapshot = this.chainView.createImmutableSnapshot();
+		}
+		
+		@TearDown(Level.Iteration)
+		public void tearDown()
+		{
+			this.iterateSnapshot.close();
+			this.iterateSnapshot = null;
+			this.chainView = null;
+			this.producer = null;
+		}
+		
+		public void fill()
+		{
+			int toFill = size - chainView.getSize();
+			for(int i = 0; i < toFill; i++)
+			{
+				producer.linker.append(producer.next());
+			}
+		}
+	}
+	
+	/**
+	 * Refills the chain before each poll invocation.
+	 */
+	@State(Scope.Thread)
+	public static class RefillChain
+	{
+		@Setup(Level.Invocation)
+		public void refill(FilledChain filledChain)
+		{
+			filledChain.fill();
+		}
+	}
+	
+	@Benchmark
+	public long createImmutableSnapshot(ListState listState, FilledChain filledChain)
+	{
+		try(Snapshot<Long> snapshot = filledChain.chainView.createImmutableSnapshot())
+		{
+			return snapshot.getVersion();
+		}
+	}
+	
+	@Benchmark
+	public long createImmutableSnapshotPoll(ListState listState, FilledChain filledChain, RefillChain refillChain)
+	{
+		try(Snapshot<Long> snapshot = filledChain.chainView.createImmutableSnapshotPoll())
+		{
+			return snapshot.getVersion();
+		}
+	}
+	
+	@Benchmark
+	public void iterateSnapshot(ListState listState, FilledChain filledChain, Blackhole blackhole)
+	{
+		for(Long element : filledChain.iterateSnapshot)
+		{
+			blackhole.consume(element);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sodeac.multichainlist.ChainView;
+import org.sodeac.multichainlist.Linker;
+import org.sodeac.multichainlist.MultiChainList;
+import org.sodeac.multichainlist.Snapshot;
+
+/**
+ * Measures {@link Snapshot#close()} of a poll snapshot, while other snapshots of different versions are open.
+ *
+ * <p>Each poll makes links obsolete, so closing the poll snapshot has to determine the oldest open version of list.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotCloseBenchmark
+{
+	@Param({"1","100","10000"})
+	public int openSnapshots;
+
+	private MultiChainList<Long> list = null;
+	private ChainView<Long> chainView = null;
+	private Linker<Long> linker = null;
+	private List<Snapshot<Long>> openSnapshotList = null;
+	private Snapshot<Long> snapshot = null;
+	private long sequence = 0L;
+
+	@Setup(Level.Iteration)
+	public void setup()
+	{
+		this.list = new MultiChainList<Long>();
+		this.chainView = this.list.createChainView(null);
+		this.linker = this.chainView.defaultLinker();
+		this.openSnapshotList = new ArrayList<Snapshot<Long>>(openSnapshots);
+		this.sequence = 0L;
+
+		for(int i = 0; i < openSnapshots; i++)
+		{
+			// each snapshot with own version
+			this.linker.append(sequence++);
+			this.openSnapshotList.add(this.chainView.createImmutableSnapshot());
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void poll()
+	{
+		this.linker.append(sequence++);
+		this.snapshot = this.chainView.createImmutableSnapshotPoll();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown()
+	{
+		for(Snapshot<Long> openSnapshot : this.openSnapshotList)
+		{
+			openSnapshot.close();
+		}
+		this.list.dispose();
+		this.list = null;
+		this.chainView = null;
+		this.linker = null;
+		this.openSnapshotList = null;
+		this.snapshot = null;
+	}
+
+	@Benchmark
+	public void close()
+	{
+		this.snapshot.close();
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sodeac.multichainlist.ChainView;
+import org.sodeac.multichainlist.MultiChainList;
+import org.sodeac.multichainlist.Snapshot;
+
+/**
+ * Compares sequential and parallel streams over a snapshot of a chain distributed over partitions.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotStreamBenchmark
+{
+	@Param({"1","8"})
+	public int partitions;
+
+	@Param({"1000000"})
+	public int size;
+
+	private MultiChainList<Long> list = null;
+	private Snapshot<Long> snapshot = null;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		String[] partitionNames = new String[partitions];
+		for(int i = 0; i < partitions; i++)
+		{
+			partitionNames[i] = "P" + i;
+		}
+		this.list = new MultiChainList<Long>(partitionNames);
+		ChainView<Long> chainView = this.list.createChainView(null);
+		for(int i = 0; i < size; i++)
+		{
+			chainView.cachedLinker(partitionNames[i % partitions]).append(Long.valueOf(i));
+		}
+		this.snapshot = chainView.createImmutableSnapshot();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.snapshot.close();
+		this.snapshot = null;
+		this.list.dispose();
+		this.list = null;
+	}
+
+	@Benchmark
+	public long sequential()
+	{
+		return snapshot.stream().mapToLong(Long::longValue).map(SnapshotStreamBenchmark::work).sum();
+	}
+
+	@Benchmark
+	public long parallel()
+	{
+		return snapshot.parallelStream().mapToLong(Long::longValue).map(SnapshotStreamBenchmark::work).sum();
+	}
+
+	private static long work(long value)
+	{
+		long hash = value;
+		for(int i = 0; i < 16; i++)
+		{
+			hash = (hash * 0x9E3779B97F4A7C15L) ^ (hash >>> 29);
+		}
+		return hash & 0xFFFFL;
+	}
+}
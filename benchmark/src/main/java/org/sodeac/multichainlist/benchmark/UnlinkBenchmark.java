@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sodeac.multichainlist.Node;
+
+/**
+ * Benchmark for {@link Node#unlinkFromChain(String)} . 
+ * 
+ * <p>Each thread unlinks nodes from the first chain using a prefilled pool. If the pool is exhausted, the additional chains are cleared and the pool is refilled. 
+ * The costs to refill the pool are included. The first chain is never cleared, because nodes of another thread's pool must not be disposed before they are unlinked.
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnlinkBenchmark
+{
+	@State(Scope.Thread)
+	public static class NodePool
+	{
+		public static final int POOL_SIZE = 1024;
+		
+		private Node<Long>[] nodes = null;
+		private int index = 0;
+		private String chainName = null;
+		
+		@Setup(Level.Iteration)
+		public void setup(ListState listState)
+		{
+			this.chainName = listState.chainNames[0];
+			this.nodes = null;
+		}
+		
+		public Node<Long> next(ProducerState producer)
+		{
+			if((this.nodes == null) || (this.index == this.nodes.length))
+			{
+				producer.trim(1);
+				Long[] elements = new Long[POOL_SIZE];
+				for(int i = 0; i < POOL_SIZE; i++)
+				{
+					elements[i] = producer.next();
+				}
+				this.nodes = producer.linker.appendAll(elements);
+				this.index = 0;
+			}
+			return this.nodes[this.index++];
+		}
+	}
+	
+	@Benchmark
+	public boolean unlinkFromChain(ListState listState, ProducerState producer, NodePool pool)
+	{
+		return pool.next(producer).unlinkFromChain(pool.chainName);
+	}
+}
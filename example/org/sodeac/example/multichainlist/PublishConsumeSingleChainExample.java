@@ -1,5 +1,6 @@
 package org.sodeac.example.multichainlist;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.sodeac.multichainlist.SingleChainList;
@@ -36,7 +37,8 @@ public class PublishConsumeSingleChainExample
 			{
 				System.out.println("start consumer");
 				
-				try(Snapshot<Integer> snapshot = list.createImmutableSnapshotPoll())
+				// parks consumer until elements are published
+				try(Snapshot<Integer> snapshot = list.takeSnapshotPoll(1, TimeUnit.SECONDS))
 				{
 					snapshot.forEach((i) -> 
 					{
@@ -45,8 +47,10 @@ public class PublishConsumeSingleChainExample
 						
 						System.out.println(i);
 					});
-					
-					try{Thread.sleep(1000);}catch (Exception e) {}
+				}
+				catch (InterruptedException e) 
+				{
+					consume.set(false);
 				}
 			}
 			
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+/**
+ * A chain handle is the interned representation of a chain name in a {@link MultiChainList}.
+ * Each chain name is mapped to a dense integer id, the default chain (chain name NULL) always has id 0.
+ *
+ * <p>Chain handles are obtained by {@link MultiChainList#getChainHandle(String)} and are only valid for the list that created them.
+ * Methods accepting a chain handle work without hashing and comparing chain names.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public final class ChainHandle
+{
+	protected ChainHandle(String name, int id, MultiChainList<?> multiChainList)
+	{
+		super();
+		this.name = name;
+		this.id = id;
+		this.multiChainList = multiChainList;
+	}
+
+	private final String name;
+	private final int id;
+	private final MultiChainList<?> multiChainList;
+
+	// consumers of chain wait for this signal
+	protected final MultiChainList.LinkSignal linkSignal = new MultiChainList.LinkSignal();
+	protected boolean linkSignalPending = false; // guarded by write lock
+
+	/**
+	 * Getter for chain name
+	 *
+	 * @return chain name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Getter for id of chain. The id is unique for the list that created this handle.
+	 *
+	 * @return id of chain
+	 */
+	public int getId()
+	{
+		return id;
+	}
+
+	/**
+	 * Checks if this handle was created by specified list
+	 *
+	 * @param multiChainList list to check
+	 * @return true, if this handle was created by specified list, otherwise false
+	 */
+	public boolean isHandleOf(MultiChainList<?> multiChainList)
+	{
+		return this.multiChainList == multiChainList;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ChainHandle " + name + " (" + id + ")";
+	}
+}
@@ -7,7 +7,7 @@
  *
  * Contributors:
  *     Sebastian Palarus - initial API and implementation
- *******************************************************************************/
+ *******************************************************************************/
 package org.sodeac.multichainlist;
 
 import java.util.ArrayList;
@@ -15,12 +15,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 
 import org.sodeac.multichainlist.MultiChainList.ClearCompleteForwardChain;
+import org.sodeac.multichainlist.MultiChainList.LinkSignal;
 import org.sodeac.multichainlist.MultiChainList.SnapshotVersion;
 import org.sodeac.multichainlist.Node.Link;
+import org.sodeac.multichainlist.Partition.ChainState;
+import org.sodeac.multichainlist.Partition.ChainSummary;
 import org.sodeac.multichainlist.Partition.Eyebolt;
 
 /**
@@ -37,6 +41,7 @@ public class ChainView<E>
 {
 	protected MultiChainList<E> multiChainList = null;
 	private String chainName = null;
+	private ChainHandle chainHandle = null;
 	private Partition<E>[] partitionFilter = null;
 	private volatile Partition<E>[] allPartitions = null;
 	private boolean anonymSnapshotChain = false;
@@ -60,6 +65,7 @@ public class ChainView<E>
 		
 		this.multiChainList = multiChainList;
 		this.chainName = chainName;
+		this.chainHandle = multiChainList.getChainHandle(chainName);
 		this.partitionFilter = partitionFilter;
 		
 		if(partitionFilter != null)
@@ -100,6 +106,7 @@ public class ChainView<E>
 		}
 		
 		this.chainName = null;
+		this.chainHandle = multiChainList.getChainHandle(null);
 		
 		this.defaultLinker = LinkerBuilder.newBuilder()
 			.inPartition(this.multiChainList.lastPartition.getName())
@@ -163,7 +170,7 @@ public class ChainView<E>
 	public Linker<E> cachedLinker(String partitionName)
 	{
 		checkDisposed();
-		return this.multiChainList.cachedLinkerBuilder().inPartition(partitionName).linkIntoChain(this.chainName).build();
+		return this.multiChainList.cachedLinker(partitionName, this.chainName);
 	}
 	
 	/**
@@ -228,31 +235,79 @@ public class ChainView<E>
 		}
 		return null;
 	}
+	
+	/**
+	 * Returns handle of chain
+	 * 
+	 * @return handle of chain
+	 */
+	public ChainHandle getChainHandle()
+	{
+		return chainHandle;
+	}
+	
 	/**
-	 * Returns element size
+	 * Returns element size. The size is read without lock, so it does not contend with writers. 
+	 * While the chain is modified concurrently, the sizes of different partitions may be read from different states.
+	 * 
 	 * @return element size
 	 */
 	public int getSize()
 	{
 		checkDisposed();
 		
-		Lock lock = multiChainList.readLock;
-		lock.lock();
-		try
+		int size = 0;
+		for(Partition<E> partition : getPartitions())
 		{
-			int size = 0;
-			for(Partition<E> partition : getPartitions())
+			ChainState<E> chainState = partition.getChainState(chainHandle);
+			size += chainState == null ? 0 : (int)chainState.getSize();
+		}
+		return size;
+	}
+	
+	/**
+	 * Returns first element of chain, regarding the partitions of this view. The element is read without lock.
+	 * 
+	 * @return first element of chain
+	 * @throws NoSuchElementException if chain is empty
+	 */
+	public E getFirstElement()
+	{
+		checkDisposed();
+		
+		for(Partition<E> partition : getPartitions())
+		{
+			ChainState<E> chainState = partition.getChainState(chainHandle);
+			ChainSummary<E> summary = chainState == null ? null : chainState.getSummary();
+			if((summary != null) && (summary.size > 0L))
 			{
-				Eyebolt<E> beginLink =  partition.partitionBegin.getLink(chainName);
-				size += beginLink == null ? 0 : (int)beginLink.getSize();
+				return summary.firstElement;
 			}
-			
-			return size;
 		}
-		finally 
+		throw new NoSuchElementException();
+	}
+	
+	/**
+	 * Returns last element of chain, regarding the partitions of this view. The element is read without lock.
+	 * 
+	 * @return last element of chain
+	 * @throws NoSuchElementException if chain is empty
+	 */
+	public E getLastElement()
+	{
+		checkDisposed();
+		
+		Partition<E>[] partitions = getPartitions();
+		for(int i = partitions.length - 1; i >= 0; i--)
 		{
-			lock.unlock();
+			ChainState<E> chainState = partitions[i].getChainState(chainHandle);
+			ChainSummary<E> summary = chainState == null ? null : chainState.getSummary();
+			if((summary != null) && (summary.size > 0L))
+			{
+				return summary.lastElement;
+			}
 		}
+		throw new NoSuchElementException();
 	}
 	
 	/**
@@ -297,7 +352,7 @@ public class ChainView<E>
 			{
 				for(Partition<E> partition : this.getPartitions())
 				{
-					Eyebolt<E> beginLink = partition.getPartitionBegin().getLink(chainName);
+					Eyebolt<E> beginLink = partition.getPartitionBegin().getLinkByHandle(chainHandle);
 					if(beginLink == null)
 					{
 						continue;
@@ -307,12 +362,11 @@ public class ChainView<E>
 						continue;
 					}
 					
-					Eyebolt<E> endLink = partition.getPartitionEnd().getLink(chainName);
+					Eyebolt<E> endLink = partition.getPartitionEnd().getLinkByHandle(chainHandle);
 					Link<E> clearLink = beginLink.nextLink;
 					endLink.previewsLink = beginLink;
 					beginLink.nextLink = endLink;
-					beginLink.setSize(0);
-					endLink.setSize(0);
+					beginLink.setSize(0L, endLink);
 					
 					Link<E> nextLink;
 					while(clearLink != null)
@@ -325,7 +379,7 @@ public class ChainView<E>
 						
 						if(clearLink.node != null)
 						{
-							clearLink.node.setHead(chainName, null, null);
+							clearLink.node.setHead(chainHandle, null, null);
 						}
 						clearLink.clear();
 						
@@ -352,13 +406,16 @@ public class ChainView<E>
 	/**
 	 * Creates new snapshot of chain
 	 * 
+	 * <p>Snapshot creation requires list's read lock only, so concurrent snapshots do not block each other. In partition locking mode 
+	 * snapshots are created concurrently with appends and prepends (see {@link MultiChainList#setPartitionLocking(boolean)}).
+	 * 
 	 * @return new snapshot
 	 */
 	public Snapshot<E> createImmutableSnapshot()
 	{
 		checkDisposed();
 		
-		return new ChainSnapshot<E>(this, false);
+		return new ChainSnapshot<E>(this, false, Long.MAX_VALUE);
 	}
 	
 	/**
@@ -370,7 +427,190 @@ public class ChainView<E>
 	{
 		checkDisposed();
 		
-		return new ChainSnapshot<E>(this, true);
+		return new ChainSnapshot<E>(this, true, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Creates new snapshot with the first {@code maxSize} nodes / elements of chain and removes these nodes / elements from chain. 
+	 * Partitions are polled in partition order, remaining nodes / elements stay in chain. 
+	 * 
+	 * <p>The effort depends on size of snapshot, not on size of chain.
+	 * 
+	 * @param maxSize maximum size of snapshot
+	 * @return new snapshot
+	 */
+	public Snapshot<E> createImmutableSnapshotPoll(int maxSize)
+	{
+		checkDisposed();
+		
+		if(maxSize < 1)
+		{
+			throw new IllegalArgumentException("max size must be greater than 0");
+		}
+		
+		return new ChainSnapshot<E>(this, true, maxSize);
+	}
+	
+	/**
+	 * Find node of element linked into this chain by identity index of list (see {@link MultiChainList#setIdentityIndex(boolean)}).
+	 * 
+	 * @param element element to find
+	 * @return node of element or null, if element is not linked into this chain
+	 * @throws RuntimeException if identity index is not enabled
+	 */
+	public Node<E> findNode(E element)
+	{
+		checkDisposed();
+		
+		Lock lock = multiChainList.readLock;
+		lock.lock();
+		try
+		{
+			return multiChainList.findNode(element, node -> getLink(node) != null);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Unlink node of element from this chain. The node is found by identity index of list (see {@link MultiChainList#setIdentityIndex(boolean)}).
+	 * 
+	 * @param element element to unlink
+	 * @return true, if element was linked into this chain, otherwise false
+	 * @throws RuntimeException if identity index is not enabled
+	 */
+	public boolean unlink(E element)
+	{
+		checkDisposed();
+		
+		Lock lock = multiChainList.writeLock;
+		lock.lock();
+		try
+		{
+			Node<E> node = multiChainList.findNode(element, n -> getLink(n) != null);
+			if(node == null)
+			{
+				return false;
+			}
+			return node.unlinkFromChainByHandle(chainHandle);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal helper method returns link of node to this chain, if the link is located in a partition of this view.
+	 * 
+	 * @param node node
+	 * @return link or null
+	 */
+	private Link<E> getLink(Node<E> node)
+	{
+		Link<E> link = node.getLinkByHandle(chainHandle);
+		if(link == null)
+		{
+			return null;
+		}
+		Partition<E> partition = link.linkageDefinition.getPartition();
+		for(Partition<E> viewPartition : getPartitions())
+		{
+			if(viewPartition == partition)
+			{
+				return link;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Waits until this chain contains at least one element or the specified waiting time elapses. 
+	 * The waiting thread is parked and wakes up as soon as an element is linked with this chain.
+	 * 
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of timeout
+	 * @return true, if chain contains elements, false if the waiting time elapsed
+	 * @throws InterruptedException if current thread is interrupted while waiting
+	 */
+	public boolean awaitNonEmpty(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		checkDisposed();
+		
+		if(getSize() > 0)
+		{
+			return true;
+		}
+		
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		LinkSignal linkSignal = this.chainHandle.linkSignal;
+		long sequence = linkSignal.register();
+		try
+		{
+			while(true)
+			{
+				if(getSize() > 0)
+				{
+					return true;
+				}
+				long nanos = deadline - System.nanoTime();
+				if(nanos <= 0L)
+				{
+					return false;
+				}
+				linkSignal.await(sequence, nanos, TimeUnit.NANOSECONDS);
+				sequence = linkSignal.getSequence();
+			}
+		}
+		finally 
+		{
+			linkSignal.unregister();
+		}
+	}
+	
+	/**
+	 * Creates new snapshot of chain and removes all nodes / elements from snapshot. 
+	 * If chain is empty, the current thread waits until elements are linked with chain or the specified waiting time elapses.
+	 * 
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of timeout
+	 * @return new snapshot, the snapshot is empty if the waiting time elapsed
+	 * @throws InterruptedException if current thread is interrupted while waiting
+	 */
+	public Snapshot<E> takeSnapshotPoll(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		return takeSnapshotPoll(Integer.MAX_VALUE, timeout, unit);
+	}
+	
+	/**
+	 * Creates new snapshot with the first {@code maxSize} nodes / elements of chain and removes these nodes / elements from chain. 
+	 * If chain is empty, the current thread waits until elements are linked with chain or the specified waiting time elapses.
+	 * 
+	 * @param maxSize maximum size of snapshot
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of timeout
+	 * @return new snapshot, the snapshot is empty if the waiting time elapsed
+	 * @throws InterruptedException if current thread is interrupted while waiting
+	 */
+	public Snapshot<E> takeSnapshotPoll(int maxSize, long timeout, TimeUnit unit) throws InterruptedException
+	{
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		while(true)
+		{
+			Snapshot<E> snapshot = maxSize == Integer.MAX_VALUE ? createImmutableSnapshotPoll() : createImmutableSnapshotPoll(maxSize);
+			if(! snapshot.isEmpty())
+			{
+				return snapshot;
+			}
+			long nanos = deadline - System.nanoTime();
+			if((nanos <= 0L) || (! awaitNonEmpty(nanos, TimeUnit.NANOSECONDS)))
+			{
+				return snapshot;
+			}
+			snapshot.close();
+		}
 	}
 	
 	/**
@@ -378,6 +618,10 @@ public class ChainView<E>
 	 * 
 	 * <p>Don't create new Threads inside procedure. There is a risk of a deadlock
 	 * 
+	 * <p>Procedure runs with write lock. Threads waiting for the lock park (virtual threads release their carrier thread), 
+	 * but all of them wait until procedure is finished. Procedure should not block, especially not with synchronized blocks, 
+	 * which pin the carrier thread of virtual threads.
+	 * 
 	 * @param procedure
 	 */
 	public void computeProcedure(Consumer<ChainView<E>> procedure)
@@ -419,52 +663,69 @@ public class ChainView<E>
 		private List<Snapshot<E>> partitionSnapshots = null;
 		private ChainView<E> chain = null;
 		
-		private ChainSnapshot(ChainView<E> chain, boolean poll)
+		private ChainSnapshot(ChainView<E> chain, boolean poll, long maxSize)
 		{
 			super(chain.multiChainList);
 			
 			this.chain = chain;
 			
+			// release leaked and expired snapshots before pinning a new version
+			this.chain.multiChainList.expungeSnapshots();
+			this.chain.multiChainList.checkRetainedVersionBudget();
+			
 			Partition<E>[] partitions = this.chain.getPartitions();
 			this.partitionSnapshots = new ArrayList<>(partitions.length);
 			
-			Lock lock = this.chain.multiChainList.writeLock;
+			// snapshots without poll only pin the current version and don't block each other, 
+			// but producers in partition locking mode have to be blocked by partition locks while first and last links are captured
+			ILatencyRecorder latencyRecorder = this.chain.multiChainList.getEnabledLatencyRecorder();
+			long requestedAt = latencyRecorder == null ? 0L : System.nanoTime();
+			long acquiredAt = 0L;
+			Lock lock = poll ? this.chain.multiChainList.writeLock : this.chain.multiChainList.readLock;
 			lock.lock();
+			if(latencyRecorder != null)
+			{
+				acquiredAt = System.nanoTime();
+			}
 			try
 			{
+				super.version = this.chain.multiChainList.pinSnapshotVersion(this);
 				
-				if(this.chain.multiChainList.snapshotVersion == null)
+				List<Partition<E>> lockedPartitions = null;
+				if((! poll) && this.chain.multiChainList.partitionLocking)
 				{
-					this.chain.multiChainList.snapshotVersion = this.chain.multiChainList.modificationVersion;
-					this.chain.multiChainList.openSnapshotVersionList.add(this.chain.multiChainList.snapshotVersion);
+					// all partitions in list order, like producers
+					lockedPartitions = this.chain.multiChainList.getPartitionList();
 				}
-				super.version = this.chain.multiChainList.snapshotVersion;
-				super.version.addSnapshot(this);
-				
-				SnapshotVersion<E> modificationVersion = null;
-				for(int i = 0; i < partitions.length;  i++)
+				int lockedPartitionSize = 0;
+				try
 				{
-					Partition<E> partition = partitions[i];
-					Eyebolt<E> beginLink = partition.getPartitionBegin().getLink(this.chain.chainName);
-					if((beginLink == null) || (beginLink.getSize() == 0))
-					{
-						continue;
-					}
-					
-					Snapshot<E> snapshot = new Snapshot<E>(this.chain.multiChainList.snapshotVersion, this.chain.chainName, partition, this.chain.multiChainList);
-					super.size += snapshot.size;
-					if(super.firstLink == null)
+					if(lockedPartitions != null)
 					{
-						super.firstLink = snapshot.firstLink;
-						super.lastLink = snapshot.lastLink;
+						for(Partition<E> partition : lockedPartitions)
+						{
+							partition.partitionLock.lock();
+							lockedPartitionSize++;
+						}
 					}
-					else if(snapshot.lastLink != null)
+					capturePartitions(partitions, maxSize);
+				}
+				finally 
+				{
+					while(lockedPartitionSize > 0)
 					{
-						super.lastLink = snapshot.lastLink;
+						lockedPartitions.get(--lockedPartitionSize).partitionLock.unlock();
 					}
-					this.partitionSnapshots.add(snapshot);
 				}
-					
+				
+				MultiChainListMetrics metrics = this.chain.multiChainList.metrics;
+				if(poll && (metrics != null))
+				{
+					metrics.pollCount.increment();
+					metrics.polledElementCount.add(super.size);
+				}
+				
+				SnapshotVersion<E> modificationVersion = null;
 				if(poll && (! this.partitionSnapshots.isEmpty()))
 				{
 					if(modificationVersion == null)
@@ -474,20 +735,25 @@ public class ChainView<E>
 					for(Snapshot<E> snaphot : this.partitionSnapshots)
 					{
 						Partition<E> partition = snaphot.partition;
-						Eyebolt<E> beginLink = partition.getPartitionBegin().getLink(this.chain.chainName);
-						Eyebolt<E> endLink = partition.getPartitionEnd().getLink(this.chain.chainName);
+						Eyebolt<E> beginLink = partition.getPartitionBegin().getLinkByHandle(this.chain.chainHandle);
+						Eyebolt<E> endLink = partition.getPartitionEnd().getLinkByHandle(this.chain.chainHandle);
+						
+						if(snaphot.size < beginLink.getSize())
+						{
+							detachFirstLinks(snaphot, beginLink, endLink, modificationVersion);
+							continue;
+						}
 						
 						beginLink = beginLink.createNewerLink(modificationVersion, null);
 						endLink.previewsLink = beginLink;
 						beginLink.nextLink = endLink;
-						beginLink.setSize(0);
-						endLink.setSize(0);
+						beginLink.setSize(0L, endLink);
 						
 						this.chain.multiChainList.chainNameListCopy = null;
 						
 						if(beginLink.olderVersion.nextLink != null)
 						{
-							chain.multiChainList.setObsolete(new ClearCompleteForwardChain<E>(beginLink.olderVersion.nextLink));
+							chain.multiChainList.setObsolete(new ClearCompleteForwardChain<E>(beginLink.olderVersion.nextLink, snaphot.size));
 							
 							Link<E> clearLink = beginLink.olderVersion.nextLink;
 							Link<E> nextLink;
@@ -502,7 +768,10 @@ public class ChainView<E>
 										break;
 									}
 									
-									clearLink.node.setHead(this.chain.chainName, null, null);
+									// node must not be disposed by clearing older obsolete versions of link, while open snapshots reference this link
+									clearLink.obsoleteOnVersion = modificationVersion.getSequence();
+									clearLink.node.lastObsoleteOnVersion = clearLink.obsoleteOnVersion;
+									clearLink.node.setHead(this.chain.chainHandle, null, null);
 								}
 								
 								clearLink = nextLink;
@@ -515,7 +784,105 @@ public class ChainView<E>
 			}
 			finally 
 			{
+				long releasedAt = latencyRecorder == null ? 0L : System.nanoTime();
 				lock.unlock();
+				if((latencyRecorder != null) && (this.chain.multiChainList.uuid != null))
+				{
+					latencyRecorder.recordLock
+					(
+						this.chain.multiChainList.uuid.toString(), 
+						poll ? ILatencyRecorder.OPERATION_SNAPSHOT_POLL : ILatencyRecorder.OPERATION_SNAPSHOT, 
+						poll, acquiredAt - requestedAt, releasedAt - acquiredAt
+					);
+				}
+			}
+		}
+		
+		/**
+		 * Internal method to capture first and last links of chain in each partition. This method must invoke with MCL.writeLock, 
+		 * or with MCL.readLock and locks of all partitions in partition locking mode !
+		 * 
+		 * @param partitions partitions of chain
+		 * @param maxSize maximum size of snapshot
+		 */
+		private void capturePartitions(Partition<E>[] partitions, long maxSize)
+		{
+			long remainingSize = maxSize;
+			for(int i = 0; (i < partitions.length) && (remainingSize > 0L);  i++)
+			{
+				Partition<E> partition = partitions[i];
+				Eyebolt<E> beginLink = partition.getPartitionBegin().getLinkByHandle(this.chain.chainHandle);
+				if((beginLink == null) || (beginLink.getSize() == 0))
+				{
+					continue;
+				}
+				
+				Snapshot<E> snapshot = new Snapshot<E>(super.version, this.chain.chainHandle, partition, this.chain.multiChainList);
+				if(snapshot.size > remainingSize)
+				{
+					// snapshot covers only the first links of partition
+					Link<E> lastLink = snapshot.firstLink;
+					for(long j = 1; j < remainingSize; j++)
+					{
+						lastLink = lastLink.nextLink;
+					}
+					snapshot.lastLink = lastLink;
+					snapshot.size = remainingSize;
+				}
+				remainingSize -= snapshot.size;
+				super.size += snapshot.size;
+				if(super.firstLink == null)
+				{
+					super.firstLink = snapshot.firstLink;
+					super.lastLink = snapshot.lastLink;
+				}
+				else if(snapshot.lastLink != null)
+				{
+					super.lastLink = snapshot.lastLink;
+				}
+				this.partitionSnapshots.add(snapshot);
+			}
+		}
+		
+		/**
+		 * Internal method to detach the links of partition snapshot from chain, if partition snapshot covers the first links of partition only. 
+		 * This method must invoke with MCL.writeLock !
+		 * 
+		 * @param snapshot partition snapshot covers the first links of partition
+		 * @param beginLink begin of chain in partition
+		 * @param endLink end of chain in partition
+		 * @param modificationVersion current version of list
+		 */
+		private void detachFirstLinks(Snapshot<E> snapshot, Eyebolt<E> beginLink, Eyebolt<E> endLink, SnapshotVersion<E> modificationVersion)
+		{
+			long remainingSize = beginLink.getSize() - snapshot.size;
+			
+			// the first remaining link gets a new version with new route to begin of chain
+			Link<E> next = snapshot.lastLink.nextLink;
+			if(next.createOnVersion.getSequence() < modificationVersion.getSequence())
+			{
+				Link<E> nextOfNext = next.nextLink;
+				next = next.createNewerLink(modificationVersion, null);
+				next.nextLink = nextOfNext;
+				nextOfNext.previewsLink = next;
+			}
+			if(beginLink.createOnVersion.getSequence() < modificationVersion.getSequence())
+			{
+				beginLink = beginLink.createNewerLink(modificationVersion, null);
+			}
+			beginLink.nextLink = next;
+			next.previewsLink = beginLink;
+			beginLink.setSize(remainingSize, endLink);
+			
+			// detached links are cleared after all snapshots are closed
+			Link<E> link = snapshot.firstLink;
+			Link<E> nextLink;
+			for(long i = 0; i < snapshot.size; i++)
+			{
+				nextLink = link.nextLink;
+				link.node.setHead(this.chain.chainHandle, null, null);
+				this.chain.multiChainList.setObsolete(link);
+				link = nextLink;
 			}
 		}
 
@@ -545,6 +912,37 @@ public class ChainView<E>
 			return new ElementSnapshotChainIterator();
 		}
 
+		@Override
+		protected List<Snapshot<E>> getPartitionSnapshots()
+		{
+			return this.partitionSnapshots;
+		}
+		
+		@Override
+		protected String getRecordChainName()
+		{
+			return this.chain == null ? null : this.chain.chainName;
+		}
+		
+		@Override
+		protected String getRecordPartitionNames()
+		{
+			if(this.chain == null)
+			{
+				return null;
+			}
+			StringBuilder partitionNames = new StringBuilder();
+			for(Partition<E> partition : this.chain.getPartitions())
+			{
+				if(partitionNames.length() > 0)
+				{
+					partitionNames.append(',');
+				}
+				partitionNames.append(partition.getName());
+			}
+			return partitionNames.toString();
+		}
+
 		@Override
 		public Iterable<Link<E>> linkIterable()
 		{
@@ -560,6 +958,22 @@ public class ChainView<E>
 				 }
 			} ;
 		}
+		
+		@Override
+		public Iterable<Node<E>> nodeIterable()
+		{
+			if(closed)
+			{
+				throw new RuntimeException("snapshot is closed");
+			}
+			return new Iterable<Node<E>>()
+			{
+				 public Iterator<Node<E>> iterator()
+				 {
+					 return new NodeChainSnapshotIterator();
+				 }
+			} ;
+		}
 
 		@Override
 		public int hashCode()
@@ -588,12 +1002,21 @@ public class ChainView<E>
 			}
 		}
 		
+		private class NodeChainSnapshotIterator extends ChainSnapshotIterator implements Iterator<Node<E>>
+		{
+			@Override
+			public Node<E> next()
+			{
+				return super.nextLink().node;
+			}
+		}
+		
 		private class ElementSnapshotChainIterator extends ChainSnapshotIterator implements Iterator<E>
 		{
 			@Override
 			public E next()
 			{
-				return super.nextLink().element;
+				return super.nextLink().getElement();
 			}
 		}
 
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+/**
+ * Internal helper to create a latency recorder committing Java Flight Recorder events.
+ *
+ * <p>This is the Java 8 implementation, Java Flight Recorder events are not supported. The multi-release jar contains a Java 21 implementation
+ * in META-INF/versions/21.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+class FlightRecorderSupport
+{
+	private FlightRecorderSupport()
+	{
+		super();
+	}
+
+	/**
+	 * Creates a latency recorder committing Java Flight Recorder events.
+	 *
+	 * @return latency recorder or null, if Java Flight Recorder events are not supported
+	 */
+	static ILatencyRecorder newRecorder()
+	{
+		return null;
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+/**
+ * An interface to record latencies of list internals: lock acquisitions, snapshot lifetimes and reclamation passes.
+ *
+ * <p>Recorder is set by {@link MultiChainList#setLatencyRecorder(ILatencyRecorder)}. With Java 21 or higher {@link MultiChainList#setFlightRecording(boolean)}
+ * installs a recorder committing Java Flight Recorder events. Operations are measured only, if {@link ILatencyRecorder#isEnabled()} returns true.
+ * Record methods are invoked after locks are released.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+public interface ILatencyRecorder
+{
+	/**
+	 * Operation of {@link Linker} linking a single element
+	 */
+	public static final String OPERATION_LINK = "link";
+
+	/**
+	 * Operation of {@link Linker} linking multiple elements
+	 */
+	public static final String OPERATION_LINK_ALL = "linkAll";
+
+	/**
+	 * Operation of {@link Node} unlinking from chains
+	 */
+	public static final String OPERATION_UNLINK = "unlink";
+
+	/**
+	 * Operation of {@link ChainView} creating a snapshot
+	 */
+	public static final String OPERATION_SNAPSHOT = "snapshot";
+
+	/**
+	 * Operation of {@link ChainView} creating a snapshot and removing the elements from chain
+	 */
+	public static final String OPERATION_SNAPSHOT_POLL = "snapshotPoll";
+
+	/**
+	 * Checks whether latencies should be measured. This method is invoked for each operation, so it should be cheap.
+	 *
+	 * @return true, if latencies should be measured, otherwise false
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Record lock acquisition of an operation
+	 *
+	 * @param listId uuid of list
+	 * @param operation operation, see constants of this interface
+	 * @param exclusive true, if write lock is acquired, false if read lock is acquired
+	 * @param waitNanos time waited for lock in nanoseconds
+	 * @param holdNanos time lock was held in nanoseconds
+	 */
+	public void recordLock(String listId, String operation, boolean exclusive, long waitNanos, long holdNanos);
+
+	/**
+	 * Record lifetime of a snapshot
+	 *
+	 * @param listId uuid of list
+	 * @param chainName name of chain
+	 * @param partitionNames names of partitions, separated by comma
+	 * @param size size of snapshot
+	 * @param openNanos time between creation and close of snapshot in nanoseconds
+	 */
+	public void recordSnapshot(String listId, String chainName, String partitionNames, long size, long openNanos);
+
+	/**
+	 * Record reclamation pass of obsolete links
+	 *
+	 * @param listId uuid of list
+	 * @param freedLinks count of cleared links
+	 * @param pending true, if reclamation stopped because of reclaim budget
+	 * @param durationNanos duration of reclamation pass in nanoseconds
+	 */
+	public void recordReclamation(String listId, long freedLinks, boolean pending, long durationNanos);
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+/**
+ * An interface to consume notifications, if node size of list crosses watermarks. 
+ * 
+ * <p>After high watermark is reached, low watermark is notified once node size drops to low watermark, and vice versa. 
+ * Notifications are invoked by linking or unlinking thread, possibly while locks of list are held. Listener must not block and must not modify the list.
+ * 
+ * @see MultiChainList#setWatermarks(long, long, IWatermarkListener)
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ * @param <E> the type of elements in this list
+ */
+public interface IWatermarkListener<E>
+{
+	/**
+	 * Notify if node size reaches high watermark
+	 * 
+	 * @param multiChainList list
+	 * @param nodeSize current node size
+	 */
+	public void onHighWatermark(MultiChainList<E> multiChainList, long nodeSize);
+	
+	/**
+	 * Notify if node size drops to low watermark
+	 * 
+	 * @param multiChainList list
+	 * @param nodeSize current node size
+	 */
+	public void onLowWatermark(MultiChainList<E> multiChainList, long nodeSize);
+}
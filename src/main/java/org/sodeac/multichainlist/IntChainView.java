@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import java.util.Objects;
+
+/**
+ * Chain view of primitive int values. Wraps a {@link ChainView} of a {@link IntMultiChainList}.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public class IntChainView
+{
+	protected IntChainView(ChainView<Integer> chainView)
+	{
+		super();
+		Objects.requireNonNull(chainView, "chain view not set");
+		this.chainView = chainView;
+	}
+
+	private ChainView<Integer> chainView = null;
+
+	/**
+	 * Getter for wrapped chain view
+	 *
+	 * @return wrapped chain view
+	 */
+	public ChainView<Integer> getChainView()
+	{
+		return chainView;
+	}
+
+	/**
+	 * Returns default linker
+	 *
+	 * @return default linker
+	 */
+	public IntLinker defaultLinker()
+	{
+		return new IntLinker(chainView.defaultLinker());
+	}
+
+	/**
+	 * Creates or reuses a linker to link elements in this chain and specified partition
+	 *
+	 * @param partitionName name of partition
+	 * @return created or reused a linker
+	 */
+	public IntLinker cachedLinker(String partitionName)
+	{
+		return new IntLinker(chainView.cachedLinker(partitionName));
+	}
+
+	/**
+	 * Returns element size
+	 * @return element size
+	 */
+	public int getSize()
+	{
+		return chainView.getSize();
+	}
+
+	/**
+	 * Remove all nodes / elements from this chains
+	 *
+	 * @return this chain view
+	 */
+	public IntChainView clear()
+	{
+		chainView.clear();
+		return this;
+	}
+
+	/**
+	 * Creates new snapshot of chain
+	 *
+	 * @return new snapshot
+	 */
+	public IntSnapshot createImmutableSnapshot()
+	{
+		return new IntSnapshot(chainView.createImmutableSnapshot());
+	}
+
+	/**
+	 * Creates new snapshot of chain and removes all nodes / elements from snapshot
+	 *
+	 * @return new snapshot
+	 */
+	public IntSnapshot createImmutableSnapshotPoll()
+	{
+		return new IntSnapshot(chainView.createImmutableSnapshotPoll());
+	}
+
+	/**
+	 * Creates new snapshot with the first {@code maxSize} nodes / elements of chain and removes these nodes / elements from chain
+	 *
+	 * @param maxSize maximum size of snapshot
+	 * @return new snapshot
+	 */
+	public IntSnapshot createImmutableSnapshotPoll(int maxSize)
+	{
+		return new IntSnapshot(chainView.createImmutableSnapshotPoll(maxSize));
+	}
+
+	/**
+	 * Helps gc to clean memory. After this this chain view is not usable anymore.
+	 */
+	public void dispose()
+	{
+		chainView.dispose();
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import java.util.Objects;
+
+/**
+ * Linker to link primitive int values without boxing. Wraps a {@link Linker} of a {@link IntMultiChainList}.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public class IntLinker
+{
+	protected IntLinker(Linker<Integer> linker)
+	{
+		super();
+		Objects.requireNonNull(linker, "linker not set");
+		this.linker = linker;
+	}
+
+	private Linker<Integer> linker = null;
+
+	/**
+	 * Getter for wrapped linker
+	 *
+	 * @return wrapped linker
+	 */
+	public Linker<Integer> getLinker()
+	{
+		return linker;
+	}
+
+	/**
+	 * Appends the specified element to the end of all list areas (chain / partition) for which this linker is configured.
+	 *
+	 * @param element element to be appended
+	 * @return container node responsible to manage appended element
+	 */
+	public IntNode append(int element)
+	{
+		return (IntNode)linker.linkNode(Partition.LinkMode.APPEND, new IntNode(element, linker.getMultiChainList()));
+	}
+
+	/**
+	 * Appends all of the elements to the end of all list areas (chain / partition) for which this linker is configured.
+	 *
+	 * @param elements elements to be appended
+	 * @return container nodes responsible to manage appended elements
+	 */
+	public IntNode[] appendAll(int... elements)
+	{
+		return (IntNode[])linker.linkAllNodes(Partition.LinkMode.APPEND, createNodes(elements), null);
+	}
+
+	/**
+	 * Prepends the specified element to the begin of all list areas (chain / partition) for which this linker is configured.
+	 *
+	 * @param element element to be prepended
+	 * @return container node responsible to manage prepended element
+	 */
+	public IntNode prepend(int element)
+	{
+		return (IntNode)linker.linkNode(Partition.LinkMode.PREPEND, new IntNode(element, linker.getMultiChainList()));
+	}
+
+	/**
+	 * Prepends all of the elements to the begin of all list areas (chain / partition) for which this linker is configured.
+	 *
+	 * @param elements elements to be prepended
+	 * @return container nodes responsible to manage prepended elements
+	 */
+	public IntNode[] prependAll(int... elements)
+	{
+		return (IntNode[])linker.linkAllNodes(Partition.LinkMode.PREPEND, createNodes(elements), null);
+	}
+
+	/**
+	 * Internal helper method to create nodes
+	 *
+	 * @param elements elements of nodes
+	 * @return nodes
+	 */
+	private IntNode[] createNodes(int[] elements)
+	{
+		if(elements == null)
+		{
+			return null;
+		}
+		MultiChainList<Integer> multiChainList = linker.getMultiChainList();
+		IntNode[] nodes = new IntNode[elements.length];
+		for(int i = 0; i < elements.length; i++)
+		{
+			nodes[i] = new IntNode(elements[i], multiChainList);
+		}
+		return nodes;
+	}
+}
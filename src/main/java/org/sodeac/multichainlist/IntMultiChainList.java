@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import java.util.Objects;
+
+/**
+ * A snapshotable, partable list with multiple chains for primitive int values. Elements are stored in {@link IntNode}s without boxing.
+ *
+ * <p>{@link IntLinker}, {@link IntChainView} and {@link IntSnapshot} link and read elements without boxing.
+ * All methods of {@link MultiChainList} are still usable and box elements on demand.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public class IntMultiChainList extends MultiChainList<Integer>
+{
+	/**
+	 * Constructor to create a list with default partition: NULL .
+	 */
+	public IntMultiChainList()
+	{
+		super();
+	}
+
+	/**
+	 * Constructor to create a list with specified partitions.
+	 *
+	 * @param partitionNames partition names for partitions to create
+	 */
+	public IntMultiChainList(String... partitionNames)
+	{
+		super(partitionNames);
+	}
+
+	/**
+	 * Identity index is not supported, because int elements are boxed on demand and have no stable identity.
+	 *
+	 * @param identityIndex true, to enable identity index, otherwise false
+	 * @throws RuntimeException with {@link UnsupportedOperationException} as cause, if identity index should be enabled
+	 */
+	@Override
+	public void setIdentityIndex(boolean identityIndex)
+	{
+		if(identityIndex)
+		{
+			throw new RuntimeException(new UnsupportedOperationException("identity index is not supported by primitive lists"));
+		}
+		super.setIdentityIndex(false);
+	}
+
+	@Override
+	protected Node<Integer> createNode(Integer element)
+	{
+		Objects.requireNonNull(element, "null elements not supported");
+		return new IntNode(element.intValue(), this);
+	}
+
+	/**
+	 * Get default linker. See {@link MultiChainList#defaultLinker()}
+	 *
+	 * @return default linker
+	 */
+	public IntLinker defaultIntLinker()
+	{
+		return new IntLinker(defaultLinker());
+	}
+
+	/**
+	 * Creates linker with specified linker builder
+	 *
+	 * @param linkerBuilder linker builder
+	 * @return new linker
+	 */
+	public IntLinker buildIntLinker(LinkerBuilder linkerBuilder)
+	{
+		return new IntLinker(linkerBuilder.build(this));
+	}
+
+	/**
+	 * Creates a view for specified chain. See {@link MultiChainList#createChainView(String, Partition...)}
+	 *
+	 * @param chainName name of chain
+	 * @param partitionFilter optional partition filter
+	 * @return chain view
+	 */
+	@SafeVarargs
+	public final IntChainView createIntChainView(String chainName, Partition<Integer>... partitionFilter)
+	{
+		return new IntChainView(createChainView(chainName, partitionFilter));
+	}
+
+	/**
+	 * Creates or reuses a view for specified chain. See {@link MultiChainList#cachedChainView(String, String)}
+	 *
+	 * @param chainName name of chain
+	 * @param partitionNameForDefaultLinker partition for default linker
+	 * @return chain view
+	 */
+	public IntChainView cachedIntChainView(String chainName, String partitionNameForDefaultLinker)
+	{
+		return new IntChainView(cachedChainView(chainName, partitionNameForDefaultLinker));
+	}
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Snapshot of primitive int values. Wraps a {@link Snapshot} of a {@link IntMultiChainList} and iterates the values without boxing.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public class IntSnapshot implements AutoCloseable
+{
+	protected IntSnapshot(Snapshot<Integer> snapshot)
+	{
+		super();
+		Objects.requireNonNull(snapshot, "snapshot not set");
+		this.snapshot = snapshot;
+	}
+
+	private Snapshot<Integer> snapshot = null;
+
+	/**
+	 * Getter for wrapped snapshot
+	 *
+	 * @return wrapped snapshot
+	 */
+	public Snapshot<Integer> getSnapshot()
+	{
+		return snapshot;
+	}
+
+	@Override
+	public void close()
+	{
+		snapshot.close();
+	}
+
+	/**
+	 * returns if snapshot is closed
+	 *
+	 * @return true if snapshot is closed, otherwise false
+	 */
+	public boolean isClosed()
+	{
+		return snapshot.isClosed();
+	}
+
+	/**
+	 * Returns version of list the snapshot was created
+	 * @return version of list the snapshot was created
+	 */
+	public long getVersion()
+	{
+		return snapshot.getVersion();
+	}
+
+	/**
+	 * Returns size of snapshot
+	 *
+	 * @return size of snapshot
+	 */
+	public int size()
+	{
+		return snapshot.size();
+	}
+
+	/**
+	 * Returns true if this snapshot contains no elements.
+	 *
+	 * @return true if this snapshot contains no elements
+	 */
+	public boolean isEmpty()
+	{
+		return snapshot.isEmpty();
+	}
+
+	/**
+	 * Returns first element
+	 * @return first element
+	 */
+	public int getFirstElement()
+	{
+		Node<Integer> node = snapshot.getFirstNode();
+		if(node == null)
+		{
+			throw new NoSuchElementException();
+		}
+		return ((IntNode)node).intElement;
+	}
+
+	/**
+	 * Returns last element
+	 * @return last element
+	 */
+	public int getLastElement()
+	{
+		Node<Integer> node = snapshot.getLastNode();
+		if(node == null)
+		{
+			throw new NoSuchElementException();
+		}
+		return ((IntNode)node).intElement;
+	}
+
+	/**
+	 * Returns iterator of primitive elements
+	 *
+	 * @return iterator
+	 */
+	public PrimitiveIterator.OfInt iterator()
+	{
+		return new IntSnapshotIterator(snapshot.nodeIterable().iterator());
+	}
+
+	/**
+	 * Performs the given action for each element of snapshot
+	 *
+	 * @param action action to perform
+	 */
+	public void forEach(IntConsumer action)
+	{
+		iterator().forEachRemaining(action);
+	}
+
+	/**
+	 * Returns stream of primitive elements
+	 *
+	 * @return stream
+	 */
+	public IntStream stream()
+	{
+		return StreamSupport.stream(snapshot.nodeSpliterator(), false).mapToInt(node -> ((IntNode)node).intElement);
+	}
+
+	/**
+	 * Returns array with all elements of snapshot
+	 *
+	 * @return array with all elements
+	 */
+	public int[] toArray()
+	{
+		int[] array = new int[size()];
+		int index = 0;
+		for(Node<Integer> node : snapshot.nodeIterable())
+		{
+			array[index++] = ((IntNode)node).intElement;
+		}
+		return array;
+	}
+
+	/**
+	 * private helper class
+	 *
+	 * @author Sebastian Palarus
+	 *
+	 */
+	private static class IntSnapshotIterator implements PrimitiveIterator.OfInt
+	{
+		private Iterator<Node<Integer>> nodeIterator = null;
+
+		private IntSnapshotIterator(Iterator<Node<Integer>> nodeIterator)
+		{
+			super();
+			this.nodeIterator = nodeIterator;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return nodeIterator.hasNext();
+		}
+
+		@Override
+		public int nextInt()
+		{
+			return ((IntNode)nodeIterator.next()).intElement;
+		}
+	}
+}
@@ -32,9 +32,25 @@ public class LinkageDefinition<E>
 		super();
 		this.chainName = chainName;
 		this.partition = partition;
+		this.chainHandle = ((partition == null) || (partition.multiChainList == null)) ? null : partition.multiChainList.getChainHandle(chainName);
+	}
+	
+	/**
+	 * Create LinkageDefinition with chain handle and partition
+	 * 
+	 * @param chainHandle linkage chain handle
+	 * @param partition linkage partition
+	 */
+	protected LinkageDefinition(ChainHandle chainHandle,Partition<E> partition)
+	{
+		super();
+		this.chainName = chainHandle.getName();
+		this.partition = partition;
+		this.chainHandle = chainHandle;
 	}
 	private String chainName;
 	private Partition<E> partition;
+	private ChainHandle chainHandle;
 	
 	/**
 	 * Getter for chain name.
@@ -46,6 +62,16 @@ public class LinkageDefinition<E>
 		return chainName;
 	}
 	
+	/**
+	 * Getter for chain handle. 
+	 * 
+	 * @return chain handle or null, if linkage definition is not assigned to a partition
+	 */
+	public ChainHandle getChainHandle()
+	{
+		return chainHandle;
+	}
+	
 	/**
 	 * Getter for partition
 	 * 
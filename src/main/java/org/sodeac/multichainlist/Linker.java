@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.sodeac.multichainlist;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -21,6 +22,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.locks.Lock;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.sodeac.multichainlist.MultiChainList.SnapshotVersion;
+import org.sodeac.multichainlist.Node.Link;
 
 /**
  * 
@@ -35,6 +42,12 @@ public class Linker<E>
 	private MultiChainList<E> multiChainList = null;
 	private Map<String,Set<String>> chainsByPartition = null;
 	private volatile LinkageDefinitionContainer linkageDefinitionContainer = null;
+	private volatile ConcurrentLinkedQueue<PendingAppend<E>> pendingAppends = null;
+	
+	/**
+	 * Maximum count of pending appends linked with one write lock acquisition.
+	 */
+	protected static final int COMBINING_APPEND_MAX_COMBINE = 1024;
 	
 	protected Linker(MultiChainList<E> multiChainList,Map<String,Set<String>> chainsByPartition)
 	{
@@ -85,6 +98,16 @@ public class Linker<E>
 		return currentLinkageDefinitionContainer;
 	}
 	
+	/**
+	 * Getter for list
+	 * 
+	 * @return list this linker belongs to
+	 */
+	protected MultiChainList<E> getMultiChainList()
+	{
+		return this.multiChainList;
+	}
+	
 	/**
 	 * Returns configured partition for chain
 	 * 
@@ -97,6 +120,65 @@ public class Linker<E>
 		return linkageDefinition == null ? null : linkageDefinition.getPartition();
 	}
 	
+	/**
+	 * Returns configured partition for chain
+	 * 
+	 * @param chainHandle handle of chain 
+	 * @return configured partition for chain
+	 */
+	public Partition<E> getPartitionForChainByHandle(ChainHandle chainHandle)
+	{
+		for(LinkageDefinition<E> linkageDefinition : getLinkageDefinitionContainer().linkageDefinitionList)
+		{
+			if(linkageDefinition.getChainHandle() == chainHandle)
+			{
+				return linkageDefinition.getPartition();
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Enables or disables combining append mode. This mode is designed for linkers link into one chain of one partition, like the default linker of {@link SingleChainList}.
+	 * 
+	 * <p>In combining append mode {@link Linker#append(Object)} publishes the new node into a queue of pending appends (Michael-Scott queue). 
+	 * The producer that acquires the write lock links all pending nodes of this linker with the same list version and checks the capacities 
+	 * of chains once for all of them (flat combining). 
+	 * 
+	 * <p>This mode is not lock free. Each producer blocks for the write lock. If its node is already linked by another producer, 
+	 * it releases the write lock immediately. Combining reduces the work under the write lock, if many producers append concurrently.
+	 * 
+	 * <p>A pending node is rejected with {@link ListFullException}, if the capacity of a chain is exhausted by the nodes before it. 
+	 * With {@link Partition.CapacityPolicy#EVICT_OLDEST} the oldest elements are evicted once for all linked nodes.
+	 * 
+	 * <p>A producer does not return before its node is linked. The order of appended elements of one producer thread is preserved.
+	 * 
+	 * @param combiningAppend true, to enable combining append mode, otherwise false
+	 * @return this linker
+	 */
+	public Linker<E> setCombiningAppend(boolean combiningAppend)
+	{
+		if(combiningAppend && (this.pendingAppends == null))
+		{
+			this.pendingAppends = new ConcurrentLinkedQueue<PendingAppend<E>>();
+		}
+		else if(! combiningAppend)
+		{
+			this.pendingAppends = null;
+		}
+		return this;
+	}
+	
+	/**
+	 * Getter for combining append mode.
+	 * 
+	 * @return true, if combining append mode is enabled, otherwise false
+	 */
+	public boolean isCombiningAppend()
+	{
+		return this.pendingAppends != null;
+	}
+	
 	/**
 	 * Appends the specified element to the end of all list areas (chain / partition) for which this linker is configured.
 	 *  
@@ -131,6 +213,126 @@ public class Linker<E>
 		return linkAll(Partition.LinkMode.APPEND, elements);
 	}
 	
+	/**
+	 * Appends the specified element to the end of all list areas (chain / partition) for which this linker is configured. 
+	 * If list is full (see {@link MultiChainList#setNodeMaxSize(long)}) or a chain is full (see {@link Partition#setCapacity(long)}), 
+	 * the current thread waits until capacity is released or the specified waiting time elapses.
+	 * 
+	 * @param element element to be appended
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of timeout
+	 * @return container node responsible to manage appended element
+	 * @throws ListFullException if capacity is not released within waiting time
+	 * @throws InterruptedException if current thread is interrupted while waiting
+	 */
+	public Node<E> append(E element, long timeout, TimeUnit unit) throws InterruptedException
+	{
+		return linkWithCapacity(() -> link(Partition.LinkMode.APPEND,element), timeout, unit);
+	}
+	
+	/**
+	 * Appends all of the elements to the end of all list areas (chain / partition) for which this linker is configured. 
+	 * If list or a chain can not contain all elements, the current thread waits until capacity is released or the specified waiting time elapses. 
+	 * Elements are linked all together, so the count of elements must not exceed the capacities.
+	 * 
+	 * @param elements elements to be appended
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of timeout
+	 * @return container nodes responsible to manage appended elements
+	 * @throws ListFullException if capacity is not released within waiting time
+	 * @throws InterruptedException if current thread is interrupted while waiting
+	 */
+	public Node<E>[] appendAll(Collection<E> elements, long timeout, TimeUnit unit) throws InterruptedException
+	{
+		return linkWithCapacity(() -> linkAll(Partition.LinkMode.APPEND, elements), timeout, unit);
+	}
+	
+	/**
+	 * Internal method to link until capacity is available or waiting time elapses.
+	 * 
+	 * @param link procedure to link
+	 * @param timeout maximum time to wait
+	 * @param unit time unit of timeout
+	 * @return result of link procedure
+	 * @throws ListFullException if capacity is not released within waiting time
+	 * @throws InterruptedException if current thread is interrupted while waiting
+	 */
+	private <T> T linkWithCapacity(Supplier<T> link, long timeout, TimeUnit unit) throws InterruptedException
+	{
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		MultiChainList.LinkSignal capacitySignal = this.multiChainList.capacitySignal;
+		
+		// registration before linking, capacity released in the meantime triggers the signal
+		long sequence = capacitySignal.register();
+		try
+		{
+			while(true)
+			{
+				try
+				{
+					return link.get();
+				}
+				catch (ListFullException e) 
+				{
+					long nanos = deadline - System.nanoTime();
+					if(nanos <= 0L)
+					{
+						throw e;
+					}
+					capacitySignal.await(sequence, nanos, TimeUnit.NANOSECONDS);
+					sequence = capacitySignal.getSequence();
+				}
+			}
+		}
+		finally 
+		{
+			capacitySignal.unregister();
+		}
+	}
+	
+	/**
+	 * Internal method checks capacities of all chains in partitions before linking elements. This method must invoke with MCL.writeLock 
+	 * or with MCL.readLock and locks of all affected partitions !
+	 * 
+	 * <p>Full chains of partitions with {@link Partition.CapacityPolicy#EVICT_OLDEST} are evicted after all chains are checked.
+	 * 
+	 * @param linkageDefinitionContainer linkage definitions
+	 * @param count count of elements to link
+	 * @throws ListFullException if a chain in partition can not contain specified count of additional elements
+	 */
+	private void checkCapacity(LinkageDefinitionContainer linkageDefinitionContainer, long count)
+	{
+		if(! this.multiChainList.capacityLimited)
+		{
+			return;
+		}
+		for(LinkageDefinition<E> linkageDefinition : linkageDefinitionContainer.linkageDefinitionList)
+		{
+			linkageDefinition.getPartition().checkCapacity(linkageDefinition.getChainName(), count);
+		}
+		
+		// all or nothing => evict not until all chains are checked
+		for(LinkageDefinition<E> linkageDefinition : linkageDefinitionContainer.linkageDefinitionList)
+		{
+			linkageDefinition.getPartition().evictForCapacity(linkageDefinition.getChainName(), count);
+		}
+	}
+	
+	/**
+	 * Internal method checks max node size of list before linking multiple nodes, so nodes are linked all together or not at all.
+	 * 
+	 * @param count count of new nodes
+	 * @throws ListFullException if list can not contain specified count of additional nodes
+	 */
+	private void checkNodeMaxSize(long count)
+	{
+		if(this.multiChainList.nodeSize + count > this.multiChainList.nodeMaxSize)
+		{
+			this.multiChainList.countListFull();
+			throw new ListFullException(this.multiChainList.nodeMaxSize);
+		}
+	}
+	
 	/**
 	 * Prepends the specified element to the begin of all list areas (chain / partition) for which this linker is configured.
 	 *  
@@ -174,13 +376,26 @@ public class Linker<E>
 	 */
 	private Node<E> link(Partition.LinkMode linkMode, E element)
 	{
+		return linkNode(linkMode, multiChainList.createNode(element));
+	}
+	
+	/**
+	 * Internal method to link new node
+	 * 
+	 * @param linkMode append or prepend
+	 * @param node new node to link
+	 * @return node
+	 */
+	protected Node<E> linkNode(Partition.LinkMode linkMode, Node<E> node)
+	{
+		multiChainList.enforceRetainedVersionBudget();
+		
 		LinkageDefinitionContainer currentLinkageDefinitionContainer = getLinkageDefinitionContainer();
-		Node<E> node = null;
 		
 		List<IListEventHandler<E>> eventHandlerList = multiChainList.registeredEventHandlerList;
 		if((eventHandlerList != null) && (!eventHandlerList.isEmpty()))
 		{
-			List<E> elements = Collections.singletonList(element);
+			List<E> elements = Collections.singletonList(node.getElement());
 			for(IListEventHandler<E> eventHandler : eventHandlerList)
 			{
 				try
@@ -201,23 +416,39 @@ public class Linker<E>
 			return null;
 		}
 		
-		Lock lock = this.multiChainList.writeLock;
-		lock.lock();
+		ConcurrentLinkedQueue<PendingAppend<E>> pendingAppends = this.pendingAppends;
+		if((pendingAppends != null) && (linkMode == Partition.LinkMode.APPEND) && (currentLinkageDefinitionContainer == this.linkageDefinitionContainer))
+		{
+			return appendCombining(pendingAppends, node);
+		}
+		
+		if(this.multiChainList.partitionLocking)
+		{
+			@SuppressWarnings("unchecked")
+			Node<E>[] nodes = new Node[] {node};
+			if(linkByPartitionLocks(linkMode, nodes, currentLinkageDefinitionContainer))
+			{
+				signalLinked(currentLinkageDefinitionContainer);
+				return node;
+			}
+		}
+		
+		MultiChainList<E>.MeteredWriteLock lock = this.multiChainList.writeLock;
+		lock.lock(ILatencyRecorder.OPERATION_LINK);
 		try
 		{
+			checkCapacity(currentLinkageDefinitionContainer, 1L);
 			multiChainList.getModificationVersion();
 			
-			node = new Node<E>(element,this.multiChainList);
-			for(Entry<String,Map<String,LinkageDefinition<E>>> entry : currentLinkageDefinitionContainer.indexedByPartitionAndChain.entrySet())
+			for(LinkageDefinition<E>[] privateLinkageDefinitions : currentLinkageDefinitionContainer.getCompiledLinkageDefinitions())
 			{
-				Partition<E> partition = multiChainList.partitionList.get(entry.getKey());
 				if(linkMode == Partition.LinkMode.PREPEND)
 				{
-					partition.prependNode(node, entry.getValue().values(), multiChainList.modificationVersion);
+					privateLinkageDefinitions[0].getPartition().prependNode(node, privateLinkageDefinitions, multiChainList.modificationVersion);
 				}
 				else
 				{
-					partition.appendNode(node, entry.getValue().values(), multiChainList.modificationVersion);
+					privateLinkageDefinitions[0].getPartition().appendNode(node, privateLinkageDefinitions, multiChainList.modificationVersion);
 				}
 			}
 		}
@@ -228,6 +459,165 @@ public class Linker<E>
 		return node;
 	}
 	
+	/**
+	 * Internal method to append element in combining append mode
+	 * 
+	 * @param pendingAppends queue of pending appends
+	 * @param node new node to append
+	 * @return node
+	 */
+	private Node<E> appendCombining(ConcurrentLinkedQueue<PendingAppend<E>> pendingAppends, Node<E> node)
+	{
+		PendingAppend<E> pendingAppend = new PendingAppend<E>(node);
+		pendingAppends.offer(pendingAppend);
+		
+		MultiChainList<E>.MeteredWriteLock lock = this.multiChainList.writeLock;
+		while(! pendingAppend.done)
+		{
+			lock.lock(ILatencyRecorder.OPERATION_LINK);
+			try
+			{
+				if(! pendingAppend.done)
+				{
+					linkPendingAppends(pendingAppends);
+				}
+			}
+			finally 
+			{
+				lock.unlock();
+			}
+		}
+		
+		if(pendingAppend.error != null)
+		{
+			if(pendingAppend.error instanceof Error)
+			{
+				throw (Error)pendingAppend.error;
+			}
+			throw (RuntimeException)pendingAppend.error;
+		}
+		return pendingAppend.node;
+	}
+	
+	/**
+	 * Internal method links pending appends. The capacities of chains are checked once for all drained appends. 
+	 * This method must invoke with MCL.writeLock !
+	 * 
+	 * @param pendingAppends queue of pending appends
+	 */
+	private void linkPendingAppends(ConcurrentLinkedQueue<PendingAppend<E>> pendingAppends)
+	{
+		PendingAppend<E> firstPendingAppend = pendingAppends.poll();
+		if(firstPendingAppend == null)
+		{
+			return;
+		}
+		
+		// drain batch
+		PendingAppend<E> lastPendingAppend = firstPendingAppend;
+		PendingAppend<E> pendingAppend;
+		int count = 1;
+		while((count < COMBINING_APPEND_MAX_COMBINE) && ((pendingAppend = pendingAppends.poll()) != null))
+		{
+			lastPendingAppend.nextPendingAppend = pendingAppend;
+			lastPendingAppend = pendingAppend;
+			count++;
+		}
+		
+		LinkageDefinitionContainer linkageDefinitionContainer = getLinkageDefinitionContainer();
+		LinkageDefinition<E>[][] compiledLinkageDefinitions = linkageDefinitionContainer.getCompiledLinkageDefinitions();
+		
+		long admitted = count;
+		LinkageDefinition<E> fullLinkageDefinition = null;
+		if(this.multiChainList.capacityLimited)
+		{
+			for(LinkageDefinition<E> linkageDefinition : linkageDefinitionContainer.linkageDefinitionList)
+			{
+				long admittable = linkageDefinition.getPartition().admitForCapacity(linkageDefinition.getChainName(), admitted);
+				if(admittable < admitted)
+				{
+					admitted = admittable;
+					fullLinkageDefinition = linkageDefinition;
+				}
+			}
+			if(admitted > 0L)
+			{
+				for(LinkageDefinition<E> linkageDefinition : linkageDefinitionContainer.linkageDefinitionList)
+				{
+					linkageDefinition.getPartition().evictForCapacity(linkageDefinition.getChainName(), admitted);
+				}
+			}
+		}
+		
+		if(admitted > 0L)
+		{
+			multiChainList.getModificationVersion();
+		}
+		
+		long index = 0L;
+		pendingAppend = firstPendingAppend;
+		while(pendingAppend != null)
+		{
+			PendingAppend<E> nextPendingAppend = pendingAppend.nextPendingAppend;
+			pendingAppend.nextPendingAppend = null;
+			try
+			{
+				if(index++ < admitted)
+				{
+					for(LinkageDefinition<E>[] privateLinkageDefinitions : compiledLinkageDefinitions)
+					{
+						privateLinkageDefinitions[0].getPartition().appendNode(pendingAppend.node, privateLinkageDefinitions, multiChainList.modificationVersion);
+					}
+				}
+				else
+				{
+					Partition<E> partition = fullLinkageDefinition.getPartition();
+					this.multiChainList.countListFull();
+					throw new ListFullException(partition.getChainCapacity(fullLinkageDefinition.getChainName()), partition.getName(), fullLinkageDefinition.getChainName());
+				}
+			}
+			catch (RuntimeException | Error e) 
+			{
+				pendingAppend.error = e;
+			}
+			finally 
+			{
+				pendingAppend.done = true;
+			}
+			pendingAppend = nextPendingAppend;
+		}
+		
+		if((admitted > 0L) && this.multiChainList.capacityLimited)
+		{
+			// batch can be larger than capacity of chain in partition with evict oldest policy
+			for(LinkageDefinition<E> linkageDefinition : linkageDefinitionContainer.linkageDefinitionList)
+			{
+				linkageDefinition.getPartition().evictForCapacity(linkageDefinition.getChainName(), 0L);
+			}
+		}
+	}
+	
+	/**
+	 * Internal helper class for appends in combining append mode
+	 * 
+	 * @author Sebastian Palarus
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	private static class PendingAppend<E>
+	{
+		private PendingAppend(Node<E> node)
+		{
+			super();
+			this.node = node;
+		}
+		
+		private Node<E> node;
+		private Throwable error = null;
+		private PendingAppend<E> nextPendingAppend = null;
+		private volatile boolean done = false;
+	}
+	
 	/**
 	 * Internal method to link elements
 	 * 
@@ -244,12 +634,55 @@ public class Linker<E>
 			return null;
 		}
 		
+		multiChainList.enforceRetainedVersionBudget();
+		
 		Node<E>[] nodes = new Node[elements.size()];
+		int index = 0;
+		for(E element : elements)
+		{
+			nodes[index++] = multiChainList.createNode(element);
+		}
+		
+		return linkAllNodes(linkMode, nodes, elements);
+	}
+	
+	/**
+	 * Internal method to link new nodes
+	 * 
+	 * @param linkMode append or prepend
+	 * @param nodes new nodes to link
+	 * @param elements items of nodes, or null, if the list must be created from nodes on demand
+	 * @return nodes
+	 */
+	@SuppressWarnings("unchecked")
+	protected Node<E>[] linkAllNodes(Partition.LinkMode linkMode, Node<E>[] nodes, Collection<E> elements)
+	{
+		if(nodes == null)
+		{
+			return null;
+		}
 		
 		LinkageDefinitionContainer currentLinkageDefinitionContainer = getLinkageDefinitionContainer();
 		List<IListEventHandler<E>> eventHandlerList = multiChainList.registeredEventHandlerList;
 		if((eventHandlerList != null) && (!eventHandlerList.isEmpty()))
 		{
+			if(elements == null)
+			{
+				elements = new AbstractList<E>()
+				{
+					@Override
+					public E get(int index)
+					{
+						return nodes[index].getElement();
+					}
+
+					@Override
+					public int size()
+					{
+						return nodes.length;
+					}
+				};
+			}
 			for(IListEventHandler<E> eventHandler : eventHandlerList)
 			{
 				try
@@ -274,28 +707,118 @@ public class Linker<E>
 			return null;
 		}
 		
-		Lock lock = this.multiChainList.writeLock;
-		lock.lock();
+		if(this.multiChainList.partitionLocking)
+		{
+			if(linkByPartitionLocks(linkMode, nodes, currentLinkageDefinitionContainer))
+			{
+				signalLinked(currentLinkageDefinitionContainer);
+				return nodes;
+			}
+		}
+		
+		// prepare nodes and segments of links outside the lock, if chain event handlers have not to be notified for each link
+		
+		List<LinkageDefinition<E>> linkageDefinitionList = currentLinkageDefinitionContainer.linkageDefinitionList;
+		SnapshotVersion<E> preparedVersion = null;
+		Link<E>[] firstLinks = null;
+		Link<E>[] lastLinks = null;
+		
+		if((nodes.length > 0) && (! multiChainList.isChainEventHandlerRegistered()))
+		{
+			preparedVersion = new SnapshotVersion<E>(this.multiChainList, -1L);
+			firstLinks = new Link[linkageDefinitionList.size()];
+			lastLinks = new Link[linkageDefinitionList.size()];
+			
+			Link<E> link = null;
+			for(Node<E> node : nodes)
+			{
+				for(int i = 0; i < firstLinks.length; i++)
+				{
+					link = node.createPreparedHead(linkageDefinitionList.get(i), preparedVersion);
+					if(firstLinks[i] == null)
+					{
+						firstLinks[i] = link;
+						lastLinks[i] = link;
+					}
+					else if(linkMode == Partition.LinkMode.PREPEND)
+					{
+						// each element is prepended => segment has reverse order
+						link.nextLink = firstLinks[i];
+						firstLinks[i].previewsLink = link;
+						firstLinks[i] = link;
+					}
+					else
+					{
+						link.previewsLink = lastLinks[i];
+						lastLinks[i].nextLink = link;
+						lastLinks[i] = link;
+					}
+				}
+			}
+		}
+		
+		MultiChainList<E>.MeteredWriteLock lock = this.multiChainList.writeLock;
+		lock.lock(ILatencyRecorder.OPERATION_LINK_ALL);
 		try
 		{
+			// all or nothing
+			checkNodeMaxSize(nodes.length);
+			checkCapacity(currentLinkageDefinitionContainer, nodes.length);
+			
+			if((preparedVersion != null) && multiChainList.isChainEventHandlerRegistered())
+			{
+				// chain event handler registered in the meantime
+				for(Node<E> node : nodes)
+				{
+					node.resetPreparedHeads();
+				}
+				preparedVersion = null;
+			}
+			
+			if(preparedVersion != null)
+			{
+				// all or nothing
+				multiChainList.incrementNodeSize(nodes.length);
+				if(multiChainList.identityIndex != null)
+				{
+					for(Node<E> node : nodes)
+					{
+						multiChainList.indexNode(node);
+					}
+				}
+				
+				SnapshotVersion<E> currentVersion = multiChainList.getModificationVersion(preparedVersion);
+				
+				for(int i = 0; i < firstLinks.length; i++)
+				{
+					LinkageDefinition<E> linkageDefinition = linkageDefinitionList.get(i);
+					Partition<E> partition = linkageDefinition.getPartition();
+					if(linkMode == Partition.LinkMode.PREPEND)
+					{
+						partition.prependSegment(linkageDefinition.getChainHandle(), firstLinks[i], lastLinks[i], nodes.length, currentVersion);
+					}
+					else
+					{
+						partition.appendSegment(linkageDefinition.getChainHandle(), firstLinks[i], lastLinks[i], nodes.length, currentVersion);
+					}
+				}
+				return nodes;
+			}
+			
 			multiChainList.getModificationVersion();
 			
-			Node<E> node = null;
-			int index = 0;
-			for(E element : elements)
+			LinkageDefinition<E>[][] compiledLinkageDefinitions = currentLinkageDefinitionContainer.getCompiledLinkageDefinitions();
+			for(Node<E> node : nodes)
 			{
-				node = new Node<E>(element,this.multiChainList);
-				nodes[index++] = node;
-				for(Entry<String,Map<String,LinkageDefinition<E>>> entry : currentLinkageDefinitionContainer.indexedByPartitionAndChain.entrySet())
+				for(LinkageDefinition<E>[] privateLinkageDefinitions : compiledLinkageDefinitions)
 				{
-					Partition<E> partition = multiChainList.partitionList.get(entry.getKey());
 					if(linkMode == Partition.LinkMode.PREPEND)
 					{
-						partition.prependNode(node, entry.getValue().values(), multiChainList.modificationVersion);
+						privateLinkageDefinitions[0].getPartition().prependNode(node, privateLinkageDefinitions, multiChainList.modificationVersion);
 					}
 					else
 					{
-						partition.appendNode(node, entry.getValue().values(), multiChainList.modificationVersion);
+						privateLinkageDefinitions[0].getPartition().appendNode(node, privateLinkageDefinitions, multiChainList.modificationVersion);
 					}
 				}
 			}
@@ -307,6 +830,114 @@ public class Linker<E>
 		return nodes;
 	}
 	
+	/**
+	 * Internal method to link elements in partition locking mode. Instead of list's write lock this method requires list's read lock and the locks of all affected partitions.
+	 * 
+	 * @param linkMode append or prepend
+	 * @param nodes new nodes to link
+	 * @param currentLinkageDefinitionContainer linkage definitions
+	 * @return true, if nodes are linked, false, if nodes must link with list's write lock
+	 */
+	private boolean linkByPartitionLocks(Partition.LinkMode linkMode, Node<E>[] nodes, LinkageDefinitionContainer currentLinkageDefinitionContainer)
+	{
+		if(this.multiChainList.writeLock.isHeldByCurrentThread())
+		{
+			return false;
+		}
+		
+		Lock lock = this.multiChainList.readLock;
+		lock.lock();
+		try
+		{
+			if(! multiChainList.isPartitionLockApplicable())
+			{
+				return false;
+			}
+			
+			Partition<E>[] partitions = currentLinkageDefinitionContainer.getPartitionsInListOrder();
+			for(Partition<E> partition : partitions)
+			{
+				if(! partition.isChainsDefined(currentLinkageDefinitionContainer.indexedByPartitionAndChain.get(partition.getName()).values()))
+				{
+					// first link into chain requires write lock
+					return false;
+				}
+				if(partition.capacityPolicy == Partition.CapacityPolicy.EVICT_OLDEST)
+				{
+					// eviction requires write lock
+					return false;
+				}
+			}
+			
+			// all private linkage definitions exist => compilation does not modify partitions
+			LinkageDefinition<E>[][] compiledLinkageDefinitions = currentLinkageDefinitionContainer.getCompiledLinkageDefinitions();
+			
+			int lockedPartitions = 0;
+			try
+			{
+				for(Partition<E> partition : partitions)
+				{
+					partition.partitionLock.lock();
+					lockedPartitions++;
+				}
+				
+				// a concurrent snapshot can pin the current modification version before partition locks are acquired 
+				// => links must not be created with pinned version, new modification version requires write lock
+				if(! multiChainList.isPartitionLockApplicable())
+				{
+					return false;
+				}
+				
+				// concurrent producers of other partitions can only increase node size
+				if(nodes.length > 1)
+				{
+					checkNodeMaxSize(nodes.length);
+				}
+				checkCapacity(currentLinkageDefinitionContainer, nodes.length);
+				
+				for(Node<E> node : nodes)
+				{
+					for(LinkageDefinition<E>[] privateLinkageDefinitions : compiledLinkageDefinitions)
+					{
+						if(linkMode == Partition.LinkMode.PREPEND)
+						{
+							privateLinkageDefinitions[0].getPartition().prependNode(node, privateLinkageDefinitions, multiChainList.modificationVersion);
+						}
+						else
+						{
+							privateLinkageDefinitions[0].getPartition().appendNode(node, privateLinkageDefinitions, multiChainList.modificationVersion);
+						}
+					}
+				}
+			}
+			finally 
+			{
+				while(lockedPartitions > 0)
+				{
+					partitions[--lockedPartitions].partitionLock.unlock();
+				}
+			}
+			return true;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal method wakes up consumers of chains after nodes are linked in partition locking mode. This method must invoke without locks of list !
+	 * 
+	 * @param linkageDefinitionContainer linkage definitions
+	 */
+	private void signalLinked(LinkageDefinitionContainer linkageDefinitionContainer)
+	{
+		for(LinkageDefinition<E> linkageDefinition : linkageDefinitionContainer.linkageDefinitionList)
+		{
+			linkageDefinition.getChainHandle().linkSignal.signal();
+		}
+	}
+	
 	/**
 	 * A container with all linkage definitions. 
 	 * 
@@ -321,6 +952,8 @@ public class Linker<E>
 		private Map<String,LinkageDefinition<E>> indexedByChain = new HashMap<String,LinkageDefinition<E>>();
 		private List<LinkageDefinition<E>> linkageDefinitionList = new ArrayList<LinkageDefinition<E>>();
 		private MultiChainList<E> multiChainList = null;
+		private volatile Partition<E>[] partitionsInListOrder = null;
+		private volatile LinkageDefinition<E>[][] compiledLinkageDefinitions = null;
 		
 		private LinkageDefinitionContainer(MultiChainList<E> multiChainList)
 		{
@@ -372,6 +1005,65 @@ public class Linker<E>
 			return this;
 		}
 
+		/**
+		 * Internal method returns all partitions of this container ordered by position in list. This method must invoke with MCL.readLock or MCL.writeLock !
+		 * 
+		 * @return partitions ordered by position in list
+		 */
+		@SuppressWarnings("unchecked")
+		protected Partition<E>[] getPartitionsInListOrder()
+		{
+			Partition<E>[] partitions = this.partitionsInListOrder;
+			if(partitions == null)
+			{
+				List<Partition<E>> partitionList = new ArrayList<Partition<E>>(indexedByPartitionAndChain.size());
+				for(Partition<E> partition = multiChainList.firstPartition; partition != null; partition = partition.next)
+				{
+					if(indexedByPartitionAndChain.containsKey(partition.getName()))
+					{
+						partitionList.add(partition);
+					}
+				}
+				partitions = partitionList.toArray(new Partition[partitionList.size()]);
+				this.partitionsInListOrder = partitions;
+			}
+			return partitions;
+		}
+		
+		/**
+		 * Internal method returns compiled linkage definitions. The first dimension contains the partitions of this container ordered by position in list, 
+		 * the second dimension contains the private linkage definitions of partition (see {@link Partition#getPrivateLinkageDefinition(ChainHandle)}) 
+		 * for all chains of this container in this partition. 
+		 * 
+		 * <p>Partitions are never removed from list and private linkage definitions are never replaced, so compiled linkage definitions 
+		 * stay valid for the life time of list. This method must invoke with MCL.writeLock, or with MCL.readLock, 
+		 * if all chains are defined in all partitions (see {@link Partition#isChainsDefined(Collection)}) !
+		 * 
+		 * @return compiled linkage definitions
+		 */
+		@SuppressWarnings("unchecked")
+		protected LinkageDefinition<E>[][] getCompiledLinkageDefinitions()
+		{
+			LinkageDefinition<E>[][] compiled = this.compiledLinkageDefinitions;
+			if(compiled == null)
+			{
+				Partition<E>[] partitions = getPartitionsInListOrder();
+				compiled = new LinkageDefinition[partitions.length][];
+				for(int i = 0; i < partitions.length; i++)
+				{
+					Collection<LinkageDefinition<E>> linkageDefinitions = indexedByPartitionAndChain.get(partitions[i].getName()).values();
+					compiled[i] = new LinkageDefinition[linkageDefinitions.size()];
+					int index = 0;
+					for(LinkageDefinition<E> linkageDefinition : linkageDefinitions)
+					{
+						compiled[i][index++] = partitions[i].getPrivateLinkageDefinition(linkageDefinition.getChainHandle());
+					}
+				}
+				this.compiledLinkageDefinitions = compiled;
+			}
+			return compiled;
+		}
+		
 		/**
 		 * Getter for multichainlist
 		 * 
@@ -447,6 +1139,8 @@ public class Linker<E>
 			
 			this.indexedByChain = null;
 			this.linkageDefinitionList = null;
+			this.partitionsInListOrder = null;
+			this.compiledLinkageDefinitions = null;
 			this.multiChainList = null;
 			this.indexedByPartitionAndChain = null;
 		}
@@ -497,5 +1191,6 @@ public class Linker<E>
 		}
 		this.multiChainList = null;
 		this.chainsByPartition = null;
+		this.pendingAppends = null;
 	}
 }
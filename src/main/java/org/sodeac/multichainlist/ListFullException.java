@@ -25,15 +25,56 @@ public class ListFullException extends RuntimeException
 	private static final long serialVersionUID = 5465935666667736920L;
 	
 	private long maxSize;
+	private String partitionName = null;
+	private String chainName = null;
 	
 	public ListFullException(long maxSize)
 	{
 		super("list can not contains more then " + maxSize +" items" );
+		this.maxSize = maxSize;
+	}
+	
+	/**
+	 * Constructor for exceeded capacity of chain in partition
+	 * 
+	 * @param maxSize capacity of chain in partition
+	 * @param partitionName name of partition
+	 * @param chainName name of chain
+	 * @since 1.1
+	 */
+	public ListFullException(long maxSize, String partitionName, String chainName)
+	{
+		super("chain " + chainName + " in partition " + partitionName + " can not contains more then " + maxSize +" items" );
+		this.maxSize = maxSize;
+		this.partitionName = partitionName;
+		this.chainName = chainName;
 	}
 
 	public long getMaxSize()
 	{
 		return maxSize;
-	}	
+	}
+	
+	/**
+	 * Getter for name of partition, if capacity of chain in partition is exceeded
+	 * 
+	 * @return name of partition or null
+	 * @since 1.1
+	 */
+	public String getPartitionName()
+	{
+		return partitionName;
+	}
+	
+	/**
+	 * Getter for name of chain, if capacity of chain in partition is exceeded
+	 * 
+	 * @return name of chain or null
+	 * @since 1.1
+	 */
+	public String getChainName()
+	{
+		return chainName;
+	}
 
 }
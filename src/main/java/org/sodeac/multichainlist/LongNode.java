@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+/**
+ * A node manages the location of one inserted primitive long value. The value is not boxed, until it is requested by {@link LongNode#getElement()}.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public class LongNode extends Node<Long>
+{
+	protected LongNode(long element, MultiChainList<Long> parent)
+	{
+		super(null, parent);
+		this.longElement = element;
+	}
+
+	protected long longElement;
+
+	/**
+	 * Getter for primitive element (payload of node)
+	 *
+	 * @return element
+	 */
+	public long getLongElement()
+	{
+		return longElement;
+	}
+
+	/**
+	 * Getter for boxed element (payload of node)
+	 *
+	 * @return element or null, if node is disposed
+	 */
+	@Override
+	public Long getElement()
+	{
+		return multiChainList == null ? null : Long.valueOf(longElement);
+	}
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Snapshot of primitive long values. Wraps a {@link Snapshot} of a {@link LongMultiChainList} and iterates the values without boxing.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public class LongSnapshot implements AutoCloseable
+{
+	protected LongSnapshot(Snapshot<Long> snapshot)
+	{
+		super();
+		Objects.requireNonNull(snapshot, "snapshot not set");
+		this.snapshot = snapshot;
+	}
+
+	private Snapshot<Long> snapshot = null;
+
+	/**
+	 * Getter for wrapped snapshot
+	 *
+	 * @return wrapped snapshot
+	 */
+	public Snapshot<Long> getSnapshot()
+	{
+		return snapshot;
+	}
+
+	@Override
+	public void close()
+	{
+		snapshot.close();
+	}
+
+	/**
+	 * returns if snapshot is closed
+	 *
+	 * @return true if snapshot is closed, otherwise false
+	 */
+	public boolean isClosed()
+	{
+		return snapshot.isClosed();
+	}
+
+	/**
+	 * Returns version of list the snapshot was created
+	 * @return version of list the snapshot was created
+	 */
+	public long getVersion()
+	{
+		return snapshot.getVersion();
+	}
+
+	/**
+	 * Returns size of snapshot
+	 *
+	 * @return size of snapshot
+	 */
+	public int size()
+	{
+		return snapshot.size();
+	}
+
+	/**
+	 * Returns true if this snapshot contains no elements.
+	 *
+	 * @return true if this snapshot contains no elements
+	 */
+	public boolean isEmpty()
+	{
+		return snapshot.isEmpty();
+	}
+
+	/**
+	 * Returns first element
+	 * @return first element
+	 */
+	public long getFirstElement()
+	{
+		Node<Long> node = snapshot.getFirstNode();
+		if(node == null)
+		{
+			throw new NoSuchElementException();
+		}
+		return ((LongNode)node).longElement;
+	}
+
+	/**
+	 * Returns last element
+	 * @return last element
+	 */
+	public long getLastElement()
+	{
+		Node<Long> node = snapshot.getLastNode();
+		if(node == null)
+		{
+			throw new NoSuchElementException();
+		}
+		return ((LongNode)node).longElement;
+	}
+
+	/**
+	 * Returns iterator of primitive elements
+	 *
+	 * @return iterator
+	 */
+	public PrimitiveIterator.OfLong iterator()
+	{
+		return new LongSnapshotIterator(snapshot.nodeIterable().iterator());
+	}
+
+	/**
+	 * Performs the given action for each element of snapshot
+	 *
+	 * @param action action to perform
+	 */
+	public void forEach(LongConsumer action)
+	{
+		iterator().forEachRemaining(action);
+	}
+
+	/**
+	 * Returns stream of primitive elements
+	 *
+	 * @return stream
+	 */
+	public LongStream stream()
+	{
+		return StreamSupport.stream(snapshot.nodeSpliterator(), false).mapToLong(node -> ((LongNode)node).longElement);
+	}
+
+	/**
+	 * Returns array with all elements of snapshot
+	 *
+	 * @return array with all elements
+	 */
+	public long[] toArray()
+	{
+		long[] array = new long[size()];
+		int index = 0;
+		for(Node<Long> node : snapshot.nodeIterable())
+		{
+			array[index++] = ((LongNode)node).longElement;
+		}
+		return array;
+	}
+
+	/**
+	 * private helper class
+	 *
+	 * @author Sebastian Palarus
+	 *
+	 */
+	private static class LongSnapshotIterator implements PrimitiveIterator.OfLong
+	{
+		private Iterator<Node<Long>> nodeIterator = null;
+
+		private LongSnapshotIterator(Iterator<Node<Long>> nodeIterator)
+		{
+			super();
+			this.nodeIterator = nodeIterator;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return nodeIterator.hasNext();
+		}
+
+		@Override
+		public long nextLong()
+		{
+			return ((LongNode)nodeIterator.next()).longElement;
+		}
+	}
+}
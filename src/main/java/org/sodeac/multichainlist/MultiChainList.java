@@ -7,26 +7,44 @@
  *
  * Contributors:
  *     Sebastian Palarus - initial API and implementation
- *******************************************************************************/
+ *******************************************************************************/
 package org.sodeac.multichainlist;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.sodeac.multichainlist.Node.Link;
 import org.sodeac.multichainlist.Partition.Eyebolt;
@@ -66,39 +84,98 @@ public class MultiChainList<E>
 		this.uuid = UUID.randomUUID();
 		this.rwLock = new ReentrantReadWriteLock(true);
 		this.readLock = this.rwLock.readLock();
-		this.writeLock = this.rwLock.writeLock();
+		this.writeLock = new MeteredWriteLock(this.rwLock.writeLock());
+		this.obsoleteListLock = new ReentrantLock();
+		this.snapshotVersionLock = new ReentrantLock();
+		this.identityIndexLock = new ReentrantLock();
+		this.retainedVersionLock = new ReentrantLock();
+		this.retainedVersionReleased = this.retainedVersionLock.newCondition();
+		this.capacitySignal = new LinkSignal();
+		this.pendingLinkSignals = new ChainHandle[4];
 		this.partitionList = new HashMap<String, Partition<E>>();
+		this.chainHandleIndex = new ConcurrentHashMap<String,ChainHandle>();
+		this.chainHandleSequence = new AtomicInteger(0);
+		this.defaultChainHandle = new ChainHandle(null, 0, this);
 		this.definePartitions(partitionNames);
 		this.modificationVersion = new SnapshotVersion<E>(this,0L);
-		this.obsoleteList = new LinkedList<Link<E>>();
-		this.openSnapshotVersionList = new HashSet<SnapshotVersion<E>>();
+		this.obsoleteList = new ObsoleteLinkQueue<E>();
+		this.openSnapshotVersionList = new ArrayDeque<SnapshotVersion<E>>();
 		this.nodeSize = 0L;
 		this.nodeMaxSize = Integer.MAX_VALUE;
 		this.defaultLinker = LinkerBuilder.newBuilder().inPartition(this.lastPartition.getName()).linkIntoChain(null).build(this);
+		this.cachedLinkerRoot = new CachedLinkerNode(null, CachedLinkerMode.Root, null);
 	}
 	
+	/**
+	 * Estimated bytes of a retained link on 64-bit JVM with compressed references: object header, version and six references. 
+	 * Used to convert byte budget to link budget (see {@link MultiChainList#setRetainedVersionByteBudget(long, RetainedVersionPolicy)}).
+	 */
+	public static final long ESTIMATED_RETAINED_LINK_BYTES = 48L;
+	
 	protected ReentrantReadWriteLock rwLock;
 	protected ReadLock readLock;
-	protected WriteLock writeLock;
+	protected MeteredWriteLock writeLock;
+	protected ReentrantLock obsoleteListLock;
+	protected ReentrantLock snapshotVersionLock;
+	protected ReentrantLock identityIndexLock;
+	protected ReentrantLock retainedVersionLock;
+	protected Condition retainedVersionReleased;
+	protected LinkSignal capacitySignal;
+	protected ChainHandle[] pendingLinkSignals; // guarded by write lock
+	protected int pendingLinkSignalSize = 0; // guarded by write lock
+	
+	@SuppressWarnings("rawtypes")
+	private static final AtomicLongFieldUpdater<MultiChainList> NODE_SIZE_UPDATER = AtomicLongFieldUpdater.newUpdater(MultiChainList.class, "nodeSize");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MultiChainList.CachedLinkerNode,Map> CACHED_LINKER_PARTITION_CHILDS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(MultiChainList.CachedLinkerNode.class, Map.class, "partitionChilds");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MultiChainList.CachedLinkerNode,Map> CACHED_LINKER_CHAIN_CHILDS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(MultiChainList.CachedLinkerNode.class, Map.class, "chainChilds");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MultiChainList.CachedLinkerNode,Linker> CACHED_LINKER_LINKER_UPDATER = AtomicReferenceFieldUpdater.newUpdater(MultiChainList.CachedLinkerNode.class, Linker.class, "linker");
 	
-	protected LinkedList<Link<E>> obsoleteList = null;
+	protected ObsoleteLinkQueue<E> obsoleteList = null;
 	protected HashMap<String, Partition<E>>  partitionList = null;
 	protected volatile List<String> chainNameListCopy = null;
+	protected ConcurrentHashMap<String,ChainHandle> chainHandleIndex = null;
+	protected AtomicInteger chainHandleSequence = null;
+	protected ChainHandle defaultChainHandle = null;
 	protected volatile List<Partition<E>> partitionListCopy = null;
 	protected SnapshotVersion<E> modificationVersion = null;
-	protected SnapshotVersion<E> snapshotVersion = null;
-	protected Set<SnapshotVersion<E>> openSnapshotVersionList = null;
+	protected volatile SnapshotVersion<E> snapshotVersion = null;
+	protected ArrayDeque<SnapshotVersion<E>> openSnapshotVersionList = null;
+	protected volatile boolean snapshotOpen = false;
 	protected volatile Partition<E> firstPartition = null;
 	protected volatile Partition<E> lastPartition = null;
 	protected volatile LinkedList<IChainEventHandler<E>> registeredChainEventHandlerList = null;
 	protected volatile LinkedList<IListEventHandler<E>> registeredEventHandlerList = null;
 	protected volatile long nodeSize;
 	protected volatile long nodeMaxSize;
+	protected volatile boolean partitionLocking = false;
+	protected volatile int reclaimBudget = Integer.MAX_VALUE;
+	protected volatile Thread reclaimer = null;
+	protected volatile IdentityHashMap<E,Node<E>> identityIndex = null;
+	protected IdentityHashMap<E,LinkedList<Node<E>>> identityIndexDuplicates = null; // older nodes of elements linked by more than one node
+	protected volatile MultiChainListMetrics metrics = null;
+	protected volatile ILatencyRecorder latencyRecorder = null;
+	protected volatile int openSnapshotCount = 0;
+	protected volatile int openSnapshotVersionCount = 0;
+	protected volatile Consumer<? super SnapshotLeakException> snapshotLeakHandler = null;
+	protected volatile long maxSnapshotAge = 0L;
+	protected volatile LinkedHashSet<SnapshotTracker<E>> snapshotTrackers = null;
+	protected final ReferenceQueue<Snapshot<E>> snapshotReferenceQueue = new ReferenceQueue<Snapshot<E>>();
+	protected volatile long retainedLinkBudget = 0L;
+	protected volatile RetainedVersionPolicy retainedVersionPolicy = null;
+	protected volatile int retainedVersionWaiters = 0;
+	protected volatile boolean capacityLimited = false;
+	protected volatile IWatermarkListener<E> watermarkListener = null;
+	protected volatile long lowWatermark = 0L;
+	protected volatile long highWatermark = Long.MAX_VALUE;
+	protected final AtomicBoolean aboveHighWatermark = new AtomicBoolean(false);
 	
 	protected volatile boolean lockDefaultLinker = false;
 	protected volatile Linker<E> defaultLinker =  null;
 	protected Map<String,Map<String,ChainView<E>>> cachedChains = null;
-	protected Map<String,CachedLinkerNode<E>> cachedLinkerNodes = null; 
+	protected CachedLinkerNode cachedLinkerRoot = null; 
 	
 	protected UUID uuid = null;
 	
@@ -125,7 +202,34 @@ public class MultiChainList<E>
 		}
 		return modificationVersion;
 	}
+	
+	/**
+	 * Internal helper method returns current modification version and replaces it by a prepared version with same sequence. This method must invoke with MCL.writeLock !
+	 * 
+	 * <br> Links of prepared nodes are created with prepared version before the sequence of current modification version is known.
+	 * 
+	 * @param preparedVersion prepared version 
+	 * @return current modification version
+	 */
+	protected SnapshotVersion<E> getModificationVersion(SnapshotVersion<E> preparedVersion)
+	{
+		// after getModificationVersion() the current modification version is not pinned by any snapshot
+		preparedVersion.sequence = getModificationVersion().sequence;
+		this.modificationVersion = preparedVersion;
+		return preparedVersion;
+	}
 
+	/**
+	 * Internal method to create a new node for specified element. 
+	 * 
+	 * @param element element of new node
+	 * @return new node
+	 */
+	protected Node<E> createNode(E element)
+	{
+		return new Node<E>(element,this);
+	}
+	
 	/**
 	 * Get default linker. If not explicitly defined with {@link MultiChainList#buildDefaultLinker(LinkerBuilder)}, the default linker adds new elements in last partition of chain NULL.
 	 * 
@@ -182,251 +286,205 @@ public class MultiChainList<E>
 	}
 
 	/**
-	 * Setter for max nodeSize
+	 * Setter for max nodeSize. Linking new nodes beyond max node size throws {@link ListFullException}, 
+	 * blocking variants of {@link Linker} wait for capacity (see {@link Linker#append(Object, long, TimeUnit)}). 
+	 * Capacities of chains in partitions are set by {@link Partition#setCapacity(long)} and {@link Partition#setChainCapacity(String, long)}.
 	 * 
 	 * @param nodeMaxSize max node size
 	 */
 	public void setNodeMaxSize(long nodeMaxSize)
 	{
+		long previewsNodeMaxSize = this.nodeMaxSize;
 		this.nodeMaxSize = nodeMaxSize;
+		if(nodeMaxSize > previewsNodeMaxSize)
+		{
+			this.capacitySignal.signal();
+		}
 	}
-
+	
 	/**
-	 * Returns partitions size
+	 * Setter for watermarks of node size. The listener is notified once node size reaches high watermark, 
+	 * and after that once node size drops to low watermark (see {@link IWatermarkListener}).
 	 * 
-	 * @return partitions size
+	 * @param lowWatermark low watermark
+	 * @param highWatermark high watermark
+	 * @param watermarkListener listener to notify, or null to disable watermarks
 	 */
-	public int getPartitionSize()
+	public void setWatermarks(long lowWatermark, long highWatermark, IWatermarkListener<E> watermarkListener)
 	{
-		List<Partition<E>> partitionList = this.partitionListCopy;
-		if(partitionList != null)
-		{
-			return partitionList.size();
-		}
-		
-		Lock lock = readLock;
-		lock.lock();
-		try
+		if((lowWatermark < 0L) || (lowWatermark >= highWatermark))
 		{
-			return this.partitionList.size();
+			throw new IllegalArgumentException("watermarks require 0 <= low watermark < high watermark");
 		}
-		finally
+		this.watermarkListener = null;
+		this.lowWatermark = lowWatermark;
+		this.highWatermark = highWatermark;
+		this.aboveHighWatermark.set(false);
+		this.watermarkListener = watermarkListener;
+		if(watermarkListener != null)
 		{
-			lock.unlock();
+			checkHighWatermark(this.nodeSize);
 		}
 	}
 	
 	/**
-	 * Collect all chains returns the chain name as immutable list
+	 * Getter for low watermark of node size.
 	 * 
-	 * @return list of chain names
+	 * @return low watermark
 	 */
-	public List<String> getChainNameList()
+	public long getLowWatermark()
 	{
-		List<String> chainNameList = this.chainNameListCopy;
-		if(chainNameList != null)
-		{
-			return chainNameList;
-		}
-		Lock lock = readLock;
-		lock.lock();
-		try
+		return lowWatermark;
+	}
+	
+	/**
+	 * Getter for high watermark of node size.
+	 * 
+	 * @return high watermark
+	 */
+	public long getHighWatermark()
+	{
+		return highWatermark;
+	}
+	
+	/**
+	 * Internal method to notify watermark listener, if node size reaches high watermark.
+	 * 
+	 * @param nodeSize current node size
+	 */
+	private void checkHighWatermark(long nodeSize)
+	{
+		IWatermarkListener<E> watermarkListener = this.watermarkListener;
+		if((watermarkListener != null) && (nodeSize >= this.highWatermark) && this.aboveHighWatermark.compareAndSet(false, true))
 		{
-			if(this.chainNameListCopy != null)
-			{
-				return this.chainNameListCopy;
-			}
-			Set<String> set = new HashSet<String>();
-			for(Partition<E> partition : this.partitionList.values())
+			try
 			{
-				if((partition.getPartitionBegin() != null) && (partition.getPartitionBegin().headsOfAdditionalChains != null))
-				{
-					set.addAll(partition.getPartitionBegin().headsOfAdditionalChains.keySet());
-				}
+				watermarkListener.onHighWatermark(this, nodeSize);
 			}
-			this.chainNameListCopy = Collections.unmodifiableList(Arrays.asList(set.toArray(new String[set.size()])));
-			return this.chainNameListCopy;
-		}
-		finally
-		{
-			lock.unlock();
+			catch (Exception e) {}
+			catch (Error e) {}
 		}
 	}
 	
 	/**
-	 * Returns immutable list with partitions
+	 * Internal method to notify watermark listener, if node size drops to low watermark.
 	 * 
-	 * @return immutable list with partitions
+	 * @param nodeSize current node size
 	 */
-	public List<Partition<E>> getPartitionList()
+	private void checkLowWatermark(long nodeSize)
 	{
-		List<Partition<E>> partitionList = this.partitionListCopy;
-		if(partitionList != null)
+		IWatermarkListener<E> watermarkListener = this.watermarkListener;
+		if((watermarkListener != null) && (nodeSize <= this.lowWatermark) && this.aboveHighWatermark.compareAndSet(true, false))
 		{
-			return partitionList;
-		}
-		
-		Lock lock = readLock;
-		lock.lock();
-		try
-		{
-			List<Partition<E>> list = new ArrayList<>(this.partitionList.size());
-			Partition<E> partition = firstPartition;
-			list.add(partition);
-			while(partition.next != null)
+			try
 			{
-				partition = partition.next;
-				list.add(partition);
+				watermarkListener.onLowWatermark(this, nodeSize);
 			}
-			this.partitionListCopy = Collections.unmodifiableList(list);
-			return partitionListCopy;
-		}
-		finally
-		{
-			lock.unlock();
+			catch (Exception e) {}
+			catch (Error e) {}
 		}
 	}
 	
 	/**
-	 * Return partition with specified name
-	 * 
-	 * @param partitionName name of partition
+	 * Internal method to increment node size.
 	 * 
-	 * @return partition with specified name
+	 * @throws ListFullException if node size reaches max node size
 	 */
-	public Partition<E> getPartition(String partitionName)
+	protected void incrementNodeSize()
 	{
-		Lock lock = readLock;
-		lock.lock();
-		try
-		{
-			return this.partitionList.get(partitionName);
-		}
-		finally
-		{
-			lock.unlock();
-		}
+		incrementNodeSize(1L);
 	}
 	
 	/**
-	 * register chain event handler
+	 * Internal method to increment node size by specified count. Node size is not changed, if the count exceeds max node size.
 	 * 
-	 * @param eventHandler event handler to register
+	 * @param count count of new nodes
+	 * @throws ListFullException if node size would exceed max node size
 	 */
-	public void registerChainEventHandler(IChainEventHandler<E> eventHandler)
+	protected void incrementNodeSize(long count)
 	{
-		if(eventHandler == null)
-		{
-			return;
-		}
-		
-		Lock lock = this.writeLock;
-		lock.lock();
-		try
+		long currentNodeSize;
+		do
 		{
-			if(this.registeredChainEventHandlerList == null)
-			{
-				this.registeredChainEventHandlerList = new LinkedList<>();
-			}
-			else if(this.registeredChainEventHandlerList.contains(eventHandler))
+			currentNodeSize = this.nodeSize;
+			if((currentNodeSize + count) > this.nodeMaxSize)
 			{
-				return;
+				countListFull();
+				throw new ListFullException(this.nodeMaxSize);
 			}
-			this.registeredChainEventHandlerList.addLast(eventHandler);
 		}
-		finally 
+		while(! NODE_SIZE_UPDATER.compareAndSet(this, currentNodeSize, currentNodeSize + count));
+		
+		if(this.watermarkListener != null)
 		{
-			lock.unlock();
+			checkHighWatermark(currentNodeSize + count);
 		}
 	}
 	
 	/**
-	 * unregister chain event handler 
-	 * 
-	 * @param eventHandler eventHandler event handler to unregister
+	 * Internal method to count a rejected link, because list is full.
 	 */
-	public void unregisterChainEventHandler(IChainEventHandler<E> eventHandler)
+	protected void countListFull()
 	{
-		if(eventHandler == null)
-		{
-			return;
-		}
-		
-		if(this.registeredChainEventHandlerList == null)
-		{
-			return;
-		}
-		
-		Lock lock = this.writeLock;
-		lock.lock();
-		try
-		{
-			this.registeredChainEventHandlerList.remove(eventHandler);
-		}
-		finally 
+		MultiChainListMetrics metrics = this.metrics;
+		if(metrics != null)
 		{
-			lock.unlock();
+			metrics.listFullCount.increment();
 		}
 	}
 	
 	/**
-	 * register list event handler
+	 * Internal method notes that nodes are linked into specified chain. Waiting consumers of this chain are signaled once, 
+	 * after the write lock is released. Without waiting consumers this costs one volatile read.
 	 * 
-	 * @param eventHandler event handler to register
+	 * <p>In partition locking mode the write lock is not held. The linker signals the chains after partition locks are released.
+	 * 
+	 * @param chainHandle handle of chain
 	 */
-	public void registerListEventHandler(IListEventHandler<E> eventHandler)
+	protected void markLinked(ChainHandle chainHandle)
 	{
-		if(eventHandler == null)
+		if((! chainHandle.linkSignal.hasWaiters()) || chainHandle.linkSignalPending || (! this.writeLock.isHeldByCurrentThread()))
 		{
 			return;
 		}
-		
-		Lock lock = this.writeLock;
-		lock.lock();
-		try
+		chainHandle.linkSignalPending = true;
+		if(this.pendingLinkSignalSize == this.pendingLinkSignals.length)
 		{
-			if(this.registeredEventHandlerList == null)
-			{
-				this.registeredEventHandlerList = new LinkedList<>();
-			}
-			else if(this.registeredEventHandlerList.contains(eventHandler))
-			{
-				return;
-			}
-			LinkedList<IListEventHandler<E>> newList = new LinkedList<IListEventHandler<E>>(this.registeredEventHandlerList);
-			newList.add(eventHandler);
-			this.registeredEventHandlerList = newList;
+			this.pendingLinkSignals = Arrays.copyOf(this.pendingLinkSignals, this.pendingLinkSignalSize * 2);
 		}
-		finally 
+		this.pendingLinkSignals[this.pendingLinkSignalSize++] = chainHandle;
+	}
+	
+	/**
+	 * Internal method to decrement node size.
+	 */
+	protected void decrementNodeSize()
+	{
+		long nodeSize = NODE_SIZE_UPDATER.decrementAndGet(this);
+		if(this.watermarkListener != null)
 		{
-			lock.unlock();
+			checkLowWatermark(nodeSize);
 		}
+		this.capacitySignal.signal();
 	}
 	
 	/**
-	 * unregister list event handler 
+	 * Enables or disables partition locking mode. 
 	 * 
-	 * @param eventHandler event handler to unregister
+	 * <p>In partition locking mode {@link Linker} appends and prepends elements with list's read lock and a lock for each affected partition. 
+	 * So producers linking into different partitions do not block each other. The list's write lock is still required to create new versions 
+	 * (first modification after a snapshot is created), to link into a chain the first time in a partition, if chain event handlers are registered
+	 * and for all other modifications (unlink, move, clear, snapshot poll ...).
+	 * 
+	 * @param partitionLocking true, to enable partition locking mode, otherwise false
 	 */
-	public void unregisterListEventHandler(IListEventHandler<E> eventHandler)
+	public void setPartitionLocking(boolean partitionLocking)
 	{
-		if(eventHandler == null)
-		{
-			return;
-		}
-		
-		if(this.registeredEventHandlerList == null)
-		{
-			return;
-		}
-		
 		Lock lock = this.writeLock;
 		lock.lock();
 		try
 		{
-			LinkedList<IListEventHandler<E>> newList = new LinkedList<IListEventHandler<E>>(this.registeredEventHandlerList);
-			newList.remove(eventHandler);
-			this.registeredEventHandlerList = newList;
+			this.partitionLocking = partitionLocking;
 		}
 		finally 
 		{
@@ -435,55 +493,75 @@ public class MultiChainList<E>
 	}
 	
 	/**
-	 * Creates a new chain view 
+	 * Getter for partition locking mode.
 	 * 
-	 * <p>View covers only partitions specified in {@code partitionFilter} . If no partition is specified in filter, view covers all partitions. 
+	 * @return true, if partition locking mode is enabled, otherwise false
+	 */
+	public boolean isPartitionLocking()
+	{
+		return partitionLocking;
+	}
+	
+	/**
+	 * Setter for reclaim budget. The reclaim budget is the maximum count of obsolete links, which are cleared with one write lock acquisition. 
 	 * 
-	 * @param chainName chainName
-	 * @param partitionFilter optional partition filter
+	 * <p>Obsolete links are links removed from chains or replaced by newer versions, while snapshots are open. They are cleared, if the last snapshot 
+	 * possibly referencing them is closed. Without budget (default) closing a snapshot clears all reclaimable links, which can take a while after big polls. 
+	 * With budget, closing a snapshot clears only up to budget links and the remaining links are cleared by further closed snapshots or by background reclaimer 
+	 * (see {@link MultiChainList#setBackgroundReclaim(boolean)}).
 	 * 
-	 * @return created chain view
+	 * @param reclaimBudget maximum count of obsolete links cleared with one write lock acquisition
 	 */
-	@SafeVarargs
-	public final ChainView<E> createChainView( String chainName, Partition<E>... partitionFilter)
+	public void setReclaimBudget(int reclaimBudget)
 	{
-		if(partitionFilter.length == 0)
+		if(reclaimBudget < 1)
 		{
-			partitionFilter = null;
+			throw new IllegalArgumentException("reclaim budget must be greater than 0");
 		}
-		return new ChainView<E>(this, chainName, partitionFilter);
+		this.reclaimBudget = reclaimBudget;
 	}
 	
 	/**
-	 * Creates new cached linker builder. This kind of linker builder reuse previously created linker, if another cached linker builder of same multichainlist was invoked with same assignments.
+	 * Getter for reclaim budget.
 	 * 
-	 * @return new cached linker builder
+	 * @return maximum count of obsolete links cleared with one write lock acquisition
 	 */
-	public CachedLinkerBuilder cachedLinkerBuilder()
+	public int getReclaimBudget()
 	{
-		Lock lock = readLock;
+		return reclaimBudget;
+	}
+	
+	/**
+	 * Enables or disables background reclaimer. 
+	 * 
+	 * <p>If enabled, closing a snapshot does not clear obsolete links, but wakes up a daemon thread. This thread clears obsolete links 
+	 * in portions of reclaim budget (see {@link MultiChainList#setReclaimBudget(int)}) and releases the write lock between the portions. 
+	 * 
+	 * @param backgroundReclaim true, to enable background reclaimer, otherwise false
+	 */
+	public void setBackgroundReclaim(boolean backgroundReclaim)
+	{
+		Lock lock = this.writeLock;
 		lock.lock();
 		try
 		{
-			if(this.cachedLinkerNodes != null)
+			Thread reclaimer = this.reclaimer;
+			if(backgroundReclaim == (reclaimer != null))
 			{
-				return new CachedLinkerBuilder();
+				return;
 			}
-		}
-		finally 
-		{
-			lock.unlock();
-		}
-		
-		lock = this.writeLock;
-		lock.lock();
-		try
-		{
-			if(this.cachedLinkerNodes == null)
+			if(backgroundReclaim)
 			{
-				this.cachedLinkerNodes = new HashMap<String,CachedLinkerNode<E>>();
+				reclaimer = new Thread(this::runReclaimer, "MultiChainList reclaimer " + uuid);
+				reclaimer.setDaemon(true);
+				this.reclaimer = reclaimer;
+				reclaimer.start();
+			}
+			else
+			{
+				this.reclaimer = null;
+				LockSupport.unpark(reclaimer);
 			}
-			return new CachedLinkerBuilder();		
 		}
 		finally 
 		{
@@ -492,426 +570,2525 @@ public class MultiChainList<E>
 	}
 	
 	/**
-	 * Create or reuse chain view. 
+	 * Getter for background reclaimer mode.
 	 * 
-	 * @param chainName name of chain
-	 * @param partitionNameForDefaultLinker partition's name for default linker of chain view
-	 * @return created or reused chain view
+	 * @return true, if background reclaimer is enabled, otherwise false
 	 */
-	public ChainView<E> cachedChainView(String chainName, String partitionNameForDefaultLinker)
+	public boolean isBackgroundReclaim()
 	{
-		Lock lock = readLock;
-		lock.lock();
-		try
-		{
-			if((this.cachedChains != null) && (this.cachedChains.containsKey(chainName)))
-			{
-				Map<String,ChainView<E>> cachedChainsCluster = this.cachedChains.get(chainName);
-				if((cachedChainsCluster != null) && (cachedChainsCluster.containsKey(partitionNameForDefaultLinker)))
-				{
-					return cachedChainsCluster.get(partitionNameForDefaultLinker);
-				}
-			}
-		}
-		finally 
-		{
-			lock.unlock();
-		}
-		
-		lock = this.writeLock;
-		lock.lock();
-		try
-		{
-			if(this.cachedChains == null)
-			{
-				this.cachedChains = new HashMap<String,Map<String,ChainView<E>>>();
-			}
-			
-			Map<String,ChainView<E>> cachedChainsCluster = this.cachedChains.get(chainName);
-			if(cachedChainsCluster == null)
-			{
-				cachedChainsCluster = new HashMap<String,ChainView<E>>();
-				this.cachedChains.put(chainName,cachedChainsCluster);
-			}
-			ChainView<E> cachedChain = cachedChainsCluster.get(partitionNameForDefaultLinker);
-			if(cachedChain == null)
-			{
-				cachedChain = this.createChainView(chainName).buildDefaultLinker(partitionNameForDefaultLinker).lockDefaultLinker().setLockDispose(true);
-				cachedChainsCluster.put(partitionNameForDefaultLinker,cachedChain);
-			}
-			return cachedChain;
-		}
-		finally 
-		{
-			lock.unlock();
-		}
+		return reclaimer != null;
 	}
 	
 	/**
-	 * Internal method to remove snapshot and clean-ups
+	 * Setter for snapshot leak handler. 
 	 * 
-	 * @param snapshotVersion version of list
+	 * <p>An open snapshot pins its version of list, so obsolete links can not be cleared until the snapshot is closed. If a leak handler is set, 
+	 * new snapshots are tracked by weak references. A snapshot garbage collected without being closed is released by {@link MultiChainList#expungeSnapshots()} 
+	 * and reported to leak handler by a {@link SnapshotLeakException}, which carries the stack trace of snapshot creation. 
+	 * Capturing the stack trace makes creation of snapshots more expensive.
+	 * 
+	 * @param snapshotLeakHandler leak handler or null, to disable leak detection for new snapshots
 	 */
-	protected void removeSnapshotVersion(SnapshotVersion<E> snapshotVersion)
+	public void setSnapshotLeakHandler(Consumer<? super SnapshotLeakException> snapshotLeakHandler)
 	{
-		if(snapshotVersion == null)
+		this.snapshotLeakHandler = snapshotLeakHandler;
+	}
+	
+	/**
+	 * Getter for snapshot leak handler.
+	 * 
+	 * @return leak handler or null
+	 */
+	public Consumer<? super SnapshotLeakException> getSnapshotLeakHandler()
+	{
+		return snapshotLeakHandler;
+	}
+	
+	/**
+	 * Setter for max snapshot age. 
+	 * 
+	 * <p>If set, new snapshots are tracked and {@link MultiChainList#expungeSnapshots()} closes snapshots older than max age, 
+	 * so the list can clear the obsolete links pinned by them. An expired snapshot throws exceptions like a closed snapshot 
+	 * (see {@link Snapshot#isExpired()}), iterations in progress can fail.
+	 * 
+	 * @param maxSnapshotAge max age of snapshots or 0, to disable expiry for new snapshots
+	 * @param timeUnit unit of max age
+	 */
+	public void setMaxSnapshotAge(long maxSnapshotAge, TimeUnit timeUnit)
+	{
+		if(maxSnapshotAge < 0L)
 		{
-			return;
+			throw new IllegalArgumentException("max snapshot age must not be negative");
 		}
-		if(snapshotVersion.getParent() != this)
+		this.maxSnapshotAge = timeUnit.toNanos(maxSnapshotAge);
+	}
+	
+	/**
+	 * Getter for max snapshot age.
+	 * 
+	 * @param timeUnit unit of max age
+	 * @return max age of snapshots or 0, if snapshots do not expire
+	 */
+	public long getMaxSnapshotAge(TimeUnit timeUnit)
+	{
+		return timeUnit.convert(maxSnapshotAge, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Releases tracked snapshots, which are garbage collected without being closed, and closes tracked snapshots older than max snapshot age 
+	 * (see {@link MultiChainList#setSnapshotLeakHandler(Consumer)} and {@link MultiChainList#setMaxSnapshotAge(long, TimeUnit)}). 
+	 * 
+	 * <p>This method is invoked by creation of snapshots and can be invoked periodically, if snapshots are created rarely.
+	 * 
+	 * @return count of released and expired snapshots
+	 */
+	public int expungeSnapshots()
+	{
+		if(this.snapshotTrackers == null)
 		{
-			return;
+			return 0;
 		}
-		Lock lock = this.writeLock;
+		
+		int count = 0;
+		List<SnapshotVersion<E>> releasedVersions = null;
+		List<SnapshotLeakException> leaks = null;
+		List<Snapshot<E>> expiredSnapshots = null;
+		
+		Lock lock = this.readLock;
 		lock.lock();
 		try
 		{
-			this.openSnapshotVersionList.remove(snapshotVersion);
-			if(this.openSnapshotVersionList.isEmpty())
-			{
-				this.snapshotVersion = null;
-			}
-			if(! this.obsoleteList.isEmpty())
+			Lock snapshotVersionLock = this.snapshotVersionLock;
+			snapshotVersionLock.lock();
+			try
 			{
-				long minimalSnapshotVersionToKeep = Long.MAX_VALUE -1L;
-				for( SnapshotVersion<E> usedSnapshotVersion : this.openSnapshotVersionList)
+				LinkedHashSet<SnapshotTracker<E>> snapshotTrackers = this.snapshotTrackers;
+				if(snapshotTrackers == null)
 				{
-					if(usedSnapshotVersion.sequence < minimalSnapshotVersionToKeep)
-					{
-						minimalSnapshotVersionToKeep = usedSnapshotVersion.sequence;
-					}
+					return 0;
 				}
 				
-				Link<E> obsoleteLink;
-				Link<E> clearLink;
-				while(! this.obsoleteList.isEmpty())
+				Reference<? extends Snapshot<E>> reference;
+				while((reference = this.snapshotReferenceQueue.poll()) != null)
 				{
-					obsoleteLink = this.obsoleteList.getFirst();
-					if( minimalSnapshotVersionToKeep <= obsoleteLink.obsoleteOnVersion) 
+					@SuppressWarnings("unchecked")
+					SnapshotTracker<E> snapshotTracker = (SnapshotTracker<E>)reference;
+					if(! snapshotTrackers.remove(snapshotTracker))
 					{
-						// snapshot is created after link was made obsolete
-						break;
+						continue;
 					}
-					this.obsoleteList.removeFirst();
-					
-					if(obsoleteLink instanceof ClearCompleteForwardChain)
+					count++;
+					if(snapshotTracker.version.releaseSnapshot())
 					{
-
-						clearLink = ((ClearCompleteForwardChain<E>)obsoleteLink).wrap;
-						((ClearCompleteForwardChain<E>)obsoleteLink).wrap = null;
-						obsoleteLink.clear();
-						obsoleteLink  = clearLink;
-						
-						while(obsoleteLink != null)
+						if(releasedVersions == null)
 						{
-							if(obsoleteLink instanceof Eyebolt)
-							{
-								break;
-							}
-							
-							clearLink = obsoleteLink;
-							obsoleteLink = obsoleteLink.nextLink;
-							clearLink.clear();
+							releasedVersions = new ArrayList<SnapshotVersion<E>>();
+						}
+						releasedVersions.add(snapshotTracker.version);
+					}
+					if(snapshotTracker.leak != null)
+					{
+						if(leaks == null)
+						{
+							leaks = new ArrayList<SnapshotLeakException>();
 						}
+						leaks.add(snapshotTracker.leak);
 					}
-					else
+				}
+				
+				long maxSnapshotAge = this.maxSnapshotAge;
+				if((maxSnapshotAge > 0L) && (! snapshotTrackers.isEmpty()))
+				{
+					long now = System.nanoTime();
+					
+					// trackers are ordered by creation
+					for(SnapshotTracker<E> snapshotTracker : snapshotTrackers)
 					{
-						if(obsoleteLink.olderVersion != null)
+						if(now - snapshotTracker.createdAt < maxSnapshotAge)
 						{
-							obsoleteLink.olderVersion.newerVersion = obsoleteLink.newerVersion;
+							break;
 						}
-						if(obsoleteLink.newerVersion != null)
+						Snapshot<E> snapshot = snapshotTracker.get();
+						if(snapshot != null)
 						{
-							obsoleteLink.newerVersion.newerVersion = obsoleteLink.olderVersion;
+							if(expiredSnapshots == null)
+							{
+								expiredSnapshots = new ArrayList<Snapshot<E>>();
+							}
+							expiredSnapshots.add(snapshot);
 						}
-						obsoleteLink.clear();
 					}
 				}
 			}
-			if((snapshotVersion != this.modificationVersion) && (snapshotVersion != this.snapshotVersion))
+			finally 
 			{
-				snapshotVersion.clear();
+				snapshotVersionLock.unlock();
 			}
 		}
 		finally 
 		{
 			lock.unlock();
 		}
-	}
-	
-	/**
-	 * Getter for first partition
-	 * 
-	 * @return first partition
-	 */
-	public Partition<E> getFirstPartition()
-	{
-		return firstPartition;
-	}
-	
-	/**
-	 * Getter for last partition
-	 * 
-	 * @return last partition
-	 */
-	public Partition<E> getLastPartition()
-	{
-		return lastPartition;
-	}
-
-	/**
-	 * Defines partitions with specified partition names. 
-	 * 
-	 * @param partitionNames partition names
-	 * @return defined partitions
-	 */
-	public Collection<Partition<E>> definePartitions(String... partitionNames)
-	{
-		if(partitionNames == null)
-		{
-			return null;
-		}
-		if(partitionNames.length == 0)
+		
+		if(releasedVersions != null)
 		{
-			return null;
+			for(SnapshotVersion<E> releasedVersion : releasedVersions)
+			{
+				removeSnapshotVersion(releasedVersion);
+			}
 		}
-		List<Partition<E>> definedPartitionList = new ArrayList<Partition<E>>(partitionNames.length);
-		
-		Lock lock = this.writeLock;
-		lock.lock();
-		try
+		if(expiredSnapshots != null)
 		{
-
-			Partition<E> partition;
-			for(String partitionName : partitionNames)
+			for(Snapshot<E> expiredSnapshot : expiredSnapshots)
 			{
-				partition = getPartition(partitionName);
-				if(partition !=  null)
-				{
-					definedPartitionList.add(partition);
-					continue;
-				}
-				
-				this.partitionListCopy = null;
-				
-				partition = new Partition<E>(partitionName,this);
-				if(firstPartition == null)
-				{
-					this.firstPartition = partition;
-				}
-				if(this.lastPartition != null)
+				if(expiredSnapshot.expire())
 				{
-					this.lastPartition.next = partition;
+					count++;
 				}
-				partition.previews = this.lastPartition;
-				partitionList.put(partitionName, partition);
-				
-				lastPartition = partition;
-				definedPartitionList.add(partition);
 			}
 		}
-		finally 
+		if(leaks != null)
 		{
-			lock.unlock();
+			Consumer<? super SnapshotLeakException> snapshotLeakHandler = this.snapshotLeakHandler;
+			if(snapshotLeakHandler != null)
+			{
+				for(SnapshotLeakException leak : leaks)
+				{
+					try {snapshotLeakHandler.accept(leak);}catch (Exception e) {}
+				}
+			}
 		}
-		
-		return Collections.unmodifiableList(definedPartitionList);
+		return count;
 	}
 	
 	/**
-	 * Defines partition with specified name
+	 * Internal method to track a new snapshot for leak detection and expiry. This method must invoke with MCL.snapshotVersionLock !
 	 * 
-	 * @param partitionName name of partition
-	 * @return defined partition
+	 * @param version pinned version of snapshot
+	 * @param snapshot new snapshot
 	 */
-	public Partition<E> definePartition(String partitionName)
+	protected void trackSnapshot(SnapshotVersion<E> version, Snapshot<E> snapshot)
 	{
-		Partition<E> partition = getPartition(partitionName);
-		if(partition !=  null)
-		{
-			return partition;
-		}
-		
-		Lock lock = this.writeLock;
-		lock.lock();
-		try
-		{
-			this.partitionListCopy = null;
-			
-			partition = partitionList.get(partitionName);
-			if(partition != null)
-			{
-				return partition;
-			}
-			
-			partition = new Partition<E>(partitionName,this);
-			
-			this.lastPartition.next = partition;
-			partition.previews = this.lastPartition;
-			partitionList.put(partitionName, partition);
-			
-			lastPartition = partition;
-			return partition;
-		}
-		finally 
+		LinkedHashSet<SnapshotTracker<E>> snapshotTrackers = this.snapshotTrackers;
+		if(snapshotTrackers == null)
 		{
-			lock.unlock();
+			snapshotTrackers = new LinkedHashSet<SnapshotTracker<E>>();
+			this.snapshotTrackers = snapshotTrackers;
 		}
+		SnapshotLeakException leak = this.snapshotLeakHandler == null ? null : new SnapshotLeakException(this.uuid.toString(), snapshot.getRecordChainName());
+		SnapshotTracker<E> snapshotTracker = new SnapshotTracker<E>(snapshot, this.snapshotReferenceQueue, version, leak);
+		snapshot.tracker = snapshotTracker;
+		snapshotTrackers.add(snapshotTracker);
 	}
-
+	
 	/**
-	 * Internal method to set link to obsolete
+	 * Internal method to stop tracking of a closed snapshot. This method must invoke with MCL.snapshotVersionLock !
 	 * 
-	 * @param link link to set obsolete
+	 * @param snapshot closed snapshot
 	 */
-	protected void setObsolete(Link<E> link)
+	protected void untrackSnapshot(Snapshot<E> snapshot)
 	{
-		link.obsoleteOnVersion = modificationVersion.sequence;
-		if(link.node != null)
+		SnapshotTracker<E> snapshotTracker = snapshot.tracker;
+		if(snapshotTracker == null)
 		{
-			// payload-link , not eyebolt
-			link.node.lastObsoleteOnVersion = link.obsoleteOnVersion;
+			return;
+		}
+		snapshot.tracker = null;
+		snapshotTracker.clear();
+		LinkedHashSet<SnapshotTracker<E>> snapshotTrackers = this.snapshotTrackers;
+		if(snapshotTrackers != null)
+		{
+			snapshotTrackers.remove(snapshotTracker);
 		}
-		this.obsoleteList.addLast(link);
 	}
 	
 	/**
-	 * Compute procedure undisturbed by concurrency updates.
+	 * Setter for retained version budget. 
 	 * 
-	 * <p>Don't create new Threads inside procedure. There is a risk of a deadlock
+	 * <p>While snapshots are open, links removed from chains or replaced by newer versions are retained, until the last snapshot possibly 
+	 * referencing them is closed. The budget limits the count of retained links (see {@link MultiChainList#getRetainedLinkCount()}). 
+	 * If budget is exceeded, the policy applies:
 	 * 
-	 * @param procedure
+	 * <ul>
+	 * <li>{@link RetainedVersionPolicy#INVALIDATE_OLDEST_SNAPSHOT} expires oldest snapshots (see {@link Snapshot#isExpired()}) before next modification. 
+	 * Only snapshots created after policy is set can be expired.</li>
+	 * <li>{@link RetainedVersionPolicy#BLOCK_WRITERS} blocks linking and unlinking threads until snapshots are closed and retained links are cleared. 
+	 * A thread must not modify the list while holding an open snapshot.</li>
+	 * <li>{@link RetainedVersionPolicy#REJECT_SNAPSHOTS} throws {@link RetainedVersionBudgetException} on creation of new snapshots.</li>
+	 * </ul>
+	 * 
+	 * <p>The budget is checked before modifications and snapshot creation, so it can be exceeded by links of one modification.
+	 * 
+	 * @param retainedLinkBudget max count of retained links
+	 * @param retainedVersionPolicy policy to apply if budget is exceeded, or null to disable budget
 	 */
-	public void computeProcedure(Consumer<MultiChainList<E>> procedure)
+	public void setRetainedVersionBudget(long retainedLinkBudget, RetainedVersionPolicy retainedVersionPolicy)
 	{
-		Lock lock = this.writeLock;
-		lock.lock();
-		try
-		{
-			procedure.accept(this);
-		}
-		finally 
+		if((retainedVersionPolicy != null) && (retainedLinkBudget < 1L))
 		{
-			lock.unlock();
+			throw new IllegalArgumentException("retained version budget must be greater than 0");
 		}
+		this.retainedLinkBudget = retainedVersionPolicy == null ? 0L : retainedLinkBudget;
+		this.retainedVersionPolicy = retainedVersionPolicy;
+		signalRetainedVersionReleased();
 	}
 	
-	@Override
-	public int hashCode()
+	/**
+	 * Setter for retained version budget in bytes. The budget is converted to a count of links by {@link MultiChainList#ESTIMATED_RETAINED_LINK_BYTES}
+	 * (see {@link MultiChainList#setRetainedVersionBudget(long, RetainedVersionPolicy)}).
+	 * 
+	 * @param retainedBytesBudget max estimated bytes of retained links
+	 * @param retainedVersionPolicy policy to apply if budget is exceeded, or null to disable budget
+	 */
+	public void setRetainedVersionByteBudget(long retainedBytesBudget, RetainedVersionPolicy retainedVersionPolicy)
 	{
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + uuid.hashCode();
-		return result;
+		setRetainedVersionBudget(retainedBytesBudget / ESTIMATED_RETAINED_LINK_BYTES, retainedVersionPolicy);
 	}
-
-	@Override
-	public boolean equals(Object obj)
+	
+	/**
+	 * Getter for retained version budget.
+	 * 
+	 * @return max count of retained links, or 0 if budget is disabled
+	 */
+	public long getRetainedVersionBudget()
 	{
-		return this == obj;	
+		return retainedLinkBudget;
 	}
 	
 	/**
-	 * Internal helper class tom manage versions
+	 * Getter for retained version policy.
 	 * 
-	 * @author Sebastian Palarus
-	 * @since 1.0
-	 * @version 1.0
-	 *
-	 * @param <E> the type of elements in this list
+	 * @return policy to apply if retained version budget is exceeded, or null if budget is disabled
+	 */
+	public RetainedVersionPolicy getRetainedVersionPolicy()
+	{
+		return retainedVersionPolicy;
+	}
+	
+	/**
+	 * Returns count of links retained on behalf of open snapshots, which are not cleared yet. Links of polled chains are counted, 
+	 * until they are cleared by reclamation.
+	 * 
+	 * @return count of retained links
+	 */
+	public long getRetainedLinkCount()
+	{
+		ObsoleteLinkQueue<E> obsoleteList = this.obsoleteList;
+		return obsoleteList == null ? 0L : obsoleteList.getRetainedLinkCount();
+	}
+	
+	/**
+	 * Returns estimated bytes of links retained on behalf of open snapshots (see {@link MultiChainList#ESTIMATED_RETAINED_LINK_BYTES}).
+	 * 
+	 * @return estimated bytes of retained links
+	 */
+	public long getRetainedBytes()
+	{
+		return getRetainedLinkCount() * ESTIMATED_RETAINED_LINK_BYTES;
+	}
+	
+	/**
+	 * Internal method to check whether retained links exceed retained version budget.
+	 * 
+	 * @return true, if budget is enabled and exceeded, otherwise false
+	 */
+	private boolean isRetainedVersionBudgetExceeded()
+	{
+		long retainedLinkBudget = this.retainedLinkBudget;
+		return (retainedLinkBudget > 0L) && (getRetainedLinkCount() > retainedLinkBudget);
+	}
+	
+	/**
+	 * Internal method applies retained version policy before a modification. This method must invoke without locks of list !
+	 */
+	protected void enforceRetainedVersionBudget()
+	{
+		RetainedVersionPolicy retainedVersionPolicy = this.retainedVersionPolicy;
+		if((retainedVersionPolicy == null) || (retainedVersionPolicy == RetainedVersionPolicy.REJECT_SNAPSHOTS))
+		{
+			return;
+		}
+		if(! isRetainedVersionBudgetExceeded())
+		{
+			return;
+		}
+		if(this.writeLock.isHeldByCurrentThread())
+		{
+			// inside compute procedure neither snapshots can be closed nor threads can wait for reclamation
+			return;
+		}
+		
+		if(retainedVersionPolicy == RetainedVersionPolicy.INVALIDATE_OLDEST_SNAPSHOT)
+		{
+			invalidateOldestSnapshots();
+		}
+		else
+		{
+			awaitRetainedVersionReleased();
+		}
+	}
+	
+	/**
+	 * Internal method checks retained version budget before creation of a snapshot.
+	 * 
+	 * @throws RetainedVersionBudgetException if budget is exceeded and policy is {@link RetainedVersionPolicy#REJECT_SNAPSHOTS}
+	 */
+	protected void checkRetainedVersionBudget()
+	{
+		if(this.retainedVersionPolicy != RetainedVersionPolicy.REJECT_SNAPSHOTS)
+		{
+			return;
+		}
+		long retainedLinkBudget = this.retainedLinkBudget;
+		long retainedLinkCount = getRetainedLinkCount();
+		if((retainedLinkBudget > 0L) && (retainedLinkCount > retainedLinkBudget))
+		{
+			throw new RetainedVersionBudgetException(retainedLinkBudget, retainedLinkCount);
+		}
+	}
+	
+	/**
+	 * Internal method expires oldest tracked snapshots, until retained links do not exceed retained version budget or no snapshot can be expired.
+	 */
+	private void invalidateOldestSnapshots()
+	{
+		expungeSnapshots();
+		while(isRetainedVersionBudgetExceeded())
+		{
+			Snapshot<E> oldestSnapshot = null;
+			Lock lock = this.readLock;
+			lock.lock();
+			try
+			{
+				Lock snapshotVersionLock = this.snapshotVersionLock;
+				snapshotVersionLock.lock();
+				try
+				{
+					LinkedHashSet<SnapshotTracker<E>> snapshotTrackers = this.snapshotTrackers;
+					if(snapshotTrackers != null)
+					{
+						for(SnapshotTracker<E> snapshotTracker : snapshotTrackers)
+						{
+							if((oldestSnapshot = snapshotTracker.get()) != null)
+							{
+								break;
+							}
+						}
+					}
+				}
+				finally 
+				{
+					snapshotVersionLock.unlock();
+				}
+			}
+			finally 
+			{
+				lock.unlock();
+			}
+			
+			if(oldestSnapshot == null)
+			{
+				return;
+			}
+			
+			long retainedLinkCount = getRetainedLinkCount();
+			oldestSnapshot.expire();
+			if((getRetainedLinkCount() >= retainedLinkCount) && ((this.reclaimer != null) || (this.reclaimBudget != Integer.MAX_VALUE)))
+			{
+				// reclamation is deferred by background reclaimer or reclaim budget, don't expire more snapshots than required
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Internal method blocks current thread, until retained links do not exceed retained version budget anymore.
+	 * 
+	 * @throws RuntimeException with {@link InterruptedException} if current thread is interrupted while waiting
+	 */
+	private void awaitRetainedVersionReleased()
+	{
+		Lock lock = this.retainedVersionLock;
+		lock.lock();
+		try
+		{
+			this.retainedVersionWaiters++;
+			try
+			{
+				while((this.retainedVersionPolicy == RetainedVersionPolicy.BLOCK_WRITERS) && isRetainedVersionBudgetExceeded() && (this.uuid != null))
+				{
+					this.retainedVersionReleased.await();
+				}
+			}
+			finally 
+			{
+				this.retainedVersionWaiters--;
+			}
+		}
+		catch (InterruptedException e) 
+		{
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal method wakes up threads blocked by retained version budget.
+	 */
+	protected void signalRetainedVersionReleased()
+	{
+		if(this.retainedVersionWaiters == 0)
+		{
+			return;
+		}
+		Lock lock = this.retainedVersionLock;
+		lock.lock();
+		try
+		{
+			this.retainedVersionReleased.signalAll();
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Enables or disables identity index. 
+	 * 
+	 * <p>The identity index maps elements (by identity, not by equals) to their nodes, so {@link MultiChainList#findNode(Object)} and
+	 * {@link MultiChainList#unlink(Object)} do not have to scan the chains. The index is maintained while nodes are linked first time and 
+	 * unlinked from last chain, which costs a map operation for each new or removed node. If same element instance is linked by more than one node, 
+	 * the index returns the node linked latest, which is still linked. Null elements are not indexed. Primitive lists ({@link LongMultiChainList}, {@link IntMultiChainList}) 
+	 * do not support identity index.
+	 * 
+	 * @param identityIndex true, to enable identity index, otherwise false
+	 */
+	public void setIdentityIndex(boolean identityIndex)
+	{
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			if(! identityIndex)
+			{
+				Lock indexLock = this.identityIndexLock;
+				indexLock.lock();
+				try
+				{
+					this.identityIndex = null;
+					this.identityIndexDuplicates = null;
+				}
+				finally 
+				{
+					indexLock.unlock();
+				}
+				return;
+			}
+			if(this.identityIndex != null)
+			{
+				return;
+			}
+			IdentityHashMap<E,Node<E>> index = new IdentityHashMap<E,Node<E>>();
+			IdentityHashMap<E,LinkedList<Node<E>>> duplicates = new IdentityHashMap<E,LinkedList<Node<E>>>();
+			for(Partition<E> partition : getPartitionList())
+			{
+				Node<E> partitionBegin = partition.getPartitionBegin();
+				indexChain(index, duplicates, partitionBegin.headOfDefaultChain);
+				Link<E>[] heads = partitionBegin.headsOfAdditionalChains;
+				if(heads != null)
+				{
+					for(Link<E> head : heads)
+					{
+						indexChain(index, duplicates, head);
+					}
+				}
+			}
+			Lock indexLock = this.identityIndexLock;
+			indexLock.lock();
+			try
+			{
+				this.identityIndexDuplicates = duplicates.isEmpty() ? null : duplicates;
+				this.identityIndex = index;
+			}
+			finally 
+			{
+				indexLock.unlock();
+			}
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal helper method to put all nodes of chain into identity index.
+	 * 
+	 * @param index identity index to fill
+	 * @param duplicates older nodes of elements linked by more than one node
+	 * @param beginLink begin of chain in partition
+	 */
+	private void indexChain(IdentityHashMap<E,Node<E>> index, IdentityHashMap<E,LinkedList<Node<E>>> duplicates, Link<E> beginLink)
+	{
+		if(beginLink == null)
+		{
+			return;
+		}
+		Link<E> link = beginLink.nextLink;
+		while((link != null) && (link.node != null) && link.node.isPayload())
+		{
+			E element = link.node.getElement();
+			if(element != null)
+			{
+				Node<E> indexedNode = index.get(element);
+				if(indexedNode == null)
+				{
+					index.put(element, link.node);
+				}
+				else if(indexedNode != link.node)
+				{
+					// node is visited once for each chain
+					LinkedList<Node<E>> olderNodes = duplicates.computeIfAbsent(element, e -> new LinkedList<Node<E>>());
+					if(! olderNodes.contains(link.node))
+					{
+						olderNodes.add(link.node);
+					}
+				}
+			}
+			link = link.nextLink;
+		}
+	}
+	
+	/**
+	 * Getter for identity index mode.
+	 * 
+	 * @return true, if identity index is enabled, otherwise false
+	 */
+	public boolean isIdentityIndex()
+	{
+		return identityIndex != null;
+	}
+	
+	/**
+	 * Internal method to add node to identity index, if node is linked the first time.
+	 * 
+	 * @param node new node
+	 */
+	protected void indexNode(Node<E> node)
+	{
+		if((this.identityIndex == null) || (node.getElement() == null))
+		{
+			return;
+		}
+		Lock lock = this.identityIndexLock;
+		lock.lock();
+		try
+		{
+			IdentityHashMap<E,Node<E>> index = this.identityIndex;
+			if(index != null)
+			{
+				E element = node.getElement();
+				Node<E> previewsNode = index.put(element, node);
+				if((previewsNode != null) && (previewsNode != node))
+				{
+					// element is linked by more than one node => remember older node, until it is unlinked
+					if(this.identityIndexDuplicates == null)
+					{
+						this.identityIndexDuplicates = new IdentityHashMap<E,LinkedList<Node<E>>>();
+					}
+					this.identityIndexDuplicates.computeIfAbsent(element, e -> new LinkedList<Node<E>>()).add(previewsNode);
+				}
+			}
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal method to remove node from identity index, if node is unlinked from last chain.
+	 * 
+	 * @param node removed node
+	 */
+	protected void unindexNode(Node<E> node)
+	{
+		if((this.identityIndex == null) || (node.getElement() == null))
+		{
+			return;
+		}
+		Lock lock = this.identityIndexLock;
+		lock.lock();
+		try
+		{
+			IdentityHashMap<E,Node<E>> index = this.identityIndex;
+			if(index == null)
+			{
+				return;
+			}
+			E element = node.getElement();
+			IdentityHashMap<E,LinkedList<Node<E>>> duplicates = this.identityIndexDuplicates;
+			LinkedList<Node<E>> olderNodes = duplicates == null ? null : duplicates.get(element);
+			if(index.get(element) == node)
+			{
+				if(olderNodes == null)
+				{
+					index.remove(element);
+				}
+				else
+				{
+					// fall back to latest of older nodes
+					index.put(element, olderNodes.removeLast());
+				}
+			}
+			else if(olderNodes != null)
+			{
+				olderNodes.remove(node);
+			}
+			
+			if((olderNodes != null) && olderNodes.isEmpty())
+			{
+				duplicates.remove(element);
+				if(duplicates.isEmpty())
+				{
+					this.identityIndexDuplicates = null;
+				}
+			}
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Find node of element by identity index.
+	 * 
+	 * @param element element to find
+	 * @return node of element or null, if element is not linked into any chain
+	 * @throws RuntimeException if identity index is not enabled
+	 */
+	public Node<E> findNode(E element)
+	{
+		if(this.identityIndex == null)
+		{
+			throw new RuntimeException("identity index is not enabled");
+		}
+		if(element == null)
+		{
+			return null;
+		}
+		Lock lock = this.identityIndexLock;
+		lock.lock();
+		try
+		{
+			IdentityHashMap<E,Node<E>> index = this.identityIndex;
+			return index == null ? null : index.get(element);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal method finds the latest node of element by identity index, which matches the specified filter. 
+	 * If element is linked by more than one node, older nodes are tested from latest to oldest.
+	 * 
+	 * @param element element to find
+	 * @param filter filter for nodes
+	 * @return node of element or null, if element is not linked by a node matching the filter
+	 * @throws RuntimeException if identity index is not enabled
+	 */
+	protected Node<E> findNode(E element, Predicate<Node<E>> filter)
+	{
+		if(this.identityIndex == null)
+		{
+			throw new RuntimeException("identity index is not enabled");
+		}
+		if(element == null)
+		{
+			return null;
+		}
+		Lock lock = this.identityIndexLock;
+		lock.lock();
+		try
+		{
+			IdentityHashMap<E,Node<E>> index = this.identityIndex;
+			Node<E> node = index == null ? null : index.get(element);
+			if((node == null) || filter.test(node))
+			{
+				return node;
+			}
+			IdentityHashMap<E,LinkedList<Node<E>>> duplicates = this.identityIndexDuplicates;
+			LinkedList<Node<E>> olderNodes = duplicates == null ? null : duplicates.get(element);
+			if(olderNodes != null)
+			{
+				Iterator<Node<E>> iterator = olderNodes.descendingIterator();
+				while(iterator.hasNext())
+				{
+					node = iterator.next();
+					if(filter.test(node))
+					{
+						return node;
+					}
+				}
+			}
+			return null;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Unlink node of element from all chains. The node is found by identity index.
+	 * 
+	 * @param element element to unlink
+	 * @return true, if element was linked, otherwise false
+	 * @throws RuntimeException if identity index is not enabled
+	 */
+	public boolean unlink(E element)
+	{
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			Node<E> node = findNode(element);
+			if((node == null) || (node.linkSize() == 0))
+			{
+				return false;
+			}
+			node.unlinkFromAllChains();
+			return true;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Enables or disables metrics. 
+	 * 
+	 * <p>Enabled metrics are registered as MXBean in platform MBean server with object name 
+	 * {@code org.sodeac.multichainlist:type=MultiChainList,uuid=<uuid of list>} (see {@link MultiChainListMetricsMXBean}). 
+	 * Counters are updated by {@link java.util.concurrent.atomic.LongAdder}s, appends and prepends by the state of chain in partition 
+	 * and write lock wait and hold times by two {@link System#nanoTime()} calls for each (outer) write lock acquisition.
+	 * 
+	 * @param metricsEnabled true, to enable metrics, otherwise false
+	 */
+	public void setMetricsEnabled(boolean metricsEnabled)
+	{
+		MultiChainListMetrics metrics = null;
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			if(metricsEnabled == (this.metrics != null))
+			{
+				return;
+			}
+			if(metricsEnabled)
+			{
+				metrics = new MultiChainListMetrics(this);
+				metrics.register();
+				this.metrics = metrics;
+			}
+			else
+			{
+				metrics = this.metrics;
+				this.metrics = null;
+			}
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+		if(! metricsEnabled)
+		{
+			metrics.unregister();
+		}
+	}
+	
+	/**
+	 * Getter for metrics mode.
+	 * 
+	 * @return true, if metrics are enabled, otherwise false
+	 */
+	public boolean isMetricsEnabled()
+	{
+		return metrics != null;
+	}
+	
+	/**
+	 * Getter for metrics.
+	 * 
+	 * @return metrics or null, if metrics are not enabled
+	 */
+	public MultiChainListMetrics getMetrics()
+	{
+		return metrics;
+	}
+	
+	/**
+	 * Setter for latency recorder. The recorder is notified about lock acquisitions of {@link Linker}, {@link Node#unlinkFromAllChains()}, 
+	 * snapshot creation, about snapshot lifetimes and about reclamation passes of obsolete links (see {@link ILatencyRecorder}).
+	 * 
+	 * @param latencyRecorder latency recorder or null
+	 */
+	public void setLatencyRecorder(ILatencyRecorder latencyRecorder)
+	{
+		this.latencyRecorder = latencyRecorder;
+	}
+	
+	/**
+	 * Getter for latency recorder.
+	 * 
+	 * @return latency recorder or null
+	 */
+	public ILatencyRecorder getLatencyRecorder()
+	{
+		return latencyRecorder;
+	}
+	
+	/**
+	 * Enables or disables Java Flight Recorder events. Enabling installs a latency recorder, which commits events 
+	 * {@code org.sodeac.multichainlist.Lock}, {@code org.sodeac.multichainlist.Snapshot} and {@code org.sodeac.multichainlist.Reclamation}. 
+	 * Operations are only measured, while a recording enables one of these events. Disabling removes latency recorder.
+	 * 
+	 * @param flightRecording true, to enable Java Flight Recorder events, otherwise false
+	 * @throws RuntimeException with {@link UnsupportedOperationException} if Java Flight Recorder events are not supported (Java 21 or higher required)
+	 */
+	public void setFlightRecording(boolean flightRecording)
+	{
+		if(! flightRecording)
+		{
+			this.latencyRecorder = null;
+			return;
+		}
+		ILatencyRecorder latencyRecorder = FlightRecorderSupport.newRecorder();
+		if(latencyRecorder == null)
+		{
+			throw new RuntimeException(new UnsupportedOperationException("java flight recorder events require java 21 or higher"));
+		}
+		this.latencyRecorder = latencyRecorder;
+	}
+	
+	/**
+	 * Internal method returns latency recorder, if latencies should be measured.
+	 * 
+	 * @return latency recorder or null
+	 */
+	protected ILatencyRecorder getEnabledLatencyRecorder()
+	{
+		ILatencyRecorder latencyRecorder = this.latencyRecorder;
+		if((latencyRecorder == null) || (! latencyRecorder.isEnabled()))
+		{
+			return null;
+		}
+		return latencyRecorder;
+	}
+	
+	/**
+	 * Internal method runs background reclaimer
+	 */
+	private void runReclaimer()
+	{
+		while(this.reclaimer == Thread.currentThread())
+		{
+			boolean pending;
+			ReclamationPass reclamationPass = getEnabledLatencyRecorder() == null ? null : new ReclamationPass();
+			Lock lock = this.writeLock;
+			lock.lock();
+			try
+			{
+				if(this.reclaimer != Thread.currentThread())
+				{
+					return;
+				}
+				pending = reclaimObsoleteLinks(this.reclaimBudget, reclamationPass);
+			}
+			finally 
+			{
+				lock.unlock();
+			}
+			if(reclamationPass != null)
+			{
+				reclamationPass.record(this);
+			}
+			if(! pending)
+			{
+				LockSupport.park(this);
+			}
+		}
+	}
+	
+	/**
+	 * Internal method to pin current version of list for a new snapshot. This method must invoke with MCL.writeLock or with MCL.readLock !
+	 * 
+	 * <p>With read lock concurrent snapshots can be created, but no modification version can be created or replaced. 
+	 * So the current modification version is pinned as snapshot version. Concurrent snapshots are synchronized by MCL.snapshotVersionLock.
+	 * 
+	 * @param snapshot new snapshot
+	 * @return pinned version
+	 */
+	protected SnapshotVersion<E> pinSnapshotVersion(Snapshot<E> snapshot)
+	{
+		Lock lock = this.snapshotVersionLock;
+		lock.lock();
+		try
+		{
+			SnapshotVersion<E> version = this.snapshotVersion;
+			if(version == null)
+			{
+				version = this.modificationVersion;
+				this.snapshotVersion = version;
+			}
+			version.addSnapshot(snapshot);
+			this.snapshotOpen = true;
+			return version;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal method checks, if snapshots are open. Unlike {@link MultiChainList#openSnapshotVersionList} this method can invoke with MCL.readLock
+	 * in partition locking mode, while concurrent snapshots are created.
+	 * 
+	 * @return true, if snapshots are open, otherwise false
+	 */
+	protected boolean isSnapshotOpen()
+	{
+		return this.snapshotOpen;
+	}
+	
+	/**
+	 * Internal method checks, if the current modification can be done with partition locks. This method must invoke with MCL.readLock !
+	 * 
+	 * @return true, if current modification can be done with partition locks, otherwise false
+	 */
+	protected boolean isPartitionLockApplicable()
+	{
+		if(! this.partitionLocking)
+		{
+			return false;
+		}
+		if(this.snapshotVersion != null)
+		{
+			// requires new modification version
+			return false;
+		}
+		return ! isChainEventHandlerRegistered();
+	}
+	
+	/**
+	 * Internal method checks, if chain event handlers are registered.
+	 * 
+	 * @return true, if chain event handlers are registered, otherwise false
+	 */
+	protected boolean isChainEventHandlerRegistered()
+	{
+		LinkedList<IChainEventHandler<E>> chainEventHandlerList = this.registeredChainEventHandlerList;
+		return (chainEventHandlerList != null) && (! chainEventHandlerList.isEmpty());
+	}
+
+	/**
+	 * Returns partitions size
+	 * 
+	 * @return partitions size
+	 */
+	public int getPartitionSize()
+	{
+		List<Partition<E>> partitionList = this.partitionListCopy;
+		if(partitionList != null)
+		{
+			return partitionList.size();
+		}
+		
+		Lock lock = readLock;
+		lock.lock();
+		try
+		{
+			return this.partitionList.size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Collect all chains returns the chain name as immutable list
+	 * 
+	 * @return list of chain names
+	 */
+	public List<String> getChainNameList()
+	{
+		List<String> chainNameList = this.chainNameListCopy;
+		if(chainNameList != null)
+		{
+			return chainNameList;
+		}
+		Lock lock = readLock;
+		lock.lock();
+		try
+		{
+			if(this.chainNameListCopy != null)
+			{
+				return this.chainNameListCopy;
+			}
+			Set<String> set = new HashSet<String>();
+			for(Partition<E> partition : this.partitionList.values())
+			{
+				if((partition.getPartitionBegin() != null) && (partition.getPartitionBegin().headsOfAdditionalChains != null))
+				{
+					for(Link<E> link : partition.getPartitionBegin().headsOfAdditionalChains)
+					{
+						set.add(link.linkageDefinition.getChainName());
+					}
+				}
+			}
+			this.chainNameListCopy = Collections.unmodifiableList(Arrays.asList(set.toArray(new String[set.size()])));
+			return this.chainNameListCopy;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns immutable list with partitions
+	 * 
+	 * @return immutable list with partitions
+	 */
+	public List<Partition<E>> getPartitionList()
+	{
+		List<Partition<E>> partitionList = this.partitionListCopy;
+		if(partitionList != null)
+		{
+			return partitionList;
+		}
+		
+		Lock lock = readLock;
+		lock.lock();
+		try
+		{
+			List<Partition<E>> list = new ArrayList<>(this.partitionList.size());
+			Partition<E> partition = firstPartition;
+			list.add(partition);
+			while(partition.next != null)
+			{
+				partition = partition.next;
+				list.add(partition);
+			}
+			this.partitionListCopy = Collections.unmodifiableList(list);
+			return partitionListCopy;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Return partition with specified name
+	 * 
+	 * @param partitionName name of partition
+	 * 
+	 * @return partition with specified name
+	 */
+	public Partition<E> getPartition(String partitionName)
+	{
+		Lock lock = readLock;
+		lock.lock();
+		try
+		{
+			return this.partitionList.get(partitionName);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * register chain event handler
+	 * 
+	 * @param eventHandler event handler to register
+	 */
+	public void registerChainEventHandler(IChainEventHandler<E> eventHandler)
+	{
+		if(eventHandler == null)
+		{
+			return;
+		}
+		
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			if(this.registeredChainEventHandlerList == null)
+			{
+				this.registeredChainEventHandlerList = new LinkedList<>();
+			}
+			else if(this.registeredChainEventHandlerList.contains(eventHandler))
+			{
+				return;
+			}
+			this.registeredChainEventHandlerList.addLast(eventHandler);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * unregister chain event handler 
+	 * 
+	 * @param eventHandler eventHandler event handler to unregister
+	 */
+	public void unregisterChainEventHandler(IChainEventHandler<E> eventHandler)
+	{
+		if(eventHandler == null)
+		{
+			return;
+		}
+		
+		if(this.registeredChainEventHandlerList == null)
+		{
+			return;
+		}
+		
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			this.registeredChainEventHandlerList.remove(eventHandler);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * register list event handler
+	 * 
+	 * @param eventHandler event handler to register
+	 */
+	public void registerListEventHandler(IListEventHandler<E> eventHandler)
+	{
+		if(eventHandler == null)
+		{
+			return;
+		}
+		
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			if(this.registeredEventHandlerList == null)
+			{
+				this.registeredEventHandlerList = new LinkedList<>();
+			}
+			else if(this.registeredEventHandlerList.contains(eventHandler))
+			{
+				return;
+			}
+			LinkedList<IListEventHandler<E>> newList = new LinkedList<IListEventHandler<E>>(this.registeredEventHandlerList);
+			newList.add(eventHandler);
+			this.registeredEventHandlerList = newList;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * unregister list event handler 
+	 * 
+	 * @param eventHandler event handler to unregister
+	 */
+	public void unregisterListEventHandler(IListEventHandler<E> eventHandler)
+	{
+		if(eventHandler == null)
+		{
+			return;
+		}
+		
+		if(this.registeredEventHandlerList == null)
+		{
+			return;
+		}
+		
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			LinkedList<IListEventHandler<E>> newList = new LinkedList<IListEventHandler<E>>(this.registeredEventHandlerList);
+			newList.remove(eventHandler);
+			this.registeredEventHandlerList = newList;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns the handle for specified chain. The handle is created, if the chain name is requested the first time. 
+	 * 
+	 * <p>Chain names are never released, so handles should be used for long-living chains only.
+	 * 
+	 * @param chainName name of chain
+	 * @return handle of chain
+	 */
+	public ChainHandle getChainHandle(String chainName)
+	{
+		if(chainName == null)
+		{
+			return defaultChainHandle;
+		}
+		ChainHandle chainHandle = chainHandleIndex.get(chainName);
+		if(chainHandle != null)
+		{
+			return chainHandle;
+		}
+		return chainHandleIndex.computeIfAbsent(chainName, name -> new ChainHandle(name, chainHandleSequence.incrementAndGet(), this));
+	}
+	
+	/**
+	 * Internal method to get handle of chain without creating a new one.
+	 * 
+	 * @param chainName name of chain
+	 * @return handle of chain or null, if chain name was never used in this list
+	 */
+	protected ChainHandle lookupChainHandle(String chainName)
+	{
+		if(chainName == null)
+		{
+			return defaultChainHandle;
+		}
+		return chainHandleIndex.get(chainName);
+	}
+	
+	/**
+	 * Internal method to check if chain handle was created by this list.
+	 * 
+	 * @param chainHandle handle of chain
+	 * @return checked handle of chain
+	 */
+	protected ChainHandle checkChainHandle(ChainHandle chainHandle)
+	{
+		Objects.requireNonNull(chainHandle, "chain handle not defined");
+		if(! chainHandle.isHandleOf(this))
+		{
+			throw new RuntimeException("chain handle not member of list");
+		}
+		return chainHandle;
+	}
+	
+	/**
+	 * Creates a new chain view 
+	 * 
+	 * <p>View covers only partitions specified in {@code partitionFilter} . If no partition is specified in filter, view covers all partitions. 
+	 * 
+	 * @param chainHandle handle of chain
+	 * @param partitionFilter optional partition filter
+	 * 
+	 * @return created chain view
+	 */
+	@SafeVarargs
+	public final ChainView<E> createChainViewByHandle( ChainHandle chainHandle, Partition<E>... partitionFilter)
+	{
+		return createChainView(checkChainHandle(chainHandle).getName(), partitionFilter);
+	}
+	
+	/**
+	 * Creates a new chain view 
+	 * 
+	 * <p>View covers only partitions specified in {@code partitionFilter} . If no partition is specified in filter, view covers all partitions. 
+	 * 
+	 * @param chainName chainName
+	 * @param partitionFilter optional partition filter
+	 * 
+	 * @return created chain view
+	 */
+	@SafeVarargs
+	public final ChainView<E> createChainView( String chainName, Partition<E>... partitionFilter)
+	{
+		if(partitionFilter.length == 0)
+		{
+			partitionFilter = null;
+		}
+		return new ChainView<E>(this, chainName, partitionFilter);
+	}
+	
+	/**
+	 * Creates new cached linker builder. This kind of linker builder reuse previously created linker, if another cached linker builder of same multichainlist was invoked with same assignments.
+	 * 
+	 * @return new cached linker builder
+	 */
+	public CachedLinkerBuilder cachedLinkerBuilder()
+	{
+		return new CachedLinkerBuilder(this.cachedLinkerRoot);
+	}
+	
+	/**
+	 * Internal method creates or reuses linker for specified chain in specified partition. Existing linkers are resolved without allocations.
+	 * 
+	 * @param partitionName name of partition
+	 * @param chainName name of chain
+	 * @return created or reused linker
+	 */
+	protected Linker<E> cachedLinker(String partitionName, String chainName)
+	{
+		return this.cachedLinkerRoot.inPartition(partitionName).linkIntoChain(chainName).build();
+	}
+	
+	/**
+	 * Create or reuse chain view. 
+	 * 
+	 * @param chainHandle handle of chain
+	 * @param partitionNameForDefaultLinker partition's name for default linker of chain view
+	 * @return created or reused chain view
+	 */
+	public ChainView<E> cachedChainViewByHandle(ChainHandle chainHandle, String partitionNameForDefaultLinker)
+	{
+		return cachedChainView(checkChainHandle(chainHandle).getName(), partitionNameForDefaultLinker);
+	}
+	
+	/**
+	 * Create or reuse chain view. 
+	 * 
+	 * @param chainName name of chain
+	 * @param partitionNameForDefaultLinker partition's name for default linker of chain view
+	 * @return created or reused chain view
+	 */
+	public ChainView<E> cachedChainView(String chainName, String partitionNameForDefaultLinker)
+	{
+		Lock lock = readLock;
+		lock.lock();
+		try
+		{
+			if((this.cachedChains != null) && (this.cachedChains.containsKey(chainName)))
+			{
+				Map<String,ChainView<E>> cachedChainsCluster = this.cachedChains.get(chainName);
+				if((cachedChainsCluster != null) && (cachedChainsCluster.containsKey(partitionNameForDefaultLinker)))
+				{
+					return cachedChainsCluster.get(partitionNameForDefaultLinker);
+				}
+			}
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+		
+		lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			if(this.cachedChains == null)
+			{
+				this.cachedChains = new HashMap<String,Map<String,ChainView<E>>>();
+			}
+			
+			Map<String,ChainView<E>> cachedChainsCluster = this.cachedChains.get(chainName);
+			if(cachedChainsCluster == null)
+			{
+				cachedChainsCluster = new HashMap<String,ChainView<E>>();
+				this.cachedChains.put(chainName,cachedChainsCluster);
+			}
+			ChainView<E> cachedChain = cachedChainsCluster.get(partitionNameForDefaultLinker);
+			if(cachedChain == null)
+			{
+				cachedChain = this.createChainView(chainName).buildDefaultLinker(partitionNameForDefaultLinker).lockDefaultLinker().setLockDispose(true);
+				cachedChainsCluster.put(partitionNameForDefaultLinker,cachedChain);
+			}
+			return cachedChain;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal method to remove snapshot and clean-ups
+	 * 
+	 * <p>Open snapshot versions are queued in order of their sequence. Versions without open snapshots are removed from head of queue, 
+	 * so head of queue is the oldest open version. Versions without open snapshots behind head remain in queue until they reach the head.
+	 * 
+	 * @param snapshotVersion version of list
+	 */
+	protected void removeSnapshotVersion(SnapshotVersion<E> snapshotVersion)
+	{
+		if(snapshotVersion == null)
+		{
+			return;
+		}
+		if(snapshotVersion.getParent() != this)
+		{
+			return;
+		}
+		ReclamationPass reclamationPass = null;
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			SnapshotVersion<E> oldestSnapshotVersion;
+			while(((oldestSnapshotVersion = this.openSnapshotVersionList.peekFirst()) != null) && (oldestSnapshotVersion.openSnapshotCount == 0))
+			{
+				this.openSnapshotVersionList.removeFirst();
+				this.openSnapshotVersionCount--;
+				oldestSnapshotVersion.queued = false;
+				if(oldestSnapshotVersion == this.snapshotVersion)
+				{
+					// current snapshot version is tail of queue
+					this.snapshotVersion = null;
+				}
+				if(oldestSnapshotVersion != this.modificationVersion)
+				{
+					oldestSnapshotVersion.clear();
+				}
+			}
+			this.snapshotOpen = ! this.openSnapshotVersionList.isEmpty();
+			if(! this.obsoleteList.isEmpty())
+			{
+				Thread reclaimer = this.reclaimer;
+				if(reclaimer != null)
+				{
+					LockSupport.unpark(reclaimer);
+				}
+				else
+				{
+					reclamationPass = getEnabledLatencyRecorder() == null ? null : new ReclamationPass();
+					reclaimObsoleteLinks(this.reclaimBudget, reclamationPass);
+				}
+			}
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+		if(reclamationPass != null)
+		{
+			reclamationPass.record(this);
+		}
+	}
+	
+	/**
+	 * Internal method to clear obsolete links not referenced by open snapshots anymore. This method must invoke with MCL.writeLock !
+	 * 
+	 * <p>Clearing stops after {@code budget} links. A partially cleared forward chain is resumed by next invocation.
+	 * 
+	 * @param budget maximum count of links to clear
+	 * @return true, if clearing stopped because of budget and more reclaimable links may exist, otherwise false
+	 */
+	protected boolean reclaimObsoleteLinks(int budget)
+	{
+		return reclaimObsoleteLinks(budget, null);
+	}
+	
+	/**
+	 * Internal method to clear obsolete links not referenced by open snapshots anymore and to measure the reclamation pass. This method must invoke with MCL.writeLock !
+	 * 
+	 * <p>The measured pass has to be recorded by {@link ReclamationPass#record(MultiChainList)} after MCL.writeLock is released.
+	 * 
+	 * @param budget maximum count of links to clear
+	 * @param reclamationPass measurement of reclamation pass, or null
+	 * @return true, if clearing stopped because of budget and more reclaimable links may exist, otherwise false
+	 */
+	protected boolean reclaimObsoleteLinks(int budget, ReclamationPass reclamationPass)
+	{
+		if(this.obsoleteList.isEmpty())
+		{
+			return false;
+		}
+		
+		long startedAt = reclamationPass == null ? 0L : System.nanoTime();
+		
+		// head of queue is the oldest open version
+		SnapshotVersion<E> oldestSnapshotVersion = this.openSnapshotVersionList.peekFirst();
+		long minimalSnapshotVersionToKeep = oldestSnapshotVersion == null ? Long.MAX_VALUE -1L : oldestSnapshotVersion.sequence;
+		
+		int work = 0;
+		boolean pending = false;
+		Link<E> obsoleteLink;
+		Link<E> clearLink;
+		while(! this.obsoleteList.isEmpty())
+		{
+			obsoleteLink = this.obsoleteList.getFirst();
+			if( minimalSnapshotVersionToKeep <= obsoleteLink.obsoleteOnVersion) 
+			{
+				// snapshot is created after link was made obsolete
+				break;
+			}
+			
+			if(obsoleteLink instanceof ClearCompleteForwardChain)
+			{
+				ClearCompleteForwardChain<E> clearCompleteForwardChain = (ClearCompleteForwardChain<E>)obsoleteLink;
+				Link<E> link = clearCompleteForwardChain.wrap;
+				int workBefore = work;
+				
+				while(link != null)
+				{
+					if(link instanceof Eyebolt)
+					{
+						break;
+					}
+					if(work >= budget)
+					{
+						// resume with next invocation
+						clearCompleteForwardChain.wrap = link;
+						pending = true;
+						break;
+					}
+					
+					clearLink = link;
+					link = link.nextLink;
+					clearLink.clear();
+					work++;
+				}
+				this.obsoleteList.releaseWrappedLinks(clearCompleteForwardChain, work - workBefore);
+				if(pending)
+				{
+					break;
+				}
+				
+				this.obsoleteList.removeFirst();
+				clearCompleteForwardChain.wrap = null;
+				obsoleteLink.clear();
+			}
+			else
+			{
+				if(work >= budget)
+				{
+					pending = true;
+					break;
+				}
+				
+				this.obsoleteList.removeFirst();
+				if(obsoleteLink.olderVersion != null)
+				{
+					obsoleteLink.olderVersion.newerVersion = obsoleteLink.newerVersion;
+				}
+				if(obsoleteLink.newerVersion != null)
+				{
+					obsoleteLink.newerVersion.olderVersion = obsoleteLink.olderVersion;
+				}
+				obsoleteLink.clear();
+				work++;
+			}
+		}
+		
+		MultiChainListMetrics metrics = this.metrics;
+		if((metrics != null) && (work > 0))
+		{
+			metrics.reclaimedLinkCount.add(work);
+		}
+		if(work > 0)
+		{
+			signalRetainedVersionReleased();
+		}
+		if(reclamationPass != null)
+		{
+			reclamationPass.executed = true;
+			reclamationPass.freedLinks = work;
+			reclamationPass.pending = pending;
+			reclamationPass.durationNanos = System.nanoTime() - startedAt;
+		}
+		return pending;
+	}
+	
+	/**
+	 * Internal helper class to pass measurement of reclamation pass out of MCL.writeLock
+	 * 
+	 * @author Sebastian Palarus
+	 * @since 1.1
+	 * @version 1.1
+	 */
+	protected static class ReclamationPass
+	{
+		private boolean executed = false;
+		private long freedLinks = 0L;
+		private boolean pending = false;
+		private long durationNanos = 0L;
+		
+		/**
+		 * Internal method to record measured reclamation pass. This method must invoke after MCL.writeLock is released !
+		 * 
+		 * @param multiChainList list of reclamation pass
+		 */
+		protected void record(MultiChainList<?> multiChainList)
+		{
+			if(! executed)
+			{
+				return;
+			}
+			ILatencyRecorder latencyRecorder = multiChainList.latencyRecorder;
+			UUID listId = multiChainList.uuid;
+			if((latencyRecorder != null) && (listId != null))
+			{
+				latencyRecorder.recordReclamation(listId.toString(), freedLinks, pending, durationNanos);
+			}
+		}
+	}
+	
+	/**
+	 * Getter for first partition
+	 * 
+	 * @return first partition
+	 */
+	public Partition<E> getFirstPartition()
+	{
+		return firstPartition;
+	}
+	
+	/**
+	 * Getter for last partition
+	 * 
+	 * @return last partition
+	 */
+	public Partition<E> getLastPartition()
+	{
+		return lastPartition;
+	}
+
+	/**
+	 * Defines partitions with specified partition names. 
+	 * 
+	 * @param partitionNames partition names
+	 * @return defined partitions
+	 */
+	public Collection<Partition<E>> definePartitions(String... partitionNames)
+	{
+		if(partitionNames == null)
+		{
+			return null;
+		}
+		if(partitionNames.length == 0)
+		{
+			return null;
+		}
+		List<Partition<E>> definedPartitionList = new ArrayList<Partition<E>>(partitionNames.length);
+		
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+
+			Partition<E> partition;
+			for(String partitionName : partitionNames)
+			{
+				partition = getPartition(partitionName);
+				if(partition !=  null)
+				{
+					definedPartitionList.add(partition);
+					continue;
+				}
+				
+				this.partitionListCopy = null;
+				
+				partition = new Partition<E>(partitionName,this);
+				if(firstPartition == null)
+				{
+					this.firstPartition = partition;
+				}
+				if(this.lastPartition != null)
+				{
+					this.lastPartition.next = partition;
+				}
+				partition.previews = this.lastPartition;
+				partitionList.put(partitionName, partition);
+				
+				lastPartition = partition;
+				definedPartitionList.add(partition);
+			}
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+		
+		return Collections.unmodifiableList(definedPartitionList);
+	}
+	
+	/**
+	 * Defines partition with specified name
+	 * 
+	 * @param partitionName name of partition
+	 * @return defined partition
+	 */
+	public Partition<E> definePartition(String partitionName)
+	{
+		Partition<E> partition = getPartition(partitionName);
+		if(partition !=  null)
+		{
+			return partition;
+		}
+		
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			this.partitionListCopy = null;
+			
+			partition = partitionList.get(partitionName);
+			if(partition != null)
+			{
+				return partition;
+			}
+			
+			partition = new Partition<E>(partitionName,this);
+			
+			this.lastPartition.next = partition;
+			partition.previews = this.lastPartition;
+			partitionList.put(partitionName, partition);
+			
+			lastPartition = partition;
+			return partition;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Internal method to set link to obsolete
+	 * 
+	 * @param link link to set obsolete
+	 */
+	protected void setObsolete(Link<E> link)
+	{
+		link.obsoleteOnVersion = modificationVersion.sequence;
+		if(link.node != null)
+		{
+			// payload-link , not eyebolt
+			link.node.lastObsoleteOnVersion = link.obsoleteOnVersion;
+		}
+		
+		// partition locking mode allows concurrent invocations with MCL.readLock
+		Lock lock = this.obsoleteListLock;
+		lock.lock();
+		try
+		{
+			this.obsoleteList.addLast(link);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Compute procedure undisturbed by concurrency updates.
+	 * 
+	 * <p>Don't create new Threads inside procedure. There is a risk of a deadlock
+	 * 
+	 * <p>Procedure runs with write lock. Threads waiting for the lock park (virtual threads release their carrier thread), 
+	 * but all of them wait until procedure is finished. Procedure should not block, especially not with synchronized blocks, 
+	 * which pin the carrier thread of virtual threads.
+	 * 
+	 * @param procedure
+	 */
+	public void computeProcedure(Consumer<MultiChainList<E>> procedure)
+	{
+		Lock lock = this.writeLock;
+		lock.lock();
+		try
+		{
+			procedure.accept(this);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + uuid.hashCode();
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		return this == obj;	
+	}
+	
+	/**
+	 * Internal helper class tom manage versions
+	 * 
+	 * @author Sebastian Palarus
+	 * @since 1.0
+	 * @version 1.0
+	 *
+	 * @param <E> the type of elements in this list
 	 */
 	protected static class SnapshotVersion<E> implements Comparable<SnapshotVersion<E>>
 	{
-		protected SnapshotVersion(MultiChainList<E> multiChainList, long sequence)
+		protected SnapshotVersion(MultiChainList<E> multiChainList, long sequence)
+		{
+			super();
+			this.sequence = sequence;
+			this.multiChainList = multiChainList;
+		}
+		
+		private long sequence;
+		private MultiChainList<E> multiChainList;
+		private int openSnapshotCount = 0;
+		private boolean queued = false;
+		
+		/**
+		 * Internal method to register an open snapshot. This method must invoke with MCL.writeLock, or with MCL.readLock and MCL.snapshotVersionLock !
+		 * 
+		 * <p>Version is queued to open snapshot versions of list with first snapshot. Versions are created with ascending sequence, 
+		 * and a snapshot is only created for latest version, so queue remains ordered.
+		 * 
+		 * @param snapshot new snapshot
+		 */
+		protected void addSnapshot(Snapshot<E> snapshot)
+		{
+			if(snapshot == null)
+			{
+				return;
+			}
+			if(! queued)
+			{
+				multiChainList.openSnapshotVersionList.addLast(this);
+				multiChainList.openSnapshotVersionCount++;
+				queued = true;
+			}
+			openSnapshotCount++;
+			multiChainList.openSnapshotCount++;
+			if(multiChainList.getEnabledLatencyRecorder() != null)
+			{
+				snapshot.openedAt = System.nanoTime();
+			}
+			if
+			(
+				(multiChainList.snapshotLeakHandler != null) || (multiChainList.maxSnapshotAge > 0L) || 
+				(multiChainList.retainedVersionPolicy == RetainedVersionPolicy.INVALIDATE_OLDEST_SNAPSHOT)
+			)
+			{
+				multiChainList.trackSnapshot(this, snapshot);
+			}
+		}
+		
+		/**
+		 * Internal method to unregister a closed snapshot. This method must invoke with MCL.writeLock, or with MCL.readLock and MCL.snapshotVersionLock !
+		 * 
+		 * <p>If no snapshot remains open, the version has to be removed by {@link MultiChainList#removeSnapshotVersion(SnapshotVersion)}, which requires MCL.writeLock.
+		 * 
+		 * @param snapshot closed snapshot
+		 * @return true, if no snapshot of this version remains open, otherwise false
+		 */
+		protected boolean removeSnapshot(Snapshot<E> snapshot)
+		{
+			if(snapshot == null)
+			{
+				return false;
+			}
+			if(multiChainList != null)
+			{
+				multiChainList.untrackSnapshot(snapshot);
+			}
+			return releaseSnapshot();
+		}
+		
+		/**
+		 * Internal method to unregister an open snapshot, which is closed or garbage collected. This method must invoke with MCL.writeLock, or with MCL.readLock and MCL.snapshotVersionLock !
+		 * 
+		 * @return true, if no snapshot of this version remains open, otherwise false
+		 */
+		protected boolean releaseSnapshot()
+		{
+			if(openSnapshotCount > 0)
+			{
+				openSnapshotCount--;
+				multiChainList.openSnapshotCount--;
+			}
+			return openSnapshotCount == 0;
+		}
+
+		protected long getSequence()
+		{
+			return sequence;
+		}
+		
+		protected int getOpenSnapshotCount()
+		{
+			return openSnapshotCount;
+		}
+
+		protected MultiChainList<E> getParent()
+		{
+			return multiChainList;
+		}
+
+		@Override
+		public int compareTo(SnapshotVersion<E> o)
+		{
+			return Long.compare(this.sequence, o.sequence);
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + (int) (sequence ^ (sequence >>> 32));
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			return this == obj;	
+		}
+
+		@Override
+		public String toString()
+		{
+			return "version: " + this.sequence 
+					+ " : open snapshots " + this.openSnapshotCount 
+			;
+		}
+		
+		protected void clear()
+		{
+			multiChainList = null;
+			openSnapshotCount = 0;
+		}
+	}
+	
+	/**
+	 * Policy to apply, if links retained on behalf of open snapshots exceed retained version budget 
+	 * (see {@link MultiChainList#setRetainedVersionBudget(long, RetainedVersionPolicy)}).
+	 * 
+	 * @author Sebastian Palarus
+	 * @since 1.1
+	 * @version 1.1
+	 *
+	 */
+	public enum RetainedVersionPolicy 
+	{
+		/**
+		 * Expire oldest snapshots before next modification
+		 */
+		INVALIDATE_OLDEST_SNAPSHOT,
+		
+		/**
+		 * Block linking and unlinking threads until retained links are cleared
+		 */
+		BLOCK_WRITERS,
+		
+		/**
+		 * Reject creation of new snapshots with {@link RetainedVersionBudgetException}
+		 */
+		REJECT_SNAPSHOTS
+	}
+	
+	/**
+	 * Internal helper class tracks an open snapshot for leak detection and expiry. The tracker is enqueued, if snapshot is garbage collected without being closed.
+	 * 
+	 * @author Sebastian Palarus
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	protected static class SnapshotTracker<E> extends WeakReference<Snapshot<E>>
+	{
+		protected SnapshotTracker(Snapshot<E> snapshot, ReferenceQueue<Snapshot<E>> referenceQueue, SnapshotVersion<E> version, SnapshotLeakException leak)
+		{
+			super(snapshot, referenceQueue);
+			this.version = version;
+			this.leak = leak;
+			this.createdAt = System.nanoTime();
+		}
+		
+		private final SnapshotVersion<E> version;
+		private final SnapshotLeakException leak;
+		private final long createdAt;
+	}
+	
+	/**
+	 * Internal helper class wraps write lock of list to measure wait and hold times, if metrics are enabled or 
+	 * if lock is acquired for a named operation and latency recorder is enabled. Only the outer acquisition of a reentrant hold is measured.
+	 * 
+	 * @author Sebastian Palarus
+	 *
+	 */
+	protected class MeteredWriteLock implements Lock
+	{
+		protected MeteredWriteLock(WriteLock writeLock)
 		{
 			super();
-			this.sequence = sequence;
-			this.multiChainList = multiChainList;
+			this.writeLock = writeLock;
 		}
 		
-		private long sequence;
-		private MultiChainList<E> multiChainList;
-		private Set<Snapshot<E>> openSnapshots;
+		private final WriteLock writeLock;
+		private long acquiredAt = 0L; // guarded by write lock
+		private String operation = null; // guarded by write lock
+		private long waitNanos = 0L; // guarded by write lock
 		
-		protected void addSnapshot(Snapshot<E> snapshot)
+		/**
+		 * Internal helper method to record wait time after write lock is acquired.
+		 * 
+		 * @param metrics metrics of list or null
+		 * @param operation operation to record by latency recorder or null
+		 * @param requestedAt time of request
+		 */
+		private void acquired(MultiChainListMetrics metrics, String operation, long requestedAt)
 		{
-			if(snapshot == null)
+			if(writeLock.getHoldCount() != 1)
+			{
+				return;
+			}
+			this.acquiredAt = System.nanoTime();
+			this.operation = operation;
+			this.waitNanos = this.acquiredAt - requestedAt;
+			if(metrics != null)
+			{
+				metrics.recordWriteLockWait(this.waitNanos);
+			}
+		}
+		
+		@Override
+		public void lock()
+		{
+			lock(null);
+		}
+		
+		/**
+		 * Acquires the write lock for an operation. Wait and hold times are passed to latency recorder, if enabled.
+		 * 
+		 * @param operation operation, see constants of {@link ILatencyRecorder}
+		 */
+		public void lock(String operation)
+		{
+			MultiChainListMetrics metrics = MultiChainList.this.metrics;
+			if(operation != null)
+			{
+				operation = getEnabledLatencyRecorder() == null ? null : operation;
+			}
+			if((metrics == null) && (operation == null))
+			{
+				writeLock.lock();
+				return;
+			}
+			long requestedAt = System.nanoTime();
+			writeLock.lock();
+			acquired(metrics, operation, requestedAt);
+		}
+
+		@Override
+		public void lockInterruptibly() throws InterruptedException
+		{
+			MultiChainListMetrics metrics = MultiChainList.this.metrics;
+			if(metrics == null)
+			{
+				writeLock.lockInterruptibly();
+				return;
+			}
+			long requestedAt = System.nanoTime();
+			writeLock.lockInterruptibly();
+			acquired(metrics, null, requestedAt);
+		}
+
+		@Override
+		public boolean tryLock()
+		{
+			return tryLock(null);
+		}
+		
+		/**
+		 * Acquires the write lock for an operation only if it is not held by another thread at the time of invocation. 
+		 * Hold time is passed to latency recorder, if enabled.
+		 * 
+		 * @param operation operation, see constants of {@link ILatencyRecorder}
+		 * @return true, if lock was acquired, otherwise false
+		 */
+		public boolean tryLock(String operation)
+		{
+			if(! writeLock.tryLock())
+			{
+				return false;
+			}
+			MultiChainListMetrics metrics = MultiChainList.this.metrics;
+			if(operation != null)
+			{
+				operation = getEnabledLatencyRecorder() == null ? null : operation;
+			}
+			if((metrics != null) || (operation != null))
+			{
+				acquired(metrics, operation, System.nanoTime());
+			}
+			return true;
+		}
+
+		@Override
+		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException
+		{
+			long requestedAt = System.nanoTime();
+			if(! writeLock.tryLock(time, unit))
+			{
+				return false;
+			}
+			MultiChainListMetrics metrics = MultiChainList.this.metrics;
+			if(metrics != null)
+			{
+				acquired(metrics, null, requestedAt);
+			}
+			return true;
+		}
+
+		@Override
+		public void unlock()
+		{
+			ChainHandle[] linkSignals = pendingLinkSignalSize == 0 ? null : takePendingLinkSignals();
+			long acquiredAt = this.acquiredAt;
+			if((acquiredAt == 0L) || (writeLock.getHoldCount() != 1))
+			{
+				writeLock.unlock();
+				signalLinked(linkSignals);
+				return;
+			}
+			
+			long holdNanos = System.nanoTime() - acquiredAt;
+			String operation = this.operation;
+			long waitNanos = this.waitNanos;
+			UUID uuid = MultiChainList.this.uuid;
+			this.acquiredAt = 0L;
+			this.operation = null;
+			this.waitNanos = 0L;
+			MultiChainListMetrics metrics = MultiChainList.this.metrics;
+			if(metrics != null)
+			{
+				metrics.recordWriteLockHold(holdNanos);
+			}
+			writeLock.unlock();
+			signalLinked(linkSignals);
+			
+			ILatencyRecorder latencyRecorder = MultiChainList.this.latencyRecorder;
+			if((operation != null) && (latencyRecorder != null) && (uuid != null))
+			{
+				latencyRecorder.recordLock(uuid.toString(), operation, true, waitNanos, holdNanos);
+			}
+		}
+
+		@Override
+		public Condition newCondition()
+		{
+			return writeLock.newCondition();
+		}
+		
+		/**
+		 * Internal helper method takes chains with pending link signals, if current thread releases the outer hold of write lock.
+		 * 
+		 * @return chains to signal or null
+		 */
+		private ChainHandle[] takePendingLinkSignals()
+		{
+			if(writeLock.getHoldCount() != 1)
+			{
+				return null;
+			}
+			ChainHandle[] linkSignals = Arrays.copyOf(pendingLinkSignals, pendingLinkSignalSize);
+			for(int i = 0; i < pendingLinkSignalSize; i++)
+			{
+				pendingLinkSignals[i].linkSignalPending = false;
+				pendingLinkSignals[i] = null;
+			}
+			pendingLinkSignalSize = 0;
+			return linkSignals;
+		}
+		
+		/**
+		 * Internal helper method wakes up consumers of chains after write lock is released.
+		 * 
+		 * @param linkSignals chains to signal or null
+		 */
+		private void signalLinked(ChainHandle[] linkSignals)
+		{
+			if(linkSignals == null)
+			{
+				return;
+			}
+			for(ChainHandle chainHandle : linkSignals)
+			{
+				chainHandle.linkSignal.signal();
+			}
+		}
+		
+		/**
+		 * Queries if write lock is held by current thread.
+		 * 
+		 * @return true, if current thread holds write lock, otherwise false
+		 */
+		public boolean isHeldByCurrentThread()
+		{
+			return writeLock.isHeldByCurrentThread();
+		}
+	}
+	
+	/**
+	 * Internal helper class to park consumer threads until new links are created, or producer threads until capacity is released.
+	 * 
+	 * <p>Signal is triggered only if waiting threads are registered, so linking without waiting threads costs one volatile read. 
+	 * Waiting threads never acquire locks of list while holding the signal lock. Consumers wait on the signal of their chain 
+	 * (see {@link MultiChainList#markLinked(ChainHandle)}), producers wait on the capacity signal of list.
+	 * 
+	 * @author Sebastian Palarus
+	 *
+	 */
+	protected static class LinkSignal
+	{
+		private ReentrantLock lock = new ReentrantLock();
+		private Condition linked = lock.newCondition();
+		private AtomicInteger waiters = new AtomicInteger(0);
+		private volatile long sequence = 0L;
+		
+		/**
+		 * Internal method to wake up all registered threads. Invoked after new links are created or capacity is released.
+		 */
+		protected void signal()
+		{
+			if(waiters.get() == 0)
 			{
 				return;
 			}
-			if(openSnapshots == null)
+			Lock lock = this.lock;
+			lock.lock();
+			try
+			{
+				sequence++;
+				linked.signalAll();
+			}
+			finally 
+			{
+				lock.unlock();
+			}
+		}
+		
+		/**
+		 * Checks if threads are registered to wait for this signal.
+		 * 
+		 * @return true, if threads are registered, otherwise false
+		 */
+		protected boolean hasWaiters()
+		{
+			return waiters.get() > 0;
+		}
+		
+		/**
+		 * Internal method to register a consumer. Registration must take place before consumer checks the chain.
+		 * 
+		 * @return current sequence of signal
+		 */
+		protected long register()
+		{
+			waiters.incrementAndGet();
+			return sequence;
+		}
+		
+		/**
+		 * Internal method to unregister a consumer.
+		 */
+		protected void unregister()
+		{
+			waiters.decrementAndGet();
+		}
+		
+		/**
+		 * Getter for current sequence of signal
+		 * 
+		 * @return current sequence of signal
+		 */
+		protected long getSequence()
+		{
+			return sequence;
+		}
+		
+		/**
+		 * Internal method parks current thread until signal is triggered after specified sequence or timeout elapses.
+		 * 
+		 * @param sequence last sequence seen by consumer
+		 * @param timeout maximum time to wait
+		 * @param unit time unit of timeout
+		 * @throws InterruptedException if current thread is interrupted
+		 */
+		protected void await(long sequence, long timeout, TimeUnit unit) throws InterruptedException
+		{
+			long nanos = unit.toNanos(timeout);
+			Lock lock = this.lock;
+			lock.lockInterruptibly();
+			try
+			{
+				while((this.sequence == sequence) && (nanos > 0L))
+				{
+					nanos = linked.awaitNanos(nanos);
+				}
+			}
+			finally 
+			{
+				lock.unlock();
+			}
+		}
+	}
+	
+	/**
+	 * Internal helper class to queue obsolete links. 
+	 * 
+	 * <p>Queue is threaded through {@link Link#nextObsoleteLink}, so setting a link obsolete does not allocate. 
+	 * Each link can be queued only once. Queue is not thread safe, access must be guarded by MCL.writeLock or by MCL.obsoleteListLock with MCL.readLock.
+	 * 
+	 * @author Sebastian Palarus
+	 * @since 1.1
+	 * @version 1.1
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	protected static class ObsoleteLinkQueue<E>
+	{
+		private Link<E> first = null;
+		private Link<E> last = null;
+		private int size = 0;
+		private volatile long retainedLinkCount = 0L;
+		
+		/**
+		 * Internal helper method returns count of retained links represented by queued link.
+		 * 
+		 * @param link queued link
+		 * @return count of retained links
+		 */
+		private static long retainedLinks(Link<?> link)
+		{
+			return link instanceof ClearCompleteForwardChain ? 1L + ((ClearCompleteForwardChain<?>)link).retainedLinks : 1L;
+		}
+		
+		/**
+		 * Appends link to tail of queue.
+		 * 
+		 * @param link obsolete link
+		 * @return true, if link is appended, or false, if link is already queued
+		 */
+		protected boolean addLast(Link<E> link)
+		{
+			if((link.nextObsoleteLink != null) || (link == this.last))
+			{
+				return false;
+			}
+			if(this.last == null)
+			{
+				this.first = link;
+			}
+			else
+			{
+				this.last.nextObsoleteLink = link;
+			}
+			this.last = link;
+			this.size++;
+			this.retainedLinkCount += retainedLinks(link);
+			return true;
+		}
+		
+		/**
+		 * Returns head of queue.
+		 * 
+		 * @return head of queue
+		 * @throws NoSuchElementException if queue is empty
+		 */
+		protected Link<E> getFirst()
+		{
+			if(this.first == null)
 			{
-				openSnapshots = new LinkedHashSet<Snapshot<E>>();
+				throw new NoSuchElementException();
 			}
-			openSnapshots.add(snapshot);
+			return this.first;
 		}
 		
-		protected void removeSnapshot(Snapshot<E> snapshot)
+		/**
+		 * Removes head of queue.
+		 * 
+		 * @return removed head of queue
+		 * @throws NoSuchElementException if queue is empty
+		 */
+		protected Link<E> removeFirst()
 		{
-			if(snapshot == null)
-			{
-				return;
-			}
-			if(openSnapshots == null)
+			Link<E> link = this.first;
+			if(link == null)
 			{
-				multiChainList.removeSnapshotVersion(this);
+				throw new NoSuchElementException();
 			}
-			else
+			this.first = link.nextObsoleteLink;
+			link.nextObsoleteLink = null;
+			if(this.first == null)
 			{
-				openSnapshots.remove(snapshot);
-				if(openSnapshots.isEmpty())
-				{
-					multiChainList.removeSnapshotVersion(this);
-				}
+				this.last = null;
 			}
+			this.size--;
+			this.retainedLinkCount -= retainedLinks(link);
+			return link;
 		}
-
-		protected long getSequence()
-		{
-			return sequence;
-		}
-
-		protected MultiChainList<E> getParent()
-		{
-			return multiChainList;
-		}
-
-		@Override
-		public int compareTo(SnapshotVersion<E> o)
+		
+		protected boolean isEmpty()
 		{
-			return Long.compare(this.sequence, o.sequence);
+			return this.first == null;
 		}
 		
-		@Override
-		public int hashCode()
+		protected int size()
 		{
-			final int prime = 31;
-			int result = 1;
-			result = prime * result + (int) (sequence ^ (sequence >>> 32));
-			return result;
+			return this.size;
 		}
-
-		@Override
-		public boolean equals(Object obj)
+		
+		/**
+		 * Returns count of retained links. Each queued link counts, and each queued {@link ClearCompleteForwardChain} counts additionally the links of wrapped chain.
+		 * 
+		 * @return count of retained links
+		 */
+		protected long getRetainedLinkCount()
 		{
-			return this == obj;	
+			return this.retainedLinkCount;
 		}
-
-		@Override
-		public String toString()
+		
+		/**
+		 * Decrements count of retained links by links cleared of a wrapped chain.
+		 * 
+		 * @param clearCompleteForwardChain queued wrapper of chain
+		 * @param clearedLinks count of cleared links of wrapped chain
+		 */
+		protected void releaseWrappedLinks(ClearCompleteForwardChain<E> clearCompleteForwardChain, int clearedLinks)
 		{
-			return "version: " + this.sequence 
-					+ " : open snapshots " + (this.openSnapshots == null ? "null" : this.openSnapshots.size()) 
-			;
+			long releasedLinks = Math.min(clearedLinks, clearCompleteForwardChain.retainedLinks);
+			clearCompleteForwardChain.retainedLinks -= releasedLinks;
+			this.retainedLinkCount -= releasedLinks;
 		}
 		
 		protected void clear()
 		{
-			multiChainList = null;
-			if(openSnapshots != null)
+			while(this.first != null)
 			{
-				try {openSnapshots.clear();}catch (Exception e) {}
-				openSnapshots = null;
+				removeFirst();
 			}
 		}
 	}
@@ -925,42 +3102,192 @@ public class MultiChainList<E>
 	 */
 	protected static class ClearCompleteForwardChain<E> extends Link<E>
 	{
-		private Link<E> wrap; 
-		protected ClearCompleteForwardChain(Link<E> wrap)
+		protected Link<E> wrap; 
+		protected long retainedLinks;
+		protected ClearCompleteForwardChain(Link<E> wrap, long retainedLinks)
 		{
 			super();
 			this.wrap = wrap;
+			this.retainedLinks = retainedLinks;
 		}
 	}
 	
 	/**
-	 * Internal helper class
+	 * Internal helper enum, mode of {@link CachedLinkerNode}
+	 */
+	private enum CachedLinkerMode {Root,InPartition,IntoChain};
+	
+	/**
+	 * Internal helper class, immutable node of cached linker trie. Each node represents a path of assignments and caches the linker for this path. 
+	 * Existing nodes and linkers are resolved without locks and without allocations. Children are added copy-on-write.
 	 * 
 	 * @author Sebastian Palarus
-	 *
-	 * @param <E> the type of elements in this list
+	 * @since 1.1
+	 * @version 1.1
 	 */
-	private static class CachedLinkerNode<E>
+	protected class CachedLinkerNode
 	{
-		private enum Mode {InPartition,IntoChain};
+		private final CachedLinkerNode parent;
+		private final CachedLinkerMode mode;
+		private final String name;
+		
+		protected volatile Map<String,CachedLinkerNode> partitionChilds = null;
+		protected volatile Map<String,CachedLinkerNode> chainChilds = null;
+		protected volatile Linker<E> linker = null;
+		
+		private CachedLinkerNode(CachedLinkerNode parent, CachedLinkerMode mode, String name)
+		{
+			super();
+			this.parent = parent;
+			this.mode = mode;
+			this.name = name;
+		}
+		
+		/**
+		 * Internal method returns child node for partition assignment
+		 * 
+		 * @param partitionName name of partition
+		 * @return child node
+		 */
+		private CachedLinkerNode inPartition(String partitionName)
+		{
+			Map<String,CachedLinkerNode> childs = this.partitionChilds;
+			if(childs != null)
+			{
+				CachedLinkerNode child = childs.get(partitionName);
+				if(child != null)
+				{
+					return child;
+				}
+			}
+			return this.addChild(CACHED_LINKER_PARTITION_CHILDS_UPDATER, CachedLinkerMode.InPartition, partitionName);
+		}
+		
+		/**
+		 * Internal method returns child node for chain assignment
+		 * 
+		 * @param chainName name of chain
+		 * @return child node
+		 */
+		private CachedLinkerNode linkIntoChain(String chainName)
+		{
+			Map<String,CachedLinkerNode> childs = this.chainChilds;
+			if(childs != null)
+			{
+				CachedLinkerNode child = childs.get(chainName);
+				if(child != null)
+				{
+					return child;
+				}
+			}
+			return this.addChild(CACHED_LINKER_CHAIN_CHILDS_UPDATER, CachedLinkerMode.IntoChain, chainName);
+		}
+		
+		/**
+		 * Internal method to add new child node copy-on-write
+		 * 
+		 * @param updater updater of child map
+		 * @param mode mode of assignment
+		 * @param name name of partition or chain
+		 * @return added child or child added by concurrent thread
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private CachedLinkerNode addChild(AtomicReferenceFieldUpdater<MultiChainList.CachedLinkerNode,Map> updater, CachedLinkerMode mode, String name)
+		{
+			CachedLinkerNode newChild = null;
+			while(true)
+			{
+				Map<String,CachedLinkerNode> childs = (Map<String,CachedLinkerNode>)updater.get(this);
+				if(childs != null)
+				{
+					CachedLinkerNode child = childs.get(name);
+					if(child != null)
+					{
+						return child;
+					}
+				}
+				if(newChild == null)
+				{
+					newChild = new CachedLinkerNode(this, mode, name);
+				}
+				Map<String,CachedLinkerNode> newChilds = childs == null ? new HashMap<String,CachedLinkerNode>() : new HashMap<String,CachedLinkerNode>(childs);
+				newChilds.put(name, newChild);
+				if(updater.compareAndSet(this, childs, newChilds))
+				{
+					return newChild;
+				}
+			}
+		}
 		
-		private volatile Mode mode = null;
-		private volatile String name = null;
-		private volatile Map<String,CachedLinkerNode<E>> childs = null;
-		private volatile Linker<E> linker = null;
+		/**
+		 * Internal method creates or reuses linker with assignments of this node's path
+		 * 
+		 * @return created or reused linker
+		 */
+		private Linker<E> build()
+		{
+			Linker<E> linker = this.linker;
+			if(linker != null)
+			{
+				return linker;
+			}
+			
+			if(mode == CachedLinkerMode.Root)
+			{
+				throw new RuntimeException("builder is empty");
+			}
+			
+			LinkedList<CachedLinkerNode> path = new LinkedList<CachedLinkerNode>();
+			for(CachedLinkerNode node = this; node.mode != CachedLinkerMode.Root; node = node.parent)
+			{
+				path.addFirst(node);
+			}
+			
+			LinkerBuilder builder = LinkerBuilder.newBuilder();
+			for(CachedLinkerNode node : path)
+			{
+				if(node.mode == CachedLinkerMode.InPartition)
+				{
+					builder.inPartition(node.name);
+				}
+				
+				if(node.mode == CachedLinkerMode.IntoChain)
+				{
+					builder.linkIntoChain(node.name);
+				}
+			}
+			linker = builder.build(MultiChainList.this);
+			builder.dispose();
+			
+			if(! CACHED_LINKER_LINKER_UPDATER.compareAndSet(this, null, linker))
+			{
+				// concurrent thread was faster
+				linker.dispose();
+				linker = this.linker;
+			}
+			return linker;
+		}
 		
+		/**
+		 * Internal method to clear this node and all child nodes
+		 * 
+		 * @param disposeLinker dispose cached linkers
+		 */
 		private void clear(boolean disposeLinker)
 		{
 			try
 			{
-				if(childs != null)
+				for(Map<String,CachedLinkerNode> childs : Arrays.asList(partitionChilds, chainChilds))
 				{
-					for(CachedLinkerNode<E> child : childs.values())
+					if(childs != null)
 					{
-						child.clear(disposeLinker);
+						for(CachedLinkerNode child : childs.values())
+						{
+							child.clear(disposeLinker);
+						}
 					}
-					childs.clear();
 				}
+				Linker<E> linker = this.linker;
 				if((disposeLinker) && (linker != null))
 				{
 					linker.dispose();
@@ -971,9 +3298,8 @@ public class MultiChainList<E>
 				e.printStackTrace();
 			}
 			
-			this.mode = null;
-			this.name = null;
-			this.childs = null;
+			this.partitionChilds = null;
+			this.chainChilds = null;
 			this.linker = null;
 		}
 	}
@@ -981,18 +3307,22 @@ public class MultiChainList<E>
 	/**
 	 * Cached linker builder creates linker and reuse the linker, if another cached linker builder of same multichainlist was invoked with same assignments. 
 	 * 
+	 * <p>The builder is a cursor on a shared trie of assignments (see {@link CachedLinkerNode}). Each assignment moves the cursor, 
+	 * so existing assignments and linkers are resolved without locks, and fluent usage allocates the cursor only.
+	 * 
 	 * @author Sebastian Palarus
 	 * @since 1.0
-	 * @version 1.0
+	 * @version 1.1
 	 */
 	public class CachedLinkerBuilder
 	{
-		private LinkedList<CachedLinkerNode<E>> stack = new LinkedList<CachedLinkerNode<E>>();
+		private CachedLinkerNode node;
 		private boolean complete = false;
 		
-		private CachedLinkerBuilder()
+		private CachedLinkerBuilder(CachedLinkerNode node)
 		{
 			super();
+			this.node = node;
 		}
 		
 		/**
@@ -1004,81 +3334,8 @@ public class MultiChainList<E>
 		public CachedLinkerBuilder inPartition(String partitionName)
 		{
 			this.testComplete();
-			
-			Lock lock = MultiChainList.this.readLock;
-			lock.lock();
-			try
-			{
-				if(stack.isEmpty())
-				{
-					CachedLinkerNode<E> cachedNode = MultiChainList.this.cachedLinkerNodes.get(CachedLinkerNode.Mode.InPartition + "_" + partitionName);
-					if(cachedNode != null)
-					{
-						this.stack.addLast(cachedNode);
-						return this;
-					}
-				}
-				else
-				{
-					if(stack.getLast().childs != null)
-					{
-						CachedLinkerNode<E> cachedNode = stack.getLast().childs.get(CachedLinkerNode.Mode.InPartition + "_" + partitionName);
-						if(cachedNode != null)
-						{
-							this.stack.addLast(cachedNode);
-							return this;
-						}
-					}
-				}
-			}
-			finally 
-			{
-				lock.unlock();
-			}
-			
-			lock = MultiChainList.this.writeLock;
-			lock.lock();
-			try
-			{
-				if(stack.isEmpty())
-				{
-					CachedLinkerNode<E> cachedNode = MultiChainList.this.cachedLinkerNodes.get(CachedLinkerNode.Mode.InPartition + "_" + partitionName);
-					if(cachedNode != null)
-					{
-						this.stack.addLast(cachedNode);
-						return this;
-					}
-					cachedNode = new CachedLinkerNode<E>();
-					cachedNode.mode = CachedLinkerNode.Mode.InPartition;
-					cachedNode.name = partitionName;
-					MultiChainList.this.cachedLinkerNodes.put(CachedLinkerNode.Mode.InPartition + "_" + partitionName, cachedNode);
-					this.stack.addLast(cachedNode);
-					return this;
-				}
-				else
-				{
-					if(stack.getLast().childs == null)
-					{
-						stack.getLast().childs = new HashMap<String,CachedLinkerNode<E>>();
-					}
-					CachedLinkerNode<E> cachedNode = stack.getLast().childs.get(CachedLinkerNode.Mode.InPartition + "_" + partitionName);
-					if(cachedNode != null)
-					{
-						this.stack.addLast(cachedNode);
-						return this;
-					}
-					cachedNode = new CachedLinkerNode<E>();
-					cachedNode.mode = CachedLinkerNode.Mode.InPartition;
-					cachedNode.name = partitionName;
-					stack.getLast().childs.put(CachedLinkerNode.Mode.InPartition + "_" + partitionName, cachedNode);
-					this.stack.addLast(cachedNode);
-					return this;
-				}
-			}
-			finally 
-			{
-				lock.unlock();
-			}
+			this.node = this.node.inPartition(partitionName);
+			return this;
 		}
 		
 		/**
@@ -1090,81 +3347,8 @@ public class MultiChainList<E>
 		public CachedLinkerBuilder linkIntoChain(String chainName)
 		{
 			this.testComplete();
-			
-			Lock lock = MultiChainList.this.readLock;
-			lock.lock();
-			try
-			{
-				if(stack.isEmpty())
-				{
-					CachedLinkerNode<E> cachedNode = MultiChainList.this.cachedLinkerNodes.get(CachedLinkerNode.Mode.IntoChain + "_" + chainName);
-					if(cachedNode != null)
-					{
-						this.stack.addLast(cachedNode);
-						return this;
-					}
-				}
-				else
-				{
-					if(stack.getLast().childs != null)
-					{
-						CachedLinkerNode<E> cachedNode = stack.getLast().childs.get(CachedLinkerNode.Mode.IntoChain + "_" + chainName);
-						if(cachedNode != null)
-						{
-							this.stack.addLast(cachedNode);
-							return this;
-						}
-					}
-				}
-			}
-			finally 
-			{
-				lock.unlock();
-			}
-			
-			lock = MultiChainList.this.writeLock;
-			lock.lock();
-			try
-			{
-				if(stack.isEmpty())
-				{
-					CachedLinkerNode<E> cachedNode = MultiChainList.this.cachedLinkerNodes.get(CachedLinkerNode.Mode.IntoChain + "_" + chainName);
-					if(cachedNode != null)
-					{
-						this.stack.addLast(cachedNode);
-						return this;
-					}
-					cachedNode = new CachedLinkerNode<E>();
-					cachedNode.mode = CachedLinkerNode.Mode.IntoChain;
-					cachedNode.name = chainName;
-					MultiChainList.this.cachedLinkerNodes.put(CachedLinkerNode.Mode.IntoChain + "_" + chainName, cachedNode);
-					this.stack.addLast(cachedNode);
-					return this;
-				}
-				else
-				{
-					if(stack.getLast().childs == null)
-					{
-						stack.getLast().childs = new HashMap<String,CachedLinkerNode<E>>();
-					}
-					CachedLinkerNode<E> cachedNode = stack.getLast().childs.get(CachedLinkerNode.Mode.IntoChain + "_" + chainName);
-					if(cachedNode != null)
-					{
-						this.stack.addLast(cachedNode);
-						return this;
-					}
-					cachedNode = new CachedLinkerNode<E>();
-					cachedNode.mode = CachedLinkerNode.Mode.IntoChain;
-					cachedNode.name = chainName;
-					stack.getLast().childs.put(CachedLinkerNode.Mode.IntoChain + "_" + chainName, cachedNode);
-					this.stack.addLast(cachedNode);
-					return this;
-				}
-			}
-			finally 
-			{
-				lock.unlock();
-			}
+			this.node = this.node.linkIntoChain(chainName);
+			return this;
 		}
 		
 		private void testComplete()
@@ -1193,35 +3377,7 @@ public class MultiChainList<E>
 		 */
 		public Linker<E> build()
 		{
-			if(stack.isEmpty())
-			{
-				throw new RuntimeException("builder is empty");
-			}
-			
-			if(stack.getLast().linker != null)
-			{
-				return stack.getLast().linker;
-			}
-			
-			LinkerBuilder builder = LinkerBuilder.newBuilder();
-			for(CachedLinkerNode<E> node : stack)
-			{
-				if(node.mode == CachedLinkerNode.Mode.InPartition)
-				{
-					builder.inPartition(node.name);
-				}
-				
-				if(node.mode == CachedLinkerNode.Mode.IntoChain)
-				{
-					builder.linkIntoChain(node.name);
-				}
-			}
-			Linker<E> linker = builder.build(MultiChainList.this);
-			// linker.getLinkageDefinitionContainer(); // check partitions exist
-			stack.getLast().linker = linker;
-			builder.dispose();
-			stack.clear();
-			return linker;
+			return this.node.build();
 		}
 		
 		/**
@@ -1302,6 +3458,13 @@ public class MultiChainList<E>
 		lock.lock();
 		try
 		{
+			if(this.reclaimer != null)
+			{
+				Thread reclaimer = this.reclaimer;
+				this.reclaimer = null;
+				LockSupport.unpark(reclaimer);
+			}
+			
 			if(registeredChainEventHandlerList != null)
 			{
 				try {registeredChainEventHandlerList.clear();}catch (Exception e) {}
@@ -1314,27 +3477,18 @@ public class MultiChainList<E>
 				registeredEventHandlerList = null;
 			}
 			
-			if(! this.openSnapshotVersionList.isEmpty())
+			SnapshotVersion<E> openSnapshotVersion;
+			while((openSnapshotVersion = this.openSnapshotVersionList.peekFirst()) != null)
 			{
-				while(! this.openSnapshotVersionList.isEmpty())
-				{
-					this.removeSnapshotVersion(this.openSnapshotVersionList.iterator().next());
-				}
+				this.openSnapshotCount -= openSnapshotVersion.openSnapshotCount;
+				openSnapshotVersion.openSnapshotCount = 0;
+				this.removeSnapshotVersion(openSnapshotVersion);
 			}
+			this.snapshotTrackers = null;
 			
-			if(this.cachedLinkerNodes != null)
+			if(this.cachedLinkerRoot != null)
 			{
-				for(CachedLinkerNode<E> rootNodes : cachedLinkerNodes.values())
-				{
-					try
-					{
-						rootNodes.clear(true);
-					}
-					catch (Exception e) 
-					{
-						e.printStackTrace();
-					}
-				}
+				this.cachedLinkerRoot.clear(true);
 			}
 			Eyebolt<E> eyebolt;
 			for(Partition<E> partition : getPartitionList())
@@ -1368,7 +3522,7 @@ public class MultiChainList<E>
 				
 				if(partition.getPartitionBegin() != null)
 				{
-					eyebolt = partition.getPartitionBegin().getLink(null);
+					eyebolt = partition.getPartitionBegin().getLinkByHandle(defaultChainHandle);
 					if(eyebolt != null)
 					{
 						eyebolt.clear();
@@ -1379,7 +3533,7 @@ public class MultiChainList<E>
 				
 				if(partition.getPartitionEnd() != null)
 				{
-					eyebolt = partition.getPartitionEnd().getLink(null);
+					eyebolt = partition.getPartitionEnd().getLinkByHandle(defaultChainHandle);
 					if(eyebolt != null)
 					{
 						eyebolt.clear();
@@ -1395,6 +3549,9 @@ public class MultiChainList<E>
 				partition.privateLinkageDefinitions = null;
 			}
 			
+			this.identityIndex = null;
+			this.identityIndexDuplicates = null;
+			
 			if(obsoleteList != null)
 			{
 				try{obsoleteList.clear();}catch (Exception e) {}
@@ -1451,6 +3608,13 @@ public class MultiChainList<E>
 				cachedChains = null;
 			}
 
+			MultiChainListMetrics metrics = this.metrics;
+			if(metrics != null)
+			{
+				this.metrics = null;
+				metrics.unregister();
+			}
+			
 			uuid = null;
 			
 		}
@@ -1458,5 +3622,6 @@ public class MultiChainList<E>
 		{
 			lock.unlock();
 		}
+		signalRetainedVersionReleased();
 	}
 }
@@ -0,0 +1,365 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.sodeac.multichainlist.Partition.ChainState;
+
+/**
+ * Metrics of a {@link MultiChainList}, enabled by {@link MultiChainList#setMetricsEnabled(boolean)}.
+ *
+ * <p>Counters are {@link LongAdder}s, so concurrent writers do not contend on a shared counter. Appends and prepends are counted by the
+ * state of each chain in partition. Gauges are read from list without lock.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+public class MultiChainListMetrics implements MultiChainListMetricsMXBean
+{
+	public static final String OBJECT_NAME_PREFIX = "org.sodeac.multichainlist:type=MultiChainList,uuid=";
+
+	/**
+	 * Constructor to create metrics for list
+	 *
+	 * @param multiChainList list to observe
+	 */
+	protected MultiChainListMetrics(MultiChainList<?> multiChainList)
+	{
+		super();
+		this.multiChainList = multiChainList;
+	}
+
+	private volatile MultiChainList<?> multiChainList;
+	private ObjectName objectName = null;
+
+	protected final LongAdder unlinkCount = new LongAdder();
+	protected final LongAdder pollCount = new LongAdder();
+	protected final LongAdder polledElementCount = new LongAdder();
+	protected final LongAdder reclaimedLinkCount = new LongAdder();
+	protected final LongAdder listFullCount = new LongAdder();
+	protected final LongAdder evictionCount = new LongAdder();
+	protected final LongAdder writeLockCount = new LongAdder();
+	protected final LongAdder writeLockWaitNanos = new LongAdder();
+	protected final LongAccumulator writeLockMaxWaitNanos = new LongAccumulator(Math::max, 0L);
+	protected final LongAdder writeLockHoldNanos = new LongAdder();
+	protected final LongAccumulator writeLockMaxHoldNanos = new LongAccumulator(Math::max, 0L);
+
+	/**
+	 * Internal method to record acquisition of write lock
+	 *
+	 * @param waitNanos time waited for write lock
+	 */
+	protected void recordWriteLockWait(long waitNanos)
+	{
+		writeLockCount.increment();
+		writeLockWaitNanos.add(waitNanos);
+		writeLockMaxWaitNanos.accumulate(waitNanos);
+	}
+
+	/**
+	 * Internal method to record release of write lock
+	 *
+	 * @param holdNanos time write lock was held
+	 */
+	protected void recordWriteLockHold(long holdNanos)
+	{
+		writeLockHoldNanos.add(holdNanos);
+		writeLockMaxHoldNanos.accumulate(holdNanos);
+	}
+
+	/**
+	 * Internal method to register metrics in platform MBean server
+	 */
+	protected synchronized void register()
+	{
+		MultiChainList<?> multiChainList = this.multiChainList;
+		if((this.objectName != null) || (multiChainList == null))
+		{
+			return;
+		}
+		try
+		{
+			ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + multiChainList.uuid);
+			MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+			if(! mBeanServer.isRegistered(objectName))
+			{
+				mBeanServer.registerMBean(this, objectName);
+			}
+			this.objectName = objectName;
+		}
+		catch (Exception e)
+		{
+			throw new RuntimeException("unable to register metrics of list " + multiChainList.uuid, e);
+		}
+	}
+
+	/**
+	 * Internal method to unregister metrics from platform MBean server
+	 */
+	protected synchronized void unregister()
+	{
+		this.multiChainList = null;
+		if(this.objectName == null)
+		{
+			return;
+		}
+		try
+		{
+			MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+			if(mBeanServer.isRegistered(this.objectName))
+			{
+				mBeanServer.unregisterMBean(this.objectName);
+			}
+		}
+		catch (Exception e) {}
+		this.objectName = null;
+	}
+
+	/**
+	 * Getter for object name of registered MBean.
+	 *
+	 * @return object name or null, if metrics are not registered
+	 */
+	public synchronized ObjectName getObjectName()
+	{
+		return objectName;
+	}
+
+	@Override
+	public String getListId()
+	{
+		MultiChainList<?> multiChainList = this.multiChainList;
+		return multiChainList == null ? null : multiChainList.uuid.toString();
+	}
+
+	@Override
+	public long getNodeSize()
+	{
+		MultiChainList<?> multiChainList = this.multiChainList;
+		return multiChainList == null ? 0L : multiChainList.getNodeSize();
+	}
+
+	@Override
+	public long getAppendCount()
+	{
+		long count = 0L;
+		for(long value : getAppendCountByChain().values())
+		{
+			count += value;
+		}
+		return count;
+	}
+
+	@Override
+	public long getPrependCount()
+	{
+		long count = 0L;
+		for(long value : getPrependCountByChain().values())
+		{
+			count += value;
+		}
+		return count;
+	}
+
+	@Override
+	public Map<String, Long> getAppendCountByChain()
+	{
+		return collectByChain(true);
+	}
+
+	@Override
+	public Map<String, Long> getPrependCountByChain()
+	{
+		return collectByChain(false);
+	}
+
+	/**
+	 * Internal helper method to collect append or prepend counters of all chains in all partitions.
+	 *
+	 * @param append true to collect append counters, false to collect prepend counters
+	 * @return counters by {@code <partition name>/<chain name>}
+	 */
+	private Map<String, Long> collectByChain(boolean append)
+	{
+		Map<String, Long> counts = new TreeMap<String, Long>();
+		MultiChainList<?> multiChainList = this.multiChainList;
+		if(multiChainList == null)
+		{
+			return counts;
+		}
+		for(Partition<?> partition : multiChainList.getPartitionList())
+		{
+			ChainState<?>[] chainStates = partition.chainStates;
+			if(chainStates == null)
+			{
+				continue;
+			}
+			for(ChainState<?> chainState : chainStates)
+			{
+				if(chainState == null)
+				{
+					continue;
+				}
+				long count = append ? chainState.getAppendCount() : chainState.getPrependCount();
+				if(count > 0L)
+				{
+					counts.put(partition.getName() + "/" + chainState.getChainHandle().getName(), count);
+				}
+			}
+		}
+		return counts;
+	}
+
+	@Override
+	public long getUnlinkCount()
+	{
+		return unlinkCount.sum();
+	}
+
+	@Override
+	public long getPollCount()
+	{
+		return pollCount.sum();
+	}
+
+	@Override
+	public long getPolledElementCount()
+	{
+		return polledElementCount.sum();
+	}
+
+	@Override
+	public long getOpenSnapshotCount()
+	{
+		MultiChainList<?> multiChainList = this.multiChainList;
+		return multiChainList == null ? 0L : multiChainList.openSnapshotCount;
+	}
+
+	@Override
+	public long getOpenSnapshotVersionCount()
+	{
+		MultiChainList<?> multiChainList = this.multiChainList;
+		return multiChainList == null ? 0L : multiChainList.openSnapshotVersionCount;
+	}
+
+	@Override
+	public long getObsoleteLinkCount()
+	{
+		MultiChainList<?> multiChainList = this.multiChainList;
+		MultiChainList.ObsoleteLinkQueue<?> obsoleteList = multiChainList == null ? null : multiChainList.obsoleteList;
+		return obsoleteList == null ? 0L : obsoleteList.size();
+	}
+
+	@Override
+	public long getRetainedLinkCount()
+	{
+		MultiChainList<?> multiChainList = this.multiChainList;
+		return multiChainList == null ? 0L : multiChainList.getRetainedLinkCount();
+	}
+
+	@Override
+	public long getRetainedBytes()
+	{
+		return getRetainedLinkCount() * MultiChainList.ESTIMATED_RETAINED_LINK_BYTES;
+	}
+
+	@Override
+	public long getReclaimedLinkCount()
+	{
+		return reclaimedLinkCount.sum();
+	}
+
+	@Override
+	public long getListFullCount()
+	{
+		return listFullCount.sum();
+	}
+
+	@Override
+	public long getEvictionCount()
+	{
+		return evictionCount.sum();
+	}
+
+	@Override
+	public long getWriteLockCount()
+	{
+		return writeLockCount.sum();
+	}
+
+	@Override
+	public long getWriteLockWaitNanos()
+	{
+		return writeLockWaitNanos.sum();
+	}
+
+	@Override
+	public long getWriteLockMaxWaitNanos()
+	{
+		return writeLockMaxWaitNanos.get();
+	}
+
+	@Override
+	public long getWriteLockHoldNanos()
+	{
+		return writeLockHoldNanos.sum();
+	}
+
+	@Override
+	public long getWriteLockMaxHoldNanos()
+	{
+		return writeLockMaxHoldNanos.get();
+	}
+
+	@Override
+	public void reset()
+	{
+		MultiChainList<?> multiChainList = this.multiChainList;
+		if(multiChainList != null)
+		{
+			for(Partition<?> partition : multiChainList.getPartitionList())
+			{
+				ChainState<?>[] chainStates = partition.chainStates;
+				if(chainStates == null)
+				{
+					continue;
+				}
+				for(ChainState<?> chainState : chainStates)
+				{
+					if(chainState != null)
+					{
+						chainState.resetCounts();
+					}
+				}
+			}
+		}
+		unlinkCount.reset();
+		pollCount.reset();
+		polledElementCount.reset();
+		reclaimedLinkCount.reset();
+		listFullCount.reset();
+		evictionCount.reset();
+		writeLockCount.reset();
+		writeLockWaitNanos.reset();
+		writeLockMaxWaitNanos.reset();
+		writeLockHoldNanos.reset();
+		writeLockMaxHoldNanos.reset();
+	}
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link MultiChainListMetrics}. Metrics are registered in platform MBean server
+ * with object name {@code org.sodeac.multichainlist:type=MultiChainList,uuid=<uuid of list>}.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ */
+public interface MultiChainListMetricsMXBean
+{
+	/**
+	 * Getter for uuid of list
+	 *
+	 * @return uuid of list
+	 */
+	public String getListId();
+
+	/**
+	 * Getter for count of nodes in list
+	 *
+	 * @return count of nodes
+	 */
+	public long getNodeSize();
+
+	/**
+	 * Getter for count of appended elements of all chains
+	 *
+	 * @return count of appended elements
+	 */
+	public long getAppendCount();
+
+	/**
+	 * Getter for count of prepended elements of all chains
+	 *
+	 * @return count of prepended elements
+	 */
+	public long getPrependCount();
+
+	/**
+	 * Getter for count of appended elements by partition and chain. Key is {@code <partition name>/<chain name>}.
+	 *
+	 * @return count of appended elements by partition and chain
+	 */
+	public Map<String,Long> getAppendCountByChain();
+
+	/**
+	 * Getter for count of prepended elements by partition and chain. Key is {@code <partition name>/<chain name>}.
+	 *
+	 * @return count of prepended elements by partition and chain
+	 */
+	public Map<String,Long> getPrependCountByChain();
+
+	/**
+	 * Getter for count of links unlinked from chains
+	 *
+	 * @return count of unlinked links
+	 */
+	public long getUnlinkCount();
+
+	/**
+	 * Getter for count of polls (snapshot polls)
+	 *
+	 * @return count of polls
+	 */
+	public long getPollCount();
+
+	/**
+	 * Getter for count of polled elements
+	 *
+	 * @return count of polled elements
+	 */
+	public long getPolledElementCount();
+
+	/**
+	 * Getter for count of open snapshots
+	 *
+	 * @return count of open snapshots
+	 */
+	public long getOpenSnapshotCount();
+
+	/**
+	 * Getter for count of list versions referenced by open snapshots
+	 *
+	 * @return count of open snapshot versions
+	 */
+	public long getOpenSnapshotVersionCount();
+
+	/**
+	 * Getter for count of obsolete links waiting to be reclaimed
+	 *
+	 * @return count of obsolete links
+	 */
+	public long getObsoleteLinkCount();
+	
+	/**
+	 * Getter for count of links retained on behalf of open snapshots
+	 * 
+	 * @return count of retained links
+	 */
+	public long getRetainedLinkCount();
+	
+	/**
+	 * Getter for estimated bytes of links retained on behalf of open snapshots
+	 * 
+	 * @return estimated bytes of retained links
+	 */
+	public long getRetainedBytes();
+
+	/**
+	 * Getter for count of reclaimed obsolete links
+	 *
+	 * @return count of reclaimed links
+	 */
+	public long getReclaimedLinkCount();
+
+	/**
+	 * Getter for count of rejected links because list is full
+	 *
+	 * @return count of {@link ListFullException}s
+	 */
+	public long getListFullCount();
+
+	/**
+	 * Getter for count of elements unlinked from full chains by {@link Partition.CapacityPolicy#EVICT_OLDEST}
+	 *
+	 * @return count of evicted elements
+	 */
+	public long getEvictionCount();
+
+	/**
+	 * Getter for count of write lock acquisitions
+	 *
+	 * @return count of write lock acquisitions
+	 */
+	public long getWriteLockCount();
+
+	/**
+	 * Getter for total time waited for write lock in nanoseconds
+	 *
+	 * @return total wait time in nanoseconds
+	 */
+	public long getWriteLockWaitNanos();
+
+	/**
+	 * Getter for maximum time waited for write lock in nanoseconds
+	 *
+	 * @return maximum wait time in nanoseconds
+	 */
+	public long getWriteLockMaxWaitNanos();
+
+	/**
+	 * Getter for total time write lock was held in nanoseconds
+	 *
+	 * @return total hold time in nanoseconds
+	 */
+	public long getWriteLockHoldNanos();
+
+	/**
+	 * Getter for maximum time write lock was held in nanoseconds
+	 *
+	 * @return maximum hold time in nanoseconds
+	 */
+	public long getWriteLockMaxHoldNanos();
+
+	/**
+	 * Resets all counters. Gauges (node size, open snapshots, open snapshot versions, obsolete and retained links) are not affected.
+	 */
+	public void reset();
+}
@@ -7,14 +7,12 @@
  *
  * Contributors:
  *     Sebastian Palarus - initial API and implementation
- *******************************************************************************/
+ *******************************************************************************/
 package org.sodeac.multichainlist;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Map.Entry;
 import java.util.concurrent.locks.Lock;
 
 import org.sodeac.multichainlist.MultiChainList.SnapshotVersion;
@@ -43,7 +41,8 @@ public class Node<E>
 	protected MultiChainList<E> multiChainList = null;
 	protected E element = null;
 	protected Link<E> headOfDefaultChain = null;
-	protected Map<String,Link<E>> headsOfAdditionalChains = null;
+	// compact array of heads, one entry for each additional chain the node is linked with
+	protected Link<E>[] headsOfAdditionalChains = null;
 	protected volatile long lastObsoleteOnVersion = Link.NO_OBSOLETE;
 	private volatile int linkSize = 0;
 	
@@ -66,17 +65,18 @@ public class Node<E>
 		try
 		{
 			int count = headOfDefaultChain == null ? 0 : 1;
-			definitionList = new LinkageDefinition[headsOfAdditionalChains == null ? count : ( count + headsOfAdditionalChains.size())];
+			Link<E>[] heads = this.headsOfAdditionalChains;
+			definitionList = new LinkageDefinition[heads == null ? count : ( count + heads.length)];
 			
 			if(count == 1)
 			{
 				definitionList[0] = headOfDefaultChain.linkageDefinition;
 			}
-			if(headsOfAdditionalChains != null)
+			if(heads != null)
 			{
-				for(Entry<String,Link<E>> entry : headsOfAdditionalChains.entrySet())
+				for(Link<E> link : heads)
 				{
-					definitionList[count] = entry.getValue().linkageDefinition;
+					definitionList[count++] = link.linkageDefinition;
 				}
 			}
 		}
@@ -110,13 +110,9 @@ public class Node<E>
 				return headOfDefaultChain == null ? null : headOfDefaultChain.linkageDefinition;
 			}
 			
-			if(headsOfAdditionalChains == null)
-			{
-				return null;
-			}
-			
-			Link<E> linkage;
-			return (linkage = headsOfAdditionalChains.get(chainName)) == null ? null : linkage.linkageDefinition;
+			Link<E>[] heads = this.headsOfAdditionalChains;
+			int index = indexOfHead(heads, chainName);
+			return index < 0 ? null : heads[index].linkageDefinition;
 		}
 		finally 
 		{
@@ -125,6 +121,32 @@ public class Node<E>
 		
 	}
 	
+	/**
+	 * checks if node is linked with specified chain
+	 * 
+	 * @param chainHandle handle of chain
+	 * @return true, if node is linked with specified chain, otherwise false
+	 */
+	public final LinkageDefinition<E> isLinkByHandle(ChainHandle chainHandle)
+	{
+		if(! isPayload())
+		{
+			throw new RuntimeException(new UnsupportedOperationException("node is not payload"));
+		}
+		
+		Lock lock = multiChainList.readLock;
+		lock.lock();
+		try
+		{
+			Link<E> link = getLinkByHandle(multiChainList.checkChainHandle(chainHandle));
+			return link == null ? null : link.linkageDefinition;
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
 	/**
 	 * helps gc
 	 */
@@ -139,7 +161,7 @@ public class Node<E>
 				{
 					try
 					{
-						eventHandler.onDisposeNode(this.multiChainList,element);
+						eventHandler.onDisposeNode(this.multiChainList,getElement());
 					}
 					catch (Exception e) {}
 					catch (Error e) {}
@@ -149,14 +171,6 @@ public class Node<E>
 		multiChainList = null;
 		element = null;
 		headOfDefaultChain = null;
-		try
-		{
-			if(headsOfAdditionalChains != null)
-			{
-				headsOfAdditionalChains.clear();
-			}
-		}
-		catch (Exception e) {}
 		headsOfAdditionalChains = null;
 	}
 	
@@ -179,6 +193,29 @@ public class Node<E>
 		{
 			throw new RuntimeException("partition not member of list");
 		}
+		linkToByHandle(multiChainList.getChainHandle(chainName), partition, linkMode);
+	}
+	
+	/**
+	 * Links the node to another chain in specified partition. 
+	 * Current links are retained. The the node must not already linked to specified chain.
+	 * 	
+	 * @param chainHandle handle of chain
+	 * @param partition partition
+	 * @param linkMode append to the end of partition or prepend to the begin of partition
+	 */
+	public void linkToByHandle(ChainHandle chainHandle, Partition<E> partition, Partition.LinkMode linkMode)
+	{
+		if(! isPayload())
+		{
+			throw new RuntimeException(new UnsupportedOperationException("node is not payload"));
+		}
+		Objects.requireNonNull(partition, "partition not defined");
+		if(partition.multiChainList != this.multiChainList)
+		{
+			throw new RuntimeException("partition not member of list");
+		}
+		multiChainList.checkChainHandle(chainHandle);
 		Lock lock = this.multiChainList.writeLock;
 		lock.lock();
 		try
@@ -186,11 +223,11 @@ public class Node<E>
 			SnapshotVersion<E> currentVersion = multiChainList.getModificationVersion();
 			if(linkMode == Partition.LinkMode.PREPEND)
 			{
-				partition.prependNode(this, chainName, currentVersion);
+				partition.prependNode(this, chainHandle, currentVersion);
 			}
 			else
 			{
-				partition.appendNode(this, chainName, currentVersion);
+				partition.appendNode(this, chainHandle, currentVersion);
 			}
 		}
 		finally 
@@ -269,19 +306,22 @@ public class Node<E>
 		{
 			throw new RuntimeException(new UnsupportedOperationException("node is not payload"));
 		}
-		Lock lock = this.multiChainList.writeLock;
-		lock.lock();
+		this.multiChainList.enforceRetainedVersionBudget();
+		MultiChainList<E>.MeteredWriteLock lock = this.multiChainList.writeLock;
+		lock.lock(ILatencyRecorder.OPERATION_UNLINK);
 		try
 		{
 			if(this.headOfDefaultChain != null)
 			{
-				unlinkFromChain(this.headOfDefaultChain.linkageDefinition.getChainName());
+				unlink(this.headOfDefaultChain, true);
 			}
-			if(headsOfAdditionalChains != null)
+			// unlink replaces the array, so iterating the current one is safe
+			Link<E>[] heads = this.headsOfAdditionalChains;
+			if(heads != null)
 			{
-				for(Link<E> link : headsOfAdditionalChains.values())
+				for(Link<E> link : heads)
 				{
-					unlinkFromChain(link.linkageDefinition.getChainName());
+					unlink(link, true);
 				}
 			}
 		}
@@ -313,8 +353,9 @@ public class Node<E>
 		{
 			throw new RuntimeException(new UnsupportedOperationException("node is not payload"));
 		}
-		Lock lock = multiChainList.writeLock;
-		lock.lock();
+		multiChainList.enforceRetainedVersionBudget();
+		MultiChainList<E>.MeteredWriteLock lock = multiChainList.writeLock;
+		lock.lock(ILatencyRecorder.OPERATION_UNLINK);
 		try
 		{
 			Link<E> link = getLink(chainName);
@@ -331,6 +372,47 @@ public class Node<E>
 		
 	}
 	
+	/**
+	 * Unlink node from specified chain.
+	 * 
+	 * @param chainHandle handle of chain
+	 * @return true, if node was linked to chain, otherwise false
+	 */
+	public final boolean unlinkFromChainByHandle(ChainHandle chainHandle)
+	{
+		if(! isPayload())
+		{
+			throw new RuntimeException(new UnsupportedOperationException("node is not payload"));
+		}
+		multiChainList.enforceRetainedVersionBudget();
+		MultiChainList<E>.MeteredWriteLock lock = multiChainList.writeLock;
+		lock.lock(ILatencyRecorder.OPERATION_UNLINK);
+		try
+		{
+			Link<E> link = getLinkByHandle(multiChainList.checkChainHandle(chainHandle));
+			if(link == null)
+			{
+				return false;
+			}
+			return unlink(link,true);
+		}
+		finally 
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Internal method to unlink node from chain, because chain has reached its capacity. This method must invoke with MCL.writeLock !
+	 * 
+	 * @param link link of node in full chain
+	 * @return true, if node was linked to chain, otherwise false
+	 */
+	protected final boolean unlinkForEviction(Link<E> link)
+	{
+		return unlink(link,true);
+	}
+	
 	/**
 	 * Internal helper method to unlink node from chian
 	 * 
@@ -356,8 +438,9 @@ public class Node<E>
 		
 		Partition<E> partition = link.linkageDefinition.getPartition();
 		SnapshotVersion<E> currentVersion = partition.multiChainList.getModificationVersion();
-		Eyebolt<E> linkBegin = partition.getPartitionBegin().getLink(link.linkageDefinition.getChainName());
-		Eyebolt<E> linkEnd = partition.getPartitionEnd().getLink(link.linkageDefinition.getChainName());
+		ChainHandle chainHandle = link.linkageDefinition.getChainHandle();
+		Eyebolt<E> linkBegin = partition.getPartitionBegin().getLinkByHandle(chainHandle);
+		Eyebolt<E> linkEnd = partition.getPartitionEnd().getLinkByHandle(chainHandle);
 		boolean isEndpoint;
 		
 		Link<E> prev = link.previewsLink;
@@ -395,7 +478,7 @@ public class Node<E>
 				prev = prev.createNewerLink(currentVersion, null);
 				if(isEndpoint)
 				{
-					linkBegin = partition.getPartitionBegin().getLink(link.linkageDefinition.getChainName());
+					linkBegin = partition.getPartitionBegin().getLinkByHandle(chainHandle);
 				}
 				prev.previewsLink = previewsOfPreviews;
 			}
@@ -413,12 +496,15 @@ public class Node<E>
 			previewsOfPreviews.nextLink = prev;
 		}
 		
-		String chainName = link.linkageDefinition.getChainName();
+		linkBegin.setSize(linkBegin.getSize() - 1L, linkEnd);
 		
-		linkBegin.decrementSize();
-		linkEnd.decrementSize();
+		MultiChainListMetrics metrics = multiChainList.metrics;
+		if(metrics != null)
+		{
+			metrics.unlinkCount.increment();
+		}
 		
-		setHead(chainName, null, null);
+		setHead(chainHandle, null, null);
 		
 		if(multiChainList.openSnapshotVersionList.isEmpty())
 		{
@@ -447,11 +533,121 @@ public class Node<E>
 		{
 			return headOfDefaultChain;
 		}
-		if(headsOfAdditionalChains == null)
+		Link<E>[] heads = this.headsOfAdditionalChains;
+		int index = indexOfHead(heads, chainName);
+		return index < 0 ? null : heads[index];
+	}
+	
+	/**
+	 * Internal helper method to get link object of node for specified chain
+	 * 
+	 * @param chainHandle handle of chain
+	 * @return link object or null
+	 */
+	protected Link<E> getLinkByHandle(ChainHandle chainHandle)
+	{
+		if(chainHandle.getName() == null)
+		{
+			return headOfDefaultChain;
+		}
+		Link<E>[] heads = this.headsOfAdditionalChains;
+		int index = indexOfHead(heads, chainHandle);
+		return index < 0 ? null : heads[index];
+	}
+	
+	/**
+	 * Internal helper method to find the position of head for specified chain in heads of additional chains.
+	 * 
+	 * <p>Nodes are typically linked with a few chains only, so a linear search over a compact array is cheaper 
+	 * than a hash lookup and saves a map with its entries per node.
+	 * 
+	 * @param heads heads of additional chains
+	 * @param chainName name of chain
+	 * @return position of head or -1, if node is not linked with specified chain
+	 */
+	private static <E> int indexOfHead(Link<E>[] heads, String chainName)
+	{
+		if(heads == null)
+		{
+			return -1;
+		}
+		LinkageDefinition<E> linkageDefinition;
+		for(int i = 0; i < heads.length; i++)
+		{
+			linkageDefinition = heads[i].linkageDefinition;
+			if((linkageDefinition != null) && chainName.equals(linkageDefinition.getChainName()))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Internal helper method to find the position of head for specified chain in heads of additional chains. 
+	 * Chain handles are interned by list, so heads are compared by identity of chain handle.
+	 * 
+	 * @param heads heads of additional chains
+	 * @param chainHandle handle of chain
+	 * @return position of head or -1, if node is not linked with specified chain
+	 */
+	private static <E> int indexOfHead(Link<E>[] heads, ChainHandle chainHandle)
+	{
+		if(heads == null)
+		{
+			return -1;
+		}
+		LinkageDefinition<E> linkageDefinition;
+		for(int i = 0; i < heads.length; i++)
+		{
+			linkageDefinition = heads[i].linkageDefinition;
+			if((linkageDefinition != null) && (linkageDefinition.getChainHandle() == chainHandle))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Internal helper method to create a copy of heads of additional chains with additional head
+	 * 
+	 * @param heads current heads of additional chains
+	 * @param link head to add
+	 * @return new heads of additional chains
+	 */
+	@SuppressWarnings("unchecked")
+	private static <E> Link<E>[] addHead(Link<E>[] heads, Link<E> link)
+	{
+		if(heads == null)
+		{
+			Link<E>[] newHeads = new Link[1];
+			newHeads[0] = link;
+			return newHeads;
+		}
+		Link<E>[] newHeads = Arrays.copyOf(heads, heads.length + 1);
+		newHeads[heads.length] = link;
+		return newHeads;
+	}
+	
+	/**
+	 * Internal helper method to create a copy of heads of additional chains without head at specified position
+	 * 
+	 * @param heads current heads of additional chains
+	 * @param index position of head to remove
+	 * @return new heads of additional chains or null, if no head remains
+	 */
+	@SuppressWarnings("unchecked")
+	private static <E> Link<E>[] removeHead(Link<E>[] heads, int index)
+	{
+		if(heads.length == 1)
 		{
 			return null;
 		}
-		return headsOfAdditionalChains.get(chainName);
+		Link<E>[] newHeads = new Link[heads.length - 1];
+		System.arraycopy(heads, 0, newHeads, 0, index);
+		System.arraycopy(heads, index + 1, newHeads, index, heads.length - index - 1);
+		return newHeads;
 	}
 	
 	/**
@@ -464,19 +660,53 @@ public class Node<E>
 	 */
 	protected Link<E> createHead(LinkageDefinition<E> linkageDefinition,SnapshotVersion<E> currentVersion, Partition.LinkMode linkMode)
 	{
-		return setHead(linkageDefinition.getChainName(),new Link<>(linkageDefinition, this, currentVersion),linkMode);
+		return setHead(linkageDefinition.getChainHandle(),new Link<>(linkageDefinition, this, currentVersion),linkMode);
+	}
+	
+	/**
+	 * Internal helper method to create a link for a new node, which is not yet linked with list. 
+	 * The link is not linked with chain, the node size of list is not incremented and chain event handlers are not notified.
+	 * 
+	 * @param linkageDefinition linkage definition
+	 * @param preparedVersion prepared version of list
+	 * @return new link
+	 */
+	protected Link<E> createPreparedHead(LinkageDefinition<E> linkageDefinition, SnapshotVersion<E> preparedVersion)
+	{
+		Link<E> link = new Link<>(linkageDefinition, this, preparedVersion);
+		if(linkageDefinition.getChainName() == null)
+		{
+			this.headOfDefaultChain = link;
+		}
+		else
+		{
+			this.headsOfAdditionalChains = addHead(this.headsOfAdditionalChains, link);
+		}
+		this.linkSize++;
+		return link;
+	}
+	
+	/**
+	 * Internal helper method to remove all links created by {@link Node#createPreparedHead(LinkageDefinition, SnapshotVersion)}
+	 */
+	protected void resetPreparedHeads()
+	{
+		this.headOfDefaultChain = null;
+		this.headsOfAdditionalChains = null;
+		this.linkSize = 0;
 	}
 	
 	/**
 	 * Internal helper method to set new link as head
 	 * 
-	 * @param chainName name of chain
+	 * @param chainHandle handle of chain
 	 * @param link new link
 	 * @param linkMode append or prepend
 	 * @return new link
 	 */
-	protected Link<E> setHead(String chainName, Link<E> link, Partition.LinkMode linkMode)
+	protected Link<E> setHead(ChainHandle chainHandle, Link<E> link, Partition.LinkMode linkMode)
 	{
+		String chainName = chainHandle.getName();
 		boolean startsWithEmptyState = linkSize ==  0;
 		try
 		{
@@ -497,15 +727,14 @@ public class Node<E>
 						this.headOfDefaultChain = link;
 						return headOfDefaultChain;
 					}
-					if(headsOfAdditionalChains != null)
+					Link<E>[] heads = this.headsOfAdditionalChains;
+					int index = indexOfHead(heads, chainHandle);
+					if(index >= 0)
 					{
-						Link<E> removed = headsOfAdditionalChains.remove(chainName);
-						if(removed != null)
-						{
-							notify = true;
-							notifyPartition = removed.linkageDefinition.getPartition();
-							this.linkSize--;
-						}
+						notify = true;
+						notifyPartition = heads[index].linkageDefinition.getPartition();
+						this.headsOfAdditionalChains = removeHead(heads, index);
+						this.linkSize--;
 					}
 					return null;
 				}
@@ -540,9 +769,9 @@ public class Node<E>
 						}
 						if(this.headOfDefaultChain == null)
 						{
-							if(startsWithEmptyState && (multiChainList.nodeSize >= multiChainList.nodeMaxSize))
+							if(startsWithEmptyState)
 							{
-								throw new ListFullException(multiChainList.nodeMaxSize);
+								reserveNodeSize();
 							}
 							notify = true;
 							linkSize++;
@@ -550,30 +779,24 @@ public class Node<E>
 						this.headOfDefaultChain = link;
 						return headOfDefaultChain;
 					}
-					if(headsOfAdditionalChains == null)
-					{
-						headsOfAdditionalChains = new HashMap<String,Link<E>>();	
-					}
-					else
+					Link<E>[] heads = this.headsOfAdditionalChains;
+					int index = indexOfHead(heads, chainHandle);
+					if(index >= 0)
 					{
-						Link<E> previewsHead = headsOfAdditionalChains.get(chainName);
-						if(previewsHead != null)
+						Link<E> previewsHead = heads[index];
+						if(previewsHead.linkageDefinition.getPartition() != link.linkageDefinition.getPartition())
 						{
-							if(previewsHead.linkageDefinition != null)
-							{
-								if(previewsHead.linkageDefinition.getPartition() != link.linkageDefinition.getPartition())
-								{
-									throw new PartitionConflictException(chainName,previewsHead.linkageDefinition.getPartition(),link.linkageDefinition.getPartition(), this);
-								}
-							}
+							throw new PartitionConflictException(chainName,previewsHead.linkageDefinition.getPartition(),link.linkageDefinition.getPartition(), this);
 						}
+						heads[index] = link;
 					}
-					if(headsOfAdditionalChains.put(chainName, link) == null)
+					else
 					{
-						if(startsWithEmptyState && (multiChainList.nodeSize >= multiChainList.nodeMaxSize))
+						if(startsWithEmptyState)
 						{
-							throw new ListFullException(multiChainList.nodeMaxSize);
+							reserveNodeSize();
 						}
+						this.headsOfAdditionalChains = addHead(heads, link);
 						notify = true;
 						linkSize++;
 						if (!isPayload())
@@ -601,24 +824,36 @@ public class Node<E>
 					}
 				}
 			}
-			return headsOfAdditionalChains.get(chainName);
+			return link;
 		}
 		finally 
 		{
 			if(isPayload())
 			{
-				if((linkSize >  0L) && (startsWithEmptyState))
+				// increment is done by reserveNodeSize()
+				if((linkSize == 0L) && (!startsWithEmptyState))
 				{
-					multiChainList.nodeSize++;
-				}
-				else if((linkSize == 0L) && (!startsWithEmptyState))
-				{
-					multiChainList.nodeSize--;
+					multiChainList.decrementNodeSize();
+					multiChainList.unindexNode(this);
 				}
 			}
 		}
 	}
 	
+	/**
+	 * Internal helper method to increment node size of list, if node is linked the first time. Bollards of partitions are not counted.
+	 * 
+	 * @throws ListFullException if node size of list reaches max node size
+	 */
+	private void reserveNodeSize()
+	{
+		if(isPayload())
+		{
+			multiChainList.incrementNodeSize();
+			multiChainList.indexNode(this);
+		}
+	}
+	
 	/**
 	 * Getter for element (payload of node)
 	 * 
@@ -660,7 +895,6 @@ public class Node<E>
 			super();
 			this.linkageDefinition = linkageDefinition;
 			this.node = node;
-			this.element = node.element;
 			this.createOnVersion = version;
 		}
 		
@@ -669,19 +903,18 @@ public class Node<E>
 			super();
 			this.linkageDefinition = null;
 			this.node = null;
-			this.element = null;
 			this.createOnVersion = null;
 		}
 		
 		protected volatile long obsoleteOnVersion = NO_OBSOLETE;
 		protected volatile LinkageDefinition<E> linkageDefinition;
 		protected volatile Node<E> node;
-		protected volatile E element;
 		protected volatile SnapshotVersion<E> createOnVersion;
 		protected volatile Link<E> newerVersion= null;
 		protected volatile Link<E> olderVersion= null;
 		protected volatile Link<E> previewsLink= null;
 		protected volatile Link<E> nextLink = null;
+		protected Link<E> nextObsoleteLink = null;
 		
 		protected Link<E> createNewerLink(SnapshotVersion<E> currentVersion, LinkMode linkMode)
 		{
@@ -689,13 +922,14 @@ public class Node<E>
 			newVersion.olderVersion = this;
 			this.newerVersion = newVersion;
 			this.node.multiChainList.setObsolete(this);
-			this.node.setHead(this.linkageDefinition.getChainName(), newVersion, linkMode);
+			this.node.setHead(this.linkageDefinition.getChainHandle(), newVersion, linkMode);
 			return newVersion;
 		}
 		
 		public E getElement()
 		{
-			return element;
+			Node<E> node = this.node;
+			return node == null ? null : node.getElement();
 		}
 		
 		public Node<E> getNode()
@@ -739,7 +973,6 @@ public class Node<E>
 			this.previewsLink = null;
 			this.nextLink = null;
 			this.node = null;
-			this.element = null;
 		}
 		
 		@Override
@@ -7,17 +7,19 @@
  *
  * Contributors:
  *     Sebastian Palarus - initial API and implementation
- *******************************************************************************/
+ *******************************************************************************/
 package org.sodeac.multichainlist;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.sodeac.multichainlist.MultiChainList.SnapshotVersion;
 import org.sodeac.multichainlist.Node.Link;
@@ -35,12 +37,30 @@ public class Partition<E>
 {
 	public enum LinkMode {APPEND,PREPEND};
 	
+	/**
+	 * Policy to apply, if elements are linked into a chain which has reached its capacity (see {@link Partition#setCapacity(long)}).
+	 */
+	public enum CapacityPolicy
+	{
+		/**
+		 * Linking elements into a full chain throws {@link ListFullException}.
+		 */
+		REJECT,
+		
+		/**
+		 * Linking elements into a full chain unlinks the first elements of chain in the same lock acquisition, 
+		 * so the chain works as a bounded ring buffer. Open snapshots still contain the evicted elements.
+		 */
+		EVICT_OLDEST
+	};
+	
 	/**
 	 * constructor to create partition
 	 * 
 	 * @param name partitions name
 	 * @param multiChainList owner list
 	 */
+	@SuppressWarnings("unchecked")
 	protected Partition(String name, MultiChainList<E> multiChainList)
 	{
 		super();
@@ -48,7 +68,9 @@ public class Partition<E>
 		this.multiChainList = multiChainList;
 		this.partitionBegin = new Bollard();
 		this.partitionEnd = new Bollard();
-		this.privateLinkageDefinitions = new HashMap<String,LinkageDefinition<E>>();
+		this.privateLinkageDefinitions = new LinkageDefinition[8];
+		this.chainStates = new ChainState[8];
+		this.partitionLock = new ReentrantLock();
 	}
 	
 	protected String name;
@@ -57,7 +79,13 @@ public class Partition<E>
 	protected volatile Partition<E> next = null;
 	protected Bollard partitionBegin = null;
 	protected Bollard partitionEnd = null;
-	protected Map<String,LinkageDefinition<E>> privateLinkageDefinitions = null;
+	protected LinkageDefinition<E>[] privateLinkageDefinitions = null; // indexed by id of chain handle
+	protected volatile ChainState<E>[] chainStates = null; // indexed by id of chain handle
+	protected ReentrantLock partitionLock = null;
+	protected volatile long capacity = Long.MAX_VALUE;
+	protected volatile HashMap<String,Long> chainCapacities = null; // copy on write
+	protected volatile CapacityPolicy capacityPolicy = CapacityPolicy.REJECT;
+	protected final LongAdder evictionCount = new LongAdder();
 	
 	/**
 	 * Getter for partitions name.
@@ -106,6 +134,60 @@ public class Partition<E>
 	{
 		return partitionEnd;
 	}
+	/**
+	 * Internal method checks, if specified chains are already linked with this partition. This method must invoke with MCL.readLock or MCL.writeLock !
+	 * 
+	 * @param linkageDefinitions definition of chain and partition
+	 * @return true, if begin and end of all specified chains exists in this partition, otherwise false
+	 */
+	protected boolean isChainsDefined(Collection<LinkageDefinition<E>> linkageDefinitions)
+	{
+		LinkageDefinition<E>[] privateLinkageDefinitions = this.privateLinkageDefinitions;
+		ChainHandle chainHandle;
+		for(LinkageDefinition<E> linkageDefinition : linkageDefinitions)
+		{
+			chainHandle = linkageDefinition.getChainHandle();
+			if((chainHandle.getId() >= privateLinkageDefinitions.length) || (privateLinkageDefinitions[chainHandle.getId()] == null))
+			{
+				return false;
+			}
+			if(partitionBegin.getLinkByHandle(chainHandle) == null)
+			{
+				return false;
+			}
+			if(partitionEnd.getLinkByHandle(chainHandle) == null)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Internal method returns linkage definition of this partition for specified chain. The linkage definition is created, if not exists. 
+	 * This method must invoke with MCL.writeLock, if linkage definition does not exist !
+	 * 
+	 * @param chainHandle handle of chain
+	 * @return linkage definition of this partition
+	 */
+	protected LinkageDefinition<E> getPrivateLinkageDefinition(ChainHandle chainHandle)
+	{
+		LinkageDefinition<E>[] privateLinkageDefinitions = this.privateLinkageDefinitions;
+		int id = chainHandle.getId();
+		if((id < privateLinkageDefinitions.length) && (privateLinkageDefinitions[id] != null))
+		{
+			return privateLinkageDefinitions[id];
+		}
+		if(id >= privateLinkageDefinitions.length)
+		{
+			privateLinkageDefinitions = Arrays.copyOf(privateLinkageDefinitions, Math.max(id + 1, privateLinkageDefinitions.length * 2));
+		}
+		LinkageDefinition<E> privateLinkageDefinition = new LinkageDefinition<>(chainHandle, this);
+		privateLinkageDefinitions[id] = privateLinkageDefinition;
+		this.privateLinkageDefinitions = privateLinkageDefinitions;
+		return privateLinkageDefinition;
+	}
+	
 	 /**
 	  * Internal method to append node.
 	  * 
@@ -117,7 +199,7 @@ public class Partition<E>
 	{
 		for(LinkageDefinition<E> linkageDefinition : linkageDefinitions)
 		{
-			appendNode(node, linkageDefinition.getChainName(), currentVersion);
+			appendNode(node, linkageDefinition.getChainHandle(), currentVersion);
 		}
 	}
 
@@ -125,29 +207,53 @@ public class Partition<E>
 	 * Internal method to append node.
 	 * 
 	 * @param node node to append
-	 * @param chainName chain name
+	 * @param chainHandle handle of chain
 	 * @param currentVersion current version of list
 	 */
-	protected void appendNode(Node<E> node, String chainName, SnapshotVersion<E> currentVersion)
+	protected void appendNode(Node<E> node, ChainHandle chainHandle, SnapshotVersion<E> currentVersion)
 	{
-		LinkageDefinition<E> privateLinkageDefinition = privateLinkageDefinitions.get(chainName);
-		
-		if(privateLinkageDefinition == null)
+		linkLast(node, getPrivateLinkageDefinition(chainHandle), currentVersion);
+		multiChainList.markLinked(chainHandle);
+	}
+	
+	/**
+	 * Internal method to append node to all chains of compiled linkage definitions.
+	 * 
+	 * @param node node to append
+	 * @param privateLinkageDefinitions linkage definitions of this partition, resolved by {@link Partition#getPrivateLinkageDefinition(ChainHandle)}
+	 * @param currentVersion current version of list
+	 */
+	protected void appendNode(Node<E> node, LinkageDefinition<E>[] privateLinkageDefinitions, SnapshotVersion<E> currentVersion)
+	{
+		for(LinkageDefinition<E> privateLinkageDefinition : privateLinkageDefinitions)
 		{
-			privateLinkageDefinition = new LinkageDefinition<>(chainName, this);
-			privateLinkageDefinitions.put(chainName, privateLinkageDefinition);
+			linkLast(node, privateLinkageDefinition, currentVersion);
+			multiChainList.markLinked(privateLinkageDefinition.getChainHandle());
 		}
-		Link<E> link = node.getLink(chainName);
+	}
+	
+	/**
+	 * Internal method to link node as last link of chain.
+	 * 
+	 * @param node node to append
+	 * @param privateLinkageDefinition linkage definition of this partition
+	 * @param currentVersion current version of list
+	 */
+	private void linkLast(Node<E> node, LinkageDefinition<E> privateLinkageDefinition, SnapshotVersion<E> currentVersion)
+	{
+		ChainHandle chainHandle = privateLinkageDefinition.getChainHandle();
+		
+		Link<E> link = node.getLinkByHandle(chainHandle);
 		if(link != null)
 		{
-			throw new ChainConflictException(chainName,node);
+			throw new ChainConflictException(chainHandle.getName(),node);
 		}
-		Eyebolt<E> linkBegin = partitionBegin.getLink(chainName);
+		Eyebolt<E> linkBegin = partitionBegin.getLinkByHandle(chainHandle);
 		if(linkBegin == null)
 		{
 			linkBegin = partitionBegin.createHead(privateLinkageDefinition, currentVersion, null);
 		}
-		Eyebolt<E>  linkEnd = partitionEnd.getLink(privateLinkageDefinition.getChainName());
+		Eyebolt<E>  linkEnd = partitionEnd.getLinkByHandle(chainHandle);
 		if(linkEnd == null)
 		{
 			linkEnd = partitionEnd.createHead(privateLinkageDefinition, currentVersion, null);
@@ -172,7 +278,7 @@ public class Partition<E>
 			
 			if(prev.createOnVersion.getSequence() < currentVersion.getSequence())
 			{
-				if(! multiChainList.openSnapshotVersionList.isEmpty())
+				if(multiChainList.isSnapshotOpen())
 				{
 					previewsOfPreviews = prev.previewsLink;
 					prev = prev.createNewerLink(currentVersion, null);
@@ -197,8 +303,127 @@ public class Partition<E>
 			previewsOfPreviews.nextLink = prev;
 		}
 		
-		linkBegin.incrementSize();
-		linkEnd.incrementSize();
+		linkBegin.setSize(linkBegin.getSize() + 1L, linkEnd);
+		linkBegin.chainState.countAppend(multiChainList, 1L);
+	}
+	
+	/**
+	 * Internal method to append a segment of prepared links. The links of segment must be linked between themselves.
+	 * 
+	 * @param chainHandle handle of chain
+	 * @param first first link of segment
+	 * @param last last link of segment
+	 * @param size size of segment
+	 * @param currentVersion current version of list
+	 */
+	protected void appendSegment(ChainHandle chainHandle, Link<E> first, Link<E> last, long size, SnapshotVersion<E> currentVersion)
+	{
+		LinkageDefinition<E> privateLinkageDefinition = getPrivateLinkageDefinition(chainHandle);
+		
+		Eyebolt<E> linkBegin = partitionBegin.getLinkByHandle(chainHandle);
+		if(linkBegin == null)
+		{
+			linkBegin = partitionBegin.createHead(privateLinkageDefinition, currentVersion, null);
+		}
+		Eyebolt<E>  linkEnd = partitionEnd.getLinkByHandle(chainHandle);
+		if(linkEnd == null)
+		{
+			linkEnd = partitionEnd.createHead(privateLinkageDefinition, currentVersion, null);
+		}
+		if(linkBegin.nextLink == null)
+		{
+			linkBegin.nextLink = linkEnd;
+		}
+		if(linkEnd.previewsLink == null)
+		{
+			linkEnd.previewsLink = linkBegin;
+		}
+		
+		Link<E> prev = linkEnd.previewsLink;
+		Link<E> previewsOfPreviews = null;
+		if((prev.createOnVersion != currentVersion) && (prev != linkBegin))
+		{
+			if(prev.createOnVersion.getSequence() < currentVersion.getSequence())
+			{
+				if(multiChainList.isSnapshotOpen())
+				{
+					previewsOfPreviews = prev.previewsLink;
+					prev = prev.createNewerLink(currentVersion, null);
+					prev.previewsLink = previewsOfPreviews;
+				}
+			}
+		}
+		
+		// link last link of segment with endlink
+		linkEnd.previewsLink = last;
+		last.nextLink = linkEnd;
+		
+		// link first link of segment with previews link
+		first.previewsLink = prev;
+		
+		// set new route
+		prev.nextLink = first;
+		
+		if(previewsOfPreviews != null)
+		{
+			// set new route, if previews creates a new version
+			previewsOfPreviews.nextLink = prev;
+		}
+		
+		linkBegin.setSize(linkBegin.getSize() + size, linkEnd);
+		linkBegin.chainState.countAppend(multiChainList, size);
+		
+		multiChainList.markLinked(chainHandle);
+	}
+	
+	/**
+	 * Internal method to prepend a segment of prepared links. The links of segment must be linked between themselves.
+	 * 
+	 * @param chainHandle handle of chain
+	 * @param first first link of segment
+	 * @param last last link of segment
+	 * @param size size of segment
+	 * @param currentVersion current version of list
+	 */
+	protected void prependSegment(ChainHandle chainHandle, Link<E> first, Link<E> last, long size, SnapshotVersion<E> currentVersion)
+	{
+		LinkageDefinition<E> linkageDefinition = getPrivateLinkageDefinition(chainHandle);
+		
+		Eyebolt<E> linkBegin = partitionBegin.getLinkByHandle(chainHandle);
+		if(linkBegin == null)
+		{
+			linkBegin = partitionBegin.createHead(linkageDefinition, currentVersion, null);
+		}
+		Eyebolt<E> linkEnd = partitionEnd.getLinkByHandle(chainHandle);
+		if(linkEnd == null)
+		{
+			linkEnd = partitionEnd.createHead(linkageDefinition, currentVersion, null);
+		}
+		if(linkBegin.nextLink == null)
+		{
+			linkBegin.nextLink = linkEnd;
+		}
+		if(linkEnd.previewsLink == null)
+		{
+			linkEnd.previewsLink = linkBegin;
+		}
+		
+		Link<E> next = linkBegin.nextLink;
+		
+		// link last link of segment with nextlink
+		next.previewsLink = last;
+		last.nextLink = next;
+		
+		// link first link of segment with begin link
+		first.previewsLink = linkBegin;
+		
+		// set new route
+		linkBegin.nextLink = first;
+		
+		linkBegin.setSize(linkBegin.getSize() + size, linkEnd);
+		linkBegin.chainState.countPrepend(multiChainList, size);
+		
+		multiChainList.markLinked(chainHandle);
 	}
 	
 	 /**
@@ -212,7 +437,7 @@ public class Partition<E>
 	{
 		for(LinkageDefinition<E> linkageDefinition : linkageDefinitions)
 		{
-			prependNode(node, linkageDefinition.getChainName(), currentVersion);
+			prependNode(node, linkageDefinition.getChainHandle(), currentVersion);
 		}
 	}
 	
@@ -220,29 +445,53 @@ public class Partition<E>
 	 * Internal method to prepend node.
 	 * 
 	 * @param node node to prepend
-	 * @param chainName chain name
+	 * @param chainHandle handle of chain
 	 * @param currentVersion current version of list
 	 */
-	protected void prependNode(Node<E> node, String chainName, SnapshotVersion<E> currentVersion)
+	protected void prependNode(Node<E> node, ChainHandle chainHandle, SnapshotVersion<E> currentVersion)
 	{
-		LinkageDefinition<E> linkageDefinition = privateLinkageDefinitions.get(chainName);
-		if(linkageDefinition == null)
+		linkFirst(node, getPrivateLinkageDefinition(chainHandle), currentVersion);
+		multiChainList.markLinked(chainHandle);
+	}
+	
+	/**
+	 * Internal method to prepend node to all chains of compiled linkage definitions.
+	 * 
+	 * @param node node to prepend
+	 * @param privateLinkageDefinitions linkage definitions of this partition, resolved by {@link Partition#getPrivateLinkageDefinition(ChainHandle)}
+	 * @param currentVersion current version of list
+	 */
+	protected void prependNode(Node<E> node, LinkageDefinition<E>[] privateLinkageDefinitions, SnapshotVersion<E> currentVersion)
+	{
+		for(LinkageDefinition<E> privateLinkageDefinition : privateLinkageDefinitions)
 		{
-			linkageDefinition = new LinkageDefinition<>(chainName, this);
-			privateLinkageDefinitions.put(chainName, linkageDefinition);
+			linkFirst(node, privateLinkageDefinition, currentVersion);
+			multiChainList.markLinked(privateLinkageDefinition.getChainHandle());
 		}
+	}
+	
+	/**
+	 * Internal method to link node as first link of chain.
+	 * 
+	 * @param node node to prepend
+	 * @param linkageDefinition linkage definition of this partition
+	 * @param currentVersion current version of list
+	 */
+	private void linkFirst(Node<E> node, LinkageDefinition<E> linkageDefinition, SnapshotVersion<E> currentVersion)
+	{
+		ChainHandle chainHandle = linkageDefinition.getChainHandle();
 		
-		Link<E> link = node.getLink(linkageDefinition.getChainName());
+		Link<E> link = node.getLinkByHandle(chainHandle);
 		if(link != null)
 		{
-			throw new ChainConflictException(linkageDefinition.getChainName(),node);
+			throw new ChainConflictException(chainHandle.getName(),node);
 		}
-		Eyebolt<E> linkBegin = partitionBegin.getLink(linkageDefinition.getChainName());
+		Eyebolt<E> linkBegin = partitionBegin.getLinkByHandle(chainHandle);
 		if(linkBegin == null)
 		{
 			linkBegin = partitionBegin.createHead(linkageDefinition, currentVersion, null);
 		}
-		Eyebolt<E> linkEnd = partitionEnd.getLink(linkageDefinition.getChainName());
+		Eyebolt<E> linkEnd = partitionEnd.getLinkByHandle(chainHandle);
 		if(linkEnd == null)
 		{
 			linkEnd = partitionEnd.createHead(linkageDefinition, currentVersion, null);
@@ -271,87 +520,334 @@ public class Partition<E>
 		// set new route
 		linkBegin.nextLink = link;
 		
-		linkBegin.incrementSize();
-		linkEnd.incrementSize();
+		linkBegin.setSize(linkBegin.getSize() + 1L, linkEnd);
+		linkBegin.chainState.countPrepend(multiChainList, 1L);
 	}
 
 	/**
-	 * Getter for size of elements which belongs to specified chain in this partition.
+	 * Setter for capacity of each chain in this partition. Linking elements into a full chain throws {@link ListFullException}, 
+	 * blocking variants of {@link Linker} wait for capacity (see {@link Linker#append(Object, long, java.util.concurrent.TimeUnit)}).
 	 * 
-	 * @param chainName name of chain
-	 * @return size of elements belongs specified chain in this partition
+	 * @param capacity max count of elements of each chain in this partition
 	 */
-	public int getSize(String chainName)
+	public void setCapacity(long capacity)
 	{
-		Lock lock = multiChainList.readLock;
-		lock.lock();
-		try
+		if(capacity < 0L)
 		{
-			Eyebolt<E> beginLink = partitionBegin.getLink(chainName);
-			return beginLink == null ? 0 : (int)beginLink.size;
+			throw new IllegalArgumentException("capacity must not be negative");
 		}
-		finally 
+		long previewsCapacity = this.capacity;
+		this.capacity = capacity;
+		if(capacity != Long.MAX_VALUE)
 		{
-			lock.unlock();
+			this.multiChainList.capacityLimited = true;
+		}
+		if(capacity > previewsCapacity)
+		{
+			this.multiChainList.capacitySignal.signal();
 		}
 	}
 	
 	/**
-	 * Getter for first element of specified chain in this partition
+	 * Getter for capacity of each chain in this partition.
+	 * 
+	 * @return max count of elements of each chain in this partition
+	 */
+	public long getCapacity()
+	{
+		return capacity;
+	}
+	
+	/**
+	 * Setter for capacity of specified chain in this partition. This capacity overrides capacity of partition (see {@link Partition#setCapacity(long)}).
 	 * 
 	 * @param chainName name of chain
-	 * @return first element of specified chain in this partition
+	 * @param capacity max count of elements of chain in this partition, or a negative value to apply capacity of partition
 	 */
-	public E getFirstElement(String chainName)
+	public void setChainCapacity(String chainName, long capacity)
 	{
-		Lock lock = multiChainList.readLock;
+		Lock lock = this.multiChainList.writeLock;
 		lock.lock();
 		try
 		{
-			Eyebolt<E> beginLink = partitionBegin.getLink(chainName);
-			if(beginLink == null)
+			HashMap<String,Long> chainCapacities = this.chainCapacities == null ? new HashMap<String,Long>() : new HashMap<String,Long>(this.chainCapacities);
+			if(capacity < 0L)
 			{
-				throw new NoSuchElementException();
+				chainCapacities.remove(chainName);
 			}
-			if(beginLink.nextLink == null)
+			else
 			{
-				throw new NoSuchElementException();
+				chainCapacities.put(chainName, capacity);
+				this.multiChainList.capacityLimited = true;
 			}
-			return beginLink.nextLink.element;
+			this.chainCapacities = chainCapacities.isEmpty() ? null : chainCapacities;
 		}
 		finally 
 		{
 			lock.unlock();
 		}
+		this.multiChainList.capacitySignal.signal();
 	}
 	
 	/**
-	 * Getter for last element of specified chain in this partition
+	 * Getter for capacity of specified chain in this partition.
 	 * 
 	 * @param chainName name of chain
-	 * @return last element of specified chain in this partition
+	 * @return max count of elements of chain in this partition
 	 */
-	public E getLastElement(String chainName)
+	public long getChainCapacity(String chainName)
 	{
-		Lock lock = multiChainList.readLock;
-		lock.lock();
-		try
+		HashMap<String,Long> chainCapacities = this.chainCapacities;
+		Long chainCapacity = chainCapacities == null ? null : chainCapacities.get(chainName);
+		return chainCapacity == null ? this.capacity : chainCapacity.longValue();
+	}
+	
+	/**
+	 * Setter for policy to apply, if elements are linked into a full chain of this partition.
+	 * 
+	 * @param capacityPolicy capacity policy, or null to reject elements
+	 */
+	public void setCapacityPolicy(CapacityPolicy capacityPolicy)
+	{
+		this.capacityPolicy = capacityPolicy == null ? CapacityPolicy.REJECT : capacityPolicy;
+	}
+	
+	/**
+	 * Getter for policy to apply, if elements are linked into a full chain of this partition.
+	 * 
+	 * @return capacity policy
+	 */
+	public CapacityPolicy getCapacityPolicy()
+	{
+		return capacityPolicy;
+	}
+	
+	/**
+	 * Getter for count of elements unlinked from chains of this partition by {@link CapacityPolicy#EVICT_OLDEST}.
+	 * 
+	 * @return count of evicted elements
+	 */
+	public long getEvictionCount()
+	{
+		return evictionCount.sum();
+	}
+	
+	/**
+	 * Internal method checks capacity of specified chain in this partition before linking elements. This method must invoke with MCL.writeLock 
+	 * or with MCL.readLock and partition lock !
+	 * 
+	 * <p>With {@link CapacityPolicy#EVICT_OLDEST} a full chain does not throw an exception, if it is checked with MCL.writeLock. 
+	 * Required capacity is released by {@link Partition#evictForCapacity(String, long)} afterwards.
+	 * 
+	 * @param chainName name of chain
+	 * @param count count of elements to link
+	 * @throws ListFullException if chain can not contain specified count of additional elements
+	 */
+	protected void checkCapacity(String chainName, long count)
+	{
+		long capacity = getChainCapacity(chainName);
+		if(capacity == Long.MAX_VALUE)
+		{
+			return;
+		}
+		ChainState<E> chainState = getChainState(chainName);
+		long size = chainState == null ? 0L : chainState.getSize();
+		if(size + count > capacity)
+		{
+			if((this.capacityPolicy == CapacityPolicy.EVICT_OLDEST) && (count <= capacity) && this.multiChainList.writeLock.isHeldByCurrentThread())
+			{
+				return;
+			}
+			this.multiChainList.countListFull();
+			throw new ListFullException(capacity, this.name, chainName);
+		}
+	}
+	
+	/**
+	 * Internal method returns the count of elements, which can be linked to specified chain in this partition without exceeding its capacity. 
+	 * With {@link CapacityPolicy#EVICT_OLDEST} all elements can be linked, if chain has any capacity. 
+	 * This method must invoke with MCL.writeLock !
+	 * 
+	 * @param chainName name of chain
+	 * @param count count of elements to link
+	 * @return count of elements to link, which the chain can contain
+	 */
+	protected long admitForCapacity(String chainName, long count)
+	{
+		long capacity = getChainCapacity(chainName);
+		if(capacity == Long.MAX_VALUE)
+		{
+			return count;
+		}
+		if((this.capacityPolicy == CapacityPolicy.EVICT_OLDEST) && (capacity > 0L))
+		{
+			return count;
+		}
+		ChainState<E> chainState = getChainState(chainName);
+		long size = chainState == null ? 0L : chainState.getSize();
+		return Math.max(0L, Math.min(count, capacity - size));
+	}
+	
+	/**
+	 * Internal method unlinks first elements of specified chain in this partition, so chain can contain specified count of additional elements. 
+	 * This method must invoke with MCL.writeLock after {@link Partition#checkCapacity(String, long)} !
+	 * 
+	 * @param chainName name of chain
+	 * @param count count of elements to link
+	 * @return count of evicted elements
+	 */
+	protected long evictForCapacity(String chainName, long count)
+	{
+		if(this.capacityPolicy != CapacityPolicy.EVICT_OLDEST)
 		{
-			Eyebolt<E> endLink = partitionEnd.getLink(chainName);
-			if(endLink == null)
+			return 0L;
+		}
+		long capacity = getChainCapacity(chainName);
+		if(capacity == Long.MAX_VALUE)
+		{
+			return 0L;
+		}
+		ChainHandle chainHandle = this.multiChainList.lookupChainHandle(chainName);
+		Eyebolt<E> linkBegin = chainHandle == null ? null : partitionBegin.getLinkByHandle(chainHandle);
+		if(linkBegin == null)
+		{
+			return 0L;
+		}
+		
+		long evicted = 0L;
+		while(linkBegin.getSize() + count > capacity)
+		{
+			Link<E> link = linkBegin.nextLink;
+			if((link == null) || (link.node == null) || (! link.node.isPayload()))
 			{
-				throw new NoSuchElementException();
+				break;
 			}
-			if(endLink.nextLink == null)
+			link.node.unlinkForEviction(link);
+			evicted++;
+			
+			// unlink can create a newer version of begin
+			linkBegin = partitionBegin.getLinkByHandle(chainHandle);
+		}
+		if(evicted > 0L)
+		{
+			this.evictionCount.add(evicted);
+			MultiChainListMetrics metrics = this.multiChainList.metrics;
+			if(metrics != null)
 			{
-				throw new NoSuchElementException();
+				metrics.evictionCount.add(evicted);
 			}
-			return endLink.nextLink.element;
 		}
-		finally 
+		return evicted;
+	}
+	
+	/**
+	 * Getter for size of elements which belongs to specified chain in this partition.
+	 * 
+	 * @param chainName name of chain
+	 * @return size of elements belongs specified chain in this partition
+	 */
+	public int getSize(String chainName)
+	{
+		ChainState<E> chainState = getChainState(chainName);
+		return chainState == null ? 0 : (int)chainState.getSize();
+	}
+	
+	/**
+	 * Getter for first element of specified chain in this partition. The element is read without lock.
+	 * 
+	 * @param chainName name of chain
+	 * @return first element of specified chain in this partition
+	 * @throws NoSuchElementException if chain is empty in this partition
+	 */
+	public E getFirstElement(String chainName)
+	{
+		ChainState<E> chainState = getChainState(chainName);
+		ChainSummary<E> summary = chainState == null ? null : chainState.getSummary();
+		if((summary == null) || (summary.size == 0L))
 		{
-			lock.unlock();
+			throw new NoSuchElementException();
 		}
+		return summary.firstElement;
+	}
+	
+	/**
+	 * Getter for last element of specified chain in this partition. The element is read without lock.
+	 * 
+	 * @param chainName name of chain
+	 * @return last element of specified chain in this partition
+	 * @throws NoSuchElementException if chain is empty in this partition
+	 */
+	public E getLastElement(String chainName)
+	{
+		ChainState<E> chainState = getChainState(chainName);
+		ChainSummary<E> summary = chainState == null ? null : chainState.getSummary();
+		if((summary == null) || (summary.size == 0L))
+		{
+			throw new NoSuchElementException();
+		}
+		return summary.lastElement;
+	}
+	
+	/**
+	 * Internal method returns state of specified chain in this partition without lock.
+	 * 
+	 * @param chainName name of chain
+	 * @return state of chain or null, if chain was never linked in this partition
+	 */
+	protected ChainState<E> getChainState(String chainName)
+	{
+		MultiChainList<E> multiChainList = this.multiChainList;
+		if(multiChainList == null)
+		{
+			return null;
+		}
+		return getChainState(multiChainList.lookupChainHandle(chainName));
+	}
+	
+	/**
+	 * Internal method returns state of specified chain in this partition without lock.
+	 * 
+	 * @param chainHandle handle of chain
+	 * @return state of chain or null, if chain was never linked in this partition
+	 */
+	protected ChainState<E> getChainState(ChainHandle chainHandle)
+	{
+		ChainState<E>[] chainStates = this.chainStates;
+		if((chainHandle == null) || (chainStates == null) || (chainHandle.getId() >= chainStates.length))
+		{
+			return null;
+		}
+		return chainStates[chainHandle.getId()];
+	}
+	
+	/**
+	 * Internal method returns state of specified chain in this partition and creates the state, if not exists. This method must invoke 
+	 * with MCL.writeLock or with MCL.readLock and partition lock !
+	 * 
+	 * @param chainHandle handle of chain
+	 * @return state of chain
+	 */
+	private ChainState<E> getOrCreateChainState(ChainHandle chainHandle)
+	{
+		ChainState<E> chainState = getChainState(chainHandle);
+		if(chainState != null)
+		{
+			return chainState;
+		}
+		ChainState<E>[] chainStates = this.chainStates;
+		int id = chainHandle.getId();
+		if(id >= chainStates.length)
+		{
+			chainStates = Arrays.copyOf(chainStates, Math.max(id + 1, chainStates.length * 2));
+		}
+		else
+		{
+			chainStates = chainStates.clone();
+		}
+		chainState = new ChainState<E>(chainHandle);
+		chainStates[id] = chainState;
+		this.chainStates = chainStates;
+		return chainState;
 	}
 	
 	/**
@@ -363,13 +859,36 @@ public class Partition<E>
 	 */
 	protected Snapshot<E> createSnapshot(String chainName, SnapshotVersion<E> currentVersion)
 	{
-		Lock lock = this.multiChainList.writeLock;
+		this.multiChainList.expungeSnapshots();
+		this.multiChainList.checkRetainedVersionBudget();
+		
+		// read lock prevents modifications with write lock, partition lock prevents modifications in partition locking mode
+		Lock lock = this.multiChainList.readLock;
 		lock.lock();
 		try
 		{
-			Snapshot<E> snapshot = new Snapshot<>(currentVersion, chainName, this, this.multiChainList);
-			currentVersion.addSnapshot(snapshot);
-			return snapshot;
+			Lock partitionLock = this.partitionLock;
+			partitionLock.lock();
+			try
+			{
+				Snapshot<E> snapshot = new Snapshot<>(currentVersion, chainName, this, this.multiChainList);
+				Lock snapshotVersionLock = this.multiChainList.snapshotVersionLock;
+				snapshotVersionLock.lock();
+				try
+				{
+					currentVersion.addSnapshot(snapshot);
+					this.multiChainList.snapshotOpen = true;
+				}
+				finally 
+				{
+					snapshotVersionLock.unlock();
+				}
+				return snapshot;
+			}
+			finally 
+			{
+				partitionLock.unlock();
+			}
 		}
 		finally 
 		{
@@ -385,11 +904,16 @@ public class Partition<E>
 	 */
 	protected class Bollard extends Node<E>
 	{
+		@SuppressWarnings("unchecked")
 		protected Bollard()
 		{
 			super(null,Partition.this.multiChainList);
+			this.eyeboltsByChainId = new Eyebolt[8];
 		}
 		
+		// all chains of partition are linked with bollards, so eyebolts are indexed by id of chain handle
+		private Eyebolt<E>[] eyeboltsByChainId = null;
+		
 		@Override
 		protected boolean isPayload()
 		{
@@ -404,14 +928,58 @@ public class Partition<E>
 		@Override
 		protected Eyebolt<E> getLink(String chainName)
 		{
-			return (Eyebolt<E>)super.getLink(chainName);
+			MultiChainList<E> multiChainList = this.multiChainList;
+			if(multiChainList == null)
+			{
+				return null;
+			}
+			return getLinkByHandle(multiChainList.lookupChainHandle(chainName));
+		}
+		
+		@Override
+		protected Eyebolt<E> getLinkByHandle(ChainHandle chainHandle)
+		{
+			Eyebolt<E>[] eyebolts = this.eyeboltsByChainId;
+			if((chainHandle == null) || (eyebolts == null) || (chainHandle.getId() >= eyebolts.length))
+			{
+				return null;
+			}
+			return eyebolts[chainHandle.getId()];
 		}
 
 		@Override
 		protected Eyebolt<E> createHead(LinkageDefinition<E> linkageDefinition, SnapshotVersion<E> currentVersion, LinkMode linkMode)
 		{
-			Link<E> link = new Eyebolt<E>(linkageDefinition, this, currentVersion);
-			return (Eyebolt<E>)super.setHead(linkageDefinition.getChainName(), link, null);
+			Link<E> link = new Eyebolt<E>(linkageDefinition, this, currentVersion, getOrCreateChainState(linkageDefinition.getChainHandle()));
+			return (Eyebolt<E>)setHead(linkageDefinition.getChainHandle(), link, null);
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		protected Link<E> setHead(ChainHandle chainHandle, Link<E> link, LinkMode linkMode)
+		{
+			Link<E> head = super.setHead(chainHandle, link, linkMode);
+			
+			Eyebolt<E>[] eyebolts = this.eyeboltsByChainId;
+			int id = chainHandle.getId();
+			if((eyebolts == null) || (id >= eyebolts.length))
+			{
+				if(link == null)
+				{
+					return head;
+				}
+				eyebolts = eyebolts == null ? new Eyebolt[id + 1] : Arrays.copyOf(eyebolts, Math.max(id + 1, eyebolts.length * 2));
+			}
+			eyebolts[id] = (Eyebolt<E>)link;
+			this.eyeboltsByChainId = eyebolts;
+			return head;
+		}
+		
+		@Override
+		protected void dispose()
+		{
+			super.dispose();
+			this.eyeboltsByChainId = null;
 		}
 	}
 
@@ -424,51 +992,216 @@ public class Partition<E>
 	 */
 	protected static class Eyebolt<E> extends Link<E>
 	{
-		protected Eyebolt(LinkageDefinition<E> linkageDefinition, Node<E> parent, SnapshotVersion<E> currentVersion)
+		protected Eyebolt(LinkageDefinition<E> linkageDefinition, Node<E> parent, SnapshotVersion<E> currentVersion, ChainState<E> chainState)
 		{
 			super(linkageDefinition, parent, currentVersion);
+			this.chainState = chainState;
 		}
 		
-		private long size = 0;
+		// shared by begin and end of chain in partition and by all versions
+		private final ChainState<E> chainState;
 		
 		protected long getSize()
 		{
-			return size;
+			return chainState.getSize();
 		}
 
-		protected void setSize(long size)
+		/**
+		 * Internal method to update size, first element and last element of chain in partition. This method must invoke at begin of chain 
+		 * after links are modified, with MCL.writeLock or with MCL.readLock and partition lock !
+		 * 
+		 * @param size new size of chain in partition
+		 * @param endLink end of chain in partition
+		 */
+		protected void setSize(long size, Eyebolt<E> endLink)
 		{
-			this.size = size;
-		}
-		
-		protected long incrementSize()
-		{
-			return ++size;
-		}
-		
-		protected long decrementSize()
-		{
-			return --size;
+			ChainState<E> chainState = this.chainState;
+			boolean released = size < chainState.size;
+			
+			// size, first link and last link are published together, elements are resolved by readers
+			long stamp = chainState.stamp;
+			chainState.stamp = stamp + 1L;
+			chainState.size = size;
+			chainState.firstLink = size == 0L ? null : this.nextLink;
+			chainState.lastLink = size == 0L ? null : endLink.previewsLink;
+			chainState.stamp = stamp + 2L;
+			Node<E> bollard = this.node;
+			if(released && (bollard != null) && (bollard.multiChainList != null))
+			{
+				// wake up producers waiting for capacity of chain
+				bollard.multiChainList.capacitySignal.signal();
+			}
 		}
 		
 		protected Eyebolt<E> createNewerLink(SnapshotVersion<E> currentVersion, LinkMode linkMode)
 		{
-			Eyebolt<E> newVersion = new Eyebolt<>(this.linkageDefinition, this.node,currentVersion);
-			newVersion.size = size;
+			Eyebolt<E> newVersion = new Eyebolt<>(this.linkageDefinition, this.node,currentVersion, this.chainState);
 			newVersion.olderVersion = this;
 			this.newerVersion = newVersion;
 			this.node.multiChainList.setObsolete(this);
-			this.node.setHead(this.linkageDefinition.getChainName(), newerVersion, null);
+			this.node.setHead(this.linkageDefinition.getChainHandle(), newerVersion, null);
 			return newVersion;
 		}
 
 		@Override
 		public String toString()
 		{
-			return super.toString() + " size " + size;
+			return super.toString() + " size " + chainState.getSize();
 		}
 	}
 	
+	/**
+	 * Internal helper class holds size, first element and last element of a chain in partition. The values are updated by writers of chain 
+	 * and can be read without lock, so monitoring does not contend with writers. Writers publish size, first link and last link with a stamp, 
+	 * which is odd while the values are updated. Readers resolve the elements and create a {@link ChainSummary} on demand.
+	 * 
+	 * @author Sebastian Palarus
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	protected static class ChainState<E>
+	{
+		protected ChainState(ChainHandle chainHandle)
+		{
+			super();
+			this.chainHandle = chainHandle;
+		}
+		
+		@SuppressWarnings("rawtypes")
+		private static final ChainSummary EMPTY_SUMMARY = new ChainSummary<>(0L, null, null);
+		
+		private final ChainHandle chainHandle;
+		private volatile long stamp = 0L;
+		private volatile long size = 0L;
+		private volatile Link<E> firstLink = null;
+		private volatile Link<E> lastLink = null;
+		private final LongAdder appendCount = new LongAdder();
+		private final LongAdder prependCount = new LongAdder();
+		
+		protected ChainHandle getChainHandle()
+		{
+			return chainHandle;
+		}
+		
+		/**
+		 * Internal method to count appended elements, if metrics are enabled.
+		 * 
+		 * @param multiChainList owner list
+		 * @param count count of appended elements
+		 */
+		protected void countAppend(MultiChainList<E> multiChainList, long count)
+		{
+			if(multiChainList.metrics != null)
+			{
+				appendCount.add(count);
+			}
+		}
+		
+		/**
+		 * Internal method to count prepended elements, if metrics are enabled.
+		 * 
+		 * @param multiChainList owner list
+		 * @param count count of prepended elements
+		 */
+		protected void countPrepend(MultiChainList<E> multiChainList, long count)
+		{
+			if(multiChainList.metrics != null)
+			{
+				prependCount.add(count);
+			}
+		}
+		
+		protected long getAppendCount()
+		{
+			return appendCount.sum();
+		}
+		
+		protected long getPrependCount()
+		{
+			return prependCount.sum();
+		}
+		
+		protected void resetCounts()
+		{
+			appendCount.reset();
+			prependCount.reset();
+		}
+		
+		@SuppressWarnings("unchecked")
+		protected static <E> ChainSummary<E> emptySummary()
+		{
+			return (ChainSummary<E>)EMPTY_SUMMARY;
+		}
+		
+		protected long getSize()
+		{
+			return size;
+		}
+		
+		/**
+		 * Internal method returns size, first element and last element of chain in partition from the same state. 
+		 * The elements are resolved while the stamp is unchanged, so links cleared by a later modification are not returned.
+		 * 
+		 * @return summary of chain in partition
+		 */
+		protected ChainSummary<E> getSummary()
+		{
+			while(true)
+			{
+				long stamp = this.stamp;
+				if((stamp & 1L) == 0L)
+				{
+					long size = this.size;
+					if(size == 0L)
+					{
+						if(stamp == this.stamp)
+						{
+							return emptySummary();
+						}
+						continue;
+					}
+					
+					Link<E> firstLink = this.firstLink;
+					Link<E> lastLink = this.lastLink;
+					E firstElement = firstLink == null ? null : firstLink.getElement();
+					E lastElement = lastLink == null ? null : lastLink.getElement();
+					if(stamp == this.stamp)
+					{
+						return new ChainSummary<E>(size, firstElement, lastElement);
+					}
+				}
+				else
+				{
+					// writer updates values
+					Thread.yield();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Internal helper class, immutable summary of chain in partition: size, first element and last element of the same state. 
+	 * The summary is created by readers only.
+	 * 
+	 * @author Sebastian Palarus
+	 *
+	 * @param <E> the type of elements in this list
+	 */
+	protected static final class ChainSummary<E>
+	{
+		protected ChainSummary(long size, E firstElement, E lastElement)
+		{
+			super();
+			this.size = size;
+			this.firstElement = firstElement;
+			this.lastElement = lastElement;
+		}
+		
+		protected final long size;
+		protected final E firstElement;
+		protected final E lastElement;
+	}
+	
 	
 	@Override
 	public int hashCode()
@@ -559,7 +1292,10 @@ public class Partition<E>
 			{
 				for(SnapshotVersion<E> version : multiChainList.openSnapshotVersionList)
 				{
-					builder.append(version.getSequence() + " ");
+					if(version.getOpenSnapshotCount() > 0)
+					{
+						builder.append(version.getSequence() + " ");
+					}
 				}
 			}
 			
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+/**
+ * Thrown if a snapshot is rejected, because obsolete links retained on behalf of open snapshots exceed the retained version budget.
+ * 
+ * @see MultiChainList#setRetainedVersionBudget(long, MultiChainList.RetainedVersionPolicy)
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public class RetainedVersionBudgetException extends RuntimeException
+{
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 3318006125937785416L;
+	
+	private long retainedLinkBudget;
+	private long retainedLinkCount;
+	
+	public RetainedVersionBudgetException(long retainedLinkBudget, long retainedLinkCount)
+	{
+		super("retained links " + retainedLinkCount + " exceed retained version budget " + retainedLinkBudget);
+		this.retainedLinkBudget = retainedLinkBudget;
+		this.retainedLinkCount = retainedLinkCount;
+	}
+	
+	/**
+	 * Getter for retained version budget
+	 * 
+	 * @return max count of retained links
+	 */
+	public long getRetainedLinkBudget()
+	{
+		return retainedLinkBudget;
+	}
+	
+	/**
+	 * Getter for count of retained links, while snapshot was rejected
+	 * 
+	 * @return count of retained links
+	 */
+	public long getRetainedLinkCount()
+	{
+		return retainedLinkCount;
+	}
+}
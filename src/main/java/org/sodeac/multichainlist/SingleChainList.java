@@ -22,6 +22,18 @@ public class SingleChainList<E> extends ChainView<E>
 		super(partitions);
 	}
 
+	/**
+	 * Enables or disables combining append mode for default linker. See {@link Linker#setCombiningAppend(boolean)} .
+	 * 
+	 * @param combiningAppend true, to enable combining append mode, otherwise false
+	 * @return this list
+	 */
+	public SingleChainList<E> setCombiningAppend(boolean combiningAppend)
+	{
+		super.defaultLinker().setCombiningAppend(combiningAppend);
+		return this;
+	}
+	
 	@Override
 	public void dispose()
 	{
@@ -7,17 +7,24 @@
  *
  * Contributors:
  *     Sebastian Palarus - initial API and implementation
- *******************************************************************************/
+ *******************************************************************************/
 package org.sodeac.multichainlist;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.sodeac.multichainlist.MultiChainList.SnapshotTracker;
 import org.sodeac.multichainlist.MultiChainList.SnapshotVersion;
 import org.sodeac.multichainlist.Node.Link;
 import org.sodeac.multichainlist.Partition.Eyebolt;
@@ -33,8 +40,21 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 	protected Link<E> lastLink;
 	protected volatile boolean closed;
 	protected long size;
+	protected long openedAt = 0L;
+	protected SnapshotTracker<E> tracker = null;
+	protected volatile boolean expired = false;
 	
 	protected Snapshot(SnapshotVersion<E> version, String chainName, Partition<E> partition,MultiChainList<E> parent)
+	{
+		this(version, chainName, parent.lookupChainHandle(chainName), partition, parent);
+	}
+	
+	protected Snapshot(SnapshotVersion<E> version, ChainHandle chainHandle, Partition<E> partition,MultiChainList<E> parent)
+	{
+		this(version, chainHandle.getName(), chainHandle, partition, parent);
+	}
+	
+	private Snapshot(SnapshotVersion<E> version, String chainName, ChainHandle chainHandle, Partition<E> partition,MultiChainList<E> parent)
 	{
 		super();
 		this.uuid = UUID.randomUUID();
@@ -43,7 +63,7 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 		this.partition = partition;
 		this.parent = parent;
 		this.chainName = chainName;
-		Eyebolt<E> beginLink = this.partition.getPartitionBegin().getLink(this.chainName);
+		Eyebolt<E> beginLink = this.partition.getPartitionBegin().getLinkByHandle(chainHandle);
 		if(beginLink == null)
 		{
 			firstLink = null;
@@ -54,7 +74,7 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 			firstLink = beginLink.nextLink;
 			this.size = beginLink.getSize();
 		}
-		Eyebolt<E> endLink = this.partition.getPartitionEnd().getLink(this.chainName) ; 
+		Eyebolt<E> endLink = this.partition.getPartitionEnd().getLinkByHandle(chainHandle) ; 
 		lastLink = endLink == null ? null : endLink.previewsLink;
 	}
 	
@@ -88,17 +108,89 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 		{
 			return;
 		}
-		Lock lock = this.parent.writeLock;
+		boolean removeVersion = false;
+		Lock lock = this.parent.readLock;
 		lock.lock();
 		try
 		{
-			closed = true;
-			this.version.removeSnapshot(this);
+			Lock snapshotVersionLock = this.parent.snapshotVersionLock;
+			snapshotVersionLock.lock();
+			try
+			{
+				if(closed)
+				{
+					return;
+				}
+				closed = true;
+				removeVersion = this.version.removeSnapshot(this);
+			}
+			finally 
+			{
+				snapshotVersionLock.unlock();
+			}
 		}
 		finally 
 		{
 			lock.unlock();
 		}
+		if(removeVersion)
+		{
+			// last snapshot of version: clean-up requires write lock
+			this.parent.removeSnapshotVersion(this.version);
+		}
+		
+		ILatencyRecorder latencyRecorder = this.parent.latencyRecorder;
+		UUID listId = this.parent.uuid;
+		if((this.openedAt != 0L) && (latencyRecorder != null) && (listId != null))
+		{
+			latencyRecorder.recordSnapshot(listId.toString(), getRecordChainName(), getRecordPartitionNames(), this.size, System.nanoTime() - this.openedAt);
+		}
+	}
+	
+	/**
+	 * Internal method to close snapshot, because it is older than max snapshot age.
+	 * 
+	 * @return true, if snapshot was open, otherwise false
+	 */
+	protected boolean expire()
+	{
+		if(closed)
+		{
+			return false;
+		}
+		this.expired = true;
+		close();
+		return true;
+	}
+	
+	/**
+	 * returns if snapshot was closed by list, because it was older than max snapshot age (see {@link MultiChainList#setMaxSnapshotAge(long, java.util.concurrent.TimeUnit)})
+	 * 
+	 * @return true if snapshot is expired, otherwise false
+	 */
+	public boolean isExpired()
+	{
+		return expired;
+	}
+	
+	/**
+	 * Internal method returns name of chain to record by {@link ILatencyRecorder#recordSnapshot(String, String, String, long, long)}.
+	 * 
+	 * @return name of chain
+	 */
+	protected String getRecordChainName()
+	{
+		return this.chainName;
+	}
+	
+	/**
+	 * Internal method returns names of partitions to record by {@link ILatencyRecorder#recordSnapshot(String, String, String, long, long)}.
+	 * 
+	 * @return names of partitions, separated by comma
+	 */
+	protected String getRecordPartitionNames()
+	{
+		return this.partition == null ? null : this.partition.getName();
 	}
 	
 	/**
@@ -213,7 +305,47 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 	 */
 	public Stream<Node<E>> nodeStream()
 	{
-		return StreamSupport.stream(nodeIterable().spliterator(), false);
+		return StreamSupport.stream(nodeSpliterator(), false);
+	}
+	
+	/**
+	 * Returns node spliterator. Spliterator splits along partitions and within large partitions. 
+	 * 
+	 * @return node spliterator
+	 */
+	public Spliterator<Node<E>> nodeSpliterator()
+	{
+		if(closed)
+		{
+			throw new RuntimeException("snapshot is closed");
+		}
+		return new SnapshotSpliterator<Node<E>>(link -> link.node, Spliterator.NONNULL);
+	}
+	
+	/**
+	 * Returns element spliterator. Spliterator splits along partitions and within large partitions, 
+	 * so {@link Snapshot#parallelStream()} processes partitions and parts of partitions concurrently.
+	 * 
+	 * @return element spliterator
+	 */
+	@Override
+	public Spliterator<E> spliterator()
+	{
+		if(closed)
+		{
+			throw new RuntimeException("snapshot is closed");
+		}
+		return new SnapshotSpliterator<E>(link -> link.getElement(), 0);
+	}
+	
+	/**
+	 * Internal method returns snapshots of partitions covered by this snapshot. Each snapshot is iterated with {@link Snapshot#linkIterable()}.
+	 * 
+	 * @return snapshots of partitions
+	 */
+	protected List<Snapshot<E>> getPartitionSnapshots()
+	{
+		return this.size == 0L ? Collections.emptyList() : Collections.singletonList(this);
 	}
 	
 	@Override
@@ -349,7 +481,7 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 		{
 			throw new NoSuchElementException();
 		}
-		return firstLink.element;
+		return firstLink.getElement();
 	}
 
 	protected Link<E> getFirstLink()
@@ -385,7 +517,7 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 		{
 			throw new NoSuchElementException();
 		}
-		return lastLink.element;
+		return lastLink.getElement();
 	}
 
 	protected Link<E> getLastLink()
@@ -453,7 +585,187 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 		@Override
 		public E next()
 		{
-			return super.nextLink().element;
+			return super.nextLink().getElement();
+		}
+	}
+	
+	/**
+	 * private helper class. Spliterator over snapshots of partitions. 
+	 * 
+	 * <p>Spliterator is split between snapshots of partitions first. A single large snapshot of partition is split by copying 
+	 * a batch of elements into an array, because links can only be traversed in sequence.
+	 * 
+	 * @author Sebastian Palarus
+	 * @since 1.1
+	 * @version 1.1
+	 *
+	 * @param <T> the type of elements returned by spliterator
+	 */
+	private class SnapshotSpliterator<T> implements Spliterator<T>
+	{
+		private static final int BATCH_UNIT = 1 << 10;
+		private static final int MAX_BATCH = 1 << 25;
+		
+		private Function<Link<E>,T> mapper = null;
+		private int additionalCharacteristics;
+		private Snapshot<E>[] partitionSnapshots = null;
+		private int index;
+		private int fence;
+		private Iterator<Link<E>> iterator = null;
+		private long iteratorRemaining = 0L;
+		private long remaining;
+		private int batch = 0;
+		
+		@SuppressWarnings("unchecked")
+		private SnapshotSpliterator(Function<Link<E>,T> mapper, int additionalCharacteristics)
+		{
+			super();
+			this.mapper = mapper;
+			this.additionalCharacteristics = additionalCharacteristics;
+			List<Snapshot<E>> partitionSnapshotList = getPartitionSnapshots();
+			this.partitionSnapshots = partitionSnapshotList.toArray(new Snapshot[partitionSnapshotList.size()]);
+			this.index = 0;
+			this.fence = this.partitionSnapshots.length;
+			this.remaining = Snapshot.this.size;
+		}
+		
+		private SnapshotSpliterator(SnapshotSpliterator<T> parent, int index, int fence, long remaining)
+		{
+			super();
+			this.mapper = parent.mapper;
+			this.additionalCharacteristics = parent.additionalCharacteristics;
+			this.partitionSnapshots = parent.partitionSnapshots;
+			this.index = index;
+			this.fence = fence;
+			this.remaining = remaining;
+		}
+		
+		private boolean nextIterator()
+		{
+			while((this.iteratorRemaining == 0L) && (this.index < this.fence))
+			{
+				Snapshot<E> partitionSnapshot = this.partitionSnapshots[this.index++];
+				this.iterator = partitionSnapshot.linkIterable().iterator();
+				this.iteratorRemaining = partitionSnapshot.size;
+			}
+			return this.iteratorRemaining > 0L;
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action)
+		{
+			if(Snapshot.this.closed)
+			{
+				throw new RuntimeException("snapshot is closed");
+			}
+			if(! nextIterator())
+			{
+				return false;
+			}
+			this.iteratorRemaining--;
+			this.remaining--;
+			action.accept(mapper.apply(this.iterator.next()));
+			return true;
+		}
+		
+		@Override
+		public void forEachRemaining(Consumer<? super T> action)
+		{
+			if(Snapshot.this.closed)
+			{
+				throw new RuntimeException("snapshot is closed");
+			}
+			while(nextIterator())
+			{
+				while(this.iteratorRemaining > 0L)
+				{
+					this.iteratorRemaining--;
+					this.remaining--;
+					action.accept(mapper.apply(this.iterator.next()));
+				}
+			}
+		}
+		
+		@Override
+		public Spliterator<T> trySplit()
+		{
+			if(Snapshot.this.closed)
+			{
+				throw new RuntimeException("snapshot is closed");
+			}
+			
+			int unstarted = this.fence - this.index;
+			if(this.iteratorRemaining == 0L)
+			{
+				if(unstarted > 1)
+				{
+					// split along partitions
+					int middle = this.index + (unstarted >>> 1);
+					long prefixSize = 0L;
+					for(int i = this.index; i < middle; i++)
+					{
+						prefixSize += this.partitionSnapshots[i].size;
+					}
+					SnapshotSpliterator<T> prefix = new SnapshotSpliterator<T>(this, this.index, middle, prefixSize);
+					this.index = middle;
+					this.remaining -= prefixSize;
+					return prefix;
+				}
+				if(! nextIterator())
+				{
+					return null;
+				}
+			}
+			else if(unstarted > 0)
+			{
+				// current partition and first half of unstarted partitions
+				int middle = this.index + (unstarted >>> 1);
+				long prefixSize = this.iteratorRemaining;
+				for(int i = this.index; i < middle; i++)
+				{
+					prefixSize += this.partitionSnapshots[i].size;
+				}
+				SnapshotSpliterator<T> prefix = new SnapshotSpliterator<T>(this, this.index, middle, prefixSize);
+				prefix.iterator = this.iterator;
+				prefix.iteratorRemaining = this.iteratorRemaining;
+				this.iterator = null;
+				this.iteratorRemaining = 0L;
+				this.index = middle;
+				this.remaining -= prefixSize;
+				return prefix;
+			}
+			
+			// split within partition
+			if(this.iteratorRemaining < 2L)
+			{
+				return null;
+			}
+			int batchSize = Math.min(this.batch + BATCH_UNIT, MAX_BATCH);
+			if(batchSize >= this.iteratorRemaining)
+			{
+				batchSize = (int)(this.iteratorRemaining >>> 1);
+			}
+			Object[] array = new Object[batchSize];
+			for(int i = 0; i < batchSize; i++)
+			{
+				array[i] = mapper.apply(this.iterator.next());
+			}
+			this.batch = batchSize;
+			this.iteratorRemaining -= batchSize;
+			this.remaining -= batchSize;
+			return Spliterators.spliterator(array, 0, batchSize, characteristics());
+		}
+		
+		@Override
+		public long estimateSize()
+		{
+			return this.remaining;
+		}
+		
+		@Override
+		public int characteristics()
+		{
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE | this.additionalCharacteristics;
 		}
 	}
 	
@@ -468,6 +780,7 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 		private Link<E> previews = null;
 		private Link<E> next = null;
 		private boolean nextCalculated = false;
+		private long count = 0L;
 		
 		private SnapshotIterator()
 		{
@@ -485,9 +798,11 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 			
 			nextCalculated = true;
 			
-			if(Snapshot.this.size == 0L)
+			if(this.count >= Snapshot.this.size)
 			{
+				// snapshot can cover the first links of chain only
 				this.next = null;
+				this.previews = null;
 				return false;
 			}
 			
@@ -568,6 +883,7 @@ public class Snapshot<E> implements AutoCloseable, Collection<E>
 				{
 					throw new NoSuchElementException();
 				}
+				this.count++;
 				return this.next;
 			}
 			finally 
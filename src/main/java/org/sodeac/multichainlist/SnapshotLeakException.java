@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+/**
+ * Reports a snapshot, which was garbage collected without being closed. The stack trace of this exception is the stack trace of snapshot creation.
+ *
+ * @see MultiChainList#setSnapshotLeakHandler(java.util.function.Consumer)
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+public class SnapshotLeakException extends RuntimeException
+{
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -2870467322580512246L;
+
+	private String listId;
+	private String chainName;
+
+	public SnapshotLeakException(String listId, String chainName)
+	{
+		super("snapshot of chain " + chainName + " in list " + listId + " was not closed");
+		this.listId = listId;
+		this.chainName = chainName;
+	}
+
+	/**
+	 * Getter for uuid of list
+	 *
+	 * @return uuid of list
+	 */
+	public String getListId()
+	{
+		return listId;
+	}
+
+	/**
+	 * Getter for name of snapshot's chain
+	 *
+	 * @return name of chain
+	 */
+	public String getChainName()
+	{
+		return chainName;
+	}
+}
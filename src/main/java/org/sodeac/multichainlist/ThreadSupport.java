@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+/**
+ * Internal helper for thread dependent behavior. 
+ * 
+ * <p>This is the Java 8 implementation. The multi-release jar contains a Java 21 implementation in META-INF/versions/21, 
+ * which recognizes virtual threads.
+ * 
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+class ThreadSupport
+{
+	private ThreadSupport()
+	{
+		super();
+	}
+	
+	/**
+	 * Checks if current thread is a virtual thread. 
+	 * 
+	 * @return true, if current thread is a virtual thread, otherwise false
+	 */
+	static boolean isVirtualThread()
+	{
+		return false;
+	}
+}
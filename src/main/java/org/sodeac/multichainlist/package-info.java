@@ -56,6 +56,10 @@
  * A snapshot is not a deep copy from list. The costs of snapshot creation depends on partitions size, not of element size. 
  * Modify a list with open snapshots raise minimal higher costs then modify a list without open snapshots. So after use, <strong>a snapshot should be closed</strong>.
  * 
+ * <p>For primitive payloads {@link org.sodeac.multichainlist.LongMultiChainList} and {@link org.sodeac.multichainlist.IntMultiChainList} store the elements without boxing. 
+ * {@link org.sodeac.multichainlist.LongLinker}, {@link org.sodeac.multichainlist.LongChainView} and {@link org.sodeac.multichainlist.LongSnapshot} 
+ * (or the int counterparts) link and read the elements as primitive values.
+ * 
  * <p>
  * <code>
  * try(Snapshot&lt;String&gt; snapshot = list.chain(null).createImmutableSnapshot())<br>
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Internal helper to create a latency recorder committing Java Flight Recorder events.
+ *
+ * <p>This is the Java 21 implementation of multi-release jar. Events are committed only while a recording enables them,
+ * otherwise measurement is skipped by {@link ILatencyRecorder#isEnabled()}.
+ *
+ * @author Sebastian Palarus
+ * @since 1.1
+ * @version 1.1
+ *
+ */
+class FlightRecorderSupport
+{
+	private FlightRecorderSupport()
+	{
+		super();
+	}
+
+	/**
+	 * Creates a latency recorder committing Java Flight Recorder events.
+	 *
+	 * @return latency recorder or null, if Java Flight Recorder events are not supported
+	 */
+	static ILatencyRecorder newRecorder()
+	{
+		return new FlightRecorder();
+	}
+
+	/**
+	 * Internal latency recorder committing Java Flight Recorder events.
+	 *
+	 * @author Sebastian Palarus
+	 *
+	 */
+	private static class FlightRecorder implements ILatencyRecorder
+	{
+		private final EventType lockEventType = EventType.getEventType(LockEvent.class);
+		private final EventType snapshotEventType = EventType.getEventType(SnapshotEvent.class);
+		private final EventType reclamationEventType = EventType.getEventType(ReclamationEvent.class);
+
+		@Override
+		public boolean isEnabled()
+		{
+			return lockEventType.isEnabled() || snapshotEventType.isEnabled() || reclamationEventType.isEnabled();
+		}
+
+		@Override
+		public void recordLock(String listId, String operation, boolean exclusive, long waitNanos, long holdNanos)
+		{
+			LockEvent event = new LockEvent();
+			if(! event.isEnabled())
+			{
+				return;
+			}
+			event.listId = listId;
+			event.operation = operation;
+			event.exclusive = exclusive;
+			event.waitTime = waitNanos;
+			event.holdTime = holdNanos;
+			event.commit();
+		}
+
+		@Override
+		public void recordSnapshot(String listId, String chainName, String partitionNames, long size, long openNanos)
+		{
+			SnapshotEvent event = new SnapshotEvent();
+			if(! event.isEnabled())
+			{
+				return;
+			}
+			event.listId = listId;
+			event.chainName = chainName;
+			event.partitionNames = partitionNames;
+			event.size = size;
+			event.openTime = openNanos;
+			event.commit();
+		}
+
+		@Override
+		public void recordReclamation(String listId, long freedLinks, boolean pending, long durationNanos)
+		{
+			ReclamationEvent event = new ReclamationEvent();
+			if(! event.isEnabled())
+			{
+				return;
+			}
+			event.listId = listId;
+			event.freedLinks = freedLinks;
+			event.pending = pending;
+			event.reclamationTime = durationNanos;
+			event.commit();
+		}
+	}
+
+	@Name("org.sodeac.multichainlist.Lock")
+	@Label("MultiChainList Lock")
+	@Description("Lock acquisition of a MultiChainList operation")
+	@Category({"Sodeac", "MultiChainList"})
+	@StackTrace(false)
+	static class LockEvent extends Event
+	{
+		@Label("List Id")
+		String listId;
+
+		@Label("Operation")
+		String operation;
+
+		@Label("Exclusive")
+		@Description("Write lock is acquired")
+		boolean exclusive;
+
+		@Label("Wait Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long waitTime;
+
+		@Label("Hold Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long holdTime;
+	}
+
+	@Name("org.sodeac.multichainlist.Snapshot")
+	@Label("MultiChainList Snapshot")
+	@Description("Lifetime of a MultiChainList snapshot, from creation to close")
+	@Category({"Sodeac", "MultiChainList"})
+	@StackTrace(false)
+	static class SnapshotEvent extends Event
+	{
+		@Label("List Id")
+		String listId;
+
+		@Label("Chain")
+		String chainName;
+
+		@Label("Partitions")
+		String partitionNames;
+
+		@Label("Size")
+		long size;
+
+		@Label("Open Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long openTime;
+	}
+
+	@Name("org.sodeac.multichainlist.Reclamation")
+	@Label("MultiChainList Reclamation")
+	@Description("Reclamation pass of obsolete links")
+	@Category({"Sodeac", "MultiChainList"})
+	@StackTrace(false)
+	static class ReclamationEvent extends Event
+	{
+		@Label("List Id")
+		String listId;
+
+		@Label("Freed Links")
+		long freedLinks;
+
+		@Label("Pending")
+		@Description("Reclamation stopped because of reclaim budget")
+		boolean pending;
+
+		@Label("Reclamation Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long reclamationTime;
+	}
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BlockingConsumerTest
+{
+	@Test
+	public void test00001AwaitTimeout() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+
+		long start = System.nanoTime();
+		assertFalse("chain should be empty", chainView.awaitNonEmpty(50, TimeUnit.MILLISECONDS));
+		assertTrue("consumer should wait", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+		Snapshot<String> snapshot = chainView.takeSnapshotPoll(10, TimeUnit.MILLISECONDS);
+		assertTrue("snapshot should be empty", snapshot.isEmpty());
+		snapshot.close();
+
+		chainView.defaultLinker().append("1");
+		assertTrue("chain should not be empty", chainView.awaitNonEmpty(0, TimeUnit.MILLISECONDS));
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002WakeUpOnAppend() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView("chain1");
+		Linker<String> otherChainLinker = multiChainList.createChainView("chain2").defaultLinker();
+		AtomicLong wakeUp = new AtomicLong();
+		List<String> consumed = Collections.synchronizedList(new ArrayList<String>());
+		CountDownLatch waiting = new CountDownLatch(1);
+
+		Thread consumer = new Thread(() ->
+		{
+			try
+			{
+				waiting.countDown();
+				try(Snapshot<String> snapshot = chainView.takeSnapshotPoll(10, TimeUnit.SECONDS))
+				{
+					wakeUp.set(System.nanoTime());
+					consumed.addAll(snapshot);
+				}
+			}
+			catch (InterruptedException e) {}
+		});
+		consumer.start();
+		waiting.await();
+		Thread.sleep(100);
+
+		// elements in other chains must not release consumer
+		otherChainLinker.append("x");
+		Thread.sleep(50);
+		assertTrue("consumer should wait", consumed.isEmpty());
+
+		long append = System.nanoTime();
+		chainView.defaultLinker().prepend("1");
+		consumer.join(10000);
+
+		assertEquals("consumed elements should be correct", Collections.singletonList("1"), consumed);
+		assertTrue("consumer should wake up without polling interval", wakeUp.get() - append < TimeUnit.SECONDS.toNanos(1));
+		assertEquals("chain should be empty", 0, chainView.getSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003ProducersAndConsumers() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>("P1","P2");
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		int producerCount = 4;
+		int consumerCount = 4;
+		int elementsPerProducer = 10000;
+		AtomicLong consumed = new AtomicLong();
+		AtomicLong sum = new AtomicLong();
+
+		List<Thread> threads = new ArrayList<Thread>();
+		for(int i = 0; i < consumerCount; i++)
+		{
+			threads.add(new Thread(() ->
+			{
+				try
+				{
+					while(consumed.get() < producerCount * elementsPerProducer)
+					{
+						try(Snapshot<Integer> snapshot = chainView.takeSnapshotPoll(100, TimeUnit.MILLISECONDS))
+						{
+							for(Integer element : snapshot)
+							{
+								sum.addAndGet(element);
+							}
+							consumed.addAndGet(snapshot.size());
+						}
+					}
+				}
+				catch (InterruptedException e) {}
+			}));
+		}
+		for(int i = 0; i < producerCount; i++)
+		{
+			String partition = (i % 2) == 0 ? "P1" : "P2";
+			threads.add(new Thread(() ->
+			{
+				Linker<Integer> linker = chainView.cachedLinker(partition);
+				for(int j = 1; j <= elementsPerProducer; j++)
+				{
+					linker.append(j);
+				}
+			}));
+		}
+		for(Thread thread : threads)
+		{
+			thread.start();
+		}
+		for(Thread thread : threads)
+		{
+			thread.join(60000);
+		}
+
+		assertEquals("consumed elements should be correct", producerCount * elementsPerProducer, consumed.get());
+		assertEquals("sum should be correct", (long)producerCount * ((long)elementsPerProducer * (elementsPerProducer + 1) / 2), sum.get());
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00004SignalPerChainAfterUnlock() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		ChainView<String> chainView1 = multiChainList.createChainView("chain1");
+		ChainView<String> chainView2 = multiChainList.createChainView("chain2");
+		chainView1.cachedLinker("P1").append("0");
+		chainView2.cachedLinker("P1").append("0");
+		MultiChainList.LinkSignal linkSignal1 = multiChainList.getChainHandle("chain1").linkSignal;
+		MultiChainList.LinkSignal linkSignal2 = multiChainList.getChainHandle("chain2").linkSignal;
+
+		// simulate waiting consumers
+		long sequence1 = linkSignal1.register();
+		long sequence2 = linkSignal2.register();
+		try
+		{
+			multiChainList.writeLock.lock();
+			try
+			{
+				chainView2.cachedLinker("P1").appendAll("1","2","3");
+				chainView2.cachedLinker("P2").append("4");
+				chainView2.cachedLinker("P2").prepend("5");
+				assertEquals("signal should be raised after write lock is released", sequence2, linkSignal2.getSequence());
+			}
+			finally
+			{
+				multiChainList.writeLock.unlock();
+			}
+			assertEquals("signal should be raised once per modification", sequence2 + 1L, linkSignal2.getSequence());
+			assertEquals("consumers of other chains should not be signaled", sequence1, linkSignal1.getSequence());
+
+			multiChainList.setPartitionLocking(true);
+			chainView2.cachedLinker("P2").append("6");
+			assertEquals("signal should be raised once per modification", sequence2 + 2L, linkSignal2.getSequence());
+			assertEquals("consumers of other chains should not be signaled", sequence1, linkSignal1.getSequence());
+
+			chainView1.cachedLinker("P2").append("7");
+			assertEquals("signal should be correct", sequence1 + 1L, linkSignal1.getSequence());
+		}
+		finally
+		{
+			linkSignal1.unregister();
+			linkSignal2.unregister();
+		}
+
+		multiChainList.dispose();
+	}
+}
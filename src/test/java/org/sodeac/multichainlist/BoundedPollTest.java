@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BoundedPollTest
+{
+	@Test
+	public void test00001PollFirstElements() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.defaultLinker().appendAll("1","2","3","4","5");
+
+		Snapshot<String> snapshot = chainView.createImmutableSnapshotPoll(2);
+		assertEquals("snapshot size should be correct", 2, snapshot.size());
+		assertEquals("snapshot content should be correct", Arrays.asList("1","2"), new ArrayList<String>(snapshot));
+		assertEquals("first element should be correct", "1", snapshot.getFirstElement());
+		assertEquals("last element should be correct", "2", snapshot.getLastElement());
+		snapshot.close();
+
+		assertEquals("size should be correct", 3, chainView.getSize());
+		assertEquals("node size should be correct", 3L, multiChainList.getNodeSize());
+
+		chainView.defaultLinker().prepend("0");
+		chainView.defaultLinker().append("6");
+		snapshot = chainView.createImmutableSnapshot();
+		assertEquals("chain content should be correct", Arrays.asList("0","3","4","5","6"), new ArrayList<String>(snapshot));
+		snapshot.close();
+
+		snapshot = chainView.createImmutableSnapshotPoll(100);
+		assertEquals("snapshot content should be correct", Arrays.asList("0","3","4","5","6"), new ArrayList<String>(snapshot));
+		snapshot.close();
+
+		assertEquals("size should be correct", 0, chainView.getSize());
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		try
+		{
+			chainView.createImmutableSnapshotPoll(0);
+			fail("max size should be validated");
+		}
+		catch (IllegalArgumentException e) {}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002PollAcrossPartitions() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2","P3");
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.cachedLinker("P3").appendAll("7","8");
+		chainView.cachedLinker("P1").appendAll("1","2");
+		chainView.cachedLinker("P2").appendAll("3","4","5","6");
+
+		Snapshot<String> snapshot = chainView.createImmutableSnapshotPoll(5);
+		assertEquals("snapshot content should be correct", Arrays.asList("1","2","3","4","5"), new ArrayList<String>(snapshot));
+		assertEquals("last element should be correct", "5", snapshot.getLastElement());
+		snapshot.close();
+
+		assertEquals("size should be correct", 0, multiChainList.getPartition("P1").getSize(null));
+		assertEquals("size should be correct", 1, multiChainList.getPartition("P2").getSize(null));
+		assertEquals("size should be correct", 2, multiChainList.getPartition("P3").getSize(null));
+
+		snapshot = chainView.createImmutableSnapshotPoll(2);
+		assertEquals("snapshot content should be correct", Arrays.asList("6","7"), new ArrayList<String>(snapshot));
+		snapshot.close();
+
+		snapshot = chainView.createImmutableSnapshotPoll(2);
+		assertEquals("snapshot content should be correct", Arrays.asList("8"), new ArrayList<String>(snapshot));
+		snapshot.close();
+
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003OpenSnapshotKeepsDetachedElements() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.defaultLinker().appendAll("1","2","3","4");
+
+		Snapshot<String> openSnapshot = chainView.createImmutableSnapshot();
+
+		Snapshot<String> poll = chainView.createImmutableSnapshotPoll(3);
+		assertEquals("snapshot content should be correct", Arrays.asList("1","2","3"), new ArrayList<String>(poll));
+
+		chainView.defaultLinker().append("5");
+
+		assertEquals("open snapshot content should be correct", Arrays.asList("1","2","3","4"), new ArrayList<String>(openSnapshot));
+		openSnapshot.close();
+		assertEquals("snapshot content should be correct", Arrays.asList("1","2","3"), new ArrayList<String>(poll));
+		poll.close();
+
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		assertEquals("chain content should be correct", Arrays.asList("4","5"), new ArrayList<String>(snapshot));
+		snapshot.close();
+
+		assertEquals("node size should be correct", 2L, multiChainList.getNodeSize());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00004PollKeepsOtherChains() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		Linker<String> linker = LinkerBuilder.newBuilder().inPartition(null).linkIntoChain("chain1").linkIntoChain("chain2").build(multiChainList);
+		linker.appendAll("1","2","3");
+
+		ChainView<String> chain1 = multiChainList.createChainView("chain1");
+		chain1.createImmutableSnapshotPoll(2).close();
+
+		assertEquals("size should be correct", 1, chain1.getSize());
+		assertEquals("size should be correct", 3, multiChainList.createChainView("chain2").getSize());
+		assertEquals("node size should be correct", 3L, multiChainList.getNodeSize());
+
+		LongMultiChainList longList = new LongMultiChainList();
+		longList.defaultLongLinker().appendAll(1L, 2L, 3L);
+		LongSnapshot longSnapshot = longList.createLongChainView(null).createImmutableSnapshotPoll(2);
+		assertArrayEquals("snapshot content should be correct", new long[] {1L,2L}, longSnapshot.toArray());
+		longSnapshot.close();
+		assertEquals("node size should be correct", 1L, longList.getNodeSize());
+
+		longList.dispose();
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00005BatchCostIndependentOfChainSize() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Linker<Integer> linker = chainView.defaultLinker();
+		int size = 200000;
+		for(int i = 0; i < size; i++)
+		{
+			linker.append(i);
+		}
+
+		int expected = 0;
+		while(chainView.getSize() > 0)
+		{
+			try(Snapshot<Integer> snapshot = chainView.createImmutableSnapshotPoll(100))
+			{
+				assertEquals("snapshot size should be correct", Math.min(100, size - expected), snapshot.size());
+				for(Integer element : snapshot)
+				{
+					assertEquals("element should be correct", expected++, element.intValue());
+				}
+			}
+		}
+		assertEquals("count should be correct", size, expected);
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00006FairBatching() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>("P1","P2");
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		int consumerCount = 4;
+		int elementCount = 40000;
+		int maxSize = 50;
+		AtomicLong consumed = new AtomicLong();
+		AtomicLong sum = new AtomicLong();
+		AtomicLong oversized = new AtomicLong();
+		long[] batches = new long[consumerCount];
+
+		for(int i = 1; i <= elementCount; i++)
+		{
+			chainView.cachedLinker((i % 2) == 0 ? "P1" : "P2").append(i);
+		}
+
+		List<Thread> threads = new ArrayList<Thread>();
+		for(int i = 0; i < consumerCount; i++)
+		{
+			int consumerIndex = i;
+			threads.add(new Thread(() ->
+			{
+				try
+				{
+					while(consumed.get() < elementCount)
+					{
+						try(Snapshot<Integer> snapshot = chainView.takeSnapshotPoll(maxSize, 10, TimeUnit.MILLISECONDS))
+						{
+							if(snapshot.size() > maxSize)
+							{
+								oversized.incrementAndGet();
+							}
+							for(Integer element : snapshot)
+							{
+								sum.addAndGet(element);
+							}
+							if(! snapshot.isEmpty())
+							{
+								batches[consumerIndex]++;
+							}
+							consumed.addAndGet(snapshot.size());
+						}
+						Thread.yield();
+					}
+				}
+				catch (InterruptedException e) {}
+			}));
+		}
+		for(Thread thread : threads)
+		{
+			thread.start();
+		}
+		for(Thread thread : threads)
+		{
+			thread.join(60000);
+		}
+
+		assertEquals("consumed elements should be correct", elementCount, consumed.get());
+		assertEquals("sum should be correct", (long)elementCount * (elementCount + 1) / 2, sum.get());
+		assertEquals("batch size should be limited", 0L, oversized.get());
+		long batchCount = 0L;
+		for(long count : batches)
+		{
+			batchCount += count;
+		}
+		assertTrue("batch count should be correct", batchCount >= elementCount / maxSize);
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.sodeac.multichainlist.Partition.LinkMode;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BulkLinkTest
+{
+	@Test
+	public void test00001AppendAllMultipleChains() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>("P1","P2");
+		Linker<String> linker = LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain("a").linkIntoChain(null).inPartition("P2").linkIntoChain("b").build(multiChainList);
+
+		linker.append("1");
+		Node<String>[] nodes = linker.appendAll("2","3","4");
+		linker.append("5");
+
+		assertEquals("nodes size should be correct", 3, nodes.length);
+		for(Node<String> node : nodes)
+		{
+			assertEquals("link size should be correct", 3, node.linkSize());
+			assertNotNull("node should be linked with chain", node.isLink("a"));
+			assertNotNull("node should be linked with chain", node.isLink(null));
+			assertNotNull("node should be linked with chain", node.isLink("b"));
+		}
+		assertEquals("node size should be correct", 5L, multiChainList.getNodeSize());
+
+		for(String chainName : new String[] {"a", null, "b"})
+		{
+			ChainView<String> chain = multiChainList.createChainView(chainName);
+			assertEquals("size of chain should be correct", 5, chain.getSize());
+			Snapshot<String> snapshot = chain.createImmutableSnapshot();
+			int index = 1;
+			for(String item : snapshot)
+			{
+				assertEquals("item should be correct",Integer.toString(index), item);
+				index++;
+			}
+			assertEquals("snapshot size should be correct", 6, index);
+			snapshot.close();
+		}
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002PrependAll() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>();
+		Linker<String> linker = multiChainList.defaultLinker();
+
+		linker.append("x");
+		linker.prependAll("3","2","1");
+		linker.appendAll("y","z");
+
+		Snapshot<String> snapshot = multiChainList.createChainView(null).createImmutableSnapshot();
+		StringBuilder builder = new StringBuilder();
+		for(String item : snapshot)
+		{
+			builder.append(item);
+		}
+		snapshot.close();
+
+		// each element is prepended
+		assertEquals("list content should be correct", "123xyz", builder.toString());
+		assertEquals("first element should be correct", "1", multiChainList.getFirstPartition().getFirstElement(null));
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003OpenSnapshot() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>();
+		Linker<String> linker = multiChainList.defaultLinker();
+		ChainView<String> chain = multiChainList.createChainView(null);
+
+		linker.appendAll("1","2","3");
+		Snapshot<String> snapshot1 = chain.createImmutableSnapshot();
+		Node<String>[] nodes = linker.appendAll("4","5","6");
+		Snapshot<String> snapshot2 = chain.createImmutableSnapshot();
+		linker.prependAll("0");
+		nodes[1].unlinkFromAllChains();
+
+		assertEquals("snapshot size should be correct", 3, snapshot1.size());
+		assertEquals("snapshot content should be correct", "123", join(snapshot1));
+		assertEquals("snapshot size should be correct", 6, snapshot2.size());
+		assertEquals("snapshot content should be correct", "123456", join(snapshot2));
+		snapshot1.close();
+		snapshot2.close();
+
+		Snapshot<String> snapshot3 = chain.createImmutableSnapshot();
+		assertEquals("snapshot content should be correct", "012346", join(snapshot3));
+		snapshot3.close();
+
+		assertEquals("open snapshot version list should be empty", 0, multiChainList.openSnapshotVersionList.size());
+		assertEquals("obsolete list should be empty", 0, multiChainList.obsoleteList.size());
+		assertNull("unlinked node should be disposed", nodes[1].getElement());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00004ListFull() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>();
+		multiChainList.setNodeMaxSize(4);
+		Linker<String> linker = multiChainList.defaultLinker();
+
+		linker.appendAll("1","2");
+		try
+		{
+			linker.appendAll("3","4","5");
+			fail("ListFullException expected");
+		}
+		catch (ListFullException e) {}
+
+		assertEquals("node size should be correct", 2L, multiChainList.getNodeSize());
+		assertEquals("size of chain should be correct", 2, multiChainList.createChainView(null).getSize());
+
+		linker.appendAll("3","4");
+		assertEquals("node size should be correct", 4L, multiChainList.getNodeSize());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00005ChainEventHandler() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>();
+		AtomicLong linkCount = new AtomicLong();
+		multiChainList.registerChainEventHandler(new IChainEventHandler<String>()
+		{
+			@Override
+			public void onLink(Node<String> node, String chainName, Partition<String> partition, LinkMode linkMode, long version)
+			{
+				linkCount.incrementAndGet();
+			}
+
+			@Override
+			public void onUnlink(Node<String> node, String chainName, Partition<String> partition, long version){}
+		});
+
+		multiChainList.defaultLinker().appendAll("1","2","3");
+		assertEquals("link count should be correct", 3L, linkCount.get());
+		assertEquals("node size should be correct", 3L, multiChainList.getNodeSize());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00006LargeBatch() throws Exception
+	{
+		final int batchSize = 100000;
+
+		MultiChainList<Integer> multiChainList = new MultiChainList<>();
+		Linker<Integer> linker = LinkerBuilder.newBuilder().linkIntoChain("a").linkIntoChain("b").build(multiChainList);
+		ChainView<Integer> chainA = multiChainList.createChainView("a");
+
+		List<Integer> batch = new ArrayList<Integer>(batchSize);
+		for(int i = 0; i < batchSize; i++)
+		{
+			batch.add(i);
+		}
+		linker.appendAll(batch);
+		linker.appendAll(batch);
+
+		assertEquals("node size should be correct", 2L * batchSize, multiChainList.getNodeSize());
+
+		Snapshot<Integer> snapshot = chainA.createImmutableSnapshotPoll();
+		assertEquals("snapshot size should be correct", 2 * batchSize, snapshot.size());
+		int index = 0;
+		for(Integer item : snapshot)
+		{
+			assertEquals("item should be correct", index % batchSize, item.intValue());
+			index++;
+		}
+		assertEquals("snapshot size should be correct", 2 * batchSize, index);
+		snapshot.close();
+
+		assertEquals("size of chain should be correct", 0, chainA.getSize());
+		assertEquals("size of chain should be correct", 2 * batchSize, multiChainList.createChainView("b").getSize());
+		assertEquals("node size should be correct", 2L * batchSize, multiChainList.getNodeSize());
+
+		multiChainList.createChainView("b").clear();
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+		multiChainList.dispose();
+	}
+
+	private static String join(Snapshot<String> snapshot)
+	{
+		StringBuilder builder = new StringBuilder();
+		for(String item : snapshot)
+		{
+			builder.append(item);
+		}
+		return builder.toString();
+	}
+}
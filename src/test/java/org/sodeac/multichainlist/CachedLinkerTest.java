@@ -1,8 +1,20 @@
 package org.sodeac.multichainlist;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assume;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
@@ -56,4 +68,144 @@ public class CachedLinkerTest
 		assertSame("linker should not be same", linker1_1, linker1_2);
 		assertSame("linker should not be same", linker2_1, linker2_2);
 	}
+	
+	@Test
+	public void test00002StatementStyleBuilder() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>("P1","P2");
+		
+		MultiChainList<String>.CachedLinkerBuilder builder = multiChainList.cachedLinkerBuilder();
+		assertNotSame("builder should be new", builder, multiChainList.cachedLinkerBuilder());
+		assertSame("assignment should return this builder", builder, builder.inPartition("P1"));
+		builder.linkIntoChain("CA");
+		Linker<String> linker = builder.build();
+		assertSame("linker should be reused", linker, multiChainList.cachedLinkerBuilder().inPartition("P1").linkIntoChain("CA").build());
+		assertSame("linker should be reused", linker, multiChainList.createChainView("CA").cachedLinker("P1"));
+		assertNotSame("linker should not be same", linker, multiChainList.cachedLinkerBuilder().linkIntoChain("CA").inPartition("P1").build());
+		
+		try
+		{
+			multiChainList.cachedLinkerBuilder().build();
+			fail("empty builder should not build linker");
+		}
+		catch (RuntimeException e) {}
+		
+		assertSame("complete should return this builder", builder, builder.complete());
+		assertSame("completed builder should build same linker", linker, builder.build());
+		try
+		{
+			builder.linkIntoChain("CB");
+			fail("completed builder should not accept assignments");
+		}
+		catch (RuntimeException e) {}
+		
+		builder.append("1");
+		builder.append("2");
+		assertEquals("size should be correct", 2, multiChainList.createChainView("CA").getSize());
+		assertEquals("size should be correct", 2, multiChainList.getPartition("P1").getSize("CA"));
+		
+		multiChainList.dispose();
+	}
+	
+	@Test
+	public void test00003ResolveWithoutLock() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>("P1","P2");
+		Linker<String> linker = multiChainList.cachedLinkerBuilder().inPartition("P2").linkIntoChain("CA").build();
+		
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread lockHolder = new Thread(() -> multiChainList.computeProcedure(l -> 
+		{
+			locked.countDown();
+			try
+			{
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {}
+		}));
+		lockHolder.start();
+		locked.await();
+		
+		try
+		{
+			// write lock is held by other thread
+			assertSame("linker should be resolved", linker, multiChainList.cachedLinkerBuilder().inPartition("P2").linkIntoChain("CA").build());
+		}
+		finally 
+		{
+			release.countDown();
+			lockHolder.join();
+		}
+		
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue("allocation measurement should be supported", threadMXBean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean)threadMXBean;
+		Assume.assumeTrue("allocation measurement should be enabled", allocationMXBean.isThreadAllocatedMemoryEnabled());
+		
+		ChainView<String> chainView = multiChainList.createChainView("CA");
+		for(int i = 0; i < 100000; i++)
+		{
+			chainView.cachedLinker("P2");
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = allocationMXBean.getThreadAllocatedBytes(threadId);
+		for(int i = 0; i < 100000; i++)
+		{
+			chainView.cachedLinker("P2");
+		}
+		long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - before;
+		assertTrue("cached resolution should not allocate: " + allocated + " bytes", allocated < 10000);
+		
+		multiChainList.dispose();
+	}
+	
+	@Test
+	public void test00004ConcurrentResolution() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>("P1","P2");
+		int threadCount = 8;
+		CyclicBarrier barrier = new CyclicBarrier(threadCount);
+		List<Linker<String>> linkers = new ArrayList<Linker<String>>();
+		List<Thread> threads = new ArrayList<Thread>();
+		
+		for(int i = 0; i < threadCount; i++)
+		{
+			threads.add(new Thread(() -> 
+			{
+				try
+				{
+					barrier.await();
+				}
+				catch (Exception e) {}
+				Linker<String> linker = multiChainList.cachedLinkerBuilder().inPartition("P1").linkIntoChain("CA").linkIntoChain("CB").build();
+				for(int j = 0; j < 100; j++)
+				{
+					multiChainList.cachedLinkerBuilder().inPartition("P1").linkIntoChain("CA").linkIntoChain("CB").append("x");
+				}
+				synchronized (linkers)
+				{
+					linkers.add(linker);
+				}
+			}));
+		}
+		for(Thread thread : threads)
+		{
+			thread.start();
+		}
+		for(Thread thread : threads)
+		{
+			thread.join(10000);
+		}
+		
+		assertEquals("linker count should be correct", threadCount, linkers.size());
+		for(Linker<String> linker : linkers)
+		{
+			assertSame("linker should be same", linkers.get(0), linker);
+		}
+		assertEquals("size should be correct", threadCount * 100, multiChainList.createChainView("CA").getSize());
+		assertEquals("size should be correct", threadCount * 100, multiChainList.createChainView("CB").getSize());
+		
+		multiChainList.dispose();
+	}
 }
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CapacityTest
+{
+	@Test
+	public void test00001ChainCapacity()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		Partition<String> partition1 = multiChainList.getPartition("P1");
+		assertEquals("capacity should be correct", Long.MAX_VALUE, partition1.getCapacity());
+
+		partition1.setCapacity(2L);
+		partition1.setChainCapacity("chain2", 3L);
+		assertEquals("capacity should be correct", 2L, partition1.getChainCapacity(null));
+		assertEquals("capacity should be correct", 3L, partition1.getChainCapacity("chain2"));
+
+		ChainView<String> chainView1 = multiChainList.createChainView(null);
+		ChainView<String> chainView2 = multiChainList.createChainView("chain2");
+		chainView1.cachedLinker("P1").appendAll("1","2");
+		try
+		{
+			chainView1.cachedLinker("P1").append("3");
+			fail("chain should be full");
+		}
+		catch (ListFullException e)
+		{
+			assertEquals("max size should be correct", 2L, e.getMaxSize());
+			assertEquals("partition name should be correct", "P1", e.getPartitionName());
+			assertEquals("chain name should be correct", null, e.getChainName());
+		}
+		chainView1.cachedLinker("P2").appendAll("3","4","5");
+		assertEquals("chain size should be correct", 5L, chainView1.getSize());
+
+		try
+		{
+			chainView2.cachedLinker("P1").appendAll("6","7","8","9");
+			fail("chain should be full");
+		}
+		catch (ListFullException e)
+		{
+			assertEquals("max size should be correct", 3L, e.getMaxSize());
+			assertEquals("chain name should be correct", "chain2", e.getChainName());
+		}
+		assertEquals("chain size should be correct", 0L, chainView2.getSize());
+		assertEquals("node size should be correct", 5L, multiChainList.getNodeSize());
+		chainView2.cachedLinker("P1").appendAll("6","7","8");
+		assertEquals("chain size should be correct", 3L, chainView2.getSize());
+
+		partition1.setChainCapacity("chain2", -1L);
+		assertEquals("capacity should be correct", 2L, partition1.getChainCapacity("chain2"));
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002BlockingAppend() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		multiChainList.setNodeMaxSize(2L);
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.defaultLinker().appendAll("1","2");
+
+		try
+		{
+			chainView.defaultLinker().append("3", 50L, TimeUnit.MILLISECONDS);
+			fail("list should be full");
+		}
+		catch (ListFullException e) {}
+
+		CountDownLatch linked = new CountDownLatch(1);
+		List<Throwable> errors = new CopyOnWriteArrayList<Throwable>();
+		Thread producer = new Thread(() ->
+		{
+			try
+			{
+				chainView.defaultLinker().appendAll(Arrays.asList("3","4"), 5L, TimeUnit.SECONDS);
+				linked.countDown();
+			}
+			catch (Throwable e)
+			{
+				errors.add(e);
+			}
+		});
+		producer.start();
+		assertFalse("producer should wait for capacity", linked.await(200L, TimeUnit.MILLISECONDS));
+
+		chainView.createImmutableSnapshotPoll(1).close();
+		assertFalse("producer should wait for capacity of all elements", linked.await(200L, TimeUnit.MILLISECONDS));
+
+		chainView.createImmutableSnapshotPoll(1).close();
+		assertTrue("producer should link after capacity is released", linked.await(5L, TimeUnit.SECONDS));
+		producer.join(5000L);
+		assertTrue("producer should not fail", errors.isEmpty());
+		assertEquals("chain size should be correct", 2L, chainView.getSize());
+		assertEquals("first element should be correct", "3", chainView.getFirstElement());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003BlockingAppendByChainCapacity() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView("chain1");
+		multiChainList.getPartition(null).setChainCapacity("chain1", 1L);
+		Node<String> node = chainView.defaultLinker().append("1");
+		multiChainList.defaultLinker().append("2");
+
+		CountDownLatch linked = new CountDownLatch(1);
+		Thread producer = new Thread(() ->
+		{
+			try
+			{
+				chainView.defaultLinker().append("3", 5L, TimeUnit.SECONDS);
+				linked.countDown();
+			}
+			catch (Exception e) {}
+		});
+		producer.start();
+		assertFalse("producer should wait for capacity", linked.await(200L, TimeUnit.MILLISECONDS));
+
+		node.unlinkFromChain("chain1");
+		assertTrue("producer should link after capacity is released", linked.await(5L, TimeUnit.SECONDS));
+		producer.join(5000L);
+		assertEquals("last element should be correct", "3", chainView.getLastElement());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00004Watermarks()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		try
+		{
+			multiChainList.setWatermarks(3L, 3L, null);
+			fail("watermarks should be rejected");
+		}
+		catch (IllegalArgumentException e) {}
+
+		List<String> events = new CopyOnWriteArrayList<String>();
+		multiChainList.setWatermarks(1L, 3L, new IWatermarkListener<String>()
+		{
+			@Override
+			public void onHighWatermark(MultiChainList<String> multiChainList, long nodeSize)
+			{
+				events.add("high:" + nodeSize);
+			}
+
+			@Override
+			public void onLowWatermark(MultiChainList<String> multiChainList, long nodeSize)
+			{
+				events.add("low:" + nodeSize);
+			}
+		});
+		assertEquals("low watermark should be correct", 1L, multiChainList.getLowWatermark());
+		assertEquals("high watermark should be correct", 3L, multiChainList.getHighWatermark());
+
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.defaultLinker().appendAll("1","2");
+		assertTrue("events should be empty", events.isEmpty());
+		chainView.defaultLinker().append("3");
+		chainView.defaultLinker().append("4");
+		assertEquals("events should be correct", Arrays.asList("high:3"), events);
+
+		chainView.createImmutableSnapshotPoll(2).close();
+		assertEquals("events should be correct", Arrays.asList("high:3"), events);
+		chainView.createImmutableSnapshotPoll(1).close();
+		assertEquals("events should be correct", Arrays.asList("high:3","low:1"), events);
+		chainView.createImmutableSnapshotPoll(1).close();
+		chainView.defaultLinker().appendAll("5","6","7");
+		assertEquals("events should be correct", Arrays.asList("high:3","low:1","high:3"), events);
+
+		multiChainList.dispose();
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ChainHandleTest
+{
+	@Test
+	public void test00001InternChainNames() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+
+		ChainHandle defaultChain = multiChainList.getChainHandle(null);
+		assertNull("name of default chain should be correct", defaultChain.getName());
+		assertEquals("id of default chain should be correct", 0, defaultChain.getId());
+
+		ChainHandle chain1 = multiChainList.getChainHandle("chain1");
+		ChainHandle chain2 = multiChainList.getChainHandle("chain2");
+		assertSame("handle should be interned", chain1, multiChainList.getChainHandle(new String("chain1")));
+		assertEquals("name should be correct", "chain1", chain1.getName());
+		assertEquals("id should be correct", 1, chain1.getId());
+		assertEquals("id should be correct", 2, chain2.getId());
+		assertTrue("handle should be member of list", chain1.isHandleOf(multiChainList));
+
+		MultiChainList<String> otherList = new MultiChainList<String>();
+		assertFalse("handle should not be member of other list", chain1.isHandleOf(otherList));
+		assertNotSame("handle should be unique per list", chain1, otherList.getChainHandle("chain1"));
+
+		multiChainList.dispose();
+		otherList.dispose();
+	}
+
+	@Test
+	public void test00002LinkByHandle() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainHandle chain1 = multiChainList.getChainHandle("chain1");
+		Partition<String> partition = multiChainList.getPartition(null);
+
+		Node<String> node1 = multiChainList.defaultLinker().append("1");
+		Node<String> node2 = multiChainList.defaultLinker().append("2");
+		assertNull("node should not be linked with chain", node1.isLinkByHandle(chain1));
+
+		node2.linkToByHandle(chain1, partition, Partition.LinkMode.APPEND);
+		node1.linkToByHandle(chain1, partition, Partition.LinkMode.PREPEND);
+
+		assertNotNull("node should be linked with chain", node1.isLinkByHandle(chain1));
+		assertNotNull("node should be linked with chain", node1.isLink("chain1"));
+		assertSame("handle of linkage should be correct", chain1, node1.isLinkByHandle(chain1).getChainHandle());
+		assertSame("partition for chain should be correct", partition, multiChainList.defaultLinker().getPartitionForChainByHandle(multiChainList.getChainHandle(null)));
+
+		ChainView<String> chainView = multiChainList.createChainViewByHandle(chain1);
+		assertSame("handle of chain view should be correct", chain1, chainView.getChainHandle());
+		assertEquals("size should be correct", 2, chainView.getSize());
+		assertEquals("size should be correct", 2, partition.getSize("chain1"));
+
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		assertEquals("first element should be correct", "1", snapshot.getFirstElement());
+		assertEquals("last element should be correct", "2", snapshot.getLastElement());
+		snapshot.close();
+
+		assertTrue("unlink should be correct", node1.unlinkFromChainByHandle(chain1));
+		assertFalse("unlink should be correct", node1.unlinkFromChainByHandle(chain1));
+		assertEquals("size should be correct", 1, chainView.getSize());
+		assertEquals("size should be correct", 2, multiChainList.cachedChainViewByHandle(multiChainList.getChainHandle(null), null).getSize());
+
+		try
+		{
+			node1.isLinkByHandle(new MultiChainList<String>().getChainHandle("chain1"));
+			fail("handle of other list should be rejected");
+		}
+		catch (RuntimeException e) {}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003ManyChains() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		LinkerBuilder linkerBuilder = LinkerBuilder.newBuilder().inPartition("P2");
+		for(int i = 0; i < 40; i++)
+		{
+			linkerBuilder.linkIntoChain("chain" + i);
+		}
+		Linker<String> linker = linkerBuilder.build(multiChainList);
+
+		Node<String>[] nodes = linker.appendAll("1","2","3");
+		linker.prepend("0");
+		assertEquals("node size should be correct", 4L, multiChainList.getNodeSize());
+		assertEquals("link size should be correct", 40, nodes[0].linkSize());
+
+		for(int i = 0; i < 40; i++)
+		{
+			ChainHandle chainHandle = multiChainList.getChainHandle("chain" + i);
+			assertEquals("size should be correct", 4, multiChainList.createChainViewByHandle(chainHandle).getSize());
+			assertNotNull("node should be linked with chain", nodes[1].isLinkByHandle(chainHandle));
+		}
+
+		nodes[1].unlinkFromAllChains();
+		assertEquals("node size should be correct", 3L, multiChainList.getNodeSize());
+		for(int i = 0; i < 40; i++)
+		{
+			Snapshot<String> snapshot = multiChainList.createChainView("chain" + i).createImmutableSnapshot();
+			assertEquals("snapshot size should be correct", 3, snapshot.size());
+			assertEquals("first element should be correct", "0", snapshot.getFirstElement());
+			assertEquals("last element should be correct", "3", snapshot.getLastElement());
+			snapshot.close();
+		}
+
+		multiChainList.dispose();
+	}
+}
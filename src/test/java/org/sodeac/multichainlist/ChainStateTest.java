@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ChainStateTest
+{
+	@Test
+	public void test00001SizeAndPeeks() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Partition<String> partition1 = multiChainList.getPartition("P1");
+		Partition<String> partition2 = multiChainList.getPartition("P2");
+
+		assertEquals("size should be correct", 0, chainView.getSize());
+		assertEmpty(chainView);
+
+		chainView.cachedLinker("P2").append("3");
+		chainView.cachedLinker("P2").appendAll("4","5");
+		chainView.cachedLinker("P1").prependAll("2","1");
+		assertEquals("size should be correct", 5, chainView.getSize());
+		assertEquals("size should be correct", 2, partition1.getSize(null));
+		assertEquals("size should be correct", 3, partition2.getSize(null));
+		assertEquals("first element should be correct", "1", chainView.getFirstElement());
+		assertEquals("last element should be correct", "5", chainView.getLastElement());
+		assertEquals("first element should be correct", "3", partition2.getFirstElement(null));
+		assertEquals("last element should be correct", "2", partition1.getLastElement(null));
+
+		// modifications with open snapshot create new versions of chain begin
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		Node<String> node = chainView.cachedLinker("P1").prepend("0");
+		chainView.cachedLinker("P2").append("6");
+		assertEquals("first element should be correct", "0", chainView.getFirstElement());
+		assertEquals("last element should be correct", "6", chainView.getLastElement());
+		node.unlinkFromAllChains();
+		assertEquals("first element should be correct", "1", chainView.getFirstElement());
+		assertEquals("size should be correct", 6, chainView.getSize());
+
+		chainView.createImmutableSnapshotPoll(3).close();
+		assertEquals("size should be correct", 3, chainView.getSize());
+		assertEquals("size should be correct", 0, partition1.getSize(null));
+		assertEquals("first element should be correct", "4", chainView.getFirstElement());
+		try
+		{
+			partition1.getFirstElement(null);
+			fail("empty partition should be validated");
+		}
+		catch (NoSuchElementException e) {}
+		assertEquals("snapshot size should be correct", 5, snapshot.size());
+		snapshot.close();
+
+		ChainView<String> partitionView = multiChainList.createChainView(null, partition1);
+		assertEquals("size should be correct", 0, partitionView.getSize());
+		assertEmpty(partitionView);
+
+		chainView.clear();
+		assertEquals("size should be correct", 0, chainView.getSize());
+		assertEmpty(chainView);
+
+		chainView.cachedLinker("P1").append("7");
+		chainView.createImmutableSnapshotPoll().close();
+		assertEquals("size should be correct", 0, chainView.getSize());
+		assertEmpty(chainView);
+
+		assertEquals("size should be correct", 0, multiChainList.createChainView("unknown").getSize());
+		assertEquals("size should be correct", 0, partition1.getSize("unknown"));
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002ReadWithoutLock() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.defaultLinker().appendAll("1","2","3");
+		Partition<String> partition = multiChainList.getPartition(null);
+		assertEquals("size should be correct", 3, chainView.getSize()); // caches partitions of view
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		multiChainList.writeLock.lock();
+		try
+		{
+			// writer holds the write lock
+			assertEquals("size should be correct", Integer.valueOf(3), executorService.submit(() -> chainView.getSize()).get(10, TimeUnit.SECONDS));
+			assertEquals("first element should be correct", "1", executorService.submit(() -> chainView.getFirstElement()).get(10, TimeUnit.SECONDS));
+			assertEquals("last element should be correct", "3", executorService.submit(() -> partition.getLastElement(null)).get(10, TimeUnit.SECONDS));
+		}
+		finally
+		{
+			multiChainList.writeLock.unlock();
+			executorService.shutdown();
+		}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003ConsistentSummary() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Partition<String> partition = multiChainList.getPartition(null);
+		chainView.defaultLinker().append("0");
+		chainView.createImmutableSnapshotPoll().close();
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		long deadline = System.currentTimeMillis() + 500L;
+		try
+		{
+			Future<Integer> writer = executorService.submit(() ->
+			{
+				int count = 0;
+				while(System.currentTimeMillis() < deadline)
+				{
+					chainView.defaultLinker().append(Integer.toString(count++));
+					chainView.createImmutableSnapshotPoll().close();
+				}
+				return count;
+			});
+
+			while(! writer.isDone())
+			{
+				try
+				{
+					// size, first element and last element must be read from the same state
+					assertNotNull("first element should be correct", chainView.getFirstElement());
+					assertNotNull("last element should be correct", partition.getLastElement(null));
+				}
+				catch (NoSuchElementException e) {}
+
+				Partition.ChainSummary<String> summary = partition.getChainState((String)null).getSummary();
+				if(summary.size == 1L)
+				{
+					assertNotNull("first element should be correct", summary.firstElement);
+					assertTrue("first and last element should be correct", summary.firstElement == summary.lastElement);
+				}
+			}
+			assertTrue("writer should be finished", writer.get(10, TimeUnit.SECONDS) > 0);
+		}
+		finally
+		{
+			executorService.shutdown();
+		}
+
+		multiChainList.dispose();
+	}
+
+	private static void assertEmpty(ChainView<String> chainView)
+	{
+		try
+		{
+			chainView.getFirstElement();
+			fail("empty chain should be validated");
+		}
+		catch (NoSuchElementException e) {}
+		try
+		{
+			chainView.getLastElement();
+			fail("empty chain should be validated");
+		}
+		catch (NoSuchElementException e) {}
+	}
+}
@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.sodeac.multichainlist.Partition.CapacityPolicy;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CombiningAppendTest
+{
+	@Test
+	public void test00001SingleThread() throws Exception
+	{
+		SingleChainList<String> list = new SingleChainList<String>().setCombiningAppend(true);
+		assertTrue("combining append mode should be enabled", list.defaultLinker().isCombiningAppend());
+
+		for(int i = 1; i <= 5; i++)
+		{
+			Node<String> node = list.defaultLinker().append(Integer.toString(i));
+			assertNotNull("node should not be null", node);
+			assertEquals("node element should be correct", Integer.toString(i), node.getElement());
+		}
+
+		assertEquals("list size should be correct", 5, list.getSize());
+		Snapshot<String> s = list.createImmutableSnapshot();
+		int index = 1;
+		for(String item : s)
+		{
+			assertEquals("item should be correct",Integer.toString(index), item);
+			index++;
+		}
+		s.close();
+
+		list.setCombiningAppend(false);
+		assertFalse("combining append mode should be disabled", list.defaultLinker().isCombiningAppend());
+		list.defaultLinker().append("6");
+		assertEquals("list size should be correct", 6, list.getSize());
+	}
+
+	@Test
+	public void test00002OpenSnapshot() throws Exception
+	{
+		SingleChainList<String> list = new SingleChainList<String>().setCombiningAppend(true);
+		list.defaultLinker().appendAll("1","2","3");
+
+		Snapshot<String> s = list.createImmutableSnapshot();
+		list.defaultLinker().append("4");
+
+		assertEquals("snapshot size should be correct", 3, s.size());
+		int index = 1;
+		for(String item : s)
+		{
+			assertEquals("item should be correct",Integer.toString(index), item);
+			index++;
+		}
+		assertEquals("snapshot should contains 3 items", 4, index);
+		s.close();
+
+		assertEquals("list size should be correct", 4, list.getSize());
+		assertEquals("open snapshot version list should be empty", 0, list.multiChainList.openSnapshotVersionList.size());
+	}
+
+	@Test
+	public void test00003ListFull() throws Exception
+	{
+		SingleChainList<String> list = new SingleChainList<String>().setCombiningAppend(true);
+		list.multiChainList.setNodeMaxSize(2);
+		list.defaultLinker().append("1");
+		list.defaultLinker().append("2");
+		try
+		{
+			list.defaultLinker().append("3");
+			fail("ListFullException expected");
+		}
+		catch (ListFullException e) {}
+
+		assertEquals("list size should be correct", 2, list.getSize());
+	}
+
+	@Test
+	public void test00004ConcurrentProducersAndConsumer() throws Exception
+	{
+		final int producerCount = 8;
+		final int elementsPerProducer = 20000;
+
+		SingleChainList<long[]> list = new SingleChainList<long[]>().setCombiningAppend(true);
+
+		CountDownLatch startLatch = new CountDownLatch(1);
+		AtomicReference<Throwable> producerError = new AtomicReference<Throwable>();
+		List<Thread> producerList = new ArrayList<Thread>();
+		for(int p = 0; p < producerCount; p++)
+		{
+			final long producer = p;
+			Thread producerThread = new Thread(() ->
+			{
+				try
+				{
+					startLatch.await();
+					for(long i = 0; i < elementsPerProducer; i++)
+					{
+						list.defaultLinker().append(new long[] {producer, i});
+					}
+				}
+				catch (Throwable e)
+				{
+					producerError.compareAndSet(null, e);
+				}
+			});
+			producerList.add(producerThread);
+			producerThread.start();
+		}
+
+		long[] nextByProducer = new long[producerCount];
+		long consumed = 0;
+		startLatch.countDown();
+
+		long timeout = System.currentTimeMillis() + 60000;
+		while((consumed < ((long)producerCount * elementsPerProducer)) && (producerError.get() == null) && (System.currentTimeMillis() < timeout))
+		{
+			Snapshot<long[]> snapshot = list.createImmutableSnapshotPoll();
+			try
+			{
+				for(long[] item : snapshot)
+				{
+					assertEquals("item order of producer should be correct", nextByProducer[(int)item[0]], item[1]);
+					nextByProducer[(int)item[0]]++;
+					consumed++;
+				}
+			}
+			finally
+			{
+				snapshot.close();
+			}
+		}
+
+		for(Thread producerThread : producerList)
+		{
+			producerThread.join(10000);
+		}
+
+		if(producerError.get() != null)
+		{
+			throw new AssertionError("producer should finish without error", producerError.get());
+		}
+		assertEquals("consumed item count should be correct", (long)producerCount * elementsPerProducer, consumed);
+		for(int p = 0; p < producerCount; p++)
+		{
+			assertEquals("consumed item count of producer should be correct", elementsPerProducer, nextByProducer[p]);
+		}
+		assertEquals("list size should be correct", 0, list.getSize());
+		assertEquals("open snapshot version list should be empty", 0, list.multiChainList.openSnapshotVersionList.size());
+
+		Snapshot<long[]> snapshot = list.createImmutableSnapshotPoll();
+		assertTrue("snapshot should be empty", snapshot.isEmpty());
+		snapshot.close();
+	}
+
+	@Test
+	public void test00005CapacityOverflow() throws Exception
+	{
+		SingleChainList<String> list = new SingleChainList<String>().setCombiningAppend(true);
+		Partition<String> partition = list.multiChainList.getPartition(null);
+		partition.setCapacity(2L);
+		list.defaultLinker().append("1");
+		list.defaultLinker().append("2");
+		try
+		{
+			list.defaultLinker().append("3");
+			fail("ListFullException expected");
+		}
+		catch (ListFullException e)
+		{
+			assertEquals("max size should be correct", 2L, e.getMaxSize());
+			assertEquals("partition name should be correct", null, e.getPartitionName());
+			assertEquals("chain name should be correct", null, e.getChainName());
+		}
+		assertEquals("list size should be correct", 2, list.getSize());
+
+		// concurrent producers are combined => capacity is checked once per batch
+		list.createImmutableSnapshotPoll().close();
+		partition.setCapacity(50L);
+		AtomicLong rejected = new AtomicLong();
+		appendConcurrent(list, 8, 1000, rejected);
+		assertEquals("list size should be correct", 50, list.getSize());
+		assertEquals("rejected item count should be correct", (8 * 1000) - 50, rejected.get());
+
+		list.createImmutableSnapshotPoll().close();
+		partition.setCapacityPolicy(CapacityPolicy.EVICT_OLDEST);
+		rejected.set(0L);
+		appendConcurrent(list, 8, 1000, rejected);
+		assertEquals("rejected item count should be correct", 0L, rejected.get());
+		assertEquals("list size should be correct", 50, list.getSize());
+		assertEquals("eviction count should be correct", (8 * 1000) - 50, partition.getEvictionCount());
+
+		// the oldest items are evicted => remaining items of each producer are the newest, in order
+		long[] lastByProducer = new long[] {-1L, -1L, -1L, -1L, -1L, -1L, -1L, -1L};
+		Snapshot<String> snapshot = list.createImmutableSnapshot();
+		for(String item : snapshot)
+		{
+			String[] parts = item.split(":");
+			int producer = Integer.parseInt(parts[0]);
+			long index = Long.parseLong(parts[1]);
+			assertTrue("item order of producer should be correct", (lastByProducer[producer] == -1L) || (lastByProducer[producer] + 1L == index));
+			lastByProducer[producer] = index;
+		}
+		snapshot.close();
+		for(int p = 0; p < 8; p++)
+		{
+			assertTrue("last item of producer should be correct", (lastByProducer[p] == -1L) || (lastByProducer[p] == 999L));
+		}
+	}
+
+	private static void appendConcurrent(SingleChainList<String> list, int producerCount, int elementsPerProducer, AtomicLong rejected) throws Exception
+	{
+		CountDownLatch startLatch = new CountDownLatch(1);
+		AtomicReference<Throwable> producerError = new AtomicReference<Throwable>();
+		List<Thread> producerList = new ArrayList<Thread>();
+		for(int p = 0; p < producerCount; p++)
+		{
+			final int producer = p;
+			Thread producerThread = new Thread(() ->
+			{
+				try
+				{
+					startLatch.await();
+					for(int i = 0; i < elementsPerProducer; i++)
+					{
+						try
+						{
+							list.defaultLinker().append(producer + ":" + i);
+						}
+						catch (ListFullException e)
+						{
+							rejected.incrementAndGet();
+						}
+					}
+				}
+				catch (Throwable e)
+				{
+					producerError.compareAndSet(null, e);
+				}
+			});
+			producerList.add(producerThread);
+			producerThread.start();
+		}
+		startLatch.countDown();
+		for(Thread producerThread : producerList)
+		{
+			producerThread.join(60000);
+		}
+		if(producerError.get() != null)
+		{
+			throw new AssertionError("producer should finish without error", producerError.get());
+		}
+	}
+}
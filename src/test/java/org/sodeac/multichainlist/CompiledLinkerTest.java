@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CompiledLinkerTest
+{
+	@Test
+	public void test00001CompiledLinkageDefinitions() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2","P3");
+		Linker<String> linker = LinkerBuilder.newBuilder()
+				.inPartition("P3")
+					.linkIntoChain("CA")
+				.inPartition("P1")
+					.linkIntoChain("CB")
+					.linkIntoChain("CC")
+				.build(multiChainList);
+
+		linker.append("1");
+
+		LinkageDefinition<String>[][] compiled = linker.getLinkageDefinitionContainer().getCompiledLinkageDefinitions();
+		assertSame("compiled linkage definitions should be reused", compiled, linker.getLinkageDefinitionContainer().getCompiledLinkageDefinitions());
+		assertEquals("partition count should be correct", 2, compiled.length);
+		assertSame("partition order should be correct", multiChainList.getPartition("P1"), compiled[0][0].getPartition());
+		assertSame("partition order should be correct", multiChainList.getPartition("P3"), compiled[1][0].getPartition());
+		assertEquals("chain count should be correct", 2, compiled[0].length);
+		assertEquals("chain count should be correct", 1, compiled[1].length);
+
+		for(LinkageDefinition<String>[] privateLinkageDefinitions : compiled)
+		{
+			for(LinkageDefinition<String> privateLinkageDefinition : privateLinkageDefinitions)
+			{
+				Partition<String> partition = privateLinkageDefinition.getPartition();
+				assertSame("private linkage definition should be correct", partition.getPrivateLinkageDefinition(privateLinkageDefinition.getChainHandle()), privateLinkageDefinition);
+				assertSame("private linkage definition should be correct", partition.getPartitionBegin().getLinkByHandle(privateLinkageDefinition.getChainHandle()).linkageDefinition, privateLinkageDefinition);
+			}
+		}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002LinkWithCompiledLinkageDefinitions() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		Linker<String> linker = LinkerBuilder.newBuilder()
+				.inPartition("P2")
+					.linkIntoChain("CA")
+					.linkIntoChain("CB")
+				.inPartition("P1")
+					.linkIntoChain("CC")
+				.build(multiChainList);
+
+		linker.append("2");
+		linker.prepend("1");
+		linker.appendAll("3","4");
+
+		// partitions defined after compilation
+		multiChainList.definePartitions("P3");
+		linker.append("5");
+		LinkerBuilder.newBuilder().inPartition("P3").linkIntoChain("CA").build(multiChainList).append("6");
+
+		for(String chainName : new String[] {"CA","CB","CC"})
+		{
+			Snapshot<String> snapshot = multiChainList.createChainView(chainName).createImmutableSnapshot();
+			assertEquals("chain content should be correct", "CA".equals(chainName) ? Arrays.asList("1","2","3","4","5","6") : Arrays.asList("1","2","3","4","5"), new ArrayList<String>(snapshot));
+			snapshot.close();
+		}
+		assertEquals("size should be correct", 5, multiChainList.getPartition("P2").getSize("CB"));
+		assertEquals("size should be correct", 5, multiChainList.getPartition("P1").getSize("CC"));
+		assertEquals("node size should be correct", 6L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ConcurrentSnapshotTest
+{
+	private static final int PRODUCER_COUNT = 4;
+	private static final int READER_COUNT = 4;
+	private static final int ELEMENT_COUNT = 50000;
+	private static final int PRODUCER_FACTOR = 1000000;
+
+	@Test
+	public void test00001SnapshotWhileReadLockIsHeld() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.defaultLinker().appendAll("1","2","3");
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		Snapshot<String> snapshot1 = chainView.createImmutableSnapshot();
+		Snapshot<String> snapshot2 = null;
+		multiChainList.readLock.lock();
+		try
+		{
+			// another reader holds the read lock
+			snapshot2 = executorService.submit(() -> chainView.createImmutableSnapshot()).get(10, TimeUnit.SECONDS);
+			assertEquals("snapshot content should be correct", Arrays.asList("1","2","3"), new ArrayList<String>(snapshot2));
+			assertEquals("snapshot version should be shared", snapshot1.version, snapshot2.version);
+
+			// version remains open
+			Future<?> future = executorService.submit(() -> snapshot1.close());
+			future.get(10, TimeUnit.SECONDS);
+		}
+		finally
+		{
+			multiChainList.readLock.unlock();
+			executorService.shutdown();
+		}
+		assertTrue("open version list should not be empty", ! multiChainList.openSnapshotVersionList.isEmpty());
+		snapshot2.close();
+
+		assertTrue("open version list should be empty", multiChainList.openSnapshotVersionList.isEmpty());
+		assertTrue("snapshot should not be open", ! multiChainList.isSnapshotOpen());
+
+		chainView.createImmutableSnapshotPoll().close();
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002SnapshotIsolationUnderContention() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>("P1","P2");
+		multiChainList.setPartitionLocking(true);
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+
+		AtomicBoolean producing = new AtomicBoolean(true);
+		AtomicReference<String> failure = new AtomicReference<String>();
+		AtomicLong snapshotCount = new AtomicLong();
+		AtomicLong consumed = new AtomicLong();
+		AtomicLong sum = new AtomicLong();
+
+		List<Thread> producers = new ArrayList<Thread>();
+		for(int i = 0; i < PRODUCER_COUNT; i++)
+		{
+			int producer = i;
+			Linker<Integer> linker = chainView.cachedLinker((producer % 2) == 0 ? "P1" : "P2");
+			producers.add(new Thread(() ->
+			{
+				for(int j = 0; j < ELEMENT_COUNT; j++)
+				{
+					linker.append((producer * PRODUCER_FACTOR) + j);
+				}
+			}));
+		}
+
+		List<Thread> readers = new ArrayList<Thread>();
+		for(int i = 0; i < READER_COUNT; i++)
+		{
+			readers.add(new Thread(() ->
+			{
+				while(producing.get() && (failure.get() == null))
+				{
+					try(Snapshot<Integer> snapshot = chainView.createImmutableSnapshot())
+					{
+						List<Integer> content = new ArrayList<Integer>(snapshot);
+						String error = checkOrder(content, snapshot.size());
+						if(error == null)
+						{
+							Thread.yield();
+							// content of snapshot must not be changed by concurrent modifications
+							if(! content.equals(new ArrayList<Integer>(snapshot)))
+							{
+								error = "snapshot content should be isolated";
+							}
+						}
+						if(error != null)
+						{
+							failure.compareAndSet(null, error);
+						}
+						snapshotCount.incrementAndGet();
+					}
+				}
+			}));
+		}
+
+		Thread consumer = new Thread(() ->
+		{
+			int[] nextSequence = new int[PRODUCER_COUNT];
+			while((consumed.get() < (long)PRODUCER_COUNT * ELEMENT_COUNT) && (failure.get() == null))
+			{
+				try(Snapshot<Integer> snapshot = chainView.createImmutableSnapshotPoll(100))
+				{
+					for(Integer element : snapshot)
+					{
+						int producer = element / PRODUCER_FACTOR;
+						if((element % PRODUCER_FACTOR) != nextSequence[producer]++)
+						{
+							failure.compareAndSet(null, "polled element should be correct: " + element);
+						}
+						sum.addAndGet(element);
+						consumed.incrementAndGet();
+					}
+				}
+				Thread.yield();
+			}
+		});
+
+		for(Thread reader : readers)
+		{
+			reader.start();
+		}
+		consumer.start();
+		for(Thread producer : producers)
+		{
+			producer.start();
+		}
+		for(Thread producer : producers)
+		{
+			producer.join(60000);
+		}
+		consumer.join(60000);
+		producing.set(false);
+		for(Thread reader : readers)
+		{
+			reader.join(60000);
+		}
+
+		assertEquals("snapshots should be isolated", null, failure.get());
+		assertTrue("snapshots should be created", snapshotCount.get() > 0L);
+		assertEquals("consumed elements should be correct", (long)PRODUCER_COUNT * ELEMENT_COUNT, consumed.get());
+		long expectedSum = 0L;
+		for(int i = 0; i < PRODUCER_COUNT; i++)
+		{
+			expectedSum += ((long)i * PRODUCER_FACTOR * ELEMENT_COUNT) + ((long)ELEMENT_COUNT * (ELEMENT_COUNT - 1) / 2);
+		}
+		assertEquals("sum should be correct", expectedSum, sum.get());
+		assertEquals("size should be correct", 0, chainView.getSize());
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+		assertTrue("open version list should be empty", multiChainList.openSnapshotVersionList.isEmpty());
+		assertTrue("obsolete list should be empty", multiChainList.obsoleteList.isEmpty());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003PollKeepsNodesOfOpenSnapshots() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Linker<String> linker = chainView.defaultLinker();
+
+		linker.append("1");
+		Snapshot<String> snapshot1 = chainView.createImmutableSnapshot();
+		linker.append("2");
+		chainView.createImmutableSnapshot().close();
+		linker.append("3");
+		Snapshot<String> snapshot2 = chainView.createImmutableSnapshot();
+
+		chainView.createImmutableSnapshotPoll().close();
+
+		// clears older versions of polled links
+		snapshot1.close();
+		assertEquals("snapshot content should be correct", Arrays.asList("1","2","3"), new ArrayList<String>(snapshot2));
+		snapshot2.close();
+
+		assertTrue("obsolete list should be empty", multiChainList.obsoleteList.isEmpty());
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+		multiChainList.dispose();
+	}
+
+	private static String checkOrder(List<Integer> content, int size)
+	{
+		if(content.size() != size)
+		{
+			return "snapshot size should be correct: " + content.size() + " / " + size;
+		}
+		int[] lastSequence = new int[PRODUCER_COUNT];
+		Arrays.fill(lastSequence, -1);
+		for(Integer element : content)
+		{
+			int producer = element / PRODUCER_FACTOR;
+			int sequence = element % PRODUCER_FACTOR;
+			if((lastSequence[producer] >= 0) && (sequence != lastSequence[producer] + 1))
+			{
+				return "snapshot order should be correct: " + element;
+			}
+			lastSequence[producer] = sequence;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.sodeac.multichainlist.Partition.CapacityPolicy;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class EvictionTest
+{
+	@Test
+	public void test00001EvictOldest()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		multiChainList.setMetricsEnabled(true);
+		Partition<String> partition = multiChainList.getPartition(null);
+		assertEquals("capacity policy should be correct", CapacityPolicy.REJECT, partition.getCapacityPolicy());
+		partition.setCapacity(3L);
+		partition.setCapacityPolicy(CapacityPolicy.EVICT_OLDEST);
+		assertEquals("capacity policy should be correct", CapacityPolicy.EVICT_OLDEST, partition.getCapacityPolicy());
+
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		for(int i = 1; i <= 5; i++)
+		{
+			chainView.defaultLinker().append(Integer.toString(i));
+		}
+		assertEquals("elements should be correct", "3,4,5", elements(chainView));
+		assertEquals("eviction count should be correct", 2L, partition.getEvictionCount());
+		assertEquals("node size should be correct", 3L, multiChainList.getNodeSize());
+
+		chainView.defaultLinker().appendAll("6","7");
+		assertEquals("elements should be correct", "5,6,7", elements(chainView));
+		assertEquals("eviction count should be correct", 4L, partition.getEvictionCount());
+		assertEquals("eviction count should be correct", 4L, multiChainList.getMetrics().getEvictionCount());
+		assertEquals("list full count should be correct", 0L, multiChainList.getMetrics().getListFullCount());
+
+		try
+		{
+			chainView.defaultLinker().appendAll("8","9","10","11");
+			fail("elements should be rejected");
+		}
+		catch (ListFullException e)
+		{
+			assertEquals("max size should be correct", 3L, e.getMaxSize());
+		}
+		assertEquals("elements should be correct", "5,6,7", elements(chainView));
+
+		partition.setCapacityPolicy(null);
+		assertEquals("capacity policy should be correct", CapacityPolicy.REJECT, partition.getCapacityPolicy());
+		try
+		{
+			chainView.defaultLinker().append("8");
+			fail("element should be rejected");
+		}
+		catch (ListFullException e) {}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002EvictWithOpenSnapshot()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		Partition<String> partition = multiChainList.getPartition(null);
+		partition.setCapacity(2L);
+		partition.setCapacityPolicy(CapacityPolicy.EVICT_OLDEST);
+
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.defaultLinker().appendAll("1","2");
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		chainView.defaultLinker().append("3");
+		chainView.defaultLinker().prepend("0");
+
+		assertEquals("elements should be correct", "0,3", elements(chainView));
+		assertEquals("snapshot elements should be correct", "1,2", join(snapshot));
+		assertTrue("obsolete links should be correct", multiChainList.obsoleteList.size() > 0);
+
+		snapshot.close();
+		assertEquals("obsolete links should be correct", 0, multiChainList.obsoleteList.size());
+		assertEquals("node size should be correct", 2L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003EvictFromChainOnly()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		multiChainList.setPartitionLocking(true);
+		Partition<String> partition = multiChainList.getPartition("P1");
+		partition.setChainCapacity("buffer", 2L);
+		partition.setCapacityPolicy(CapacityPolicy.EVICT_OLDEST);
+
+		ChainView<String> bufferView = multiChainList.createChainView("buffer");
+		ChainView<String> archiveView = multiChainList.createChainView("archive");
+		Linker<String> linker = LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain("buffer").linkIntoChain("archive").build(multiChainList);
+		linker.appendAll("1","2");
+		linker.append("3");
+		linker.append("4");
+
+		assertEquals("elements should be correct", "3,4", elements(bufferView));
+		assertEquals("elements should be correct", "1,2,3,4", elements(archiveView));
+		assertEquals("eviction count should be correct", 2L, partition.getEvictionCount());
+		assertEquals("node size should be correct", 4L, multiChainList.getNodeSize());
+
+		// other partitions are not affected
+		bufferView.cachedLinker("P2").appendAll("5","6","7");
+		assertEquals("elements should be correct", "3,4,5,6,7", elements(bufferView));
+
+		multiChainList.dispose();
+	}
+
+	private String elements(ChainView<String> chainView)
+	{
+		try(Snapshot<String> snapshot = chainView.createImmutableSnapshot())
+		{
+			return join(snapshot);
+		}
+	}
+
+	private String join(Snapshot<String> snapshot)
+	{
+		StringBuilder builder = new StringBuilder();
+		for(String element : snapshot)
+		{
+			if(builder.length() > 0)
+			{
+				builder.append(',');
+			}
+			builder.append(element);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class IdentityIndexTest
+{
+	@Test
+	public void test00001FindAndUnlink() throws Exception
+	{
+		MultiChainList<Object> multiChainList = new MultiChainList<Object>();
+		multiChainList.setIdentityIndex(true);
+		assertTrue("identity index should be enabled", multiChainList.isIdentityIndex());
+		ChainView<Object> chainView = multiChainList.createChainView(null);
+		Linker<Object> linker = chainView.defaultLinker();
+
+		int size = 100000;
+		Object[] elements = new Object[size];
+		List<Node<Object>> nodes = new ArrayList<Node<Object>>(size);
+		for(int i = 0; i < size; i++)
+		{
+			elements[i] = new Object();
+			nodes.add(linker.append(elements[i]));
+		}
+		Node<Object>[] bulkNodes = linker.appendAll("a","b");
+
+		assertSame("node should be correct", nodes.get(0), multiChainList.findNode(elements[0]));
+		assertSame("node should be correct", nodes.get(size / 2), multiChainList.findNode(elements[size / 2]));
+		assertSame("node should be correct", bulkNodes[1], multiChainList.findNode("b"));
+		assertNull("node should not be found", multiChainList.findNode(new Object()));
+		assertNull("node should not be found", multiChainList.findNode(null));
+
+		for(int i = 0; i < size; i += 2)
+		{
+			assertTrue("element should be unlinked", multiChainList.unlink(elements[i]));
+		}
+		assertFalse("element should be unlinked only once", multiChainList.unlink(elements[0]));
+		assertNull("node should not be found", multiChainList.findNode(elements[0]));
+		assertEquals("node size should be correct", (size / 2) + 2, multiChainList.getNodeSize());
+		assertEquals("size should be correct", (size / 2) + 2, chainView.getSize());
+
+		Snapshot<Object> snapshot = chainView.createImmutableSnapshot();
+		assertSame("first element should be correct", elements[1], snapshot.getFirstElement());
+		snapshot.close();
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002PollRemovesFromIndex() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		multiChainList.setIdentityIndex(true);
+		multiChainList.setPartitionLocking(true);
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		String element1 = new String("1");
+		String element2 = new String("2");
+		String element3 = new String("3");
+		chainView.cachedLinker("P1").append(element1);
+		chainView.cachedLinker("P2").appendAll(element2, element3);
+
+		Snapshot<String> openSnapshot = chainView.createImmutableSnapshot();
+		chainView.createImmutableSnapshotPoll(2).close();
+		assertNull("polled node should not be found", multiChainList.findNode(element1));
+		assertNull("polled node should not be found", multiChainList.findNode(element2));
+		assertEquals("node should be correct", element3, multiChainList.findNode(element3).getElement());
+		assertEquals("snapshot content should be correct", Arrays.asList("1","2","3"), new ArrayList<String>(openSnapshot));
+		openSnapshot.close();
+
+		chainView.createImmutableSnapshotPoll().close();
+		assertNull("polled node should not be found", multiChainList.findNode(element3));
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003EnableOnFilledList() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Node<String>[] nodes1 = chainView.cachedLinker("P1").appendAll("1","2");
+		Node<String>[] nodes2 = multiChainList.createChainView("chain2").cachedLinker("P2").appendAll("3");
+
+		try
+		{
+			multiChainList.findNode("1");
+			fail("disabled identity index should be validated");
+		}
+		catch (RuntimeException e) {}
+
+		multiChainList.setIdentityIndex(true);
+		assertSame("node should be correct", nodes1[1], multiChainList.findNode("2"));
+		assertSame("node should be correct", nodes2[0], multiChainList.findNode("3"));
+
+		multiChainList.setIdentityIndex(false);
+		assertFalse("identity index should be disabled", multiChainList.isIdentityIndex());
+		try
+		{
+			multiChainList.unlink("1");
+			fail("disabled identity index should be validated");
+		}
+		catch (RuntimeException e) {}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00004ChainView() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		multiChainList.setIdentityIndex(true);
+		ChainView<String> chainView1 = multiChainList.createChainView("chain1");
+		ChainView<String> chainView2 = multiChainList.createChainView("chain2");
+		ChainView<String> partitionView = multiChainList.createChainView("chain1", multiChainList.getPartition("P2"));
+
+		Node<String> node = LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain("chain1").linkIntoChain("chain2").build(multiChainList).append("1");
+		chainView1.cachedLinker("P2").append("2");
+
+		assertSame("node should be correct", node, chainView1.findNode("1"));
+		assertSame("node should be correct", node, chainView2.findNode("1"));
+		assertNull("node should not be found in other partition", partitionView.findNode("1"));
+		assertNull("node should not be found in other chain", chainView2.findNode("2"));
+		assertFalse("node should not be unlinked in other partition", partitionView.unlink("1"));
+
+		assertTrue("node should be unlinked", chainView1.unlink("1"));
+		assertNull("node should not be found", chainView1.findNode("1"));
+		assertSame("node should remain in other chain", node, chainView2.findNode("1"));
+		assertTrue("node should be unlinked", chainView2.unlink("1"));
+		assertNull("node should not be found", multiChainList.findNode("1"));
+
+		assertTrue("node should be unlinked", partitionView.unlink("2"));
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00005PrimitiveList() throws Exception
+	{
+		LongMultiChainList longList = new LongMultiChainList();
+		try
+		{
+			longList.setIdentityIndex(true);
+			fail("identity index should not be supported");
+		}
+		catch (RuntimeException e)
+		{
+			assertTrue("cause should be correct", e.getCause() instanceof UnsupportedOperationException);
+		}
+		assertFalse("identity index should be disabled", longList.isIdentityIndex());
+		longList.setIdentityIndex(false);
+		longList.dispose();
+
+		IntMultiChainList intList = new IntMultiChainList();
+		try
+		{
+			intList.setIdentityIndex(true);
+			fail("identity index should not be supported");
+		}
+		catch (RuntimeException e)
+		{
+			assertTrue("cause should be correct", e.getCause() instanceof UnsupportedOperationException);
+		}
+		assertFalse("identity index should be disabled", intList.isIdentityIndex());
+		intList.dispose();
+	}
+
+	@Test
+	public void test00006SameElementInstanceLinkedTwice() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		multiChainList.setIdentityIndex(true);
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		String element = new String("1");
+
+		Node<String> node1 = chainView.defaultLinker().append(element);
+		Node<String> node2 = chainView.defaultLinker().append(element);
+		assertSame("latest node should be found", node2, multiChainList.findNode(element));
+
+		node2.unlinkFromAllChains();
+		assertSame("older node should be found", node1, multiChainList.findNode(element));
+		node1.unlinkFromAllChains();
+		assertNull("node should not be found", multiChainList.findNode(element));
+
+		node1 = chainView.defaultLinker().append(element);
+		node2 = chainView.defaultLinker().append(element);
+		Node<String> node3 = chainView.defaultLinker().append(element);
+		node2.unlinkFromAllChains();
+		node3.unlinkFromAllChains();
+		assertSame("older node should be found", node1, multiChainList.findNode(element));
+		assertTrue("element should be unlinked", multiChainList.unlink(element));
+		assertNull("node should not be found", multiChainList.findNode(element));
+		assertNull("duplicates should be released", multiChainList.identityIndexDuplicates);
+
+		// rebuild of index on filled list
+		multiChainList.setIdentityIndex(false);
+		node1 = chainView.defaultLinker().append(element);
+		node2 = chainView.defaultLinker().append(element);
+		multiChainList.setIdentityIndex(true);
+		assertSame("node should be found", node1, multiChainList.findNode(element));
+		node1.unlinkFromAllChains();
+		assertSame("other node should be found", node2, multiChainList.findNode(element));
+		node2.unlinkFromAllChains();
+		assertNull("node should not be found", multiChainList.findNode(element));
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00007SameElementInstanceInTwoChains() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		multiChainList.setIdentityIndex(true);
+		ChainView<String> chainView1 = multiChainList.createChainView("chain1");
+		ChainView<String> chainView2 = multiChainList.createChainView("chain2");
+		String element = new String("1");
+
+		Node<String> node1 = chainView1.defaultLinker().append(element);
+		Node<String> node2 = chainView2.defaultLinker().append(element);
+		assertSame("latest node should be found", node2, multiChainList.findNode(element));
+		assertSame("node of chain1 should be found", node1, chainView1.findNode(element));
+		assertSame("node of chain2 should be found", node2, chainView2.findNode(element));
+
+		assertTrue("element should be unlinked from chain1", chainView1.unlink(element));
+		assertNull("node of chain1 should not be found", chainView1.findNode(element));
+		assertFalse("element should not be unlinked again", chainView1.unlink(element));
+		assertSame("node of chain2 should be found", node2, chainView2.findNode(element));
+		assertEquals("link size of node1 should be correct", 0, node1.linkSize());
+		assertNotNull("node2 should be linked to chain2", node2.isLink("chain2"));
+		assertEquals("size of chain1 should be correct", 0, chainView1.getSize());
+		assertEquals("size of chain2 should be correct", 1, chainView2.getSize());
+		assertEquals("node size should be correct", 1L, multiChainList.getNodeSize());
+
+		assertTrue("element should be unlinked from chain2", chainView2.unlink(element));
+		assertNull("node should not be found", multiChainList.findNode(element));
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		chainView1.dispose();
+		chainView2.dispose();
+		multiChainList.dispose();
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class LatencyRecorderTest
+{
+	@Test
+	public void test00001RecordLocks()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		TestLatencyRecorder latencyRecorder = new TestLatencyRecorder();
+		multiChainList.setLatencyRecorder(latencyRecorder);
+		assertSame("latency recorder should be correct", latencyRecorder, multiChainList.getLatencyRecorder());
+
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Node<String> node = chainView.cachedLinker("P1").append("1");
+		chainView.cachedLinker("P2").appendAll("2","3");
+		node.unlinkFromAllChains();
+		chainView.createImmutableSnapshot().close();
+		chainView.createImmutableSnapshotPoll().close();
+
+		assertEquals("lock records should be correct", "link:true,linkAll:true,unlink:true,snapshot:false,snapshotPoll:true", latencyRecorder.getLockRecords());
+
+		latencyRecorder.clear();
+		latencyRecorder.enabled = false;
+		chainView.cachedLinker("P1").append("4");
+		chainView.createImmutableSnapshot().close();
+		assertEquals("lock records should be correct", "", latencyRecorder.getLockRecords());
+		assertTrue("snapshot records should be empty", latencyRecorder.snapshotRecords.isEmpty());
+
+		multiChainList.setLatencyRecorder(null);
+		assertNull("latency recorder should be correct", multiChainList.getLatencyRecorder());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002RecordSnapshotsAndReclamation()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		TestLatencyRecorder latencyRecorder = new TestLatencyRecorder();
+		multiChainList.setLatencyRecorder(latencyRecorder);
+
+		ChainView<String> chainView = multiChainList.createChainView("chain1");
+		chainView.cachedLinker("P1").appendAll("1","2");
+		chainView.cachedLinker("P2").append("3");
+
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		assertTrue("snapshot records should be empty", latencyRecorder.snapshotRecords.isEmpty());
+		snapshot.close();
+		snapshot.close();
+		assertEquals("snapshot records should be correct", 1, latencyRecorder.snapshotRecords.size());
+		assertEquals("snapshot record should be correct", multiChainList.uuid.toString() + "/chain1/P1,P2/3", latencyRecorder.snapshotRecords.get(0));
+
+		snapshot = chainView.createImmutableSnapshot();
+		chainView.createImmutableSnapshotPoll().close();
+		latencyRecorder.clear();
+		snapshot.close();
+		assertEquals("snapshot records should be correct", 1, latencyRecorder.snapshotRecords.size());
+		assertFalse("reclamation records should not be empty", latencyRecorder.reclamationRecords.isEmpty());
+		long freedLinks = 0L;
+		for(Long freedLinksOfPass : latencyRecorder.reclamationRecords)
+		{
+			freedLinks += freedLinksOfPass;
+		}
+		assertTrue("freed links should be correct", freedLinks > 0L);
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003FlightRecording()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		if(FlightRecorderSupport.newRecorder() == null)
+		{
+			try
+			{
+				multiChainList.setFlightRecording(true);
+				fail("flight recording should not be supported");
+			}
+			catch (RuntimeException e)
+			{
+				assertTrue("cause should be correct", e.getCause() instanceof UnsupportedOperationException);
+			}
+			assertNull("latency recorder should be correct", multiChainList.getLatencyRecorder());
+		}
+		else
+		{
+			multiChainList.setFlightRecording(true);
+			assertTrue("latency recorder should be installed", multiChainList.getLatencyRecorder() != null);
+			multiChainList.defaultLinker().append("1");
+			multiChainList.setFlightRecording(false);
+			assertNull("latency recorder should be correct", multiChainList.getLatencyRecorder());
+		}
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00004RecordWithoutLock()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		TestLatencyRecorder latencyRecorder = new TestLatencyRecorder();
+		latencyRecorder.multiChainList = multiChainList;
+		multiChainList.setLatencyRecorder(latencyRecorder);
+
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Node<String> node = chainView.defaultLinker().append("1");
+		chainView.defaultLinker().appendAll("2","3");
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		node.unlinkFromAllChains();
+		chainView.createImmutableSnapshotPoll().close();
+		snapshot.close();
+
+		assertFalse("lock records should not be empty", latencyRecorder.lockRecords.isEmpty());
+		assertFalse("reclamation records should not be empty", latencyRecorder.reclamationRecords.isEmpty());
+		assertFalse("record methods should be invoked without write lock", latencyRecorder.recordedWithLock);
+
+		multiChainList.dispose();
+	}
+
+	private static class TestLatencyRecorder implements ILatencyRecorder
+	{
+		private volatile boolean enabled = true;
+		private volatile MultiChainList<?> multiChainList = null;
+		private volatile boolean recordedWithLock = false;
+		private List<String> lockRecords = new ArrayList<String>();
+		private List<String> snapshotRecords = new ArrayList<String>();
+		private List<Long> reclamationRecords = new ArrayList<Long>();
+
+		@Override
+		public boolean isEnabled()
+		{
+			return enabled;
+		}
+
+		@Override
+		public synchronized void recordLock(String listId, String operation, boolean exclusive, long waitNanos, long holdNanos)
+		{
+			assertTrue("wait time should be correct", waitNanos >= 0L);
+			assertTrue("hold time should be correct", holdNanos >= 0L);
+			checkLock();
+			lockRecords.add(operation + ":" + exclusive);
+		}
+
+		@Override
+		public synchronized void recordSnapshot(String listId, String chainName, String partitionNames, long size, long openNanos)
+		{
+			assertTrue("open time should be correct", openNanos >= 0L);
+			checkLock();
+			snapshotRecords.add(listId + "/" + chainName + "/" + partitionNames + "/" + size);
+		}
+
+		@Override
+		public synchronized void recordReclamation(String listId, long freedLinks, boolean pending, long durationNanos)
+		{
+			assertTrue("reclamation time should be correct", durationNanos >= 0L);
+			checkLock();
+			reclamationRecords.add(freedLinks);
+		}
+
+		private void checkLock()
+		{
+			MultiChainList<?> multiChainList = this.multiChainList;
+			if((multiChainList != null) && multiChainList.writeLock.isHeldByCurrentThread())
+			{
+				recordedWithLock = true;
+			}
+		}
+
+		private synchronized String getLockRecords()
+		{
+			return String.join(",", lockRecords);
+		}
+
+		private synchronized void clear()
+		{
+			lockRecords.clear();
+			snapshotRecords.clear();
+			reclamationRecords.clear();
+		}
+	}
+}
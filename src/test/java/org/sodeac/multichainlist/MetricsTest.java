@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MetricsTest
+{
+	@Test
+	public void test00001Counters() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>("P1","P2");
+		assertFalse("metrics should be disabled", multiChainList.isMetricsEnabled());
+		assertNull("metrics should be null", multiChainList.getMetrics());
+		multiChainList.setMetricsEnabled(true);
+		MultiChainListMetrics metrics = multiChainList.getMetrics();
+		assertNotNull("metrics should be enabled", metrics);
+
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		chainView.cachedLinker("P1").appendAll("1","2","3");
+		chainView.cachedLinker("P2").append("4");
+		Node<String> node = multiChainList.createChainView("chain2").cachedLinker("P2").prepend("5");
+		assertEquals("append count should be correct", 4L, metrics.getAppendCount());
+		assertEquals("prepend count should be correct", 1L, metrics.getPrependCount());
+		assertEquals("append count should be correct", Long.valueOf(3L), metrics.getAppendCountByChain().get("P1/null"));
+		assertEquals("append count should be correct", Long.valueOf(1L), metrics.getAppendCountByChain().get("P2/null"));
+		assertEquals("prepend count should be correct", Long.valueOf(1L), metrics.getPrependCountByChain().get("P2/chain2"));
+		assertEquals("node size should be correct", 5L, metrics.getNodeSize());
+
+		Snapshot<String> snapshot1 = chainView.createImmutableSnapshot();
+		Snapshot<String> snapshot2 = chainView.createImmutableSnapshot();
+		node.unlinkFromAllChains();
+		Snapshot<String> snapshot3 = chainView.createImmutableSnapshot();
+		assertEquals("open snapshot count should be correct", 3L, metrics.getOpenSnapshotCount());
+		assertEquals("open snapshot version count should be correct", 2L, metrics.getOpenSnapshotVersionCount());
+		assertEquals("unlink count should be correct", 1L, metrics.getUnlinkCount());
+
+		chainView.createImmutableSnapshotPoll(2).close();
+		assertEquals("poll count should be correct", 1L, metrics.getPollCount());
+		assertEquals("polled element count should be correct", 2L, metrics.getPolledElementCount());
+		assertTrue("obsolete link count should be correct", metrics.getObsoleteLinkCount() > 0L);
+
+		snapshot1.close();
+		snapshot2.close();
+		snapshot3.close();
+		assertEquals("open snapshot count should be correct", 0L, metrics.getOpenSnapshotCount());
+		assertEquals("open snapshot version count should be correct", 0L, metrics.getOpenSnapshotVersionCount());
+		assertEquals("obsolete link count should be correct", 0L, metrics.getObsoleteLinkCount());
+		assertTrue("reclaimed link count should be correct", metrics.getReclaimedLinkCount() > 0L);
+
+		multiChainList.setNodeMaxSize(multiChainList.getNodeSize());
+		try
+		{
+			chainView.cachedLinker("P1").append("6");
+			fail("list should be full");
+		}
+		catch (ListFullException e) {}
+		assertEquals("list full count should be correct", 1L, metrics.getListFullCount());
+
+		assertTrue("write lock count should be correct", metrics.getWriteLockCount() > 0L);
+		assertTrue("write lock hold time should be correct", metrics.getWriteLockHoldNanos() > 0L);
+		assertTrue("write lock max hold time should be correct", metrics.getWriteLockMaxHoldNanos() <= metrics.getWriteLockHoldNanos());
+
+		metrics.reset();
+		assertEquals("append count should be correct", 0L, metrics.getAppendCount());
+		assertEquals("unlink count should be correct", 0L, metrics.getUnlinkCount());
+		assertEquals("write lock count should be correct", 0L, metrics.getWriteLockCount());
+		assertEquals("node size should be correct", 2L, metrics.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002MXBeanRegistration() throws Exception
+	{
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ObjectName objectName = new ObjectName(MultiChainListMetrics.OBJECT_NAME_PREFIX + multiChainList.uuid);
+		assertFalse("metrics should not be registered", mBeanServer.isRegistered(objectName));
+
+		multiChainList.setMetricsEnabled(true);
+		assertTrue("metrics should be registered", mBeanServer.isRegistered(objectName));
+		assertEquals("object name should be correct", objectName, multiChainList.getMetrics().getObjectName());
+
+		multiChainList.defaultLinker().appendAll("1","2");
+		MultiChainListMetricsMXBean proxy = JMX.newMXBeanProxy(mBeanServer, objectName, MultiChainListMetricsMXBean.class);
+		assertEquals("list id should be correct", multiChainList.uuid.toString(), proxy.getListId());
+		assertEquals("append count should be correct", 2L, proxy.getAppendCount());
+		assertEquals("append count should be correct", Long.valueOf(2L), proxy.getAppendCountByChain().get("null/null"));
+		assertEquals("append count should be correct", 2L, mBeanServer.getAttribute(objectName, "AppendCount"));
+
+		multiChainList.setMetricsEnabled(false);
+		assertFalse("metrics should not be registered", mBeanServer.isRegistered(objectName));
+		assertNull("metrics should be null", multiChainList.getMetrics());
+
+		multiChainList.setMetricsEnabled(true);
+		assertTrue("metrics should be registered", mBeanServer.isRegistered(objectName));
+		multiChainList.dispose();
+		assertFalse("metrics should not be registered after dispose", mBeanServer.isRegistered(objectName));
+	}
+}
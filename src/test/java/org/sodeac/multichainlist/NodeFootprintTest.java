@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.openjdk.jol.vm.VM;
+import org.sodeac.multichainlist.Node.Link;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class NodeFootprintTest
+{
+	private static final String[] ADDITIONAL_CHAINS = new String[] {"chain1","chain2","chain3"};
+
+	// node with heads of 3 additional chains in array, with or without compressed references (previous versions: > 200 bytes with hash map)
+	private static final long MAX_NODE_FOOTPRINT = 96L;
+
+	@Test
+	public void test00001LinkHoldsNoElement() throws Exception
+	{
+		for(Field field : Link.class.getDeclaredFields())
+		{
+			assertTrue("link should not store element " + field.getName(), ! "element".equals(field.getName()));
+		}
+
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		Node<String> node = multiChainList.defaultLinker().append("1");
+		assertEquals("element should be correct", "1", node.headOfDefaultChain.getElement());
+
+		node.unlinkFromAllChains();
+		assertNull("element should be correct", node.getElement());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002HeadsOfAdditionalChains() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		Node<String> node = buildLinker(multiChainList).append("1");
+
+		assertNotNull("default head should be correct", node.getLink(null));
+		assertEquals("heads size should be correct", ADDITIONAL_CHAINS.length, node.headsOfAdditionalChains.length);
+		assertEquals("link size should be correct", ADDITIONAL_CHAINS.length + 1, node.linkSize());
+		for(String chainName : ADDITIONAL_CHAINS)
+		{
+			assertNotNull("head should be correct", node.getLink(chainName));
+			assertEquals("chain of head should be correct", chainName, node.getLink(chainName).linkageDefinition.getChainName());
+			assertNotNull("linkage should be correct", node.isLink(chainName));
+		}
+		assertNull("head should be correct", node.getLink("unknown"));
+		assertEquals("linkage definitions should be correct", ADDITIONAL_CHAINS.length + 1, node.getLinkageDefinitions().length);
+
+		Link<String> head = node.getLink("chain2");
+		Snapshot<String> snapshot = multiChainList.createChainView("chain2").createImmutableSnapshot();
+		buildLinker(multiChainList).append("2");
+		assertEquals("heads size should be correct", ADDITIONAL_CHAINS.length, node.headsOfAdditionalChains.length);
+		assertSame("head should be replaced by newer version", head, node.getLink("chain2").olderVersion);
+		snapshot.close();
+
+		assertTrue("unlink should be correct", node.unlinkFromChain("chain2"));
+		assertEquals("heads size should be correct", ADDITIONAL_CHAINS.length - 1, node.headsOfAdditionalChains.length);
+		assertNull("head should be correct", node.getLink("chain2"));
+		assertNotNull("head should be correct", node.getLink("chain1"));
+		assertNotNull("head should be correct", node.getLink("chain3"));
+
+		node.unlinkFromAllChains();
+		assertNull("heads should be correct", node.headsOfAdditionalChains);
+		assertEquals("node size should be correct", 1L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003Footprint() throws Exception
+	{
+		Assume.assumeTrue("instrumentation is not available", isInstrumentationAvailable());
+
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		Linker<String> linker = buildLinker(multiChainList);
+		List<Node<String>> nodeList = new ArrayList<Node<String>>();
+		for(int i = 0; i < 100; i++)
+		{
+			nodeList.add(linker.append(Integer.toString(i)));
+		}
+
+		for(Node<String> node : nodeList)
+		{
+			long footprint = VM.current().sizeOf(node) + VM.current().sizeOf(node.headsOfAdditionalChains);
+			assertTrue("footprint of node should be correct: " + footprint, footprint <= MAX_NODE_FOOTPRINT);
+		}
+
+		multiChainList.dispose();
+	}
+
+	/**
+	 * JOL obtains instrumentation by dynamic attach and prints a warning, if this fails. The warning is discarded.
+	 *
+	 * @return true, if JOL measures with instrumentation, otherwise false
+	 */
+	private static boolean isInstrumentationAvailable()
+	{
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(new ByteArrayOutputStream()));
+		try
+		{
+			Method instance = Class.forName("org.openjdk.jol.vm.InstrumentationSupport").getDeclaredMethod("instance");
+			instance.setAccessible(true);
+			return instance.invoke(null) != null;
+		}
+		catch (Exception e)
+		{
+			return false;
+		}
+		finally
+		{
+			System.setOut(out);
+		}
+	}
+
+	private static Linker<String> buildLinker(MultiChainList<String> multiChainList)
+	{
+		LinkerBuilder linkerBuilder = LinkerBuilder.newBuilder().inPartition(null).linkIntoChain(null);
+		for(String chainName : ADDITIONAL_CHAINS)
+		{
+			linkerBuilder.linkIntoChain(chainName);
+		}
+		return linkerBuilder.build(multiChainList);
+	}
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Assume;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.sodeac.multichainlist.MultiChainList.ObsoleteLinkQueue;
+import org.sodeac.multichainlist.Node.Link;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ObsoleteLinkQueueTest
+{
+	@Test
+	public void test00001QueueOrder() throws Exception
+	{
+		ObsoleteLinkQueue<Integer> queue = new ObsoleteLinkQueue<Integer>();
+		assertTrue("queue should be empty", queue.isEmpty());
+
+		List<Link<Integer>> links = new ArrayList<Link<Integer>>();
+		for(int i = 0; i < 5; i++)
+		{
+			Link<Integer> link = new Link<Integer>();
+			links.add(link);
+			assertTrue("link should be queued", queue.addLast(link));
+		}
+		assertFalse("link should be queued only once", queue.addLast(links.get(4)));
+		assertFalse("link should be queued only once", queue.addLast(links.get(2)));
+		assertEquals("queue size should be correct", 5, queue.size());
+
+		for(int i = 0; i < 3; i++)
+		{
+			assertSame("head of queue should be correct", links.get(i), queue.getFirst());
+			assertSame("removed link should be correct", links.get(i), queue.removeFirst());
+			assertNull("removed link should be unlinked from queue", links.get(i).nextObsoleteLink);
+		}
+		assertTrue("removed link should be queued again", queue.addLast(links.get(0)));
+		assertEquals("queue size should be correct", 3, queue.size());
+
+		assertSame("removed link should be correct", links.get(3), queue.removeFirst());
+		assertSame("removed link should be correct", links.get(4), queue.removeFirst());
+		assertSame("removed link should be correct", links.get(0), queue.removeFirst());
+		assertTrue("queue should be empty", queue.isEmpty());
+		assertEquals("queue size should be correct", 0, queue.size());
+
+		try
+		{
+			queue.getFirst();
+			fail("empty queue should be validated");
+		}
+		catch (NoSuchElementException e) {}
+
+		queue.addLast(links.get(1));
+		queue.addLast(links.get(2));
+		queue.clear();
+		assertTrue("queue should be empty", queue.isEmpty());
+		assertNull("cleared link should be unlinked from queue", links.get(1).nextObsoleteLink);
+	}
+
+	@Test
+	public void test00002SetObsoleteWithoutAllocation() throws Exception
+	{
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue("allocation measurement should be supported", threadMXBean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean)threadMXBean;
+		Assume.assumeTrue("allocation measurement should be enabled", allocationMXBean.isThreadAllocatedMemoryEnabled());
+
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Snapshot<Integer> openSnapshot = chainView.createImmutableSnapshot();
+
+		int count = 100000;
+		List<Link<Integer>> links = new ArrayList<Link<Integer>>(count);
+		for(int i = 0; i < count; i++)
+		{
+			links.add(new Link<Integer>());
+		}
+
+		long threadId = Thread.currentThread().getId();
+		multiChainList.writeLock.lock();
+		try
+		{
+			multiChainList.getModificationVersion();
+			long before = allocationMXBean.getThreadAllocatedBytes(threadId);
+			for(int i = 0; i < count; i++)
+			{
+				multiChainList.setObsolete(links.get(i));
+			}
+			long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - before;
+			assertTrue("set obsolete should not allocate: " + allocated + " bytes", allocated < 10000);
+		}
+		finally
+		{
+			multiChainList.writeLock.unlock();
+		}
+		assertEquals("obsolete list size should be correct", count, multiChainList.obsoleteList.size());
+
+		openSnapshot.close();
+		assertTrue("obsolete list should be empty", multiChainList.obsoleteList.isEmpty());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003ReclaimWithOpenSnapshots() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Node<Integer>[] nodes = chainView.defaultLinker().appendAll(1,2,3,4,5,6);
+
+		Snapshot<Integer> snapshot1 = chainView.createImmutableSnapshot();
+		nodes[0].unlinkFromAllChains();
+		Snapshot<Integer> snapshot2 = chainView.createImmutableSnapshot();
+		nodes[5].unlinkFromAllChains();
+		int obsoleteSize = multiChainList.obsoleteList.size();
+		assertTrue("obsolete links should exist", obsoleteSize > 0);
+
+		snapshot1.close();
+		assertTrue("obsolete list size should be correct", multiChainList.obsoleteList.size() <= obsoleteSize);
+		assertFalse("obsolete links should be retained for open snapshot", multiChainList.obsoleteList.isEmpty());
+		assertEquals("snapshot content should be correct", Arrays.asList(2,3,4,5,6), new ArrayList<Integer>(snapshot2));
+
+		snapshot2.close();
+		assertTrue("obsolete list should be empty", multiChainList.obsoleteList.isEmpty());
+
+		Snapshot<Integer> snapshot = chainView.createImmutableSnapshot();
+		assertEquals("chain content should be correct", Arrays.asList(2,3,4,5), new ArrayList<Integer>(snapshot));
+		snapshot.close();
+
+		multiChainList.dispose();
+	}
+}
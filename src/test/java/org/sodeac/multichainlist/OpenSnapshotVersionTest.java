@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class OpenSnapshotVersionTest
+{
+	@Test
+	public void test00001OldestOpenVersionIsHead() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Linker<Integer> linker = chainView.defaultLinker();
+
+		List<Snapshot<Integer>> snapshotList = new ArrayList<Snapshot<Integer>>();
+		for(int i = 0; i < 100; i++)
+		{
+			linker.append(i);
+			snapshotList.add(chainView.createImmutableSnapshot());
+			snapshotList.add(chainView.createImmutableSnapshot());
+		}
+		assertEquals("open version size should be correct", 100, multiChainList.openSnapshotVersionList.size());
+
+		List<Snapshot<Integer>> openSnapshotList = new ArrayList<Snapshot<Integer>>(snapshotList);
+		Collections.shuffle(openSnapshotList, new Random(1080L));
+		while(! openSnapshotList.isEmpty())
+		{
+			openSnapshotList.remove(openSnapshotList.size() - 1).close();
+
+			long oldestOpenVersion = Long.MAX_VALUE;
+			for(Snapshot<Integer> snapshot : openSnapshotList)
+			{
+				oldestOpenVersion = Math.min(oldestOpenVersion, snapshot.version.getSequence());
+			}
+			if(openSnapshotList.isEmpty())
+			{
+				assertTrue("open version list should be empty", multiChainList.openSnapshotVersionList.isEmpty());
+				assertNull("snapshot version should be removed", multiChainList.snapshotVersion);
+			}
+			else
+			{
+				assertEquals("oldest open version should be correct", oldestOpenVersion, multiChainList.openSnapshotVersionList.peekFirst().getSequence());
+				assertTrue("oldest open version should be open", multiChainList.openSnapshotVersionList.peekFirst().getOpenSnapshotCount() > 0);
+			}
+		}
+
+		chainView.createImmutableSnapshotPoll().close();
+		assertTrue("obsolete list should be empty", multiChainList.obsoleteList.isEmpty());
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002ReopenedVersionIsTracked() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Linker<Integer> linker = chainView.defaultLinker();
+
+		linker.appendAll(1,2,3);
+		Snapshot<Integer> snapshot1 = chainView.createImmutableSnapshot();
+
+		linker.append(4);
+		chainView.createImmutableSnapshot().close();
+
+		// reuses version without open snapshots behind oldest open version
+		Snapshot<Integer> snapshot2 = chainView.createImmutableSnapshot();
+		assertEquals("open version size should be correct", 2, multiChainList.openSnapshotVersionList.size());
+
+		chainView.createImmutableSnapshotPoll().close();
+		snapshot1.close();
+
+		assertEquals("open version size should be correct", 1, multiChainList.openSnapshotVersionList.size());
+		assertTrue("obsolete list should not be empty", ! multiChainList.obsoleteList.isEmpty());
+		assertEquals("snapshot content should be correct", Arrays.asList(1,2,3,4), new ArrayList<Integer>(snapshot2));
+		snapshot2.close();
+		snapshot2.close();
+
+		assertTrue("open version list should be empty", multiChainList.openSnapshotVersionList.isEmpty());
+		assertTrue("obsolete list should be empty", multiChainList.obsoleteList.isEmpty());
+
+		linker.appendAll(5,6);
+		Snapshot<Integer> snapshot = chainView.createImmutableSnapshot();
+		assertEquals("chain content should be correct", Arrays.asList(5,6), new ArrayList<Integer>(snapshot));
+		snapshot.close();
+
+		multiChainList.dispose();
+	}
+}
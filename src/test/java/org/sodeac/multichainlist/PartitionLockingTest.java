@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PartitionLockingTest
+{
+	@Test
+	public void test00001AppendAndPrepend() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>("P1","P2");
+		multiChainList.setPartitionLocking(true);
+		assertTrue("partition locking should be enabled", multiChainList.isPartitionLocking());
+
+		Linker<String> linkerP1 = LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain("a").linkIntoChain("b").build(multiChainList);
+		Linker<String> linkerP2 = LinkerBuilder.newBuilder().inPartition("P2").linkIntoChain("a").build(multiChainList);
+
+		// first link into chain => write lock
+		linkerP1.append("2");
+		linkerP2.append("5");
+
+		// partition locks
+		linkerP1.append("3");
+		linkerP1.prepend("1");
+		linkerP2.appendAll("6","7");
+		linkerP2.prependAll("4");
+
+		assertEquals("node size should be correct", 7L, multiChainList.getNodeSize());
+		assertEquals("size of chain should be correct", 3, multiChainList.getPartition("P1").getSize("b"));
+
+		ChainView<String> chainA = multiChainList.createChainView("a");
+		assertEquals("size of chain should be correct", 7, chainA.getSize());
+		Snapshot<String> snapshot = chainA.createImmutableSnapshot();
+		int index = 1;
+		for(String item : snapshot)
+		{
+			assertEquals("item should be correct",Integer.toString(index), item);
+			index++;
+		}
+		assertEquals("snapshot size should be correct", 8, index);
+		snapshot.close();
+
+		multiChainList.setPartitionLocking(false);
+		assertFalse("partition locking should be disabled", multiChainList.isPartitionLocking());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002OpenSnapshot() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>("P1","P2");
+		multiChainList.setPartitionLocking(true);
+		Linker<String> linker = LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain("a").build(multiChainList);
+		linker.appendAll("1","2","3");
+
+		ChainView<String> chainA = multiChainList.createChainView("a");
+		Snapshot<String> snapshot = chainA.createImmutableSnapshot();
+
+		linker.append("4"); // new version => write lock
+		linker.append("5"); // partition locks with open snapshot
+		linker.prepend("0");
+
+		assertEquals("snapshot size should be correct", 3, snapshot.size());
+		int index = 1;
+		for(String item : snapshot)
+		{
+			assertEquals("item should be correct",Integer.toString(index), item);
+			index++;
+		}
+		assertEquals("snapshot size should be correct", 4, index);
+		snapshot.close();
+
+		snapshot = chainA.createImmutableSnapshot();
+		index = 0;
+		for(String item : snapshot)
+		{
+			assertEquals("item should be correct",Integer.toString(index), item);
+			index++;
+		}
+		assertEquals("snapshot size should be correct", 6, index);
+		snapshot.close();
+
+		assertEquals("open snapshot version list should be empty", 0, multiChainList.openSnapshotVersionList.size());
+		assertEquals("obsolete list should be empty", 0, multiChainList.obsoleteList.size());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003ConcurrentProducersAndConsumer() throws Exception
+	{
+		final int partitionCount = 8;
+		final int producersPerPartition = 2;
+		final int elementsPerProducer = 10000;
+
+		String[] partitionNames = new String[partitionCount];
+		for(int i = 0; i < partitionCount; i++)
+		{
+			partitionNames[i] = "P" + i;
+		}
+
+		MultiChainList<long[]> multiChainList = new MultiChainList<>(partitionNames);
+		multiChainList.setPartitionLocking(true);
+
+		CountDownLatch startLatch = new CountDownLatch(1);
+		AtomicReference<Throwable> producerError = new AtomicReference<Throwable>();
+		List<Thread> producerList = new ArrayList<Thread>();
+		for(int p = 0; p < partitionCount * producersPerPartition; p++)
+		{
+			final long producer = p;
+			final Linker<long[]> linker = LinkerBuilder.newBuilder().inPartition(partitionNames[p % partitionCount]).linkIntoChain("queue").linkIntoChain("log").build(multiChainList);
+			Thread producerThread = new Thread(() ->
+			{
+				try
+				{
+					startLatch.await();
+					for(long i = 0; i < elementsPerProducer; i++)
+					{
+						if((i % 10) == 0)
+						{
+							linker.appendAll(new long[] {producer, i});
+						}
+						else
+						{
+							linker.append(new long[] {producer, i});
+						}
+					}
+				}
+				catch (Throwable e)
+				{
+					producerError.compareAndSet(null, e);
+				}
+			});
+			producerList.add(producerThread);
+			producerThread.start();
+		}
+
+		ChainView<long[]> queue = multiChainList.createChainView("queue");
+		long expected = (long)partitionCount * producersPerPartition * elementsPerProducer;
+		long[] nextByProducer = new long[partitionCount * producersPerPartition];
+		long consumed = 0;
+		startLatch.countDown();
+
+		long timeout = System.currentTimeMillis() + 60000;
+		while((consumed < expected) && (producerError.get() == null) && (System.currentTimeMillis() < timeout))
+		{
+			Snapshot<long[]> snapshot = queue.createImmutableSnapshotPoll();
+			try
+			{
+				for(long[] item : snapshot)
+				{
+					assertEquals("item order of producer should be correct", nextByProducer[(int)item[0]], item[1]);
+					nextByProducer[(int)item[0]]++;
+					consumed++;
+				}
+			}
+			finally
+			{
+				snapshot.close();
+			}
+		}
+
+		for(Thread producerThread : producerList)
+		{
+			producerThread.join(10000);
+		}
+
+		if(producerError.get() != null)
+		{
+			throw new AssertionError("producer should finish without error", producerError.get());
+		}
+		assertEquals("consumed item count should be correct", expected, consumed);
+		assertEquals("size of queue should be correct", 0, queue.getSize());
+
+		ChainView<long[]> log = multiChainList.createChainView("log");
+		assertEquals("size of log should be correct", expected, log.getSize());
+		assertEquals("node size should be correct", expected, multiChainList.getNodeSize());
+
+		nextByProducer = new long[partitionCount * producersPerPartition];
+		Snapshot<long[]> snapshot = log.createImmutableSnapshot();
+		for(long[] item : snapshot)
+		{
+			assertEquals("item order of producer should be correct", nextByProducer[(int)item[0]], item[1]);
+			nextByProducer[(int)item[0]]++;
+		}
+		snapshot.close();
+
+		assertEquals("open snapshot version list should be empty", 0, multiChainList.openSnapshotVersionList.size());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00004NodeMaxSize() throws Exception
+	{
+		final int partitionCount = 8;
+		final long nodeMaxSize = 5000L;
+
+		String[] partitionNames = new String[partitionCount];
+		for(int i = 0; i < partitionCount; i++)
+		{
+			partitionNames[i] = "P" + i;
+		}
+
+		MultiChainList<String> multiChainList = new MultiChainList<>(partitionNames);
+		multiChainList.setPartitionLocking(true);
+		multiChainList.setNodeMaxSize(nodeMaxSize);
+
+		CountDownLatch startLatch = new CountDownLatch(1);
+		AtomicLong rejected = new AtomicLong(0L);
+		List<Thread> producerList = new ArrayList<Thread>();
+		for(int p = 0; p < partitionCount; p++)
+		{
+			final Linker<String> linker = LinkerBuilder.newBuilder().inPartition(partitionNames[p]).linkIntoChain(null).build(multiChainList);
+			linker.append("init");
+			Thread producerThread = new Thread(() ->
+			{
+				try
+				{
+					startLatch.await();
+					for(int i = 0; i < nodeMaxSize; i++)
+					{
+						try
+						{
+							linker.append("element");
+						}
+						catch (ListFullException e)
+						{
+							rejected.incrementAndGet();
+						}
+					}
+				}
+				catch (InterruptedException e) {}
+			});
+			producerList.add(producerThread);
+			producerThread.start();
+		}
+		startLatch.countDown();
+
+		for(Thread producerThread : producerList)
+		{
+			producerThread.join(60000);
+		}
+
+		assertEquals("node size should be correct", nodeMaxSize, multiChainList.getNodeSize());
+		assertEquals("rejected count should be correct", (partitionCount * nodeMaxSize) - (nodeMaxSize - partitionCount), rejected.get());
+
+		long chainSize = 0L;
+		for(Partition<String> partition : multiChainList.getPartitionList())
+		{
+			chainSize += partition.getSize(null);
+		}
+		assertEquals("chain size should be correct", nodeMaxSize, chainSize);
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00005SnapshotWhileAppending() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<>("P1","P2");
+		multiChainList.setPartitionLocking(true);
+		Linker<String> linker = LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain("a").build(multiChainList);
+		linker.appendAll("1","2"); // first link into chain => write lock
+		ChainView<String> chainA = multiChainList.createChainView("a");
+		Partition<String> partition = multiChainList.getPartition("P1");
+
+		AtomicReference<Node<String>> appended = new AtomicReference<Node<String>>();
+		AtomicReference<Throwable> producerError = new AtomicReference<Throwable>();
+		Snapshot<String> snapshot;
+
+		// producer checks snapshot state, before it waits for partition lock
+		partition.partitionLock.lock();
+		try
+		{
+			Thread producerThread = new Thread(() ->
+			{
+				try
+				{
+					appended.set(linker.append("3"));
+				}
+				catch (Throwable e)
+				{
+					producerError.compareAndSet(null, e);
+				}
+			});
+			producerThread.start();
+			long timeout = System.currentTimeMillis() + 10000;
+			while((! partition.partitionLock.hasQueuedThread(producerThread)) && (System.currentTimeMillis() < timeout))
+			{
+				Thread.sleep(1);
+			}
+			assertTrue("producer should wait for partition lock", partition.partitionLock.hasQueuedThread(producerThread));
+
+			// snapshot pins current version (partition lock is reentrant)
+			snapshot = chainA.createImmutableSnapshot();
+		}
+		finally
+		{
+			partition.partitionLock.unlock();
+		}
+
+		long timeout = System.currentTimeMillis() + 10000;
+		while((appended.get() == null) && (producerError.get() == null) && (System.currentTimeMillis() < timeout))
+		{
+			Thread.sleep(1);
+		}
+		if(producerError.get() != null)
+		{
+			throw new AssertionError("producer should finish without error", producerError.get());
+		}
+		assertTrue("new link should not be created with pinned version", appended.get().getLink("a").createOnVersion.getSequence() > snapshot.version.getSequence());
+
+		List<String> content = new ArrayList<String>();
+		for(String item : snapshot)
+		{
+			content.add(item);
+		}
+		assertEquals("snapshot content should be correct", Arrays.asList("1","2"), content);
+		snapshot.close();
+
+		assertEquals("size of chain should be correct", 3, chainA.getSize());
+		assertEquals("open snapshot version list should be empty", 0, multiChainList.openSnapshotVersionList.size());
+		multiChainList.dispose();
+	}
+}
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PrimitiveListTest
+{
+	@Test
+	public void test00001LongList() throws Exception
+	{
+		LongMultiChainList list = new LongMultiChainList();
+		LongLinker linker = list.defaultLongLinker();
+
+		LongNode node = linker.append(2L);
+		assertEquals("element should be correct", 2L, node.getLongElement());
+		assertNull("boxed element should not be stored", node.element);
+
+		linker.appendAll(3L, 4L);
+		linker.prepend(1L);
+		linker.prependAll(0L);
+
+		assertEquals("node size should be correct", 5L, list.getNodeSize());
+
+		LongChainView chain = list.createLongChainView(null);
+		assertEquals("size should be correct", 5, chain.getSize());
+
+		LongSnapshot snapshot = chain.createImmutableSnapshot();
+		assertEquals("snapshot size should be correct", 5, snapshot.size());
+		assertEquals("first element should be correct", 0L, snapshot.getFirstElement());
+		assertEquals("last element should be correct", 4L, snapshot.getLastElement());
+		assertArrayEquals("snapshot content should be correct", new long[] {0L,1L,2L,3L,4L}, snapshot.toArray());
+		assertEquals("sum should be correct", 10L, snapshot.stream().sum());
+
+		long expected = 0L;
+		PrimitiveIterator.OfLong iterator = snapshot.iterator();
+		while(iterator.hasNext())
+		{
+			assertEquals("element should be correct", expected++, iterator.nextLong());
+		}
+
+		// generic access boxes on demand
+		expected = 0L;
+		for(Long element : snapshot.getSnapshot())
+		{
+			assertEquals("element should be correct", Long.valueOf(expected++), element);
+		}
+		snapshot.close();
+		assertTrue("snapshot should be closed", snapshot.isClosed());
+
+		list.dispose();
+	}
+
+	@Test
+	public void test00002LongListGenericLinker() throws Exception
+	{
+		LongMultiChainList list = new LongMultiChainList("P1","P2");
+		list.defaultLinker().append(3L);
+		list.buildLongLinker(LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain(null)).appendAll(1L, 2L);
+
+		LongSnapshot snapshot = list.createLongChainView(null).createImmutableSnapshotPoll();
+		assertArrayEquals("snapshot content should be correct", new long[] {1L,2L,3L}, snapshot.toArray());
+		snapshot.close();
+
+		assertEquals("node size should be correct", 0L, list.getNodeSize());
+		list.dispose();
+	}
+
+	@Test
+	public void test00003LongListUnlink() throws Exception
+	{
+		LongMultiChainList list = new LongMultiChainList();
+		LongChainView chain = list.createLongChainView(null);
+		LongNode[] nodes = chain.defaultLinker().appendAll(1L, 2L, 3L);
+
+		LongSnapshot snapshot = chain.createImmutableSnapshot();
+		nodes[1].unlinkFromAllChains();
+		assertArrayEquals("snapshot content should be correct", new long[] {1L,2L,3L}, snapshot.toArray());
+		snapshot.close();
+
+		assertNull("node should be disposed", nodes[1].getElement());
+
+		snapshot = chain.createImmutableSnapshot();
+		assertArrayEquals("snapshot content should be correct", new long[] {1L,3L}, snapshot.toArray());
+		snapshot.close();
+
+		chain.clear();
+		snapshot = chain.createImmutableSnapshot();
+		assertTrue("snapshot should be empty", snapshot.isEmpty());
+		assertFalse("iterator should be empty", snapshot.iterator().hasNext());
+		snapshot.close();
+
+		list.dispose();
+	}
+
+	@Test
+	public void test00011IntList() throws Exception
+	{
+		IntMultiChainList list = new IntMultiChainList("P1","P2");
+		IntLinker linkerP2 = list.defaultIntLinker();
+		IntLinker linkerP1 = list.buildIntLinker(LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain(null));
+
+		linkerP2.appendAll(4, 5);
+		linkerP1.append(2);
+		linkerP1.prepend(1);
+		linkerP2.prepend(3);
+
+		IntChainView chain = list.cachedIntChainView(null, "P2");
+		assertEquals("size should be correct", 5, chain.getSize());
+
+		IntSnapshot snapshot = chain.createImmutableSnapshot();
+		assertArrayEquals("snapshot content should be correct", new int[] {1,2,3,4,5}, snapshot.toArray());
+		assertEquals("sum should be correct", 15, snapshot.stream().sum());
+
+		int[] expected = new int[] {0};
+		snapshot.forEach(i -> assertEquals("element should be correct", ++expected[0], i));
+		assertEquals("count should be correct", 5, expected[0]);
+		snapshot.close();
+
+		snapshot = chain.createImmutableSnapshotPoll();
+		assertEquals("snapshot size should be correct", 5, snapshot.size());
+		snapshot.close();
+		assertEquals("size should be correct", 0, chain.getSize());
+
+		list.dispose();
+	}
+
+	@Test
+	public void test00021SnapshotIsolationAfterPoll() throws Exception
+	{
+		// elements are resolved through nodes => nodes must not be disposed, while an open snapshot references its links
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chain = multiChainList.createChainView(null);
+
+		chain.defaultLinker().append("1");
+		Snapshot<String> snapshot1 = chain.createImmutableSnapshot();
+		chain.defaultLinker().append("2");
+		chain.createImmutableSnapshot().close();
+		chain.defaultLinker().append("3");
+		Snapshot<String> snapshot2 = chain.createImmutableSnapshot();
+		chain.createImmutableSnapshotPoll().close();
+		snapshot1.close();
+
+		assertEquals("snapshot content should be correct", Arrays.asList("1","2","3"), new ArrayList<String>(snapshot2));
+		snapshot2.close();
+		multiChainList.dispose();
+
+		LongMultiChainList list = new LongMultiChainList();
+		LongChainView longChain = list.createLongChainView(null);
+
+		list.defaultLongLinker().append(1L);
+		LongSnapshot longSnapshot1 = longChain.createImmutableSnapshot();
+		list.defaultLongLinker().append(2L);
+		longChain.createImmutableSnapshot().close();
+		list.defaultLongLinker().append(3L);
+		LongSnapshot longSnapshot2 = longChain.createImmutableSnapshot();
+		longChain.createImmutableSnapshotPoll().close();
+		longSnapshot1.close();
+
+		assertArrayEquals("snapshot content should be correct", new long[] {1L,2L,3L}, longSnapshot2.toArray());
+		longSnapshot2.close();
+		list.dispose();
+	}
+
+	@Test
+	public void test00022NoBoxingOnModification() throws Exception
+	{
+		AtomicInteger boxCount = new AtomicInteger();
+
+		LongMultiChainList longList = new LongMultiChainList();
+		Linker<Long> longLinker = longList.defaultLinker();
+		LongNode longNode = null;
+		for(int i = 0; i < 100; i++)
+		{
+			longNode = (LongNode)longLinker.linkNode(Partition.LinkMode.APPEND, new CountingLongNode(1000L + i, longList, boxCount));
+			longLinker.linkNode(Partition.LinkMode.PREPEND, new CountingLongNode(-1000L - i, longList, boxCount));
+		}
+		longNode.unlinkFromAllChains();
+		longList.createLongChainView(null).createImmutableSnapshotPoll(10).close();
+		assertEquals("box count should be correct", 0, boxCount.get());
+
+		// elements are boxed on demand by readers
+		assertEquals("first element should be correct", Long.valueOf(-1089L), longList.getPartition(null).getFirstElement(null));
+		assertEquals("last element should be correct", Long.valueOf(1098L), longList.getPartition(null).getLastElement(null));
+		assertTrue("elements should be boxed by readers", boxCount.get() > 0);
+		longList.dispose();
+
+		boxCount.set(0);
+		IntMultiChainList intList = new IntMultiChainList();
+		Linker<Integer> intLinker = intList.defaultLinker();
+		IntNode intNode = null;
+		for(int i = 0; i < 100; i++)
+		{
+			intNode = (IntNode)intLinker.linkNode(Partition.LinkMode.APPEND, new CountingIntNode(1000 + i, intList, boxCount));
+		}
+		intNode.unlinkFromAllChains();
+		intList.createIntChainView(null).createImmutableSnapshotPoll(10).close();
+		assertEquals("box count should be correct", 0, boxCount.get());
+		intList.dispose();
+	}
+
+	private static class CountingLongNode extends LongNode
+	{
+		private CountingLongNode(long element, MultiChainList<Long> parent, AtomicInteger boxCount)
+		{
+			super(element, parent);
+			this.boxCount = boxCount;
+		}
+
+		private AtomicInteger boxCount;
+
+		@Override
+		public Long getElement()
+		{
+			boxCount.incrementAndGet();
+			return super.getElement();
+		}
+	}
+
+	private static class CountingIntNode extends IntNode
+	{
+		private CountingIntNode(int element, MultiChainList<Integer> parent, AtomicInteger boxCount)
+		{
+			super(element, parent);
+			this.boxCount = boxCount;
+		}
+
+		private AtomicInteger boxCount;
+
+		@Override
+		public Integer getElement()
+		{
+			boxCount.incrementAndGet();
+			return super.getElement();
+		}
+	}
+}
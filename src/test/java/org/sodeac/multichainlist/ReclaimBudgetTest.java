@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.sodeac.multichainlist.MultiChainList.ClearCompleteForwardChain;
+import org.sodeac.multichainlist.Node.Link;
+import org.sodeac.multichainlist.Partition.Eyebolt;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ReclaimBudgetTest
+{
+	@Test
+	public void test00001ResumableReclaim() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		multiChainList.setReclaimBudget(100);
+		assertEquals("reclaim budget should be correct", 100, multiChainList.getReclaimBudget());
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Linker<Integer> linker = chainView.defaultLinker();
+
+		List<Node<Integer>> nodes = new ArrayList<Node<Integer>>();
+		for(int i = 0; i < 1000; i++)
+		{
+			nodes.add(linker.append(i));
+		}
+
+		Snapshot<Integer> openSnapshot = chainView.createImmutableSnapshot();
+		chainView.createImmutableSnapshotPoll().close();
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+		// obsolete version of chain begin and detached links
+		assertEquals("obsolete list size should be correct", 2, multiChainList.obsoleteList.size());
+
+		openSnapshot.close();
+
+		// first portion is cleared with close of last snapshot
+		assertEquals("obsolete list size should be correct", 1, multiChainList.obsoleteList.size());
+		int remaining = 0;
+		for(Link<Integer> link = ((ClearCompleteForwardChain<Integer>)multiChainList.obsoleteList.getFirst()).wrap; ! (link instanceof Eyebolt); link = link.nextLink)
+		{
+			remaining++;
+		}
+		assertEquals("clearing should be resumed with correct link", 901, remaining);
+
+		int rounds = 0;
+		while(! multiChainList.obsoleteList.isEmpty())
+		{
+			chainView.createImmutableSnapshot().close();
+			rounds++;
+		}
+		assertEquals("reclaim rounds should be correct", 10, rounds);
+
+		linker.appendAll(1,2,3);
+		Snapshot<Integer> snapshot = chainView.createImmutableSnapshot();
+		assertEquals("chain content should be correct", Arrays.asList(1,2,3), new ArrayList<Integer>(snapshot));
+		snapshot.close();
+
+		try
+		{
+			multiChainList.setReclaimBudget(0);
+			fail("reclaim budget should be validated");
+		}
+		catch (IllegalArgumentException e) {}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002BudgetForReplacedVersions() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		multiChainList.setReclaimBudget(2);
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Node<Integer>[] nodes = chainView.defaultLinker().appendAll(1,2,3,4,5,6);
+
+		Snapshot<Integer> openSnapshot = chainView.createImmutableSnapshot();
+		nodes[1].unlinkFromAllChains();
+		nodes[3].unlinkFromAllChains();
+		int obsoleteSize = multiChainList.obsoleteList.size();
+		assertTrue("obsolete links should exist", obsoleteSize > 2);
+
+		assertEquals("open snapshot content should be correct", Arrays.asList(1,2,3,4,5,6), new ArrayList<Integer>(openSnapshot));
+		openSnapshot.close();
+		assertEquals("obsolete list size should be correct", obsoleteSize - 2, multiChainList.obsoleteList.size());
+
+		while(! multiChainList.obsoleteList.isEmpty())
+		{
+			chainView.createImmutableSnapshot().close();
+		}
+
+		Snapshot<Integer> snapshot = chainView.createImmutableSnapshot();
+		assertEquals("chain content should be correct", Arrays.asList(1,3,5,6), new ArrayList<Integer>(snapshot));
+		snapshot.close();
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003BackgroundReclaimer() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		multiChainList.setReclaimBudget(64);
+		multiChainList.setBackgroundReclaim(true);
+		assertTrue("background reclaim should be enabled", multiChainList.isBackgroundReclaim());
+		Thread reclaimer = multiChainList.reclaimer;
+		assertTrue("reclaimer should be daemon", reclaimer.isDaemon());
+
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Linker<Integer> linker = chainView.defaultLinker();
+		for(int round = 0; round < 10; round++)
+		{
+			for(int i = 0; i < 1000; i++)
+			{
+				linker.append(i);
+			}
+			Snapshot<Integer> openSnapshot = chainView.createImmutableSnapshot();
+			chainView.createImmutableSnapshotPoll().close();
+			openSnapshot.close();
+		}
+
+		long deadline = System.currentTimeMillis() + 10000;
+		while((! isObsoleteListEmpty(multiChainList)) && (System.currentTimeMillis() < deadline))
+		{
+			Thread.sleep(10);
+		}
+		assertTrue("obsolete links should be cleared by reclaimer", isObsoleteListEmpty(multiChainList));
+		assertEquals("size should be correct", 0, chainView.getSize());
+
+		multiChainList.setBackgroundReclaim(false);
+		assertFalse("background reclaim should be disabled", multiChainList.isBackgroundReclaim());
+		reclaimer.join(10000);
+		assertFalse("reclaimer should be stopped", reclaimer.isAlive());
+
+		multiChainList.setBackgroundReclaim(true);
+		reclaimer = multiChainList.reclaimer;
+		multiChainList.dispose();
+		reclaimer.join(10000);
+		assertFalse("reclaimer should be stopped", reclaimer.isAlive());
+		assertNull("reclaimer should be removed", multiChainList.reclaimer);
+	}
+
+	private static boolean isObsoleteListEmpty(MultiChainList<?> multiChainList)
+	{
+		multiChainList.writeLock.lock();
+		try
+		{
+			return multiChainList.obsoleteList.isEmpty();
+		}
+		finally
+		{
+			multiChainList.writeLock.unlock();
+		}
+	}
+}
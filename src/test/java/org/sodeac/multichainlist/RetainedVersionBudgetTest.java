@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.sodeac.multichainlist.MultiChainList.RetainedVersionPolicy;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class RetainedVersionBudgetTest
+{
+	@Test
+	public void test00001RetainedLinkCount()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Node<String>[] nodes = chainView.defaultLinker().appendAll("1","2","3","4","5");
+		assertEquals("retained link count should be correct", 0L, multiChainList.getRetainedLinkCount());
+
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		nodes[1].unlinkFromAllChains();
+		long retainedLinkCount = multiChainList.getRetainedLinkCount();
+		assertTrue("retained link count should be correct", retainedLinkCount > 0L);
+		assertEquals("retained bytes should be correct", retainedLinkCount * MultiChainList.ESTIMATED_RETAINED_LINK_BYTES, multiChainList.getRetainedBytes());
+
+		// polled chain is retained as a whole
+		chainView.createImmutableSnapshotPoll().close();
+		assertTrue("retained link count should be correct", multiChainList.getRetainedLinkCount() >= retainedLinkCount + 4L);
+
+		snapshot.close();
+		assertEquals("retained link count should be correct", 0L, multiChainList.getRetainedLinkCount());
+		assertEquals("retained bytes should be correct", 0L, multiChainList.getRetainedBytes());
+
+		multiChainList.setReclaimBudget(1);
+		chainView.defaultLinker().appendAll("6","7","8");
+		snapshot = chainView.createImmutableSnapshot();
+		chainView.createImmutableSnapshotPoll().close();
+		assertTrue("retained link count should be correct", multiChainList.getRetainedLinkCount() >= 3L);
+		snapshot.close();
+		while(multiChainList.getRetainedLinkCount() > 0L)
+		{
+			long before = multiChainList.getRetainedLinkCount();
+			multiChainList.computeProcedure(m -> m.reclaimObsoleteLinks(1));
+			assertTrue("retained link count should be decremented by reclamation", multiChainList.getRetainedLinkCount() < before);
+		}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002RejectSnapshots()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		try
+		{
+			multiChainList.setRetainedVersionBudget(0L, RetainedVersionPolicy.REJECT_SNAPSHOTS);
+			fail("budget should be rejected");
+		}
+		catch (IllegalArgumentException e) {}
+
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Node<String>[] nodes = chainView.defaultLinker().appendAll("1","2","3","4","5");
+		multiChainList.setRetainedVersionBudget(1L, RetainedVersionPolicy.REJECT_SNAPSHOTS);
+		assertEquals("retained version budget should be correct", 1L, multiChainList.getRetainedVersionBudget());
+		assertEquals("retained version policy should be correct", RetainedVersionPolicy.REJECT_SNAPSHOTS, multiChainList.getRetainedVersionPolicy());
+
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		nodes[1].unlinkFromAllChains();
+		nodes[3].unlinkFromAllChains();
+		assertTrue("retained link count should exceed budget", multiChainList.getRetainedLinkCount() > 1L);
+		try
+		{
+			chainView.createImmutableSnapshot();
+			fail("snapshot should be rejected");
+		}
+		catch (RetainedVersionBudgetException e)
+		{
+			assertEquals("budget should be correct", 1L, e.getRetainedLinkBudget());
+			assertEquals("retained link count should be correct", multiChainList.getRetainedLinkCount(), e.getRetainedLinkCount());
+		}
+		assertEquals("open snapshot count should be correct", 1, multiChainList.openSnapshotCount);
+
+		snapshot.close();
+		chainView.createImmutableSnapshot().close();
+
+		multiChainList.setRetainedVersionBudget(0L, null);
+		assertNull("retained version policy should be correct", multiChainList.getRetainedVersionPolicy());
+		assertEquals("retained version budget should be correct", 0L, multiChainList.getRetainedVersionBudget());
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003InvalidateOldestSnapshot()
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Node<String>[] nodes = chainView.defaultLinker().appendAll("1","2","3","4","5");
+
+		// only snapshots created after policy is set can be expired
+		multiChainList.setRetainedVersionBudget(1000L, RetainedVersionPolicy.INVALIDATE_OLDEST_SNAPSHOT);
+		Snapshot<String> snapshot1 = chainView.createImmutableSnapshot();
+		nodes[1].unlinkFromAllChains();
+		Snapshot<String> snapshot2 = chainView.createImmutableSnapshot();
+		nodes[3].unlinkFromAllChains();
+		multiChainList.setRetainedVersionByteBudget(MultiChainList.ESTIMATED_RETAINED_LINK_BYTES, RetainedVersionPolicy.INVALIDATE_OLDEST_SNAPSHOT);
+		assertEquals("retained version budget should be correct", 1L, multiChainList.getRetainedVersionBudget());
+		assertTrue("retained link count should exceed budget", multiChainList.getRetainedLinkCount() > 1L);
+		assertFalse("snapshot should not be expired", snapshot1.isExpired());
+
+		chainView.defaultLinker().append("6");
+		assertTrue("oldest snapshot should be expired", snapshot1.isExpired());
+
+		// links unlinked after creation of snapshot 1 are still visible in snapshot 2
+		assertTrue("snapshot should be expired", snapshot2.isExpired());
+		assertEquals("retained link count should be correct", 0L, multiChainList.getRetainedLinkCount());
+		try
+		{
+			snapshot1.size();
+			fail("expired snapshot should be closed");
+		}
+		catch (RuntimeException e) {}
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00004BlockWriters() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Node<String>[] nodes = chainView.defaultLinker().appendAll("1","2","3","4","5");
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		nodes[1].unlinkFromAllChains();
+		nodes[3].unlinkFromAllChains();
+		multiChainList.setRetainedVersionBudget(1L, RetainedVersionPolicy.BLOCK_WRITERS);
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch linked = new CountDownLatch(1);
+		Thread writer = new Thread(() ->
+		{
+			started.countDown();
+			chainView.defaultLinker().append("6");
+			linked.countDown();
+		});
+		writer.start();
+		started.await();
+		assertFalse("writer should be blocked", linked.await(200, TimeUnit.MILLISECONDS));
+		assertEquals("chain size should be correct", 3L, chainView.getSize());
+
+		snapshot.close();
+		assertTrue("writer should be released", linked.await(5, TimeUnit.SECONDS));
+		writer.join(5000);
+		assertEquals("chain size should be correct", 4L, chainView.getSize());
+
+		multiChainList.dispose();
+	}
+}
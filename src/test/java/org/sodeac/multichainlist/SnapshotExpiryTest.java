@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SnapshotExpiryTest
+{
+	@Test
+	public void test00001LeakDetection() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		List<SnapshotLeakException> leaks = new CopyOnWriteArrayList<SnapshotLeakException>();
+		multiChainList.setSnapshotLeakHandler(leaks::add);
+
+		ChainView<String> chainView = multiChainList.createChainView("chain1");
+		Node<String> node = chainView.defaultLinker().append("1");
+		chainView.defaultLinker().append("2");
+		createLeakingSnapshot(chainView);
+		node.unlinkFromAllChains();
+		assertEquals("open snapshot count should be correct", 1, multiChainList.openSnapshotCount);
+		assertTrue("obsolete links should be correct", multiChainList.obsoleteList.size() > 0);
+
+		int count = 0;
+		for(int i = 0; (i < 100) && (count == 0); i++)
+		{
+			System.gc();
+			Thread.sleep(10);
+			count = multiChainList.expungeSnapshots();
+		}
+		assertEquals("expunged snapshot count should be correct", 1, count);
+		assertEquals("leak count should be correct", 1, leaks.size());
+		assertEquals("chain name should be correct", "chain1", leaks.get(0).getChainName());
+		assertEquals("list id should be correct", multiChainList.uuid.toString(), leaks.get(0).getListId());
+
+		boolean createdByTest = false;
+		for(StackTraceElement stackTraceElement : leaks.get(0).getStackTrace())
+		{
+			if("createLeakingSnapshot".equals(stackTraceElement.getMethodName()))
+			{
+				createdByTest = true;
+			}
+		}
+		assertTrue("stack trace of creation should be correct", createdByTest);
+		assertEquals("open snapshot count should be correct", 0, multiChainList.openSnapshotCount);
+		assertEquals("obsolete links should be correct", 0, multiChainList.obsoleteList.size());
+		assertEquals("expunged snapshot count should be correct", 0, multiChainList.expungeSnapshots());
+
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		snapshot.close();
+		assertTrue("trackers should be empty", multiChainList.snapshotTrackers.isEmpty());
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002MaxSnapshotAge() throws Exception
+	{
+		MultiChainList<String> multiChainList = new MultiChainList<String>();
+		try
+		{
+			multiChainList.setMaxSnapshotAge(-1L, TimeUnit.SECONDS);
+			fail("negative max age should be rejected");
+		}
+		catch (IllegalArgumentException e) {}
+
+		multiChainList.setMaxSnapshotAge(50L, TimeUnit.MILLISECONDS);
+		assertEquals("max snapshot age should be correct", 50L, multiChainList.getMaxSnapshotAge(TimeUnit.MILLISECONDS));
+
+		ChainView<String> chainView = multiChainList.createChainView(null);
+		Node<String> node = chainView.defaultLinker().append("1");
+		chainView.defaultLinker().append("2");
+		Snapshot<String> snapshot1 = chainView.createImmutableSnapshot();
+		node.unlinkFromAllChains();
+		assertEquals("expunged snapshot count should be correct", 0, multiChainList.expungeSnapshots());
+		assertFalse("snapshot should not be expired", snapshot1.isExpired());
+		assertEquals("snapshot size should be correct", 2, snapshot1.size());
+
+		Thread.sleep(100L);
+
+		// creation of snapshot expires older snapshots
+		Snapshot<String> snapshot2 = chainView.createImmutableSnapshot();
+		assertTrue("snapshot should be expired", snapshot1.isExpired());
+		assertTrue("snapshot should be closed", snapshot1.isClosed());
+		assertFalse("snapshot should not be expired", snapshot2.isExpired());
+		assertEquals("snapshot size should be correct", 1, snapshot2.size());
+		try
+		{
+			snapshot1.size();
+			fail("expired snapshot should be closed");
+		}
+		catch (RuntimeException e) {}
+
+		snapshot2.close();
+		assertFalse("closed snapshot should not be expired", snapshot2.isExpired());
+		assertEquals("open snapshot count should be correct", 0, multiChainList.openSnapshotCount);
+		assertEquals("obsolete links should be correct", 0, multiChainList.obsoleteList.size());
+
+		multiChainList.setMaxSnapshotAge(0L, TimeUnit.MILLISECONDS);
+		Snapshot<String> snapshot3 = chainView.createImmutableSnapshot();
+		Thread.sleep(60L);
+		assertEquals("expunged snapshot count should be correct", 0, multiChainList.expungeSnapshots());
+		assertFalse("snapshot should not be expired", snapshot3.isExpired());
+		snapshot3.close();
+
+		multiChainList.dispose();
+	}
+
+	private void createLeakingSnapshot(ChainView<String> chainView)
+	{
+		Snapshot<String> snapshot = chainView.createImmutableSnapshot();
+		assertEquals("snapshot size should be correct", 2, snapshot.size());
+	}
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SnapshotSpliteratorTest
+{
+	@Test
+	public void test00001SplitAlongPartitions() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>("P1","P2","P3","P4");
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		chainView.cachedLinker("P1").appendAll(1,2);
+		chainView.cachedLinker("P2").appendAll(3,4,5);
+		chainView.cachedLinker("P4").appendAll(6,7,8,9);
+
+		Snapshot<Integer> snapshot = chainView.createImmutableSnapshot();
+		Spliterator<Integer> spliterator = snapshot.spliterator();
+		assertTrue("spliterator should be sized", spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+		assertEquals("size should be correct", 9L, spliterator.getExactSizeIfKnown());
+
+		Spliterator<Integer> prefix = spliterator.trySplit();
+		assertNotNull("spliterator should be split", prefix);
+		assertEquals("size should be correct", 2L, prefix.getExactSizeIfKnown());
+		assertEquals("size should be correct", 7L, spliterator.getExactSizeIfKnown());
+
+		List<Integer> content = new ArrayList<Integer>();
+		prefix.forEachRemaining(content::add);
+		assertEquals("prefix content should be correct", Arrays.asList(1,2), content);
+
+		assertTrue("spliterator should be advanced", spliterator.tryAdvance(content::add));
+		assertEquals("size should be correct", 6L, spliterator.getExactSizeIfKnown());
+
+		// current partition is split from remaining partitions
+		prefix = spliterator.trySplit();
+		assertEquals("size should be correct", 2L, prefix.getExactSizeIfKnown());
+		prefix.forEachRemaining(content::add);
+		assertEquals("size should be correct", 0L, prefix.getExactSizeIfKnown());
+		spliterator.forEachRemaining(content::add);
+		assertEquals("size should be correct", 0L, spliterator.getExactSizeIfKnown());
+		assertEquals("content should be correct", Arrays.asList(1,2,3,4,5,6,7,8,9), content);
+
+		assertEquals("stream content should be correct", Arrays.asList(1,2,3,4,5,6,7,8,9), snapshot.parallelStream().collect(Collectors.toList()));
+		assertEquals("node stream content should be correct", Arrays.asList(1,2,3,4,5,6,7,8,9), snapshot.nodeStream().map(Node::getElement).collect(Collectors.toList()));
+		snapshot.close();
+
+		snapshot = multiChainList.createChainView("empty").createImmutableSnapshot();
+		spliterator = snapshot.spliterator();
+		assertEquals("size should be correct", 0L, spliterator.getExactSizeIfKnown());
+		assertNull("empty spliterator should not be split", spliterator.trySplit());
+		snapshot.close();
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00002SplitWithinPartition() throws Exception
+	{
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>();
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Linker<Integer> linker = chainView.defaultLinker();
+		int size = 10000;
+		for(int i = 0; i < size; i++)
+		{
+			linker.append(i);
+		}
+
+		Snapshot<Integer> snapshot = chainView.createImmutableSnapshot();
+		Spliterator<Integer> spliterator = snapshot.spliterator();
+		List<Spliterator<Integer>> parts = new ArrayList<Spliterator<Integer>>();
+		Spliterator<Integer> prefix;
+		while((prefix = spliterator.trySplit()) != null)
+		{
+			assertTrue("prefix should be sized", prefix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+			parts.add(prefix);
+		}
+		parts.add(spliterator);
+		assertTrue("spliterator should be split within partition", parts.size() > 2);
+
+		long sizeSum = 0L;
+		List<Integer> content = new ArrayList<Integer>();
+		for(Spliterator<Integer> part : parts)
+		{
+			sizeSum += part.getExactSizeIfKnown();
+			part.forEachRemaining(content::add);
+		}
+		assertEquals("size should be correct", size, sizeSum);
+		assertEquals("content size should be correct", size, content.size());
+		for(int i = 0; i < size; i++)
+		{
+			assertEquals("element should be correct", i, content.get(i).intValue());
+		}
+
+		long sum = snapshot.parallelStream().mapToLong(Integer::longValue).sum();
+		assertEquals("sum should be correct", (long)size * (size - 1) / 2, sum);
+		snapshot.close();
+
+		multiChainList.dispose();
+	}
+
+	@Test
+	public void test00003ParallelStreamOverBoundedPoll() throws Exception
+	{
+		MultiChainList<Long> multiChainList = new MultiChainList<Long>("P1","P2");
+		ChainView<Long> chainView = multiChainList.createChainView(null);
+		for(long i = 0; i < 100000; i++)
+		{
+			chainView.cachedLinker((i < 50000) ? "P1" : "P2").append(i);
+		}
+
+		Snapshot<Long> snapshot = chainView.createImmutableSnapshotPoll(75000);
+		assertEquals("size should be correct", 75000L, snapshot.spliterator().getExactSizeIfKnown());
+		assertEquals("count should be correct", 75000L, snapshot.parallelStream().count());
+		assertEquals("sum should be correct", 75000L * 74999L / 2L, snapshot.parallelStream().mapToLong(Long::longValue).sum());
+		assertEquals("content should be correct", new ArrayList<Long>(snapshot), snapshot.parallelStream().collect(Collectors.toList()));
+		snapshot.close();
+
+		LongMultiChainList longList = new LongMultiChainList();
+		longList.defaultLongLinker().appendAll(1L, 2L, 3L);
+		LongSnapshot longSnapshot = longList.createLongChainView(null).createImmutableSnapshot();
+		assertArrayEquals("stream content should be correct", new long[] {1L,2L,3L}, longSnapshot.stream().parallel().toArray());
+		longSnapshot.close();
+
+		longList.dispose();
+		multiChainList.dispose();
+	}
+}
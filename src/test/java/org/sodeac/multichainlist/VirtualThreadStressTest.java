@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sebastian Palarus
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Sebastian Palarus - initial API and implementation
+ *******************************************************************************/
+package org.sodeac.multichainlist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assume;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class VirtualThreadStressTest
+{
+	private static final int PRODUCER_COUNT = 50000;
+	private static final int CONSUMER_COUNT = 50000;
+
+	@Test
+	public void test00001VirtualThreadProducersAndConsumers() throws Exception
+	{
+		ExecutorService executorService = newVirtualThreadPerTaskExecutor();
+		Assume.assumeTrue("virtual threads require java 21", executorService != null);
+
+		MultiChainList<Integer> multiChainList = new MultiChainList<Integer>("P1","P2");
+		ChainView<Integer> chainView = multiChainList.createChainView(null);
+		Linker<Integer> combiningLinker = LinkerBuilder.newBuilder().inPartition("P1").linkIntoChain(null).build(multiChainList).setCombiningAppend(true);
+		Linker<Integer> linker = chainView.cachedLinker("P2");
+		AtomicLong consumed = new AtomicLong();
+		AtomicLong sum = new AtomicLong();
+
+		try
+		{
+			for(int i = 0; i < CONSUMER_COUNT; i++)
+			{
+				executorService.execute(() ->
+				{
+					try
+					{
+						while(true)
+						{
+							try(Snapshot<Integer> snapshot = chainView.takeSnapshotPoll(1, 100, TimeUnit.MILLISECONDS))
+							{
+								if(! snapshot.isEmpty())
+								{
+									sum.addAndGet(snapshot.getFirstElement());
+									consumed.incrementAndGet();
+									return;
+								}
+							}
+						}
+					}
+					catch (InterruptedException e) {}
+				});
+			}
+			for(int i = 1; i <= PRODUCER_COUNT; i++)
+			{
+				int element = i;
+				executorService.execute(() ->
+				{
+					if((element % 100) == 0)
+					{
+						// user code with write lock
+						chainView.computeProcedure(c -> linker.append(element));
+					}
+					else if((element % 2) == 0)
+					{
+						linker.append(element);
+					}
+					else
+					{
+						combiningLinker.append(element);
+					}
+				});
+			}
+		}
+		finally
+		{
+			executorService.shutdown();
+		}
+		assertTrue("all virtual threads should be finished", executorService.awaitTermination(120, TimeUnit.SECONDS));
+
+		assertEquals("consumed elements should be correct", PRODUCER_COUNT, consumed.get());
+		assertEquals("sum should be correct", (long)PRODUCER_COUNT * (PRODUCER_COUNT + 1) / 2, sum.get());
+		assertEquals("size should be correct", 0, chainView.getSize());
+		assertEquals("node size should be correct", 0L, multiChainList.getNodeSize());
+
+		multiChainList.dispose();
+	}
+
+	private static ExecutorService newVirtualThreadPerTaskExecutor()
+	{
+		try
+		{
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (NoSuchMethodException e)
+		{
+			return null;
+		}
+		catch (Exception e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+}
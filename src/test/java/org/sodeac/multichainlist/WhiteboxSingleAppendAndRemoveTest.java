@@ -63,7 +63,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",-1L,beginLink1.obsoleteOnVersion);
 		assertSame("BeginLink should should be correct",begin,beginLink1);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertEquals("BeginLink.version should be correct", 0L, beginLink1.createOnVersion.getSequence());
 		assertEquals("Begin should be correct", beginLink1, begin);
 		
@@ -75,7 +75,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("Link1S1.prev should be correct", beginLink1,link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",-1L,link1S1.obsoleteOnVersion);
 		assertSame("Link1S1 should should be correct",node1.headOfDefaultChain,link1S1);
-		assertEquals("Link1S1.element should be correct", "1",link1S1.element);
+		assertEquals("Link1S1.element should be correct", "1",link1S1.getElement());
 		assertEquals("Link1S1.version should be correct", 0L, link1S1.createOnVersion.getSequence());
 		assertEquals("node1(null) should be correct", link1S1, node1.headOfDefaultChain);
 		
@@ -87,7 +87,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("EndLink.prev should be correct", link1S1 ,endLink.previewsLink);
 		assertEquals("EndLink.obsolete should should be correct",-1L,endLink.obsoleteOnVersion);
 		assertSame("EndLink should should be correct",end,endLink);
-		assertNull("EndLink.element should be correct", endLink.element);
+		assertNull("EndLink.element should be correct", endLink.getElement());
 		assertEquals("EndLink.version should be correct", 0L, endLink.createOnVersion.getSequence());
 		assertEquals("EndHead should be correct", endLink, end);
 		
@@ -121,7 +121,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",-1L,beginLink1.obsoleteOnVersion);
 		assertSame("BeginLink should should be correct",begin,beginLink1);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertEquals("BeginLink.version should be correct", 0L, beginLink1.createOnVersion.getSequence());
 		
 		// ReTest  Link1S1
@@ -132,7 +132,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("Link1S1.prev should be correct", link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",0L,link1S1.obsoleteOnVersion);
 		assertNull("Node1.defaultChainLinkage should should be correct",node1.headOfDefaultChain);
-		assertNull("Link1S1.element should be correct", link1S1.element);
+		assertNull("Link1S1.element should be correct", link1S1.getElement());
 		assertNull("Link1S1.version should be correct", link1S1.createOnVersion);
 		
 		// ReTest EndLink
@@ -143,7 +143,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("EndLink.prev should be correct", beginLink2 ,endLink.previewsLink);
 		assertEquals("EndLink.obsolete should should be correct",-1L,endLink.obsoleteOnVersion);
 		assertSame("EndLink should should be correct",end,endLink);
-		assertNull("EndLink.element should be correct", endLink.element);
+		assertNull("EndLink.element should be correct", endLink.getElement());
 		assertEquals("EndLink.version should be correct", 0L, endLink.createOnVersion.getSequence());
 		assertEquals("EndHead should be correct", endLink, end);
 		
@@ -191,7 +191,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",-1L,beginLink1.obsoleteOnVersion);
 		assertSame("BeginLink should should be correct",begin,beginLink1);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertEquals("BeginLink.version should be correct", 0L, beginLink1.createOnVersion.getSequence());
 		assertEquals("Begin should be correct", beginLink1, begin);
 		
@@ -203,7 +203,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("Link1S1.prev should be correct", beginLink1,link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",-1L,link1S1.obsoleteOnVersion);
 		assertSame("Link1S1 should should be correct",node1.headOfDefaultChain,link1S1);
-		assertEquals("Link1S1.element should be correct", "1",link1S1.element);
+		assertEquals("Link1S1.element should be correct", "1",link1S1.getElement());
 		assertEquals("Link1S1.version should be correct", 0L, link1S1.createOnVersion.getSequence());
 		assertEquals("node1(null) should be correct", link1S1, node1.headOfDefaultChain);
 		
@@ -215,7 +215,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("EndLink.prev should be correct", link1S1 ,endLink.previewsLink);
 		assertEquals("EndLink.obsolete should should be correct",-1L,endLink.obsoleteOnVersion);
 		assertSame("EndLink should should be correct",end,endLink);
-		assertNull("EndLink.element should be correct", endLink.element);
+		assertNull("EndLink.element should be correct", endLink.getElement());
 		assertEquals("EndLink.version should be correct", 0L, endLink.createOnVersion.getSequence());
 		assertEquals("EndHead should be correct", endLink, end);
 		
@@ -247,7 +247,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",versionSequence2,beginLink1.obsoleteOnVersion);
 		assertSame("BeginLink should should be correct",begin,beginLink1);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertEquals("BeginLink.version should be correct", 0L, beginLink1.createOnVersion.getSequence());
 		
 		// ReTest  Link1S1
@@ -258,7 +258,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("Link1S1.prev should be correct", beginLink1,link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",versionSequence2,link1S1.obsoleteOnVersion);
 		assertNull("Node1.defaultChainLinkage should should be correct",node1.headOfDefaultChain);
-		assertEquals("Link1S1.element should be correct", "1",link1S1.element);
+		assertEquals("Link1S1.element should be correct", "1",link1S1.getElement());
 		assertEquals("Link1S1.version should be correct", 0L, link1S1.createOnVersion.getSequence());
 		
 		// ReTest EndLink
@@ -269,7 +269,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("EndLink.prev should be correct", beginLink2 ,endLink.previewsLink);
 		assertEquals("EndLink.obsolete should should be correct",-1,endLink.obsoleteOnVersion);
 		assertSame("EndLink should should be correct",end,endLink);
-		assertNull("EndLink.element should be correct", endLink.element);
+		assertNull("EndLink.element should be correct", endLink.getElement());
 		assertEquals("EndLink.version should be correct", 0L, endLink.createOnVersion.getSequence());
 		assertEquals("EndHead should be correct", endLink, end);
 		
@@ -281,7 +281,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink2.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",-1,beginLink2.obsoleteOnVersion);
 		assertNotSame("BeginLink should should be correct",begin,beginLink2);
-		assertNull("BeginLink.element should be correct", beginLink2.element);
+		assertNull("BeginLink.element should be correct", beginLink2.getElement());
 		assertEquals("BeginLink.version should be correct", 1L, beginLink2.createOnVersion.getSequence());
 		
 		// Close first Snapshot => No Change
@@ -299,7 +299,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",versionSequence2,beginLink1.obsoleteOnVersion);
 		assertSame("BeginLink should should be correct",begin,beginLink1);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertEquals("BeginLink.version should be correct", 0L, beginLink1.createOnVersion.getSequence());
 		
 		// ReTest  Link1S1
@@ -310,7 +310,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("Link1S1.prev should be correct", beginLink1,link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",versionSequence2,link1S1.obsoleteOnVersion);
 		assertNull("Node1.defaultChainLinkage should should be correct",node1.headOfDefaultChain);
-		assertEquals("Link1S1.element should be correct", "1",link1S1.element);
+		assertEquals("Link1S1.element should be correct", "1",link1S1.getElement());
 		assertEquals("Link1S1.version should be correct", 0L, link1S1.createOnVersion.getSequence());
 		
 		// ReTest EndLink
@@ -321,7 +321,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("EndLink.prev should be correct", beginLink2 ,endLink.previewsLink);
 		assertEquals("EndLink.obsolete should should be correct",-1L,endLink.obsoleteOnVersion);
 		assertSame("EndLink should should be correct",end,endLink);
-		assertNull("EndLink.element should be correct", endLink.element);
+		assertNull("EndLink.element should be correct", endLink.getElement());
 		assertEquals("EndLink.version should be correct", 0L, endLink.createOnVersion.getSequence());
 		assertEquals("EndHead should be correct", endLink, end);
 		
@@ -333,7 +333,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink2.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",-1,beginLink2.obsoleteOnVersion);
 		assertNotSame("BeginLink should should be correct",begin,beginLink2);
-		assertNull("BeginLink.element should be correct", beginLink2.element);
+		assertNull("BeginLink.element should be correct", beginLink2.getElement());
 		assertEquals("BeginLink.version should be correct", 1L, beginLink2.createOnVersion.getSequence());
 		
 		assertNotNull("Node1.element should be correct", node1.element);
@@ -356,7 +356,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",versionSequence2,beginLink1.obsoleteOnVersion);
 		assertNull("BeginLink.linkdef should should be correct",beginLink1.linkageDefinition);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertNull("BeginLink.version should be correct", beginLink1.createOnVersion);
 		
 		// ReTest  Link1S1
@@ -367,7 +367,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("Link1S1.prev should be correct", link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",versionSequence2,link1S1.obsoleteOnVersion);
 		assertNull("Node1.defaultChainLinkage should should be correct",node1.headOfDefaultChain);
-		assertNull("Link1S1.element should be correct", link1S1.element);
+		assertNull("Link1S1.element should be correct", link1S1.getElement());
 		assertNull("Link1S1.version should be correct", link1S1.createOnVersion);
 		
 		
@@ -419,7 +419,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",-1L,beginLink1.obsoleteOnVersion);
 		assertSame("BeginLink should should be correct",begin,beginLink1);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertEquals("BeginLink.version should be correct", 0L, beginLink1.createOnVersion.getSequence());
 		assertEquals("Begin should be correct", beginLink1, begin);
 		
@@ -431,7 +431,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("Link1S1.prev should be correct", beginLink1,link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",-1L,link1S1.obsoleteOnVersion);
 		assertSame("Link1S1 should should be correct",node1.headOfDefaultChain,link1S1);
-		assertEquals("Link1S1.element should be correct", "1",link1S1.element);
+		assertEquals("Link1S1.element should be correct", "1",link1S1.getElement());
 		assertEquals("Link1S1.version should be correct", 0L, link1S1.createOnVersion.getSequence());
 		assertEquals("node1(null) should be correct", link1S1, node1.headOfDefaultChain);
 		
@@ -443,7 +443,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("EndLink.prev should be correct", link1S1 ,endLink.previewsLink);
 		assertEquals("EndLink.obsolete should should be correct",-1L,endLink.obsoleteOnVersion);
 		assertSame("EndLink should should be correct",end,endLink);
-		assertNull("EndLink.element should be correct", endLink.element);
+		assertNull("EndLink.element should be correct", endLink.getElement());
 		assertEquals("EndLink.version should be correct", 0L, endLink.createOnVersion.getSequence());
 		assertEquals("EndHead should be correct", endLink, end);
 		
@@ -477,7 +477,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",versionSequence2,beginLink1.obsoleteOnVersion);
 		assertSame("BeginLink should should be correct",begin,beginLink1);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertEquals("BeginLink.version should be correct", 0L, beginLink1.createOnVersion.getSequence());
 		
 		// ReTest  Link1S1
@@ -488,7 +488,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("Link1S1.prev should be correct", beginLink1,link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",versionSequence2,link1S1.obsoleteOnVersion);
 		assertNull("Node1.defaultChainLinkage should should be correct",node1.headOfDefaultChain);
-		assertEquals("Link1S1.element should be correct", "1",link1S1.element);
+		assertEquals("Link1S1.element should be correct", "1",link1S1.getElement());
 		assertEquals("Link1S1.version should be correct", 0L, link1S1.createOnVersion.getSequence());
 		
 		// ReTest EndLink
@@ -499,7 +499,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("EndLink.prev should be correct", beginLink2 ,endLink.previewsLink);
 		assertEquals("EndLink.obsolete should should be correct",-1L,endLink.obsoleteOnVersion);
 		assertSame("EndLink should should be correct",end,endLink);
-		assertNull("EndLink.element should be correct", endLink.element);
+		assertNull("EndLink.element should be correct", endLink.getElement());
 		assertEquals("EndLink.version should be correct", 0L, endLink.createOnVersion.getSequence());
 		assertEquals("EndHead should be correct", endLink, end);
 		
@@ -511,7 +511,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink2.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",-1L,beginLink2.obsoleteOnVersion);
 		assertNotSame("BeginLink should should be correct",begin,beginLink2);
-		assertNull("BeginLink.element should be correct", beginLink2.element);
+		assertNull("BeginLink.element should be correct", beginLink2.getElement());
 		assertEquals("BeginLink.version should be correct", 1L, beginLink2.createOnVersion.getSequence());
 		
 		
@@ -530,7 +530,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",versionSequence2,beginLink1.obsoleteOnVersion);
 		assertSame("BeginLink should should be correct",begin,beginLink1);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertEquals("BeginLink.version should be correct", 0L, beginLink1.createOnVersion.getSequence());
 		
 		// ReTest  Link1S1
@@ -541,7 +541,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("Link1S1.prev should be correct", beginLink1,link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",versionSequence2,link1S1.obsoleteOnVersion);
 		assertNull("Node1.defaultChainLinkage should should be correct",node1.headOfDefaultChain);
-		assertEquals("Link1S1.element should be correct", "1",link1S1.element);
+		assertEquals("Link1S1.element should be correct", "1",link1S1.getElement());
 		assertEquals("Link1S1.version should be correct", 0L, link1S1.createOnVersion.getSequence());
 		
 		// ReTest EndLink
@@ -552,7 +552,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertSame("EndLink.prev should be correct", beginLink2 ,endLink.previewsLink);
 		assertEquals("EndLink.obsolete should should be correct",-1,endLink.obsoleteOnVersion);
 		assertSame("EndLink should should be correct",end,endLink);
-		assertNull("EndLink.element should be correct", endLink.element);
+		assertNull("EndLink.element should be correct", endLink.getElement());
 		assertEquals("EndLink.version should be correct", 0L, endLink.createOnVersion.getSequence());
 		assertEquals("EndHead should be correct", endLink, end);
 		
@@ -564,7 +564,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink2.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",-1,beginLink2.obsoleteOnVersion);
 		assertNotSame("BeginLink should should be correct",begin,beginLink2);
-		assertNull("BeginLink.element should be correct", beginLink2.element);
+		assertNull("BeginLink.element should be correct", beginLink2.getElement());
 		assertEquals("BeginLink.version should be correct", 1L, beginLink2.createOnVersion.getSequence());
 		
 		assertNotNull("Node1.element should be correct", node1.element);
@@ -587,7 +587,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("BeginLink.prev should be correct", beginLink1.previewsLink);
 		assertEquals("BeginLink.obsolete should should be correct",versionSequence2,beginLink1.obsoleteOnVersion);
 		assertNull("BeginLink.linkdef should should be correct",beginLink1.linkageDefinition);
-		assertNull("BeginLink.element should be correct", beginLink1.element);
+		assertNull("BeginLink.element should be correct", beginLink1.getElement());
 		assertNull("BeginLink.version should be correct", beginLink1.createOnVersion);
 		
 		// ReTest  Link1S1
@@ -598,7 +598,7 @@ public class WhiteboxSingleAppendAndRemoveTest
 		assertNull("Link1S1.prev should be correct", link1S1.previewsLink);
 		assertEquals("Link1S1.obsolete should should be correct",versionSequence2,link1S1.obsoleteOnVersion);
 		assertNull("Node1.defaultChainLinkage should should be correct",node1.headOfDefaultChain);
-		assertNull("Link1S1.element should be correct", link1S1.element);
+		assertNull("Link1S1.element should be correct", link1S1.getElement());
 		assertNull("Link1S1.version should be correct", link1S1.createOnVersion);
 		
 		assertNull("Node1.element should be correct", node1.element);